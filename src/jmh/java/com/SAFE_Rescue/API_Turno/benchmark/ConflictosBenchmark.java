@@ -0,0 +1,78 @@
+package com.SAFE_Rescue.API_Turno.benchmark;
+
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.EstadoTurno;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.service.ConflictoTurnoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la revisión de conflictos de una asignación contra el índice en memoria.
+ * <p>
+ * El índice se llena con los mismos eventos que publican los servicios al confirmar sus
+ * escrituras, por lo que el servicio se crea sin Spring y sin base de datos. Cada turno dura
+ * 12 horas y empieza 2 horas después del anterior, con un equipo de cuatro bomberos (de 5.000)
+ * y un vehículo (de 1.000) elegidos al azar. La meta es menos de un milisegundo por revisión
+ * con 100.000 turnos.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictosBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+    private static final int BOMBEROS = 5_000;
+    private static final int VEHICULOS = 1_000;
+
+    @Param({"10000", "100000"})
+    private int turnos;
+
+    private final ConflictoTurnoService conflictoTurnoService = new ConflictoTurnoService();
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup
+    public void preparar() {
+        List<EstadoTurno> intervalos = new ArrayList<>(turnos);
+        List<EstadoEquipo> equipos = new ArrayList<>(turnos);
+        for (int i = 0; i < turnos; i++) {
+            LocalDateTime inicio = BASE.plusHours(2L * i);
+            intervalos.add(new EstadoTurno(i, inicio, inicio.plusHours(12), 0));
+            equipos.add(new EstadoEquipo(i, i, bomberos(), Set.of(random.nextInt(VEHICULOS)), 0));
+        }
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Turno.class, intervalos, Operacion.CREADO));
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Equipo.class, equipos, Operacion.CREADO));
+    }
+
+    /**
+     * Revisa un equipo nuevo con bomberos, vehículo y turno al azar, como al guardar un equipo.
+     */
+    @Benchmark
+    public List<ConflictoTurno> revisarAsignacion() {
+        return conflictoTurnoService.buscarConflictos(null, random.nextInt(turnos), bomberos(),
+                Set.of(random.nextInt(VEHICULOS)));
+    }
+
+    private Set<Integer> bomberos() {
+        Set<Integer> ids = new HashSet<>();
+        while (ids.size() < 4) {
+            ids.add(random.nextInt(BOMBEROS));
+        }
+        return ids;
+    }
+}
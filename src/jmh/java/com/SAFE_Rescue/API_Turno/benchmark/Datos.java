@@ -0,0 +1,66 @@
+package com.SAFE_Rescue.API_Turno.benchmark;
+
+import com.SAFE_Rescue.API_Turno.modelo.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Datos de ejemplo deterministas para los benchmarks.
+ */
+final class Datos {
+
+    static final LocalDateTime INICIO = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    private Datos() {
+    }
+
+    static Turno turno(Integer id) {
+        return new Turno(id, "Turno " + id, INICIO, INICIO.plusHours(12), 12);
+    }
+
+    static Ubicacion ubicacion(Integer id) {
+        return new Ubicacion(id, "Av. Siempre Viva", 742, "Santiago", "Metropolitana");
+    }
+
+    static Compania compania(Integer id) {
+        return new Compania(id, "Primera Compañía", ubicacion(id));
+    }
+
+    static Bombero bombero(Integer id) {
+        return new Bombero(id, "Bombero " + id, "Paterno", "Materno", 900000000 + (id == null ? 0 : id));
+    }
+
+    static Vehiculo vehiculo(Integer id) {
+        return new Vehiculo(id, "Mercedes", "Atego", "BX-" + id, "Conductor " + id, "Operativo");
+    }
+
+    static Recurso recurso(Integer id) {
+        return new Recurso(id, "Recurso " + id, "Herramienta", 10);
+    }
+
+    /**
+     * Crea un equipo con todas sus relaciones, con IDs del 1 en adelante.
+     * @param personal Cantidad de bomberos
+     * @param vehiculos Cantidad de vehículos
+     * @param recursos Cantidad de recursos
+     * @return Equipo con turno, compañía, tipo, personal, vehículos y recursos
+     */
+    static Equipo equipo(int personal, int vehiculos, int recursos) {
+        Set<Bombero> bomberos = new LinkedHashSet<>();
+        for (int i = 1; i <= personal; i++) {
+            bomberos.add(bombero(i));
+        }
+        Set<Vehiculo> flota = new LinkedHashSet<>();
+        for (int i = 1; i <= vehiculos; i++) {
+            flota.add(vehiculo(i));
+        }
+        Set<Recurso> inventario = new LinkedHashSet<>();
+        for (int i = 1; i <= recursos; i++) {
+            inventario.add(recurso(i));
+        }
+        return new Equipo(1, "Equipo Alfa", personal, true, "Juan Pérez", flota, bomberos, inventario,
+                turno(1), compania(1), new TipoEquipo(1, "Rescate"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.SAFE_Rescue.API_Turno.benchmark;
+
+import com.SAFE_Rescue.API_Turno.ApiTurnoApplication;
+import com.SAFE_Rescue.API_Turno.dto.VistaEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import com.SAFE_Rescue.API_Turno.service.EquipoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de los servicios que usan repositorios, contra H2 en memoria (perfil "benchmark").
+ * <p>
+ * El contexto de Spring se levanta sin servidor web y se cargan datos deterministas antes de
+ * medir. Los equipos no tienen turno, de modo que guardar equipos nuevos con el mismo
+ * personal no produce conflictos de turnos.
+ * </p>
+ * <p>
+ * La inserción masiva de turnos usa un contexto aparte por cada tamaño de lote JDBC
+ * ({@code hibernate.jdbc.batch_size}), para comparar el envío fila por fila con el envío en lotes.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+    private static final int EQUIPOS = 200;
+    private static final int PERSONAL_POR_EQUIPO = 10;
+    private static final int TURNOS_MASIVOS = 10_000;
+
+    private ConfigurableApplicationContext contexto;
+    private EquipoService equipoService;
+
+    private final List<Integer> equiposIds = new ArrayList<>();
+    private final List<Integer> bomberosIds = new ArrayList<>();
+    private Integer companiaId;
+    private Integer tipoEquipoId;
+    private final SplittableRandom aleatorio = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ApiTurnoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=benchmark");
+        equipoService = contexto.getBean(EquipoService.class);
+
+        Ubicacion ubicacion = contexto.getBean(UbicacionRepository.class).save(Datos.ubicacion(null));
+        Compania compania = contexto.getBean(CompaniaRepository.class)
+                .save(new Compania(null, "Primera Compañía", ubicacion));
+        TipoEquipo tipoEquipo = contexto.getBean(TipoEquipoRepository.class).save(new TipoEquipo(null, "Rescate"));
+        companiaId = compania.getId();
+        tipoEquipoId = tipoEquipo.getId();
+
+        List<Bombero> bomberos = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bomberos.add(new Bombero(null, "Bombero " + i, "Paterno", "Materno", 900000000 + i));
+        }
+        contexto.getBean(BomberoRepository.class).saveAll(bomberos).forEach(b -> bomberosIds.add(b.getId()));
+        List<Vehiculo> vehiculos = contexto.getBean(VehiculoRepository.class).saveAll(List.of(
+                new Vehiculo(null, "Mercedes", "Atego", "BX-1", "Conductor 1", "Operativo"),
+                new Vehiculo(null, "Renault", "Midlum", "BX-2", "Conductor 2", "Operativo")));
+        List<Recurso> recursos = contexto.getBean(RecursoRepository.class).saveAll(List.of(Datos.recurso(null)));
+
+        List<Equipo> equipos = new ArrayList<>();
+        for (int i = 0; i < EQUIPOS; i++) {
+            Set<Bombero> personal = new LinkedHashSet<>();
+            for (int j = 0; j < PERSONAL_POR_EQUIPO; j++) {
+                personal.add(bomberos.get((i + j) % bomberos.size()));
+            }
+            equipos.add(new Equipo(null, "Equipo " + i, PERSONAL_POR_EQUIPO, true, "Líder " + i,
+                    new LinkedHashSet<>(vehiculos), personal, new LinkedHashSet<>(recursos),
+                    null, compania, tipoEquipo));
+        }
+        contexto.getBean(EquipoRepository.class).saveAll(equipos).forEach(e -> equiposIds.add(e.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    /**
+     * Contexto con su propia base de datos y el tamaño de lote JDBC indicado. En cada iteración
+     * se preparan turnos nuevos y al terminarla se eliminan los insertados.
+     */
+    @State(Scope.Benchmark)
+    public static class InsercionMasiva {
+
+        @Param({"1", "50"})
+        public int tamanioLote;
+
+        private ConfigurableApplicationContext contexto;
+        private TurnoRepository turnoRepository;
+        private List<Turno> nuevos;
+
+        @Setup(Level.Trial)
+        public void iniciar() {
+            contexto = new SpringApplicationBuilder(ApiTurnoApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.profiles.active=benchmark",
+                            "--spring.datasource.url=jdbc:h2:mem:benchmark_lotes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanioLote);
+            turnoRepository = contexto.getBean(TurnoRepository.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void preparar() {
+            nuevos = new ArrayList<>(TURNOS_MASIVOS);
+            LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+            for (int i = 0; i < TURNOS_MASIVOS; i++) {
+                LocalDateTime inicio = base.plusHours(i);
+                nuevos.add(new Turno(null, "Turno masivo " + i, inicio, inicio.plusHours(8), 8));
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void vaciar() {
+            turnoRepository.deleteAllInBatch();
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            contexto.close();
+        }
+    }
+
+    @Benchmark
+    public Equipo buscarPorId() {
+        return equipoService.findByID(equiposIds.get(aleatorio.nextInt(equiposIds.size())));
+    }
+
+    @Benchmark
+    public Slice<Equipo> buscarPagina() {
+        return equipoService.buscar(null, null, null, PageRequest.of(0, 20), false, VistaEquipo.COMPLETO);
+    }
+
+    /**
+     * Guarda un equipo que referencia por ID su compañía, su tipo y su personal.
+     */
+    @Benchmark
+    public Equipo guardar() {
+        Set<Bombero> personal = new LinkedHashSet<>();
+        int desde = aleatorio.nextInt(bomberosIds.size() - PERSONAL_POR_EQUIPO);
+        for (int j = 0; j < PERSONAL_POR_EQUIPO; j++) {
+            personal.add(new Bombero(bomberosIds.get(desde + j), null, null, null, null));
+        }
+        Equipo equipo = new Equipo(null, "Equipo nuevo", PERSONAL_POR_EQUIPO, true, "Líder",
+                new LinkedHashSet<>(), personal, new LinkedHashSet<>(), null,
+                new Compania(companiaId, null, null), new TipoEquipo(tipoEquipoId, null));
+        return equipoService.save(equipo);
+    }
+
+    /**
+     * Inserta 10.000 turnos en una transacción. Cada iteración mide una sola inserción completa.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public List<Turno> insertarTurnos(InsercionMasiva insercion) {
+        return insercion.turnoRepository.saveAll(insercion.nuevos);
+    }
+}
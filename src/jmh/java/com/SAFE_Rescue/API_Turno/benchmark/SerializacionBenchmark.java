@@ -0,0 +1,54 @@
+package com.SAFE_Rescue.API_Turno.benchmark;
+
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de la conversión JSON de un equipo con todas sus relaciones cargadas,
+ * con la misma configuración de Jackson que usa la API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    /**
+     * Cantidad de bomberos del equipo; los vehículos y recursos son la cuarta parte.
+     */
+    @Param({"5", "50"})
+    private int personal;
+
+    private ObjectMapper objectMapper;
+    private Equipo equipo;
+    private byte[] json;
+
+    @Setup
+    public void preparar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new Hibernate6Module())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        equipo = Datos.equipo(personal, Math.max(1, personal / 4), Math.max(1, personal / 4));
+        json = objectMapper.writeValueAsBytes(equipo);
+    }
+
+    @Benchmark
+    public byte[] serializarEquipo() throws IOException {
+        return objectMapper.writeValueAsBytes(equipo);
+    }
+
+    @Benchmark
+    public Equipo deserializarEquipo() throws IOException {
+        return objectMapper.readValue(json, Equipo.class);
+    }
+}
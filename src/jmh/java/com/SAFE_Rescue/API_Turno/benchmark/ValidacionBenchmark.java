@@ -0,0 +1,60 @@
+package com.SAFE_Rescue.API_Turno.benchmark;
+
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.service.CompaniaService;
+import com.SAFE_Rescue.API_Turno.service.EquipoService;
+import com.SAFE_Rescue.API_Turno.service.TurnoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks de las validaciones de los servicios, que se ejecutan en cada escritura.
+ * Las validaciones no usan repositorios, por lo que los servicios se crean sin Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacionBenchmark {
+
+    private final EquipoService equipoService = new EquipoService();
+    private final TurnoService turnoService = new TurnoService();
+    private final CompaniaService companiaService = new CompaniaService();
+
+    private Equipo equipo;
+    private Turno turno;
+    private Compania compania;
+
+    @Setup
+    public void preparar() {
+        equipo = Datos.equipo(20, 5, 5);
+        turno = Datos.turno(1);
+        compania = Datos.compania(1);
+    }
+
+    @Benchmark
+    public Equipo validarEquipo() {
+        equipoService.validarEquipo(equipo);
+        return equipo;
+    }
+
+    /**
+     * Incluye el cálculo de la duración, que validarTurno asigna al turno.
+     */
+    @Benchmark
+    public Integer validarTurno() {
+        turnoService.validarTurno(turno);
+        return turno.getDuracion();
+    }
+
+    @Benchmark
+    public Compania validarCompania() {
+        companiaService.validarCompania(compania);
+        return compania;
+    }
+}
@@ -0,0 +1,357 @@
+package com.SAFE_Rescue.API_Turno;
+
+import net.datafaker.Faker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de datos sintéticos a escala configurable.
+ * <p>
+ * Las filas se insertan con JDBC en lotes ({@code generador.tamanio-lote}), cada uno en su
+ * propia transacción, y los lotes de una misma tabla se generan en paralelo
+ * ({@code generador.hilos}). Los IDs se reservan de una vez en la tabla {@code id_generador},
+ * la misma que usan las entidades, por lo que Hibernate continúa después de ellos.
+ * </p>
+ * <p>
+ * Los datos dependen solo de la semilla y la escala: cada lote usa su propio generador
+ * aleatorio, derivado de la semilla, la tabla y el número de lote, sin importar el hilo
+ * que lo procese.
+ * </p>
+ * <p>
+ * Los bomberos y vehículos se reparten entre las compañías, y los turnos de una misma
+ * compañía son bloques consecutivos de 12 horas. Cada equipo usa personal y vehículos de la
+ * compañía de su turno, por lo que los datos no tienen conflictos de turnos mientras cada
+ * compañía tenga al menos {@code personalPorEquipo × ⌈equipos / turnos⌉} bomberos.
+ * </p>
+ */
+@Component
+public class GeneradorDatos {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final int HORAS_TURNO = 12;
+    private static final Locale IDIOMA = Locale.forLanguageTag("es");
+
+    private static final String[] TIPOS_EQUIPO = {"Rescate", "Incendio estructural", "Incendio forestal",
+            "Materiales peligrosos", "Rescate vehicular", "Agua", "Especialidades", "Apoyo"};
+    private static final String[] MARCAS = {"Mercedes-Benz", "Renault", "Scania", "Iveco", "MAN", "Volvo", "Ford"};
+    private static final String[] ESTADOS_VEHICULO = {"Operativo", "Operativo", "Operativo", "En mantención", "Fuera de servicio"};
+    private static final String[][] RECURSOS = {{"Manguera", "Agua"}, {"Extintor", "Extinción"},
+            {"Equipo de respiración", "Protección"}, {"Escala", "Acceso"}, {"Motosierra", "Corte"},
+            {"Botiquín", "Primeros auxilios"}, {"Cizalla hidráulica", "Rescate"}, {"Foco", "Iluminación"}};
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @Value("${generador.semilla:42}") private long semilla;
+    @Value("${generador.hilos:0}") private int hilos;
+    @Value("${generador.tamanio-lote:1000}") private int tamanioLote;
+
+    @Value("${generador.escala.companias:5}") private int companias;
+    @Value("${generador.escala.tipos-equipo:3}") private int tiposEquipo;
+    @Value("${generador.escala.bomberos:100}") private int bomberos;
+    @Value("${generador.escala.vehiculos:15}") private int vehiculos;
+    @Value("${generador.escala.recursos:20}") private int recursos;
+    @Value("${generador.escala.turnos:30}") private int turnos;
+    @Value("${generador.escala.equipos:10}") private int equipos;
+    @Value("${generador.escala.personal-por-equipo:3}") private int personalPorEquipo;
+
+    /**
+     * Cantidad de filas a generar de cada entidad. Se genera una ubicación por compañía.
+     */
+    public record Escala(int companias, int tiposEquipo, int bomberos, int vehiculos, int recursos,
+                         int turnos, int equipos, int personalPorEquipo) {
+    }
+
+    /**
+     * Genera los datos con la escala y la semilla configuradas, solo si la base de datos no
+     * tiene turnos; así reiniciar la aplicación no vuelve a agregar los mismos volúmenes.
+     * @return true si se generaron datos
+     */
+    public boolean generarSiVacia() {
+        Integer existentes = jdbcTemplate.queryForObject("select count(*) from turno", Integer.class);
+        if (existentes != null && existentes > 0) {
+            log.info("La base de datos ya tiene {} turnos; no se generan datos", existentes);
+            return false;
+        }
+        generar(new Escala(companias, tiposEquipo, bomberos, vehiculos, recursos, turnos, equipos, personalPorEquipo), semilla);
+        return true;
+    }
+
+    /**
+     * Genera los datos indicados, agregándolos a los existentes.
+     * @param escala Cantidad de filas de cada entidad
+     * @param semilla Semilla de los valores aleatorios
+     */
+    public void generar(Escala escala, long semilla) {
+        if (escala.companias() <= 0 || escala.turnos() <= 0) {
+            throw new IllegalArgumentException("Se requiere al menos una compañía y un turno");
+        }
+        long inicio = System.nanoTime();
+        int cantidadHilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(cantidadHilos);
+        try {
+            new Generacion(escala, semilla, ejecutor).ejecutar();
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        log.info("Datos generados en {} ms con {} hilos: {}", (System.nanoTime() - inicio) / 1_000_000, cantidadHilos, escala);
+    }
+
+    /**
+     * Reserva un bloque de IDs consecutivos en {@code id_generador}.
+     * Con el optimizador pooled-lo, {@code siguiente_id} es el primer ID que Hibernate usará
+     * en su próximo bloque, de modo que basta con avanzarlo.
+     * @param entidad Valor de la columna {@code entidad} de la tabla
+     * @param cantidad Cantidad de IDs
+     * @return Primer ID reservado
+     */
+    private int reservarIds(String entidad, int cantidad) {
+        return transactionTemplate.execute(estado -> {
+            List<Number> actual = jdbcTemplate.queryForList(
+                    "select siguiente_id from id_generador where entidad = ? for update", Number.class, entidad);
+            if (actual.isEmpty()) {
+                jdbcTemplate.update("insert into id_generador (entidad, siguiente_id) values (?, ?)", entidad, 1 + cantidad);
+                return 1;
+            }
+            int primero = actual.get(0).intValue();
+            jdbcTemplate.update("update id_generador set siguiente_id = ? where entidad = ?", primero + cantidad, entidad);
+            return primero;
+        });
+    }
+
+    /**
+     * Agrega a {@code destino} las filas correspondientes al índice indicado.
+     */
+    private interface Filas {
+        void agregar(int indice, Random aleatorio, Faker faker, List<Object[]> destino);
+    }
+
+    /**
+     * Estado de una ejecución: la escala, la semilla y el primer ID reservado de cada tabla.
+     * La fila de índice {@code i} de una tabla tiene el ID {@code primerId + i}.
+     */
+    private class Generacion {
+
+        private final Escala escala;
+        private final long semilla;
+        private final ExecutorService ejecutor;
+
+        private int ubicacionBase;
+        private int companiaBase;
+        private int tipoEquipoBase;
+        private int bomberoBase;
+        private int vehiculoBase;
+        private int recursoBase;
+        private int turnoBase;
+        private int equipoBase;
+
+        Generacion(Escala escala, long semilla, ExecutorService ejecutor) {
+            this.escala = escala;
+            this.semilla = semilla;
+            this.ejecutor = ejecutor;
+        }
+
+        void ejecutar() {
+            ubicacionBase = reservarIds("ubicacion", escala.companias());
+            insertar("ubicacion", escala.companias(),
+                    "insert into ubicacion (id, calle, numeracion, comuna, region) values (?, ?, ?, ?, ?)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{ubicacionBase + i,
+                            recortar(faker.address().streetName()), 1 + aleatorio.nextInt(9999),
+                            recortar(faker.address().cityName()), recortar(faker.address().state())}));
+
+            companiaBase = reservarIds("compania", escala.companias());
+            insertar("compania", escala.companias(),
+                    "insert into compania (id, nombre, ubicacion_id, version) values (?, ?, ?, 0)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{companiaBase + i,
+                            recortar((companiaBase + i) + "ª Compañía " + faker.address().cityName()), ubicacionBase + i}));
+
+            tipoEquipoBase = reservarIds("tipo_equipo", escala.tiposEquipo());
+            insertar("tipo_equipo", escala.tiposEquipo(),
+                    "insert into tipo_equipo (id, nombre_tipo) values (?, ?)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{tipoEquipoBase + i,
+                            TIPOS_EQUIPO[i % TIPOS_EQUIPO.length] + (i < TIPOS_EQUIPO.length ? "" : " " + (i / TIPOS_EQUIPO.length + 1))}));
+
+            bomberoBase = reservarIds("bombero", escala.bomberos());
+            insertar("bombero", escala.bomberos(),
+                    "insert into bombero (id, nombre, a_paterno, a_materno, telefono) values (?, ?, ?, ?, ?)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{bomberoBase + i,
+                            recortar(faker.name().firstName()), recortar(faker.name().lastName()),
+                            recortar(faker.name().lastName()), 900_000_000 + bomberoBase + i}));
+
+            vehiculoBase = reservarIds("vehiculo", escala.vehiculos());
+            insertar("vehiculo", escala.vehiculos(),
+                    "insert into vehiculo (id, marca, modelo, patente, conductor, estado) values (?, ?, ?, ?, ?, ?)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{vehiculoBase + i,
+                            MARCAS[aleatorio.nextInt(MARCAS.length)], "B-" + (100 + aleatorio.nextInt(900)),
+                            patente(aleatorio), recortar(faker.name().fullName()),
+                            ESTADOS_VEHICULO[aleatorio.nextInt(ESTADOS_VEHICULO.length)]}));
+
+            recursoBase = reservarIds("recurso", escala.recursos());
+            insertar("recurso", escala.recursos(),
+                    "insert into recurso (id, nombre, tipo_recurso, cantidad) values (?, ?, ?, ?)",
+                    (i, aleatorio, faker, filas) -> {
+                        String[] recurso = RECURSOS[aleatorio.nextInt(RECURSOS.length)];
+                        filas.add(new Object[]{recursoBase + i, recurso[0], recurso[1], 1 + aleatorio.nextInt(100)});
+                    });
+
+            turnoBase = reservarIds("turno", escala.turnos());
+            insertar("turno", escala.turnos(),
+                    "insert into turno (id, nombre_turno, fecha_hora_inicio, fecha_hora_fin, duracion, version) values (?, ?, ?, ?, ?, 0)",
+                    (i, aleatorio, faker, filas) -> {
+                        int bloque = i / escala.companias();
+                        LocalDateTime inicio = INICIO.plusHours((long) HORAS_TURNO * bloque);
+                        filas.add(new Object[]{turnoBase + i, bloque % 2 == 0 ? "Diurno" : "Nocturno",
+                                inicio, inicio.plusHours(HORAS_TURNO), HORAS_TURNO});
+                    });
+
+            equipoBase = reservarIds("equipo", escala.equipos());
+            insertar("equipo", escala.equipos(),
+                    "insert into equipo (id, nombre_equipo, cantidad_miembros, estado, nombre_lider, turno_id, compania_id, tipo_equipo_id, version)"
+                            + " values (?, ?, ?, ?, ?, ?, ?, ?, 0)",
+                    (i, aleatorio, faker, filas) -> filas.add(new Object[]{equipoBase + i, "Equipo " + (i + 1),
+                            Math.min(personal(i).size(), 99), aleatorio.nextInt(10) > 0, recortar(faker.name().fullName()),
+                            turnoBase + turno(i), companiaBase + compania(i),
+                            escala.tiposEquipo() > 0 ? tipoEquipoBase + aleatorio.nextInt(escala.tiposEquipo()) : null}));
+
+            insertar("equipo_personal", escala.equipos(),
+                    "insert into equipo_personal (equipo_id, personal_id) values (?, ?)",
+                    (i, aleatorio, faker, filas) -> personal(i).forEach(b -> filas.add(new Object[]{equipoBase + i, bomberoBase + b})));
+            insertar("equipo_vehiculos", escala.equipos(),
+                    "insert into equipo_vehiculos (equipo_id, vehiculos_id) values (?, ?)",
+                    (i, aleatorio, faker, filas) -> {
+                        int vehiculo = deCompania(compania(i), posicion(i), escala.vehiculos());
+                        if (vehiculo >= 0) {
+                            filas.add(new Object[]{equipoBase + i, vehiculoBase + vehiculo});
+                        }
+                    });
+            insertar("equipo_recursos", escala.equipos(),
+                    "insert into equipo_recursos (equipo_id, rucursos_id) values (?, ?)",
+                    (i, aleatorio, faker, filas) -> {
+                        if (escala.recursos() > 0) {
+                            int primero = aleatorio.nextInt(escala.recursos());
+                            filas.add(new Object[]{equipoBase + i, recursoBase + primero});
+                            if (escala.recursos() > 1 && aleatorio.nextBoolean()) {
+                                filas.add(new Object[]{equipoBase + i, recursoBase + (primero + 1) % escala.recursos()});
+                            }
+                        }
+                    });
+        }
+
+        private int turno(int equipo) {
+            return equipo % escala.turnos();
+        }
+
+        private int compania(int equipo) {
+            return turno(equipo) % escala.companias();
+        }
+
+        /**
+         * Posición del equipo entre todos los de su compañía, ordenados por bloque de tiempo.
+         * Los equipos de un mismo turno tienen posiciones consecutivas, y a medida que avanzan
+         * los bloques se recorre todo el personal de la compañía.
+         */
+        private int posicion(int equipo) {
+            int bloque = turno(equipo) / escala.companias();
+            int equiposPorTurno = (escala.equipos() + escala.turnos() - 1) / escala.turnos();
+            return bloque * equiposPorTurno + equipo / escala.turnos();
+        }
+
+        /**
+         * Índices de los bomberos del equipo: bomberos de la compañía de su turno, distintos
+         * de los de otros equipos del mismo turno.
+         */
+        private List<Integer> personal(int equipo) {
+            int compania = compania(equipo);
+            int disponibles = porCompania(compania, escala.bomberos());
+            int cantidad = Math.min(escala.personalPorEquipo(), disponibles);
+            long desde = (long) posicion(equipo) * escala.personalPorEquipo();
+            List<Integer> indices = new ArrayList<>(cantidad);
+            for (int j = 0; j < cantidad; j++) {
+                indices.add(compania + escala.companias() * (int) ((desde + j) % disponibles));
+            }
+            return indices;
+        }
+
+        /**
+         * Índice del elemento {@code posicion} de los asignados a la compañía, o -1 si no tiene.
+         * El elemento de índice {@code i} pertenece a la compañía {@code i % companias}.
+         */
+        private int deCompania(int compania, int posicion, int total) {
+            int disponibles = porCompania(compania, total);
+            return disponibles == 0 ? -1 : compania + escala.companias() * (posicion % disponibles);
+        }
+
+        private int porCompania(int compania, int total) {
+            return Math.max(0, (total - compania + escala.companias() - 1) / escala.companias());
+        }
+
+        /**
+         * Genera e inserta las filas de una tabla en lotes paralelos y espera a que terminen.
+         */
+        private void insertar(String tabla, int cantidad, String sql, Filas generadorFilas) {
+            long inicio = System.nanoTime();
+            List<Callable<Integer>> lotes = new ArrayList<>();
+            for (int desde = 0; desde < cantidad; desde += tamanioLote) {
+                int primero = desde;
+                int ultimo = Math.min(desde + tamanioLote, cantidad);
+                Random aleatorio = new Random(Objects.hash(semilla, tabla, desde / tamanioLote));
+                lotes.add(() -> {
+                    Faker faker = new Faker(IDIOMA, aleatorio);
+                    List<Object[]> filas = new ArrayList<>(ultimo - primero);
+                    for (int i = primero; i < ultimo; i++) {
+                        generadorFilas.agregar(i, aleatorio, faker, filas);
+                    }
+                    transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.batchUpdate(sql, filas));
+                    return filas.size();
+                });
+            }
+            int filas = 0;
+            try {
+                for (Future<Integer> lote : ejecutor.invokeAll(lotes)) {
+                    filas += lote.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Generación de datos interrumpida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error al generar " + tabla + ": " + e.getCause().getMessage(), e.getCause());
+            }
+            log.info("{}: {} filas en {} ms", tabla, filas, (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Patente con el formato chileno de cuatro letras y dos dígitos (por ejemplo, "BCDF12").
+     */
+    private static String patente(Random aleatorio) {
+        String letras = "BCDFGHJKLPRSTVWXYZ";
+        StringBuilder patente = new StringBuilder(6);
+        for (int i = 0; i < 4; i++) {
+            patente.append(letras.charAt(aleatorio.nextInt(letras.length())));
+        }
+        return patente.append(10 + aleatorio.nextInt(90)).toString();
+    }
+
+    private static String recortar(String valor) {
+        return valor.length() <= 50 ? valor : valor.substring(0, 50);
+    }
+}
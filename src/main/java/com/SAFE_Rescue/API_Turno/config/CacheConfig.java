@@ -0,0 +1,88 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.Ubicacion;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Configuración del caché de segundo nivel de Hibernate para los catálogos de referencia.
+ * <p>
+ * Los tipos de equipo, las compañías y las ubicaciones se leen en casi todas las escrituras
+ * de equipos y casi nunca cambian. Cada catálogo tiene su propia región con un máximo de
+ * entradas en memoria y un tiempo de vida, de modo que un cambio hecho directamente en la
+ * base de datos se ve a más tardar al vencer la entrada. Los cambios hechos con JPA
+ * actualizan la región al confirmarse la transacción.
+ * </p>
+ * <p>
+ * Las regiones se crean aquí y Hibernate falla al iniciar si una entidad usa una región no
+ * declarada ({@code missing_cache_strategy=fail}). Cada contexto de Spring crea su propio
+ * administrador de caché, por lo que dos contextos en la misma JVM no comparten entradas.
+ * </p>
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${cache.catalogos.ttl:PT30M}")
+    private Duration ttl;
+
+    @Value("${cache.catalogos.tamanio.tipo-equipo:500}")
+    private long tamanioTipoEquipo;
+
+    @Value("${cache.catalogos.tamanio.compania:2000}")
+    private long tamanioCompania;
+
+    @Value("${cache.catalogos.tamanio.ubicacion:5000}")
+    private long tamanioUbicacion;
+
+    /**
+     * Administrador JCache (Ehcache) con las regiones de los catálogos.
+     * Las estadísticas de aciertos y fallos de cada región quedan disponibles por JMX.
+     * @return Administrador de caché de segundo nivel
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivel() {
+        EhcacheCachingProvider proveedor = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = proveedor.getCacheManager(
+                URI.create("urn:api-turno:segundo-nivel:" + UUID.randomUUID()),
+                new DefaultConfiguration(getClass().getClassLoader()));
+        crearRegion(cacheManager, TipoEquipo.REGION_CACHE, tamanioTipoEquipo);
+        crearRegion(cacheManager, Compania.REGION_CACHE, tamanioCompania);
+        crearRegion(cacheManager, Ubicacion.REGION_CACHE, tamanioUbicacion);
+        return cacheManager;
+    }
+
+    /**
+     * Entrega a Hibernate el administrador de caché de este contexto.
+     * @param cacheSegundoNivel Administrador de caché de segundo nivel
+     * @return Personalización de las propiedades de Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelHibernate(CacheManager cacheSegundoNivel) {
+        return propiedades -> propiedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+    }
+
+    private void crearRegion(CacheManager cacheManager, String region, long tamanio) {
+        cacheManager.createCache(region, Eh107Configuration.fromEhcacheCacheConfiguration(
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(tamanio))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))));
+        cacheManager.enableStatistics(region, true);
+    }
+}
@@ -0,0 +1,104 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.SAFE_Rescue.API_Turno.service.CargaCompartida;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Comparte entre llamadas simultáneas la carga de los métodos {@link CargaCompartida}.
+ * <p>
+ * La primera llamada con unos argumentos ejecuta el método en su propio hilo y publica el
+ * resultado; las que llegan mientras tanto lo esperan como máximo
+ * {@code cargas-compartidas.espera} y, si no llega a tiempo, cargan por su cuenta. La carga
+ * deja de compartirse apenas termina, de modo que no hay caché ni datos vencidos más allá
+ * de la consulta en curso.
+ * </p>
+ * <p>
+ * Se ordena antes que el interceptor de transacciones ({@link Ordered#LOWEST_PRECEDENCE}),
+ * así las llamadas que esperan no abren una transacción ni ocupan una conexión. Cada llamada
+ * suma al contador {@value #METRICA}, con las etiquetas {@code entidad} (tipo retornado) y
+ * {@code resultado}: "propia", "compartida" o "espera_agotada".
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CargasCompartidas {
+
+    /**
+     * Nombre del contador de cargas por entidad y resultado.
+     */
+    public static final String METRICA = "servicio.cargas";
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Value("${cargas-compartidas.espera:2s}")
+    private Duration espera;
+
+    @Around("@annotation(com.SAFE_Rescue.API_Turno.service.CargaCompartida)")
+    public Object compartir(ProceedingJoinPoint llamada) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return llamada.proceed();
+        }
+        MethodSignature firma = (MethodSignature) llamada.getSignature();
+        String entidad = firma.getReturnType().getSimpleName();
+        List<Object> clave = new ArrayList<>(llamada.getArgs().length + 1);
+        clave.add(firma.getMethod());
+        clave.addAll(Arrays.asList(llamada.getArgs()));
+
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            try {
+                Object resultado = existente.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+                contar(entidad, "compartida");
+                return resultado;
+            } catch (ExecutionException e) {
+                contar(entidad, "compartida");
+                throw e.getCause();
+            } catch (TimeoutException e) {
+                contar(entidad, "espera_agotada");
+                return llamada.proceed();
+            }
+        }
+
+        contar(entidad, "propia");
+        try {
+            Object resultado = llamada.proceed();
+            propia.complete(resultado);
+            return resultado;
+        } catch (Throwable e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    private void contar(String entidad, String resultado) {
+        registro.counter(METRICA, "entidad", entidad, "resultado", resultado).increment();
+    }
+}
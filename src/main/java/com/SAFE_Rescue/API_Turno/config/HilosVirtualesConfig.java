@@ -0,0 +1,109 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resguardos para la ejecución de peticiones en hilos virtuales ({@code spring.threads.virtual.enabled=true}, Java 21).
+ * <p>
+ * Con hilos virtuales Tomcat deja de tener un máximo de 200 hilos, pero el pool de conexiones
+ * sigue teniendo pocas: si MySQL se bloquea, miles de peticiones quedarían esperando una conexión
+ * y ocupando memoria. Para evitarlo se limita la cantidad de peticiones en curso
+ * ({@code hilos-virtuales.peticiones-simultaneas}); las que no consiguen lugar dentro de
+ * {@code hilos-virtuales.espera-peticion} reciben 503 con {@code Retry-After}. Además, la espera
+ * por una conexión se acota a {@code hilos-virtuales.espera-conexion}.
+ * </p>
+ * <p>
+ * Un hilo virtual que se bloquea dentro de un bloque {@code synchronized} queda fijo a su hilo
+ * de plataforma. El driver de MySQL (9.x), HikariCP (5.1) y el índice de conflictos usan
+ * {@link java.util.concurrent.locks.Lock} en lugar de {@code synchronized}; los bloques
+ * {@code synchronized} de la aplicación no hacen entrada/salida.
+ * </p>
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class HilosVirtualesConfig {
+
+    @Bean
+    public LimitePeticiones limitePeticiones(
+            @Value("${hilos-virtuales.peticiones-simultaneas:1000}") int peticionesSimultaneas,
+            @Value("${hilos-virtuales.espera-peticion:2s}") Duration espera) {
+        return new LimitePeticiones(peticionesSimultaneas, espera);
+    }
+
+    /**
+     * Acota la espera por una conexión del pool, que por defecto es de 30 segundos.
+     */
+    @Bean
+    public static BeanPostProcessor esperaConexion(@Value("${hilos-virtuales.espera-conexion:5s}") Duration espera) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nombre) {
+                if (bean instanceof HikariDataSource pool) {
+                    pool.setConnectionTimeout(espera.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Limita la cantidad de peticiones en curso, salvo las de Actuator.
+     */
+    static class LimitePeticiones extends OncePerRequestFilter {
+
+        private final Semaphore permisos;
+        private final Duration espera;
+
+        LimitePeticiones(int peticionesSimultaneas, Duration espera) {
+            this.permisos = new Semaphore(peticionesSimultaneas);
+            this.espera = espera;
+        }
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest peticion) {
+            return peticion.getRequestURI().startsWith(peticion.getContextPath() + "/actuator");
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest peticion, HttpServletResponse respuesta, FilterChain cadena)
+                throws ServletException, IOException {
+            boolean permitida;
+            try {
+                permitida = permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                permitida = false;
+            }
+            if (!permitida) {
+                respuesta.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                respuesta.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                respuesta.setContentType("text/plain;charset=UTF-8");
+                respuesta.getWriter().write("Servidor ocupado, reintente en unos segundos.");
+                return;
+            }
+            try {
+                cadena.doFilter(peticion, respuesta);
+            } finally {
+                permisos.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la serialización JSON de las entidades JPA.
+ * <p>
+ * Las asociaciones perezosas que no fueron cargadas por el servicio se serializan como
+ * {@code null} en lugar de dispararse una consulta por cada fila durante la escritura de
+ * la respuesta. Qué se carga queda definido por los planes de carga de cada servicio.
+ * </p>
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+}
@@ -0,0 +1,55 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide cada llamada a un método público de los servicios ({@code *Service}).
+ * <p>
+ * Registra el temporizador {@value #METRICA}, que incluye la cantidad de llamadas, con las
+ * etiquetas {@code servicio}, {@code metodo}, {@code resultado} ("exito" o "error") y
+ * {@code excepcion} (nombre simple de la clase, o "ninguna"). Las etiquetas no incluyen
+ * argumentos, de modo que la cantidad de series está acotada por la cantidad de métodos.
+ * </p>
+ * <p>
+ * Solo se miden las llamadas que pasan por el proxy de Spring: las llamadas de un servicio
+ * a sus propios métodos quedan dentro de la medición del método que las hace.
+ * </p>
+ */
+@Aspect
+@Component
+public class MetricasServicios {
+
+    /**
+     * Nombre del temporizador de las llamadas a servicios.
+     */
+    public static final String METRICA = "servicio.invocaciones";
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Around("execution(public * com.SAFE_Rescue.API_Turno.service.*Service.*(..))")
+    public Object medir(ProceedingJoinPoint llamada) throws Throwable {
+        Timer.Sample muestra = Timer.start(registro);
+        String excepcion = "ninguna";
+        try {
+            return llamada.proceed();
+        } catch (Throwable e) {
+            excepcion = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            muestra.stop(Timer.builder(METRICA)
+                    .description("Llamadas a los métodos públicos de los servicios")
+                    .tag("servicio", llamada.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", llamada.getSignature().getName())
+                    .tag("resultado", "ninguna".equals(excepcion) ? "exito" : "error")
+                    .tag("excepcion", excepcion)
+                    .register(registro));
+        }
+    }
+}
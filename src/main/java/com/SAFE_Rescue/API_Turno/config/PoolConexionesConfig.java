@@ -0,0 +1,52 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Requisito de tamaño del pool de conexiones que impone el generador de IDs.
+ * <p>
+ * Las entidades toman sus IDs de la tabla {@code id_generador} ({@code GenerationType.TABLE},
+ * bloques de 50). Hibernate reserva cada bloque en una conexión aparte, que pide al pool mientras
+ * la transacción que inserta conserva la suya; la devuelve apenas reserva el bloque. Con una sola
+ * conexión esa segunda nunca llega y la inserción falla con
+ * "Unable to obtain isolated JDBC connection", por lo que el inicio se detiene si
+ * {@code spring.datasource.hikari.maximum-pool-size} es menor que {@link #CONEXIONES_MINIMAS}.
+ * </p>
+ * <p>
+ * Con más escrituras simultáneas que conexiones, las que cruzan el fin de un bloque esperan una
+ * conexión libre hasta {@code connection-timeout}; el pool debe dejar al menos una conexión por
+ * encima de las escrituras que se esperan en paralelo.
+ * </p>
+ */
+@Configuration
+public class PoolConexionesConfig {
+
+    /**
+     * Conexiones que necesita una inserción: la de su transacción y la del generador de IDs.
+     */
+    public static final int CONEXIONES_MINIMAS = 2;
+
+    @Bean
+    public static BeanPostProcessor tamanioMinimoPool() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nombre) {
+                if (bean instanceof HikariDataSource pool) {
+                    validarTamanio(pool.getMaximumPoolSize());
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void validarTamanio(int maximo) {
+        if (maximo < CONEXIONES_MINIMAS) {
+            throw new IllegalStateException("spring.datasource.hikari.maximum-pool-size debe ser al menos "
+                    + CONEXIONES_MINIMAS + " (es " + maximo + "): el generador de IDs reserva sus bloques"
+                    + " en una conexión aparte de la transacción que inserta");
+        }
+    }
+}
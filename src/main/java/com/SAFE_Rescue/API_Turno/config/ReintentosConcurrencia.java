@@ -0,0 +1,71 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.SAFE_Rescue.API_Turno.service.Reintentable;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Vuelve a ejecutar los métodos {@link Reintentable} que fallan por bloqueo optimista.
+ * <p>
+ * Se ordena antes que el interceptor de transacciones ({@link Ordered#LOWEST_PRECEDENCE}),
+ * de modo que cada intento abre su propia transacción y vuelve a leer la entidad. Entre
+ * intentos espera un tiempo aleatorio creciente para que los que chocaron no vuelvan a
+ * coincidir. Si la llamada ya está dentro de una transacción no se reintenta, porque esa
+ * transacción quedó marcada para deshacerse. Agotados los intentos se propaga la excepción.
+ * </p>
+ * <p>
+ * Cada reintento suma al contador {@value #METRICA}, con la etiqueta {@code metodo}.
+ * </p>
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ReintentosConcurrencia {
+
+    private static final Logger log = LoggerFactory.getLogger(ReintentosConcurrencia.class);
+
+    /**
+     * Nombre del contador de reintentos por bloqueo optimista.
+     */
+    public static final String METRICA = "servicio.reintentos";
+
+    /**
+     * Espera base entre intentos, en milisegundos; el intento n espera hasta n veces este valor.
+     */
+    private static final int ESPERA_MS = 10;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Around("@annotation(reintentable)")
+    public Object reintentar(ProceedingJoinPoint llamada, Reintentable reintentable) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return llamada.proceed();
+        }
+        String metodo = llamada.getSignature().getDeclaringType().getSimpleName() + "." + llamada.getSignature().getName();
+        for (int intento = 1; ; intento++) {
+            try {
+                return llamada.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                if (intento >= reintentable.intentos()) {
+                    log.warn("{} no se completó tras {} intentos por modificaciones concurrentes", metodo, intento);
+                    throw e;
+                }
+                registro.counter(METRICA, "metodo", metodo).increment();
+                Thread.sleep(ThreadLocalRandom.current().nextLong(1, (long) ESPERA_MS * intento + 1));
+            }
+        }
+    }
+}
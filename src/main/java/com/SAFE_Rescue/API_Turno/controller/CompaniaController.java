@@ -2,13 +2,23 @@ package com.SAFE_Rescue.API_Turno.controller;
 
 import com.SAFE_Rescue.API_Turno.modelo.Compania;
 import com.SAFE_Rescue.API_Turno.service.CompaniaService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
+import com.SAFE_Rescue.API_Turno.dto.CompaniaConUbicacion;
+import com.SAFE_Rescue.API_Turno.dto.PaginaRespuesta;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -24,24 +34,77 @@ public class CompaniaController {
     @Autowired
     private CompaniaService companiaService;
 
+    @Autowired
+    private RegistroCambios registroCambios;
+
     // OPERACIONES CRUD BÁSICAS
 
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "nombre");
+
     /**
-     * Obtiene todas las compañías registradas en el sistema.
-     * @return ResponseEntity con lista de compañías o estado NO_CONTENT si no hay registros
+     * Obtiene una página de las compañías registradas en el sistema.
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=nombre,asc}
+     * @param totales Si es falso se omite la consulta de conteo y los totales de la respuesta
+     * @return ResponseEntity con la página de compañías o estado NO_CONTENT si no hay registros
      */
     @GetMapping
-    @Operation(summary = "Obtener todas las compañías", description = "Devuelve una lista de todas las compañías registradas.")
+    @Operation(summary = "Obtener compañías paginadas", description = "Devuelve una página de las compañías registradas.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de compañías encontrada"),
-            @ApiResponse(responseCode = "204", description = "No hay compañías registradas")
+            @ApiResponse(responseCode = "200", description = "Página de compañías encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay compañías registradas"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación no válidos")
     })
-    public ResponseEntity<List<Compania>> listarCompania() {
-        List<Compania> compania = companiaService.findAll();
+    public ResponseEntity<?> listarCompania(@ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                            @RequestParam(defaultValue = "true") boolean totales,
+                                            WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Compania.class))) {
+            return null;
+        }
+        Slice<Compania> compania;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            compania = companiaService.findAll(pageable, totales);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
         if (compania.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return ResponseEntity.ok(compania);
+        return ResponseEntity.ok(PaginaRespuesta.de(compania));
+    }
+
+    /**
+     * Obtiene una página de compañías con su dirección aplanada.
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=nombre,asc}
+     * @return ResponseEntity con la página de compañías,
+     *         código de estado NO_CONTENT (204) si la página está vacía,
+     *         o BAD_REQUEST (400) si los parámetros no son válidos.
+     */
+    @GetMapping("/con-ubicacion")
+    @Operation(summary = "Obtener compañías con ubicación", description = "Devuelve una página de compañías con los datos de su ubicación en el mismo nivel.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de compañías encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay compañías registradas"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación no válidos")
+    })
+    public ResponseEntity<?> listarConUbicacion(@ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                                WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Compania.class))) {
+            return null;
+        }
+        Page<CompaniaConUbicacion> companias;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            companias = companiaService.findAllConUbicacion(pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (companias.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(PaginaRespuesta.de(companias));
     }
 
     /**
@@ -53,9 +116,14 @@ public class CompaniaController {
     @Operation(summary = "Buscar compañía por ID", description = "Devuelve una compañía específica dada su ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Compañía encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Compañía no encontrada")
     })
-    public ResponseEntity<?> buscarCompania(@PathVariable int id) {
+    public ResponseEntity<?> buscarCompania(@PathVariable int id,
+                                            WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Compania.class))) {
+            return null;
+        }
         Compania compania;
         try {
             compania = companiaService.findByID(id);
@@ -100,12 +168,15 @@ public class CompaniaController {
             @ApiResponse(responseCode = "200", description = "Compañía actualizada con éxito"),
             @ApiResponse(responseCode = "404", description = "Compañía no encontrada"),
             @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "La compañía cambió desde la versión enviada; se devuelve su estado actual"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<String> actualizarCompania(@PathVariable Integer id, @RequestBody Compania compania) {
+    public ResponseEntity<?> actualizarCompania(@PathVariable Integer id, @RequestBody Compania compania) {
         try {
             Compania nuevoCompania = companiaService.update(compania, id);
             return ResponseEntity.ok("Actualizado con éxito");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(id);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Compania no encontrada");
@@ -170,4 +241,17 @@ public class CompaniaController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Responde 409 con el estado actual de la compañía, para que el cliente rehaga su cambio sobre ella.
+     * @param id ID de la compañía
+     * @return ResponseEntity con la compañía actual, o NOT_FOUND si se eliminó
+     */
+    private ResponseEntity<?> conflicto(Integer id) {
+        try {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(companiaService.findByID(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Compania no encontrada");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utilidades compartidas por los controladores para los GET condicionales.
+ * <p>
+ * La versión se toma del {@link RegistroCambios} antes de llamar al servicio, de modo que
+ * una consulta sin cambios se responde con 304 sin leer la base de datos ni serializar nada.
+ * Si hubo cambios, la respuesta lleva los encabezados {@code ETag} y {@code Last-Modified}.
+ * </p>
+ */
+final class Condicional {
+
+    private Condicional() {
+    }
+
+    /**
+     * Compara la versión con los encabezados {@code If-None-Match} e {@code If-Modified-Since}
+     * de la petición. Si el cliente ya tiene esa versión, deja preparada la respuesta 304.
+     * @param peticion Petición en curso
+     * @param version Versión de las tablas de las que depende la respuesta
+     * @return Verdadero si el controlador debe retornar sin cuerpo
+     */
+    static boolean sinCambios(WebRequest peticion, RegistroCambios.Version version) {
+        return peticion.checkNotModified(version.etag(), version.ultimaModificacion());
+    }
+}
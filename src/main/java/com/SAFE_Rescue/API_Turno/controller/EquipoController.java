@@ -2,13 +2,30 @@ package com.SAFE_Rescue.API_Turno.controller;
 
 import com.SAFE_Rescue.API_Turno.modelo.Equipo;
 import com.SAFE_Rescue.API_Turno.service.EquipoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.EquipoResumen;
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.PaginaRespuesta;
+import com.SAFE_Rescue.API_Turno.dto.VistaEquipo;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -24,24 +41,167 @@ public class EquipoController {
     @Autowired
     private EquipoService equipoService;
 
+    @Autowired
+    private RegistroCambios registroCambios;
+
     // OPERACIONES CRUD BÁSICAS
 
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "nombre", "cantidadMiembros", "estado", "lider");
+
+    // Tablas de las que dependen las respuestas de equipos, que incluyen sus referencias
+    private static final Class<?>[] TABLAS = {Equipo.class, Turno.class, Compania.class, TipoEquipo.class};
+
     /**
-     * Obtiene todos los equipos registrados en el sistema.
-     * @return ResponseEntity con lista de equipos o estado NO_CONTENT si no hay registros
+     * Obtiene una página de equipos, con filtros opcionales por estado, compañía y tipo de equipo.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=nombre,asc}
+     * @param totales Si es falso se omite la consulta de conteo y los totales de la respuesta
+     * @param vista Nivel de detalle: "resumen" (sin vehículos, personal ni recursos) o "completo"
+     * @return ResponseEntity con la página de equipos o estado NO_CONTENT si no hay registros
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los equipos", description = "Devuelve una lista de todos los equipos registrados.")
+    @Operation(summary = "Obtener equipos paginados", description = "Devuelve una página de equipos, con filtros opcionales por estado, compañía y tipo de equipo.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de equipos encontrada"),
-            @ApiResponse(responseCode = "204", description = "No hay equipos registrados")
+            @ApiResponse(responseCode = "200", description = "Página de equipos encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay equipos para los filtros indicados"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación o vista no válidos")
     })
-    public ResponseEntity<List<Equipo>> listar() {
-        List<Equipo> equipos = equipoService.findAll();
+    public ResponseEntity<?> listar(@RequestParam(required = false) Boolean estado,
+                                    @RequestParam(required = false) Integer companiaId,
+                                    @RequestParam(required = false) Integer tipoEquipoId,
+                                    @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                    @RequestParam(defaultValue = "true") boolean totales,
+                                    @RequestParam(defaultValue = "completo") String vista,
+                                    WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TABLAS))) {
+            return null;
+        }
+        Slice<Equipo> equipos;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            equipos = equipoService.buscar(estado, companiaId, tipoEquipoId, pageable, totales, VistaEquipo.de(vista));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
         if (equipos.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return ResponseEntity.ok(equipos);
+        return ResponseEntity.ok(PaginaRespuesta.de(equipos));
+    }
+
+    /**
+     * Obtiene una página de resúmenes de equipos: datos propios, IDs de sus referencias y
+     * cantidad de vehículos, personal y recursos. Pensado para paneles que consultan con frecuencia.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=nombre,asc}
+     * @return ResponseEntity con la página de resúmenes,
+     *         código de estado NO_CONTENT (204) si la página está vacía,
+     *         o BAD_REQUEST (400) si los parámetros no son válidos.
+     */
+    @GetMapping("/resumen")
+    @Operation(summary = "Obtener resúmenes de equipos", description = "Devuelve una página de equipos con los IDs de sus referencias y la cantidad de elementos asignados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resúmenes encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay equipos para los filtros indicados"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación no válidos")
+    })
+    public ResponseEntity<?> listarResumen(@RequestParam(required = false) Boolean estado,
+                                           @RequestParam(required = false) Integer companiaId,
+                                           @RequestParam(required = false) Integer tipoEquipoId,
+                                           @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                           WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TABLAS))) {
+            return null;
+        }
+        Page<EquipoResumen> resumenes;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            resumenes = equipoService.buscarResumen(estado, companiaId, tipoEquipoId, pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (resumenes.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(PaginaRespuesta.de(resumenes));
+    }
+
+    /**
+     * Recorre los equipos ordenados por ID mediante un token de continuación.
+     * Pensado para sincronizaciones que leen la tabla completa: el costo de cada página
+     * es el mismo sin importar cuántas se hayan leído antes.
+     *
+     * @param token Token de continuación entregado en la página anterior (omitir para comenzar)
+     * @param tamanio Cantidad de equipos por página (máximo 1000)
+     * @param vista Nivel de detalle: "resumen" (sin vehículos, personal ni recursos) o "completo"
+     * @return ResponseEntity con la página de equipos y el token siguiente,
+     *         código de estado NO_CONTENT (204) si no quedan equipos,
+     *         o BAD_REQUEST (400) si el token, el tamaño o la vista no son válidos.
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Recorrer equipos por cursor", description = "Devuelve equipos ordenados por ID a partir de un token de continuación opaco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de equipos encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No quedan equipos por recorrer"),
+            @ApiResponse(responseCode = "400", description = "Token, tamaño de página o vista no válidos")
+    })
+    public ResponseEntity<?> recorrer(@RequestParam(required = false) String token,
+                                      @RequestParam(defaultValue = "500") int tamanio,
+                                      @RequestParam(defaultValue = "completo") String vista,
+                                      WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TABLAS))) {
+            return null;
+        }
+        PaginaCursor<Equipo> pagina;
+        try {
+            pagina = equipoService.recorrer(token, tamanio, VistaEquipo.de(vista));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (pagina.getContenido().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Revisa si asignar bomberos y vehículos a un turno genera conflictos con otros equipos.
+     * @param turnoId ID del turno
+     * @param equipoId ID del equipo revisado, que no se compara consigo mismo (opcional)
+     * @param bomberos IDs de los bomberos (opcional)
+     * @param vehiculos IDs de los vehículos (opcional)
+     * @return ResponseEntity con la lista de conflictos (vacía si no hay)
+     *         o NOT_FOUND (404) si el turno no existe
+     */
+    @GetMapping("/conflictos")
+    @Operation(summary = "Revisar conflictos de turnos", description = "Devuelve las asignaciones existentes de los bomberos y vehículos indicados cuyos turnos se superponen con el turno indicado.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conflictos encontrados (lista vacía si no hay)"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "404", description = "Turno no encontrado")
+    })
+    public ResponseEntity<?> buscarConflictos(@RequestParam Integer turnoId,
+                                              @RequestParam(required = false) Integer equipoId,
+                                              @RequestParam(required = false) List<Integer> bomberos,
+                                              @RequestParam(required = false) List<Integer> vehiculos,
+                                              WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Turno.class, Equipo.class))) {
+            return null;
+        }
+        List<ConflictoTurno> conflictos;
+        try {
+            conflictos = equipoService.buscarConflictos(equipoId, turnoId, bomberos, vehiculos);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+        return ResponseEntity.ok(conflictos);
     }
 
     /**
@@ -53,9 +213,14 @@ public class EquipoController {
     @Operation(summary = "Buscar equipo por ID", description = "Devuelve un equipo específico dada su ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Equipo encontrado"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Equipo no encontrado")
     })
-    public ResponseEntity<?> buscarEquipo(@PathVariable Integer id) {
+    public ResponseEntity<?> buscarEquipo(@PathVariable Integer id,
+                                          WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TABLAS))) {
+            return null;
+        }
         Equipo equipo;
         try {
             equipo = equipoService.findByID(id);
@@ -67,7 +232,10 @@ public class EquipoController {
 
     /**
      * Crea un nuevo equipo.
+     * El turno, la compañía y el tipo de equipo se indican por ID; solo se crean si
+     * se solicita con {@code crearRelaciones}.
      * @param equipo Datos del equipo a crear
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
      * @return ResponseEntity con mensaje de confirmación o error
      */
     @PostMapping
@@ -77,9 +245,10 @@ public class EquipoController {
             @ApiResponse(responseCode = "400", description = "Error de validación"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<String> agregarEquipo(@RequestBody Equipo equipo) {
+    public ResponseEntity<String> agregarEquipo(@RequestBody Equipo equipo,
+                                                @RequestParam(defaultValue = "false") boolean crearRelaciones) {
         try {
-            equipoService.save(equipo);
+            equipoService.save(equipo, crearRelaciones);
             return ResponseEntity.status(HttpStatus.CREATED).body("Equipo creado con éxito.");
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
@@ -92,6 +261,7 @@ public class EquipoController {
      * Actualiza un equipo existente.
      * @param id ID del equipo a actualizar
      * @param equipo Datos actualizados del equipo
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
      * @return ResponseEntity con mensaje de confirmación o error
      */
     @PutMapping("/{id}")
@@ -100,12 +270,16 @@ public class EquipoController {
             @ApiResponse(responseCode = "200", description = "Equipo actualizado con éxito"),
             @ApiResponse(responseCode = "404", description = "Equipo no encontrado"),
             @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo cambió desde la versión enviada; se devuelve su estado actual"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<String> actualizarEquipo(@PathVariable Integer id, @RequestBody Equipo equipo) {
+    public ResponseEntity<?> actualizarEquipo(@PathVariable Integer id, @RequestBody Equipo equipo,
+                                              @RequestParam(defaultValue = "false") boolean crearRelaciones) {
         try {
-            Equipo nuevoEquipo = equipoService.update(equipo, id);
+            Equipo nuevoEquipo = equipoService.update(equipo, id, crearRelaciones);
             return ResponseEntity.ok("Actualizado con éxito");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(id);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Equipo no encontrado");
@@ -160,12 +334,15 @@ public class EquipoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Compañía asignada al equipo exitosamente"),
             @ApiResponse(responseCode = "404", description = "Equipo o compañía no encontrada"),
-            @ApiResponse(responseCode = "400", description = "Error de validación")
+            @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
     })
-    public ResponseEntity<String> asignarCompania(@PathVariable int equipoId, @PathVariable int companiaId) {
+    public ResponseEntity<?> asignarCompania(@PathVariable int equipoId, @PathVariable int companiaId) {
         try {
             equipoService.asignarCompania(equipoId, companiaId);
             return ResponseEntity.ok("Compañia asignada al Equipo exitosamente");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(equipoId);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
@@ -182,12 +359,15 @@ public class EquipoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Turno asignado al equipo exitosamente"),
             @ApiResponse(responseCode = "404", description = "Equipo o turno no encontrado"),
-            @ApiResponse(responseCode = "400", description = "Error de validación")
+            @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
     })
-    public ResponseEntity<String> asignarTurno(@PathVariable int equipoId, @PathVariable int turnoId) {
+    public ResponseEntity<?> asignarTurno(@PathVariable int equipoId, @PathVariable int turnoId) {
         try {
             equipoService.asignarTurno(equipoId, turnoId);
             return ResponseEntity.ok("Turno asignado al Equipo exitosamente");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(equipoId);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
@@ -204,12 +384,15 @@ public class EquipoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tipo de equipo asignado al equipo exitosamente"),
             @ApiResponse(responseCode = "404", description = "Equipo o tipo de equipo no encontrado"),
-            @ApiResponse(responseCode = "400", description = "Error de validación")
+            @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
     })
-    public ResponseEntity<String> asignarTipoEquipo(@PathVariable int equipoId, @PathVariable int tipoEquipoId) {
+    public ResponseEntity<?> asignarTipoEquipo(@PathVariable int equipoId, @PathVariable int tipoEquipoId) {
         try {
             equipoService.asignarTipoEquipo(equipoId, tipoEquipoId);
             return ResponseEntity.ok("Tipo Equipo asignado al Equipo exitosamente");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(equipoId);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
@@ -226,14 +409,150 @@ public class EquipoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de bomberos asignada al equipo exitosamente"),
             @ApiResponse(responseCode = "404", description = "Equipo no encontrado"),
-            @ApiResponse(responseCode = "400", description = "Error de validación")
+            @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
     })
-    public ResponseEntity<String> asignaPersonal(@PathVariable Integer equipoId, @PathVariable List<Integer> bomberosId) {
+    public ResponseEntity<?> asignaPersonal(@PathVariable Integer equipoId, @PathVariable List<Integer> bomberosId) {
         try {
             equipoService.asignarListaBomberos(equipoId, bomberosId);
             return ResponseEntity.ok("Lista bomberos asignada al Equipo exitosamente");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(equipoId);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // MODIFICACIÓN PARCIAL DE CONJUNTOS
+
+    /**
+     * Agrega bomberos al personal de un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param bomberosId IDs de los bomberos a agregar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @PostMapping("/{equipoId}/personal/{bomberosId}")
+    @Operation(summary = "Agregar bomberos a equipo", description = "Agrega bomberos al equipo sin reemplazar su personal actual.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bomberos agregados al equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo o bombero no encontrado"),
+            @ApiResponse(responseCode = "400", description = "Error de validación o conflicto de turnos"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> agregarPersonal(@PathVariable Integer equipoId, @PathVariable List<Integer> bomberosId) {
+        return modificarConjunto(equipoId, () -> equipoService.agregarBomberos(equipoId, bomberosId), "Bomberos agregados al equipo");
+    }
+
+    /**
+     * Quita bomberos del personal de un equipo.
+     * @param equipoId ID del equipo
+     * @param bomberosId IDs de los bomberos a quitar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @DeleteMapping("/{equipoId}/personal/{bomberosId}")
+    @Operation(summary = "Quitar bomberos de equipo", description = "Quita bomberos del equipo sin modificar el resto de su personal.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bomberos quitados del equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> quitarPersonal(@PathVariable Integer equipoId, @PathVariable List<Integer> bomberosId) {
+        return modificarConjunto(equipoId, () -> equipoService.quitarBomberos(equipoId, bomberosId), "Bomberos quitados del equipo");
+    }
+
+    /**
+     * Agrega vehículos a un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param vehiculosId IDs de los vehículos a agregar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @PostMapping("/{equipoId}/vehiculos/{vehiculosId}")
+    @Operation(summary = "Agregar vehículos a equipo", description = "Agrega vehículos al equipo sin reemplazar los actuales.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehículos agregados al equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo o vehículo no encontrado"),
+            @ApiResponse(responseCode = "400", description = "Error de validación o conflicto de turnos"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> agregarVehiculos(@PathVariable Integer equipoId, @PathVariable List<Integer> vehiculosId) {
+        return modificarConjunto(equipoId, () -> equipoService.agregarVehiculos(equipoId, vehiculosId), "Vehículos agregados al equipo");
+    }
+
+    /**
+     * Quita vehículos de un equipo.
+     * @param equipoId ID del equipo
+     * @param vehiculosId IDs de los vehículos a quitar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @DeleteMapping("/{equipoId}/vehiculos/{vehiculosId}")
+    @Operation(summary = "Quitar vehículos de equipo", description = "Quita vehículos del equipo sin modificar el resto.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehículos quitados del equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> quitarVehiculos(@PathVariable Integer equipoId, @PathVariable List<Integer> vehiculosId) {
+        return modificarConjunto(equipoId, () -> equipoService.quitarVehiculos(equipoId, vehiculosId), "Vehículos quitados del equipo");
+    }
+
+    /**
+     * Agrega recursos a un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param recursosId IDs de los recursos a agregar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @PostMapping("/{equipoId}/recursos/{recursosId}")
+    @Operation(summary = "Agregar recursos a equipo", description = "Agrega recursos al equipo sin reemplazar los actuales.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recursos agregados al equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo o recurso no encontrado"),
+            @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> agregarRecursos(@PathVariable Integer equipoId, @PathVariable List<Integer> recursosId) {
+        return modificarConjunto(equipoId, () -> equipoService.agregarRecursos(equipoId, recursosId), "Recursos agregados al equipo");
+    }
+
+    /**
+     * Quita recursos de un equipo.
+     * @param equipoId ID del equipo
+     * @param recursosId IDs de los recursos a quitar
+     * @return ResponseEntity con mensaje de confirmación o error
+     */
+    @DeleteMapping("/{equipoId}/recursos/{recursosId}")
+    @Operation(summary = "Quitar recursos de equipo", description = "Quita recursos del equipo sin modificar el resto.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recursos quitados del equipo"),
+            @ApiResponse(responseCode = "404", description = "Equipo no encontrado"),
+            @ApiResponse(responseCode = "409", description = "El equipo siguió cambiando tras los reintentos; se devuelve su estado actual")
+    })
+    public ResponseEntity<?> quitarRecursos(@PathVariable Integer equipoId, @PathVariable List<Integer> recursosId) {
+        return modificarConjunto(equipoId, () -> equipoService.quitarRecursos(equipoId, recursosId), "Recursos quitados del equipo");
+    }
+
+    private ResponseEntity<?> modificarConjunto(Integer equipoId, Runnable operacion, String mensaje) {
+        try {
+            operacion.run();
+            return ResponseEntity.ok(mensaje);
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(equipoId);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Responde 409 con el estado actual del equipo, para que el cliente rehaga su cambio sobre él.
+     * @param id ID del equipo
+     * @return ResponseEntity con el equipo actual, o NOT_FOUND si se eliminó
+     */
+    private ResponseEntity<?> conflicto(Integer id) {
+        try {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(equipoService.findByID(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Equipo no encontrado");
+        }
+    }
+}
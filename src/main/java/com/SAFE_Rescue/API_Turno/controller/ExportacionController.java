@@ -0,0 +1,94 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.service.ExportacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controlador REST para la exportación masiva de turnos y equipos.
+ * Las filas se escriben en la respuesta a medida que se leen de la base de datos,
+ * sin construir la lista completa en memoria.
+ */
+@RestController
+@RequestMapping("/api-turnos/v1/exportaciones")
+public class ExportacionController {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    /**
+     * Exporta todos los turnos.
+     *
+     * @param formato Formato de salida: "ndjson" (por defecto) o "csv"
+     * @return ResponseEntity con el contenido escrito de forma progresiva,
+     *         o BAD_REQUEST (400) si el formato no es válido.
+     */
+    @GetMapping("/turnos")
+    @Operation(summary = "Exportar turnos", description = "Escribe todos los turnos, ordenados por ID, en formato NDJSON o CSV.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+            @ApiResponse(responseCode = "400", description = "Formato no válido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarTurnos(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoArchivo formatoArchivo;
+        try {
+            formatoArchivo = FormatoArchivo.de(formato);
+        } catch (IllegalArgumentException e) {
+            return mensaje(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarTurnos(salida, formatoArchivo);
+        return respuesta("turnos", formatoArchivo, cuerpo);
+    }
+
+    /**
+     * Exporta todos los equipos, con sus referencias indicadas por ID.
+     *
+     * @param formato Formato de salida: "ndjson" (por defecto) o "csv"
+     * @return ResponseEntity con el contenido escrito de forma progresiva,
+     *         o BAD_REQUEST (400) si el formato no es válido.
+     */
+    @GetMapping("/equipos")
+    @Operation(summary = "Exportar equipos", description = "Escribe todos los equipos, ordenados por ID, en formato NDJSON o CSV. Las referencias y listas se indican por ID.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación en curso"),
+            @ApiResponse(responseCode = "400", description = "Formato no válido")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarEquipos(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoArchivo formatoArchivo;
+        try {
+            formatoArchivo = FormatoArchivo.de(formato);
+        } catch (IllegalArgumentException e) {
+            return mensaje(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarEquipos(salida, formatoArchivo);
+        return respuesta("equipos", formatoArchivo, cuerpo);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> mensaje(HttpStatus estado, String mensaje) {
+        return ResponseEntity.status(estado)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(salida -> salida.write(mensaje.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> respuesta(String nombre, FormatoArchivo formato,
+                                                                   StreamingResponseBody cuerpo) {
+        String archivo = nombre + "." + formato.name().toLowerCase(Locale.ROOT);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getTipoContenido() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(archivo).build().toString())
+                .body(cuerpo);
+    }
+}
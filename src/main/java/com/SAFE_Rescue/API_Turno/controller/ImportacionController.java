@@ -0,0 +1,84 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.dto.ReporteImportacion;
+import com.SAFE_Rescue.API_Turno.service.ImportacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controlador REST para la importación masiva de turnos y equipos.
+ * Recibe archivos CSV ({@code text/csv}) o NDJSON ({@code application/x-ndjson}) en el cuerpo
+ * de la petición y los procesa a medida que se leen, sin cargarlos completos en memoria.
+ */
+@RestController
+@RequestMapping("/api-turnos/v1/importaciones")
+public class ImportacionController {
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    /**
+     * Importa turnos desde un archivo CSV o NDJSON.
+     *
+     * @param tipoContenido Tipo de contenido del cuerpo (text/csv o application/x-ndjson)
+     * @param tamanioLote Filas guardadas por transacción (opcional, máximo 5000)
+     * @param cuerpo Contenido del archivo
+     * @return ResponseEntity con el reporte de la importación,
+     *         o BAD_REQUEST (400) si el archivo o los parámetros no son válidos.
+     */
+    @PostMapping(value = "/turnos", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar turnos", description = "Crea turnos a partir de un archivo CSV (nombre,fechaHoraInicio,fechaHoraFin) o NDJSON, guardándolos por lotes.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada; el reporte detalla las filas con error"),
+            @ApiResponse(responseCode = "400", description = "Archivo o parámetros no válidos"),
+            @ApiResponse(responseCode = "415", description = "Tipo de contenido no soportado")
+    })
+    public ResponseEntity<?> importarTurnos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoContenido,
+                                            @RequestParam(required = false) Integer tamanioLote,
+                                            InputStream cuerpo) {
+        try {
+            ReporteImportacion reporte = importacionService.importarTurnos(cuerpo, FormatoArchivo.deTipoContenido(tipoContenido), tamanioLote);
+            return ResponseEntity.ok(reporte);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Importa equipos desde un archivo CSV o NDJSON.
+     *
+     * @param tipoContenido Tipo de contenido del cuerpo (text/csv o application/x-ndjson)
+     * @param tamanioLote Filas guardadas por transacción (opcional, máximo 5000)
+     * @param cuerpo Contenido del archivo
+     * @return ResponseEntity con el reporte de la importación,
+     *         o BAD_REQUEST (400) si el archivo o los parámetros no son válidos.
+     */
+    @PostMapping(value = "/equipos", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar equipos", description = "Crea equipos a partir de un archivo CSV o NDJSON, guardándolos por lotes. Las referencias se indican por ID y deben existir.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importación procesada; el reporte detalla las filas con error"),
+            @ApiResponse(responseCode = "400", description = "Archivo o parámetros no válidos"),
+            @ApiResponse(responseCode = "415", description = "Tipo de contenido no soportado")
+    })
+    public ResponseEntity<?> importarEquipos(@RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoContenido,
+                                             @RequestParam(required = false) Integer tamanioLote,
+                                             InputStream cuerpo) {
+        try {
+            ReporteImportacion reporte = importacionService.importarEquipos(cuerpo, FormatoArchivo.deTipoContenido(tipoContenido), tamanioLote);
+            return ResponseEntity.ok(reporte);
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
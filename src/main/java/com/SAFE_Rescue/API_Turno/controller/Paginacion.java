@@ -0,0 +1,35 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+
+/**
+ * Utilidades compartidas por los controladores para los listados paginados.
+ * <p>
+ * El tamaño máximo de página se limita globalmente mediante la propiedad
+ * {@code spring.data.web.pageable.max-page-size}; aquí solo se valida que los
+ * campos de ordenamiento pertenezcan a la entidad listada.
+ * </p>
+ */
+final class Paginacion {
+
+    private Paginacion() {
+    }
+
+    /**
+     * Valida que todos los campos de ordenamiento solicitados estén permitidos.
+     * @param pageable Paginación solicitada
+     * @param camposPermitidos Campos de la entidad por los que se puede ordenar
+     * @throws IllegalArgumentException Si se solicita ordenar por un campo no permitido
+     */
+    static void validarOrden(Pageable pageable, Set<String> camposPermitidos) {
+        for (Sort.Order orden : pageable.getSort()) {
+            if (!camposPermitidos.contains(orden.getProperty())) {
+                throw new IllegalArgumentException("Campo de ordenamiento no válido: " + orden.getProperty()
+                        + ". Valores permitidos: " + camposPermitidos);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.service.CanalCambios;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+/**
+ * Controlador REST del canal de cambios por Server-Sent Events.
+ * Permite a los clientes enterarse de los cambios de turnos, equipos y compañías sin consultar periódicamente.
+ */
+@RestController
+@RequestMapping("/api-turnos/v1/stream")
+public class StreamController {
+
+    @Autowired
+    private CanalCambios canalCambios;
+
+    /**
+     * Abre una suscripción a los cambios confirmados.
+     * <p>
+     * Cada evento {@code cambio} trae el tipo de entidad, la operación y los IDs con su versión.
+     * Al reconectar, el navegador envía {@code Last-Event-ID} y se reciben los eventos perdidos;
+     * si ya no están disponibles llega un evento {@code reinicio} y se debe recargar el estado.
+     * </p>
+     * @param ultimoEventoId ID del último evento recibido (opcional)
+     * @return Emisor de eventos de la suscripción
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a los cambios", description = "Envía por Server-Sent Events los cambios confirmados de turnos, equipos y compañías.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción abierta")
+    })
+    public SseEmitter suscribir(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoEventoId) {
+        return canalCambios.suscribir(ultimoEventoId);
+    }
+}
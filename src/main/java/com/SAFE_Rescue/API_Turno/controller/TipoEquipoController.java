@@ -2,13 +2,20 @@ package com.SAFE_Rescue.API_Turno.controller;
 
 import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
 import com.SAFE_Rescue.API_Turno.service.TipoEquipoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
+import com.SAFE_Rescue.API_Turno.dto.PaginaRespuesta;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -24,24 +31,44 @@ public class TipoEquipoController {
     @Autowired
     private TipoEquipoService tipoEquipoService;
 
+    @Autowired
+    private RegistroCambios registroCambios;
+
     // OPERACIONES CRUD BÁSICAS
 
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "nombre");
+
     /**
-     * Obtiene todos los tipos de equipo registrados en el sistema.
-     * @return ResponseEntity con lista de tipos de equipo o estado NO_CONTENT si no hay registros
+     * Obtiene una página de los tipos de equipo registrados en el sistema.
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=nombre,asc}
+     * @param totales Si es falso se omite la consulta de conteo y los totales de la respuesta
+     * @return ResponseEntity con la página de tipos de equipo o estado NO_CONTENT si no hay registros
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los tipos de equipo", description = "Devuelve una lista de todos los tipos de equipo registrados.")
+    @Operation(summary = "Obtener tipos de equipo paginados", description = "Devuelve una página de los tipos de equipo registrados.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de tipos de equipo encontrada"),
-            @ApiResponse(responseCode = "204", description = "No hay tipos de equipo registrados")
+            @ApiResponse(responseCode = "200", description = "Página de tipos de equipo encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay tipos de equipo registrados"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación no válidos")
     })
-    public ResponseEntity<List<TipoEquipo>> listarTiposEquipo() {
-        List<TipoEquipo> tipoEquipo = tipoEquipoService.findAll();
+    public ResponseEntity<?> listarTiposEquipo(@ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                               @RequestParam(defaultValue = "true") boolean totales,
+                                               WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TipoEquipo.class))) {
+            return null;
+        }
+        Slice<TipoEquipo> tipoEquipo;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            tipoEquipo = tipoEquipoService.findAll(pageable, totales);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
         if (tipoEquipo.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return ResponseEntity.ok(tipoEquipo);
+        return ResponseEntity.ok(PaginaRespuesta.de(tipoEquipo));
     }
 
     /**
@@ -53,9 +80,14 @@ public class TipoEquipoController {
     @Operation(summary = "Buscar tipo de equipo por ID", description = "Devuelve un tipo de equipo específico dada su ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tipo de equipo encontrado"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Tipo de equipo no encontrado")
     })
-    public ResponseEntity<?> buscarTipoEquipo(@PathVariable Integer id) {
+    public ResponseEntity<?> buscarTipoEquipo(@PathVariable Integer id,
+                                              WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(TipoEquipo.class))) {
+            return null;
+        }
         TipoEquipo tipoEquipo;
         try {
             tipoEquipo = tipoEquipoService.findById(id);
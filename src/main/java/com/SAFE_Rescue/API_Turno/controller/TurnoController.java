@@ -1,16 +1,30 @@
 package com.SAFE_Rescue.API_Turno.controller;
 
 import com.SAFE_Rescue.API_Turno.service.TurnoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
 import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.PaginaRespuesta;
+import com.SAFE_Rescue.API_Turno.dto.TurnoVentana;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -26,26 +40,51 @@ public class TurnoController {
     @Autowired
     private TurnoService turnoService;
 
+    @Autowired
+    private RegistroCambios registroCambios;
+
     // OPERACIONES CRUD BÁSICAS
 
+    private static final Set<String> CAMPOS_ORDEN = Set.of("id", "nombre", "fechaHoraInicio", "fechaHoraFin", "duracion");
+
     /**
-     * Obtiene la lista de todos los turnos existentes.
+     * Obtiene una página de turnos, opcionalmente limitada a los que inician dentro de una ventana de fechas.
      *
-     * @return ResponseEntity con la lista de turnos si existen,
-     *         o código de estado NO_CONTENT (204) si la lista está vacía.
+     * @param desde Inicio de la ventana, inclusivo (opcional). Formato: YYYY-MM-DDTHH:MM:SS
+     * @param hasta Fin de la ventana, exclusivo (opcional). Formato: YYYY-MM-DDTHH:MM:SS
+     * @param pageable Página, tamaño (máximo 100) y orden, por ejemplo {@code ?page=0&size=20&sort=fechaHoraInicio,desc}
+     * @param totales Si es falso se omite la consulta de conteo y los totales de la respuesta
+     * @return ResponseEntity con la página de turnos si existen,
+     *         código de estado NO_CONTENT (204) si la página está vacía,
+     *         o BAD_REQUEST (400) si los parámetros no son válidos.
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los turnos", description = "Devuelve una lista de todos los turnos existentes.")
+    @Operation(summary = "Obtener turnos paginados", description = "Devuelve una página de turnos, con filtro opcional por ventana de fecha de inicio.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de turnos encontrada"),
-            @ApiResponse(responseCode = "204", description = "No hay turnos registrados")
+            @ApiResponse(responseCode = "200", description = "Página de turnos encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay turnos para los filtros indicados"),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación o fechas no válidos")
     })
-    public ResponseEntity<List<Turno>> listar() {
-        List<Turno> turnos = turnoService.findAll();
+    public ResponseEntity<?> listar(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+                                    @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+                                    @RequestParam(defaultValue = "true") boolean totales,
+                                    WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Turno.class))) {
+            return null;
+        }
+        Slice<Turno> turnos;
+        try {
+            Paginacion.validarOrden(pageable, CAMPOS_ORDEN);
+            turnos = turnoService.buscar(desde, hasta, pageable, totales);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
         if (turnos.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
-        return ResponseEntity.ok(turnos);
+        return ResponseEntity.ok(PaginaRespuesta.de(turnos));
     }
 
     /**
@@ -74,6 +113,82 @@ public class TurnoController {
         }
     }
 
+    /**
+     * Recorre los turnos ordenados por fecha de inicio e ID mediante un token de continuación.
+     * Pensado para sincronizaciones que leen la tabla completa: el costo de cada página
+     * es el mismo sin importar cuántas se hayan leído antes.
+     *
+     * @param token Token de continuación entregado en la página anterior (omitir para comenzar)
+     * @param tamanio Cantidad de turnos por página (máximo 1000)
+     * @return ResponseEntity con la página de turnos y el token siguiente,
+     *         código de estado NO_CONTENT (204) si no quedan turnos,
+     *         o BAD_REQUEST (400) si el token o el tamaño no son válidos.
+     */
+    @GetMapping("/cursor")
+    @Operation(summary = "Recorrer turnos por cursor", description = "Devuelve turnos ordenados por fecha de inicio e ID a partir de un token de continuación opaco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de turnos encontrada"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No quedan turnos por recorrer"),
+            @ApiResponse(responseCode = "400", description = "Token o tamaño de página no válidos")
+    })
+    public ResponseEntity<?> recorrer(@RequestParam(required = false) String token,
+                                      @RequestParam(defaultValue = "500") int tamanio,
+                                      WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Turno.class))) {
+            return null;
+        }
+        PaginaCursor<Turno> pagina;
+        try {
+            pagina = turnoService.recorrer(token, tamanio);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (pagina.getContenido().isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * Obtiene los turnos activos en algún momento de una ventana de tiempo, por ejemplo
+     * "los turnos entre las 08:00 y las 20:00 de mañana". Pensado para las consolas de
+     * despacho, que lo consultan cada pocos segundos: se resuelve con una sola consulta.
+     *
+     * @param desde Inicio de la ventana, inclusivo. Formato: YYYY-MM-DDTHH:MM:SS
+     * @param hasta Fin de la ventana, exclusivo. Formato: YYYY-MM-DDTHH:MM:SS
+     * @param equipos Si es verdadero cada turno incluye los equipos asignados
+     * @return ResponseEntity con los turnos ordenados por fecha de inicio si existen,
+     *         código de estado NO_CONTENT (204) si no hay turnos en la ventana,
+     *         o BAD_REQUEST (400) si la ventana no es válida.
+     */
+    @GetMapping("/ventana")
+    @Operation(summary = "Obtener turnos activos en una ventana", description = "Devuelve los turnos que se solapan con la ventana [desde, hasta), opcionalmente con sus equipos.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Turnos encontrados"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
+            @ApiResponse(responseCode = "204", description = "No hay turnos activos en la ventana"),
+            @ApiResponse(responseCode = "400", description = "Ventana no válida o demasiado extensa")
+    })
+    public ResponseEntity<?> buscarEnVentana(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime hasta,
+                                             @RequestParam(defaultValue = "false") boolean equipos,
+                                             WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Turno.class, Equipo.class))) {
+            return null;
+        }
+        List<TurnoVentana> turnos;
+        try {
+            turnos = turnoService.buscarEnVentana(desde, hasta, equipos);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        if (turnos.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        }
+        return ResponseEntity.ok(turnos);
+    }
+
     /**
      * Busca un turno por su ID.
      *
@@ -85,9 +200,14 @@ public class TurnoController {
     @Operation(summary = "Buscar turno por ID", description = "Devuelve un turno específico dado su ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Turno encontrado"),
+            @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match o If-Modified-Since"),
             @ApiResponse(responseCode = "404", description = "Turno no encontrado")
     })
-    public ResponseEntity<?> buscarTurno(@PathVariable Integer id) {
+    public ResponseEntity<?> buscarTurno(@PathVariable Integer id,
+                                         WebRequest peticion) {
+        if (Condicional.sinCambios(peticion, registroCambios.version(Turno.class))) {
+            return null;
+        }
         Turno turno;
         try {
             turno = turnoService.findByID(id);
@@ -113,12 +233,15 @@ public class TurnoController {
             @ApiResponse(responseCode = "200", description = "Turno actualizado con éxito"),
             @ApiResponse(responseCode = "404", description = "Turno no encontrado"),
             @ApiResponse(responseCode = "400", description = "Error de validación"),
+            @ApiResponse(responseCode = "409", description = "El turno cambió desde la versión enviada; se devuelve su estado actual"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<String> actualizarTurno1(@PathVariable Integer id, @RequestBody Turno turno) {
+    public ResponseEntity<?> actualizarTurno1(@PathVariable Integer id, @RequestBody Turno turno) {
         try {
             Turno nuevoTurno = turnoService.update(turno, id);
             return ResponseEntity.ok("Actualizado con éxito");
+        } catch (OptimisticLockingFailureException e) {
+            return conflicto(id);
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Turno no encontrado");
         } catch (RuntimeException e) {
@@ -157,4 +280,17 @@ public class TurnoController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error interno del servidor.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Responde 409 con el estado actual del turno, para que el cliente rehaga su cambio sobre él.
+     * @param id ID del turno
+     * @return ResponseEntity con el turno actual, o NOT_FOUND si se eliminó
+     */
+    private ResponseEntity<?> conflicto(Integer id) {
+        try {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(turnoService.findByID(id));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Turno no encontrado");
+        }
+    }
+}
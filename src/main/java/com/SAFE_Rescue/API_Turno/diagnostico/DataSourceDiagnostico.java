@@ -0,0 +1,104 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * Fuente de datos que mide la ejecución de cada sentencia y la informa al {@link RegistroDiagnostico}.
+ * <p>
+ * Envuelve las conexiones y sentencias de la fuente de datos real con proxies que solo
+ * toman el tiempo de los métodos {@code execute*}; el resto de las llamadas pasa directo.
+ * Al extender {@link DelegatingDataSource}, las métricas del pool siguen encontrando la
+ * fuente de datos original.
+ * </p>
+ */
+class DataSourceDiagnostico extends DelegatingDataSource {
+
+    private static final Set<String> EJECUCIONES = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final RegistroDiagnostico registro;
+
+    DataSourceDiagnostico(DataSource fuente, RegistroDiagnostico registro) {
+        super(fuente);
+        this.registro = registro;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexion(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String clave) throws SQLException {
+        return conexion(obtainTargetDataSource().getConnection(usuario, clave));
+    }
+
+    private Connection conexion(Connection conexion) {
+        return proxy(Connection.class, conexion, (objeto, metodo, argumentos) -> {
+            Object resultado = invocar(conexion, metodo, argumentos);
+            if (resultado instanceof CallableStatement llamada) {
+                return sentencia(CallableStatement.class, llamada, (String) argumentos[0]);
+            }
+            if (resultado instanceof PreparedStatement preparada) {
+                return sentencia(PreparedStatement.class, preparada, (String) argumentos[0]);
+            }
+            if (resultado instanceof Statement sentencia) {
+                return sentencia(Statement.class, sentencia, null);
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * @param sql Texto de la sentencia preparada, o nulo si el texto se recibe al ejecutarla
+     */
+    private <T extends Statement> T sentencia(Class<T> tipo, T sentencia, String sql) {
+        return proxy(tipo, sentencia, (objeto, metodo, argumentos) -> {
+            if (!EJECUCIONES.contains(metodo.getName())) {
+                return invocar(sentencia, metodo, argumentos);
+            }
+            long inicio = System.nanoTime();
+            try {
+                return invocar(sentencia, metodo, argumentos);
+            } finally {
+                String texto = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String s ? s : sql;
+                registro.registrarSentencia(texto != null ? texto : "(lote)", System.nanoTime() - inicio);
+            }
+        });
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Crea un proxy de la interfaz indicada. La igualdad es la del proxy y no la del objeto
+     * envuelto, porque Hibernate guarda las sentencias abiertas en colecciones para cerrarlas.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T destino, InvocationHandler manejador) {
+        return (T) Proxy.newProxyInstance(DataSourceDiagnostico.class.getClassLoader(), new Class<?>[]{tipo},
+                (objeto, metodo, argumentos) -> switch (metodo.getName()) {
+                    case "equals" -> objeto == argumentos[0];
+                    case "hashCode" -> System.identityHashCode(objeto);
+                    case "toString" -> "Diagnostico[" + destino + "]";
+                    default -> manejador.invoke(objeto, metodo, argumentos);
+                });
+    }
+}
@@ -0,0 +1,92 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contadores de la petición HTTP en curso y pila de métodos de servicio del hilo actual.
+ * <p>
+ * Cada petición se atiende en un solo hilo, por lo que los contadores se guardan en un
+ * {@link ThreadLocal} y no necesitan sincronización. El trabajo que se hace fuera de una
+ * petición (al iniciar la aplicación, en exportaciones asíncronas o en otros hilos) no
+ * se cuenta, aunque sus consultas lentas sí se registran.
+ * </p>
+ */
+class Diagnostico {
+
+    private static final ThreadLocal<Diagnostico> PETICION = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<String>> SERVICIOS = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final HttpServletRequest peticion;
+
+    int sentencias;
+    long nanosSql;
+    int cargas;
+    int colecciones;
+    int flushes;
+    final Map<String, Integer> repeticiones = new HashMap<>();
+
+    private Diagnostico(HttpServletRequest peticion) {
+        this.peticion = peticion;
+    }
+
+    static void iniciar(HttpServletRequest peticion) {
+        PETICION.set(new Diagnostico(peticion));
+    }
+
+    static Diagnostico terminar() {
+        Diagnostico diagnostico = PETICION.get();
+        PETICION.remove();
+        return diagnostico;
+    }
+
+    /**
+     * @return Contadores de la petición en curso, o nulo si el hilo no atiende una petición
+     */
+    static Diagnostico actual() {
+        return PETICION.get();
+    }
+
+    static void entrarServicio(String metodo) {
+        SERVICIOS.get().push(metodo);
+    }
+
+    static void salirServicio() {
+        Deque<String> pila = SERVICIOS.get();
+        pila.pop();
+        if (pila.isEmpty()) {
+            SERVICIOS.remove();
+        }
+    }
+
+    /**
+     * @return Método de servicio más interno en ejecución en este hilo (por ejemplo,
+     *         "EquipoService.asignarTurno"), o nulo si no hay ninguno
+     */
+    static String servicioActual() {
+        return SERVICIOS.get().peek();
+    }
+
+    /**
+     * Endpoint de la petición como método HTTP y plantilla de la ruta, sin IDs
+     * (por ejemplo, "POST /api-turnos/v1/equipos/{equipoId}/asignar-turno/{turnoId}").
+     */
+    String endpoint() {
+        if (peticion == null) {
+            return null;
+        }
+        Object plantilla = peticion.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return peticion.getMethod() + " " + (plantilla != null ? plantilla : "(sin ruta)");
+    }
+
+    void registrarSentencia(String sql, long nanos) {
+        sentencias++;
+        nanosSql += nanos;
+        repeticiones.merge(sql, 1, Integer::sum);
+    }
+}
@@ -0,0 +1,164 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Modo de diagnóstico de acceso a datos, desactivado por defecto ({@code diagnostico.habilitado=true} para activarlo).
+ * <p>
+ * Registra las sentencias más lentas que {@code diagnostico.umbral-consulta-lenta} junto con el
+ * método de servicio que las ejecutó, y cuenta por petición HTTP las sentencias, las cargas de
+ * entidades, las inicializaciones de colecciones y los flushes. Los resultados se consultan en
+ * el endpoint de Actuator {@code /actuator/diagnostico}, sin necesidad de activar {@code show-sql}.
+ * </p>
+ * <p>
+ * Con el modo desactivado no se registra ninguno de estos componentes, por lo que no tiene costo.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "diagnostico.habilitado", havingValue = "true")
+public class DiagnosticoConfig {
+
+    @Bean
+    public RegistroDiagnostico registroDiagnostico(
+            @Value("${diagnostico.umbral-consulta-lenta:100ms}") Duration umbral,
+            @Value("${diagnostico.consultas-lentas.maximo:200}") int maximoConsultas) {
+        return new RegistroDiagnostico(umbral, maximoConsultas);
+    }
+
+    @Bean
+    public DiagnosticoEndpoint diagnosticoEndpoint(RegistroDiagnostico registroDiagnostico,
+                                                   EntityManagerFactory entityManagerFactory) {
+        return new DiagnosticoEndpoint(registroDiagnostico, entityManagerFactory);
+    }
+
+    /**
+     * Envuelve la fuente de datos para medir cada sentencia.
+     */
+    @Bean
+    public static BeanPostProcessor fuenteDatosDiagnostico(ObjectProvider<RegistroDiagnostico> registro) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if (bean instanceof DataSource fuente && !(bean instanceof DataSourceDiagnostico)) {
+                    return new DataSourceDiagnostico(fuente, registro.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Registra en Hibernate los contadores de cargas de entidades, inicializaciones de
+     * colecciones y flushes de la petición en curso.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer eventosDiagnostico() {
+        Integrator integrador = new Integrator() {
+            @Override
+            public void integrate(Metadata metadata, BootstrapContext contexto, SessionFactoryImplementor sesiones) {
+                EventListenerRegistry eventos = sesiones.getServiceRegistry().getService(EventListenerRegistry.class);
+                eventos.appendListeners(EventType.POST_LOAD, (PostLoadEventListener) evento -> contar(d -> d.cargas++));
+                eventos.appendListeners(EventType.INIT_COLLECTION,
+                        (InitializeCollectionEventListener) evento -> contar(d -> d.colecciones++));
+                eventos.appendListeners(EventType.FLUSH, (FlushEventListener) evento -> contar(d -> d.flushes++));
+                eventos.appendListeners(EventType.AUTO_FLUSH, (AutoFlushEventListener) evento -> {
+                    if (evento.isFlushRequired()) {
+                        contar(d -> d.flushes++);
+                    }
+                });
+            }
+
+            @Override
+            public void disintegrate(SessionFactoryImplementor sesiones, SessionFactoryServiceRegistry servicios) {
+            }
+        };
+        return propiedades -> propiedades.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(integrador));
+    }
+
+    private static void contar(Consumer<Diagnostico> contador) {
+        Diagnostico diagnostico = Diagnostico.actual();
+        if (diagnostico != null) {
+            contador.accept(diagnostico);
+        }
+    }
+
+    /**
+     * Abre y cierra los contadores de cada petición, salvo las de Actuator.
+     */
+    @Bean
+    public OncePerRequestFilter filtroDiagnostico(RegistroDiagnostico registro) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest peticion) {
+                return peticion.getRequestURI().startsWith(peticion.getContextPath() + "/actuator");
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest peticion, HttpServletResponse respuesta, FilterChain cadena)
+                    throws ServletException, IOException {
+                Diagnostico.iniciar(peticion);
+                try {
+                    cadena.doFilter(peticion, respuesta);
+                } finally {
+                    registro.registrarPeticion(Diagnostico.terminar());
+                }
+            }
+        };
+    }
+
+    @Bean
+    public ServiciosDiagnostico serviciosDiagnostico() {
+        return new ServiciosDiagnostico();
+    }
+
+    /**
+     * Mantiene la pila de métodos de servicio en ejecución, para indicar quién ejecutó cada consulta lenta.
+     */
+    @Aspect
+    static class ServiciosDiagnostico {
+
+        @Around("execution(public * com.SAFE_Rescue.API_Turno.service.*Service.*(..))")
+        public Object seguir(ProceedingJoinPoint llamada) throws Throwable {
+            Diagnostico.entrarServicio(llamada.getSignature().getDeclaringType().getSimpleName()
+                    + "." + llamada.getSignature().getName());
+            try {
+                return llamada.proceed();
+            } finally {
+                Diagnostico.salirServicio();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Endpoint de Actuator {@code /actuator/diagnostico}.
+ * <p>
+ * GET devuelve las consultas lentas, los conteos por endpoint y las estadísticas globales
+ * de Hibernate; DELETE los reinicia, para medir desde cero un escenario concreto.
+ * </p>
+ */
+@Endpoint(id = "diagnostico")
+public class DiagnosticoEndpoint {
+
+    private static final int MAXIMO_CONSULTAS_HQL = 10;
+
+    private final RegistroDiagnostico registro;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public DiagnosticoEndpoint(RegistroDiagnostico registro, EntityManagerFactory entityManagerFactory) {
+        this.registro = registro;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> diagnostico() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("consultasLentas", registro.consultasLentas());
+        resultado.put("endpoints", registro.endpoints());
+        resultado.put("hibernate", hibernate(estadisticas()));
+        return resultado;
+    }
+
+    @DeleteOperation
+    public void reiniciar() {
+        registro.reiniciar();
+        estadisticas().clear();
+    }
+
+    private Statistics estadisticas() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Map<String, Object> hibernate(Statistics estadisticas) {
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("estadisticasHabilitadas", estadisticas.isStatisticsEnabled());
+        resumen.put("sentenciasPreparadas", estadisticas.getPrepareStatementCount());
+        resumen.put("entidadesCargadas", estadisticas.getEntityLoadCount());
+        resumen.put("entidadesBuscadas", estadisticas.getEntityFetchCount());
+        resumen.put("coleccionesCargadas", estadisticas.getCollectionLoadCount());
+        resumen.put("coleccionesBuscadas", estadisticas.getCollectionFetchCount());
+        resumen.put("flushes", estadisticas.getFlushCount());
+        resumen.put("consultaMasLentaMilisegundos", estadisticas.getQueryExecutionMaxTime());
+        resumen.put("consultaMasLenta", estadisticas.getQueryExecutionMaxTimeQueryString());
+        resumen.put("consultas", consultas(estadisticas));
+        return resumen;
+    }
+
+    /**
+     * @return Consultas HQL con mayor tiempo máximo de ejecución
+     */
+    private static List<Map<String, Object>> consultas(Statistics estadisticas) {
+        return Arrays.stream(estadisticas.getQueries())
+                .map(hql -> Map.entry(hql, estadisticas.getQueryStatistics(hql)))
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, QueryStatistics> e) -> e.getValue().getExecutionMaxTime()).reversed())
+                .limit(MAXIMO_CONSULTAS_HQL)
+                .map(e -> {
+                    Map<String, Object> consulta = new LinkedHashMap<>();
+                    consulta.put("hql", e.getKey());
+                    consulta.put("ejecuciones", e.getValue().getExecutionCount());
+                    consulta.put("filas", e.getValue().getExecutionRowCount());
+                    consulta.put("promedioMilisegundos", e.getValue().getExecutionAvgTime());
+                    consulta.put("maximoMilisegundos", e.getValue().getExecutionMaxTime());
+                    return consulta;
+                })
+                .toList();
+    }
+}
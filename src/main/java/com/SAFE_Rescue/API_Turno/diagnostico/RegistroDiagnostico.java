@@ -0,0 +1,175 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Acumula los resultados del modo de diagnóstico: las consultas más lentas que el umbral
+ * configurado y, por endpoint, las sentencias SQL, cargas de entidades, inicializaciones de
+ * colecciones y flushes de cada petición.
+ * <p>
+ * Una petición con muchas cargas o inicializaciones de colecciones, o que repite la misma
+ * sentencia muchas veces, es la señal típica de un patrón N+1. Las consultas lentas se
+ * guardan en un búfer circular de tamaño fijo, y los endpoints se identifican por su
+ * plantilla de ruta, de modo que la memoria usada está acotada.
+ * </p>
+ */
+public class RegistroDiagnostico {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroDiagnostico.class);
+
+    private static final int LARGO_MAXIMO_SQL = 2000;
+
+    private final long umbralNanos;
+    private final int maximoConsultas;
+    private final Deque<ConsultaLenta> consultasLentas = new ArrayDeque<>();
+    private final ConcurrentMap<String, EstadisticaEndpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Consulta que superó el umbral.
+     * @param servicio Método de servicio que la ejecutó, o nulo si no fue desde un servicio
+     * @param endpoint Endpoint de la petición, o nulo si no fue durante una petición
+     */
+    public record ConsultaLenta(LocalDateTime fecha, double milisegundos, String servicio, String endpoint, String sql) {
+    }
+
+    /**
+     * @param umbral Duración a partir de la cual una sentencia se considera lenta
+     * @param maximoConsultas Cantidad de consultas lentas que se conservan (las más recientes)
+     */
+    public RegistroDiagnostico(Duration umbral, int maximoConsultas) {
+        this.umbralNanos = umbral.toNanos();
+        this.maximoConsultas = maximoConsultas;
+    }
+
+    /**
+     * Registra una sentencia ejecutada en el hilo actual.
+     * @param sql Texto de la sentencia
+     * @param nanos Duración de la ejecución
+     */
+    void registrarSentencia(String sql, long nanos) {
+        Diagnostico diagnostico = Diagnostico.actual();
+        if (diagnostico != null) {
+            diagnostico.registrarSentencia(sql, nanos);
+        }
+        if (nanos >= umbralNanos) {
+            ConsultaLenta consulta = new ConsultaLenta(LocalDateTime.now(), nanos / 1_000_000.0,
+                    Diagnostico.servicioActual(), diagnostico != null ? diagnostico.endpoint() : null, recortar(sql));
+            log.warn("Consulta lenta ({} ms) en {}: {}", String.format("%.1f", consulta.milisegundos()),
+                    consulta.servicio() != null ? consulta.servicio() : "(fuera de servicio)", consulta.sql());
+            synchronized (consultasLentas) {
+                if (consultasLentas.size() == maximoConsultas) {
+                    consultasLentas.removeFirst();
+                }
+                consultasLentas.addLast(consulta);
+            }
+        }
+    }
+
+    /**
+     * Agrega los contadores de una petición terminada a los de su endpoint.
+     */
+    void registrarPeticion(Diagnostico diagnostico) {
+        endpoints.computeIfAbsent(diagnostico.endpoint(), e -> new EstadisticaEndpoint()).agregar(diagnostico);
+    }
+
+    /**
+     * @return Consultas lentas, de la más reciente a la más antigua
+     */
+    public List<ConsultaLenta> consultasLentas() {
+        synchronized (consultasLentas) {
+            List<ConsultaLenta> copia = new ArrayList<>(consultasLentas);
+            Collections.reverse(copia);
+            return copia;
+        }
+    }
+
+    /**
+     * @return Resumen por endpoint, ordenado por endpoint
+     */
+    public Map<String, Map<String, Object>> endpoints() {
+        Map<String, Map<String, Object>> resumen = new TreeMap<>();
+        endpoints.forEach((endpoint, estadistica) -> resumen.put(endpoint, estadistica.resumen()));
+        return resumen;
+    }
+
+    public void reiniciar() {
+        synchronized (consultasLentas) {
+            consultasLentas.clear();
+        }
+        endpoints.clear();
+    }
+
+    private static String recortar(String sql) {
+        return sql.length() <= LARGO_MAXIMO_SQL ? sql : sql.substring(0, LARGO_MAXIMO_SQL) + "...";
+    }
+
+    /**
+     * Totales y máximos por petición de un endpoint.
+     */
+    private static class EstadisticaEndpoint {
+
+        private long peticiones;
+        private long sentencias;
+        private int maximoSentencias;
+        private long nanosSql;
+        private long cargas;
+        private int maximoCargas;
+        private long colecciones;
+        private int maximoColecciones;
+        private long flushes;
+        private int maximoRepeticiones;
+        private String sentenciaMasRepetida;
+
+        synchronized void agregar(Diagnostico diagnostico) {
+            peticiones++;
+            sentencias += diagnostico.sentencias;
+            maximoSentencias = Math.max(maximoSentencias, diagnostico.sentencias);
+            nanosSql += diagnostico.nanosSql;
+            cargas += diagnostico.cargas;
+            maximoCargas = Math.max(maximoCargas, diagnostico.cargas);
+            colecciones += diagnostico.colecciones;
+            maximoColecciones = Math.max(maximoColecciones, diagnostico.colecciones);
+            flushes += diagnostico.flushes;
+            diagnostico.repeticiones.forEach((sql, veces) -> {
+                if (veces > maximoRepeticiones) {
+                    maximoRepeticiones = veces;
+                    sentenciaMasRepetida = recortar(sql);
+                }
+            });
+        }
+
+        synchronized Map<String, Object> resumen() {
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("peticiones", peticiones);
+            resumen.put("sentenciasPromedio", promedio(sentencias));
+            resumen.put("sentenciasMaximo", maximoSentencias);
+            resumen.put("milisegundosSqlPromedio", promedio(nanosSql / 1_000L) / 1_000.0);
+            resumen.put("cargasEntidadPromedio", promedio(cargas));
+            resumen.put("cargasEntidadMaximo", maximoCargas);
+            resumen.put("coleccionesInicializadasPromedio", promedio(colecciones));
+            resumen.put("coleccionesInicializadasMaximo", maximoColecciones);
+            resumen.put("flushesPromedio", promedio(flushes));
+            resumen.put("maximoRepeticionesSentencia", maximoRepeticiones);
+            resumen.put("sentenciaMasRepetida", sentenciaMasRepetida);
+            return resumen;
+        }
+
+        private double promedio(long total) {
+            return peticiones == 0 ? 0 : Math.round(total * 100.0 / peticiones) / 100.0;
+        }
+    }
+}
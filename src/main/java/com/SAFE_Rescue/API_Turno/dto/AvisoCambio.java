@@ -0,0 +1,36 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Cambio confirmado que se envía a los suscriptores de {@code /api-turnos/v1/stream}.
+ * <p>
+ * Solo lleva lo necesario para que el cliente decida si debe volver a consultar la entidad:
+ * si la versión recibida es igual a la de su copia, ya la tiene al día.
+ * </p>
+ *
+ * @param tipo Entidad modificada: "turno", "equipo" o "compania"
+ * @param operacion Tipo de escritura
+ * @param entidades Entidades modificadas; una sola, salvo en las importaciones masivas
+ */
+public record AvisoCambio(
+        @Schema(description = "Entidad modificada", example = "equipo") String tipo,
+        @Schema(description = "Tipo de escritura", example = "ACTUALIZADO") Operacion operacion,
+        @Schema(description = "Entidades modificadas") List<Entidad> entidades) {
+
+    /**
+     * Entidad modificada y su versión después del cambio.
+     *
+     * @param id Identificador de la entidad
+     * @param version Versión confirmada, o nula si la entidad fue eliminada
+     */
+    public record Entidad(
+            @Schema(description = "Identificador de la entidad", example = "5") Integer id,
+            @Schema(description = "Versión después del cambio (se omite si fue eliminada)", example = "3")
+            @JsonInclude(JsonInclude.Include.NON_NULL) Integer version) {
+    }
+}
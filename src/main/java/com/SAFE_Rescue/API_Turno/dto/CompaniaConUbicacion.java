@@ -0,0 +1,28 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Proyección de lectura de una compañía con su dirección aplanada.
+ * <p>
+ * Se construye directamente desde JPQL, por lo que Hibernate no materializa entidades
+ * administradas ni las revisa al hacer flush.
+ * </p>
+ *
+ * @param id Identificador de la compañía
+ * @param nombre Nombre de la compañía
+ * @param ubicacionId ID de la ubicación (nulo si no tiene)
+ * @param calle Calle de la ubicación
+ * @param numeracion Numeración de la ubicación
+ * @param comuna Comuna de la ubicación
+ * @param region Región de la ubicación
+ */
+public record CompaniaConUbicacion(
+        @Schema(description = "Identificador único de la compañía", example = "1") Integer id,
+        @Schema(description = "Nombre de la compañía", example = "Primera Compañía") String nombre,
+        @Schema(description = "ID de la ubicación", example = "4") Integer ubicacionId,
+        @Schema(description = "Calle de la ubicación", example = "Av. Siempre Viva") String calle,
+        @Schema(description = "Numeración de la ubicación", example = "742") Integer numeracion,
+        @Schema(description = "Comuna de la ubicación", example = "Santiago") String comuna,
+        @Schema(description = "Región de la ubicación", example = "Metropolitana") String region) {
+}
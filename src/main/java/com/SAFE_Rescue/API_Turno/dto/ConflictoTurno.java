@@ -0,0 +1,42 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Asignación existente que se superpone en el tiempo con la asignación revisada.
+ *
+ * @param recurso Tipo de recurso asignado dos veces
+ * @param recursoId ID del bombero o vehículo
+ * @param equipoId ID del equipo donde ya está asignado
+ * @param turnoId ID del turno de ese equipo
+ * @param inicio Inicio del turno en conflicto
+ * @param fin Fin del turno en conflicto
+ */
+public record ConflictoTurno(
+        @Schema(description = "Tipo de recurso asignado dos veces", example = "BOMBERO") Recurso recurso,
+        @Schema(description = "ID del bombero o vehículo", example = "12") Integer recursoId,
+        @Schema(description = "ID del equipo donde ya está asignado", example = "3") Integer equipoId,
+        @Schema(description = "ID del turno de ese equipo", example = "7") Integer turnoId,
+        @Schema(description = "Inicio del turno en conflicto", example = "2025-07-01T08:00:00") LocalDateTime inicio,
+        @Schema(description = "Fin del turno en conflicto", example = "2025-07-01T20:00:00") LocalDateTime fin) {
+
+    /**
+     * Recursos que no pueden estar en dos turnos superpuestos.
+     */
+    public enum Recurso {
+        BOMBERO,
+        VEHICULO
+    }
+
+    /**
+     * Describe el conflicto en una línea, para los mensajes de error.
+     * @return Descripción del conflicto
+     */
+    public String descripcion() {
+        return (recurso == Recurso.BOMBERO ? "El bombero " : "El vehículo ") + recursoId
+                + " ya está asignado al equipo " + equipoId + " en el turno " + turnoId
+                + " (" + inicio + " - " + fin + ")";
+    }
+}
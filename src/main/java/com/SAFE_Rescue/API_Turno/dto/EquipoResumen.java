@@ -0,0 +1,37 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Proyección de lectura de un equipo con los IDs de sus referencias y la cantidad
+ * de elementos de cada lista.
+ * <p>
+ * Se construye directamente desde JPQL, por lo que Hibernate no materializa entidades
+ * administradas ni las revisa al hacer flush.
+ * </p>
+ *
+ * @param id Identificador del equipo
+ * @param nombre Nombre del equipo
+ * @param cantidadMiembros Cantidad de miembros declarada
+ * @param estado Estado del equipo
+ * @param lider Nombre del líder
+ * @param turnoId ID del turno asignado
+ * @param companiaId ID de la compañía
+ * @param tipoEquipoId ID del tipo de equipo
+ * @param cantidadVehiculos Cantidad de vehículos asignados
+ * @param cantidadPersonal Cantidad de bomberos asignados
+ * @param cantidadRecursos Cantidad de recursos asignados
+ */
+public record EquipoResumen(
+        @Schema(description = "Identificador único del equipo", example = "1") Integer id,
+        @Schema(description = "Nombre del equipo", example = "Equipo A") String nombre,
+        @Schema(description = "Cantidad de miembros en el equipo", example = "5") Integer cantidadMiembros,
+        @Schema(description = "Estado del equipo", example = "true") boolean estado,
+        @Schema(description = "Nombre del líder del equipo", example = "Juan Pérez") String lider,
+        @Schema(description = "ID del turno asignado", example = "3") Integer turnoId,
+        @Schema(description = "ID de la compañía", example = "2") Integer companiaId,
+        @Schema(description = "ID del tipo de equipo", example = "1") Integer tipoEquipoId,
+        @Schema(description = "Cantidad de vehículos asignados", example = "2") Integer cantidadVehiculos,
+        @Schema(description = "Cantidad de bomberos asignados", example = "5") Integer cantidadPersonal,
+        @Schema(description = "Cantidad de recursos asignados", example = "8") Integer cantidadRecursos) {
+}
@@ -0,0 +1,64 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos de archivo aceptados para la importación y exportación masiva.
+ */
+public enum FormatoArchivo {
+
+    /**
+     * Valores separados por comas, con una fila de encabezado.
+     */
+    CSV("text/csv"),
+
+    /**
+     * Un objeto JSON por línea (JSON delimitado por saltos de línea).
+     */
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE);
+
+    private final String tipoContenido;
+
+    FormatoArchivo(String tipoContenido) {
+        this.tipoContenido = tipoContenido;
+    }
+
+    /**
+     * Obtiene el tipo de contenido HTTP asociado al formato.
+     * @return Tipo de contenido, por ejemplo "text/csv"
+     */
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    /**
+     * Obtiene el formato a partir de su nombre, sin distinguir mayúsculas.
+     * @param nombre Nombre del formato (por ejemplo, "csv")
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException Si el nombre no corresponde a ningún formato
+     */
+    public static FormatoArchivo de(String nombre) {
+        for (FormatoArchivo formato : values()) {
+            if (formato.name().equalsIgnoreCase(nombre.trim())) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato no válido: " + nombre + ". Valores permitidos: csv, ndjson");
+    }
+
+    /**
+     * Obtiene el formato que corresponde a un tipo de contenido HTTP.
+     * @param tipoContenido Tipo de contenido recibido (puede incluir parámetros como el charset)
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException Si el tipo de contenido no corresponde a ningún formato
+     */
+    public static FormatoArchivo deTipoContenido(String tipoContenido) {
+        MediaType tipo = MediaType.parseMediaType(tipoContenido);
+        for (FormatoArchivo formato : values()) {
+            if (tipo.isCompatibleWith(MediaType.parseMediaType(formato.tipoContenido))) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de contenido no soportado: " + tipoContenido);
+    }
+}
@@ -0,0 +1,45 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sobre de respuesta para los recorridos por cursor (paginación por clave).
+ * <p>
+ * En lugar de un número de página se entrega un token opaco que identifica el último
+ * elemento retornado. Para obtener la página siguiente se envía ese token en la próxima
+ * petición; cuando no hay más elementos el token se omite.
+ * </p>
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginaCursor<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    @Schema(description = "Elementos de la página actual")
+    private List<T> contenido;
+
+    /**
+     * Tamaño de página solicitado.
+     */
+    @Schema(description = "Tamaño de página solicitado", example = "500")
+    private int tamanio;
+
+    /**
+     * Token para solicitar la página siguiente (ausente si no hay más elementos).
+     */
+    @Schema(description = "Token para solicitar la página siguiente (ausente si no hay más elementos)",
+            example = "dHwyMDI1LTA3LTAxVDA4OjAwfDQy")
+    private String siguiente;
+}
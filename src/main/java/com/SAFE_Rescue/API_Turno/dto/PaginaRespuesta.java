@@ -0,0 +1,85 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Sobre de respuesta para los listados paginados.
+ * <p>
+ * Contiene los elementos de la página solicitada y la información de navegación.
+ * Los totales solo se informan cuando fueron solicitados, ya que calcularlos
+ * requiere una consulta adicional de conteo.
+ * </p>
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginaRespuesta<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    @Schema(description = "Elementos de la página actual")
+    private List<T> contenido;
+
+    /**
+     * Número de la página actual (comienza en 0).
+     */
+    @Schema(description = "Número de la página actual (comienza en 0)", example = "0")
+    private int pagina;
+
+    /**
+     * Tamaño de página solicitado.
+     */
+    @Schema(description = "Tamaño de página solicitado", example = "20")
+    private int tamanio;
+
+    /**
+     * Indica si existe una página siguiente.
+     */
+    @Schema(description = "Indica si existe una página siguiente", example = "true")
+    private boolean haySiguiente;
+
+    /**
+     * Cantidad total de elementos que cumplen los filtros (solo si se solicitaron totales).
+     */
+    @Schema(description = "Cantidad total de elementos (solo si se solicitaron totales)", example = "120")
+    private Long totalElementos;
+
+    /**
+     * Cantidad total de páginas (solo si se solicitaron totales).
+     */
+    @Schema(description = "Cantidad total de páginas (solo si se solicitaron totales)", example = "6")
+    private Integer totalPaginas;
+
+    /**
+     * Construye el sobre a partir de una porción de resultados de Spring Data.
+     * Si la porción es una {@link Page}, se incluyen los totales.
+     *
+     * @param porcion Resultado paginado
+     * @param <T> Tipo de los elementos
+     * @return Sobre de respuesta con los datos de la página
+     */
+    public static <T> PaginaRespuesta<T> de(Slice<T> porcion) {
+        PaginaRespuesta<T> respuesta = new PaginaRespuesta<>();
+        respuesta.setContenido(porcion.getContent());
+        respuesta.setPagina(porcion.getNumber());
+        respuesta.setTamanio(porcion.getSize());
+        respuesta.setHaySiguiente(porcion.hasNext());
+        if (porcion instanceof Page<T> pagina) {
+            respuesta.setTotalElementos(pagina.getTotalElements());
+            respuesta.setTotalPaginas(pagina.getTotalPages());
+        }
+        return respuesta;
+    }
+}
@@ -0,0 +1,65 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva.
+ * <p>
+ * Informa cuántas filas se leyeron, cuántas se guardaron y el detalle de las que fallaron.
+ * Para que el reporte no crezca con el tamaño del archivo, el detalle se limita a
+ * {@link #MAXIMO_ERRORES} filas; el conteo de filas con error siempre es completo.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+public class ReporteImportacion {
+
+    /**
+     * Cantidad máxima de errores detallados en el reporte.
+     */
+    public static final int MAXIMO_ERRORES = 1000;
+
+    /**
+     * Error asociado a una fila del archivo.
+     * @param fila Número de línea en el archivo (la primera línea es 1)
+     * @param mensaje Descripción del error
+     */
+    public record ErrorFila(
+            @Schema(description = "Número de línea en el archivo", example = "42") long fila,
+            @Schema(description = "Descripción del error", example = "El nombre del turno es requerido") String mensaje) {
+    }
+
+    @Schema(description = "Cantidad de filas leídas", example = "3000")
+    private long filasProcesadas;
+
+    @Schema(description = "Cantidad de filas guardadas", example = "2990")
+    private long filasImportadas;
+
+    @Schema(description = "Cantidad de filas con error", example = "10")
+    private long filasConError;
+
+    @Schema(description = "Detalle de las filas con error (máximo 1000)")
+    private List<ErrorFila> errores = new ArrayList<>();
+
+    @Schema(description = "Indica si se omitieron errores del detalle por superar el máximo", example = "false")
+    private boolean erroresTruncados;
+
+    /**
+     * Registra una fila con error, agregándola al detalle si no se superó el máximo.
+     * @param fila Número de línea en el archivo
+     * @param mensaje Descripción del error
+     */
+    public void registrarError(long fila, String mensaje) {
+        filasConError++;
+        if (errores.size() < MAXIMO_ERRORES) {
+            errores.add(new ErrorFila(fila, mensaje));
+        } else {
+            erroresTruncados = true;
+        }
+    }
+}
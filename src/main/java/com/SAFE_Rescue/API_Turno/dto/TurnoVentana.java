@@ -0,0 +1,50 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Turno activo dentro de una ventana de tiempo, con sus equipos si se solicitaron.
+ * <p>
+ * Se arma desde una proyección JPQL, sin entidades administradas, porque las consolas
+ * de despacho consultan la ventana cada pocos segundos.
+ * </p>
+ *
+ * @param id Identificador del turno
+ * @param nombre Nombre del turno
+ * @param fechaHoraInicio Inicio del turno
+ * @param fechaHoraFin Fin del turno
+ * @param duracion Duración en horas
+ * @param equipos Equipos asignados al turno, ordenados por ID, o nulo si no se solicitaron
+ */
+public record TurnoVentana(
+        @Schema(description = "Identificador único del turno", example = "1") Integer id,
+        @Schema(description = "Nombre del turno", example = "Turno Mañana") String nombre,
+        @Schema(description = "Inicio del turno", example = "2025-07-01T08:00:00") LocalDateTime fechaHoraInicio,
+        @Schema(description = "Fin del turno", example = "2025-07-01T20:00:00") LocalDateTime fechaHoraFin,
+        @Schema(description = "Duración del turno en horas", example = "12") Integer duracion,
+        @Schema(description = "Equipos asignados al turno (solo si se solicitaron)")
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<Equipo> equipos) {
+
+    /**
+     * Equipo asignado al turno, con los IDs de sus referencias.
+     *
+     * @param id Identificador del equipo
+     * @param nombre Nombre del equipo
+     * @param estado Estado del equipo
+     * @param lider Nombre del líder
+     * @param companiaId ID de la compañía
+     * @param tipoEquipoId ID del tipo de equipo
+     */
+    public record Equipo(
+            @Schema(description = "Identificador único del equipo", example = "1") Integer id,
+            @Schema(description = "Nombre del equipo", example = "Equipo A") String nombre,
+            @Schema(description = "Estado del equipo", example = "true") boolean estado,
+            @Schema(description = "Nombre del líder del equipo", example = "Juan Pérez") String lider,
+            @Schema(description = "ID de la compañía", example = "2") Integer companiaId,
+            @Schema(description = "ID del tipo de equipo", example = "1") Integer tipoEquipoId) {
+    }
+}
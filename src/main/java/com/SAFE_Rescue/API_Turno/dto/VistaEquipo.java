@@ -0,0 +1,37 @@
+package com.SAFE_Rescue.API_Turno.dto;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Nivel de detalle con el que se entregan los equipos en los listados.
+ */
+public enum VistaEquipo {
+
+    /**
+     * Datos del equipo con su turno, compañía (y ubicación) y tipo de equipo.
+     * Las listas de vehículos, personal y recursos no se cargan.
+     */
+    RESUMEN,
+
+    /**
+     * Datos del resumen más las listas de vehículos, personal y recursos.
+     */
+    COMPLETO;
+
+    /**
+     * Obtiene la vista a partir de su nombre, sin distinguir mayúsculas.
+     * @param valor Nombre de la vista (por ejemplo, "resumen")
+     * @return Vista correspondiente
+     * @throws IllegalArgumentException Si el nombre no corresponde a ninguna vista
+     */
+    public static VistaEquipo de(String valor) {
+        for (VistaEquipo vista : values()) {
+            if (vista.name().equals(valor.trim().toUpperCase(Locale.ROOT))) {
+                return vista;
+            }
+        }
+        throw new IllegalArgumentException("Vista no válida: " + valor
+                + ". Valores permitidos: " + Arrays.toString(values()).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,68 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+import java.util.List;
+
+/**
+ * Evento publicado por los servicios cada vez que escriben una o más entidades.
+ * <p>
+ * Los oyentes que mantienen estado derivado de la base de datos deben escucharlo con
+ * {@code @TransactionalEventListener}, de modo que solo reciban los cambios confirmados.
+ * Las importaciones masivas informan un lote completo en un solo evento.
+ * </p>
+ * <p>
+ * Las escrituras de turnos, equipos y compañías traen además el estado de cada entidad
+ * escrita, para que los oyentes no abran otra transacción (y otra conexión) mientras la que
+ * escribió aún conserva la suya.
+ * </p>
+ *
+ * @param tipo Clase de la entidad modificada
+ * @param ids IDs de las entidades modificadas
+ * @param operacion Tipo de escritura
+ * @param estados Estado de las entidades escritas; vacío en las eliminaciones y en las
+ *                entidades que no lo informan
+ */
+public record CambioEntidad(Class<?> tipo, List<Integer> ids, Operacion operacion, List<? extends EstadoEntidad> estados) {
+
+    /**
+     * Crea un evento sin estado de las entidades.
+     * @param tipo Clase de la entidad modificada
+     * @param ids IDs de las entidades modificadas
+     * @param operacion Tipo de escritura
+     */
+    public CambioEntidad(Class<?> tipo, List<Integer> ids, Operacion operacion) {
+        this(tipo, ids, operacion, List.of());
+    }
+
+    /**
+     * Crea un evento para una sola entidad, sin su estado.
+     * @param tipo Clase de la entidad modificada
+     * @param id ID de la entidad modificada
+     * @param operacion Tipo de escritura
+     * @return Evento con un único ID
+     */
+    public static CambioEntidad de(Class<?> tipo, Integer id, Operacion operacion) {
+        return new CambioEntidad(tipo, List.of(id), operacion);
+    }
+
+    /**
+     * Crea un evento para una sola entidad escrita, con su estado.
+     * @param tipo Clase de la entidad modificada
+     * @param estado Estado de la entidad después de la escritura
+     * @param operacion Tipo de escritura
+     * @return Evento con un único ID
+     */
+    public static CambioEntidad de(Class<?> tipo, EstadoEntidad estado, Operacion operacion) {
+        return new CambioEntidad(tipo, List.of(estado.id()), operacion, List.of(estado));
+    }
+
+    /**
+     * Crea un evento para un lote de entidades escritas, con sus estados.
+     * @param tipo Clase de las entidades modificadas
+     * @param estados Estado de cada entidad después de la escritura
+     * @param operacion Tipo de escritura
+     * @return Evento con los IDs de todas las entidades
+     */
+    public static CambioEntidad de(Class<?> tipo, List<? extends EstadoEntidad> estados, Operacion operacion) {
+        return new CambioEntidad(tipo, estados.stream().map(EstadoEntidad::id).toList(), operacion, estados);
+    }
+}
@@ -0,0 +1,21 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+
+/**
+ * Versión de una compañía escrita.
+ *
+ * @param id ID de la compañía
+ * @param version Versión después de la escritura
+ */
+public record EstadoCompania(Integer id, Integer version) implements EstadoEntidad {
+
+    /**
+     * Toma el estado de una compañía guardada.
+     * @param compania Compañía guardada
+     * @return Estado de la compañía
+     */
+    public static EstadoCompania de(Compania compania) {
+        return new EstadoCompania(compania.getId(), compania.getVersion());
+    }
+}
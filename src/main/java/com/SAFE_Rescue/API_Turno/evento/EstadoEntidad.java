@@ -0,0 +1,22 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+/**
+ * Estado de una entidad escrita, tomado dentro de la transacción que la escribió.
+ * <p>
+ * Viaja en el {@link CambioEntidad} para que los oyentes actualicen su estado derivado
+ * sin volver a consultar la base de datos después de la confirmación. Debe tomarse
+ * después de sincronizar la escritura, para que la versión sea la confirmada.
+ * </p>
+ */
+public interface EstadoEntidad {
+
+    /**
+     * @return ID de la entidad
+     */
+    Integer id();
+
+    /**
+     * @return Versión de la entidad después de la escritura
+     */
+    Integer version();
+}
@@ -0,0 +1,39 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+import com.SAFE_Rescue.API_Turno.modelo.Bombero;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Vehiculo;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Asignación de un equipo escrito: su turno y los IDs de sus bomberos y vehículos.
+ *
+ * @param id ID del equipo
+ * @param turnoId ID del turno (nulo si no tiene)
+ * @param personal IDs de los bomberos
+ * @param vehiculos IDs de los vehículos
+ * @param version Versión después de la escritura
+ */
+public record EstadoEquipo(Integer id, Integer turnoId, Set<Integer> personal, Set<Integer> vehiculos, Integer version)
+        implements EstadoEntidad {
+
+    /**
+     * Toma el estado de un equipo guardado. Del turno solo se lee el ID, por lo que
+     * puede ser una referencia sin inicializar.
+     * @param equipo Equipo guardado
+     * @return Estado del equipo
+     */
+    public static EstadoEquipo de(Equipo equipo) {
+        return new EstadoEquipo(equipo.getId(), equipo.getTurno() == null ? null : equipo.getTurno().getId(),
+                ids(equipo.getPersonal(), Bombero::getId), ids(equipo.getVehiculos(), Vehiculo::getId),
+                equipo.getVersion());
+    }
+
+    private static <T> Set<Integer> ids(Collection<T> entidades, Function<T, Integer> obtenerId) {
+        return entidades == null ? Set.of() : entidades.stream().map(obtenerId).collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,26 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+
+import java.time.LocalDateTime;
+
+/**
+ * Intervalo de un turno escrito.
+ *
+ * @param id ID del turno
+ * @param inicio Fecha y hora de inicio
+ * @param fin Fecha y hora de fin
+ * @param version Versión después de la escritura
+ */
+public record EstadoTurno(Integer id, LocalDateTime inicio, LocalDateTime fin, Integer version)
+        implements EstadoEntidad {
+
+    /**
+     * Toma el estado de un turno guardado.
+     * @param turno Turno guardado
+     * @return Estado del turno
+     */
+    public static EstadoTurno de(Turno turno) {
+        return new EstadoTurno(turno.getId(), turno.getFechaHoraInicio(), turno.getFechaHoraFin(), turno.getVersion());
+    }
+}
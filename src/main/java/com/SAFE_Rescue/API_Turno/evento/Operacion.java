@@ -0,0 +1,10 @@
+package com.SAFE_Rescue.API_Turno.evento;
+
+/**
+ * Tipo de escritura informada en un {@link CambioEntidad}.
+ */
+public enum Operacion {
+    CREADO,
+    ACTUALIZADO,
+    ELIMINADO
+}
@@ -21,7 +21,9 @@ public class Bombero {
      * Identificador único del bombero.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "bombero_id")
+    @TableGenerator(name = "bombero_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "bombero", allocationSize = 50)
     @Schema(description = "Identificador único del bombero")
     private Integer id;
 
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -15,14 +17,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Data // Genera getters, setters, toString, equals y hashCode
 @Entity // Indica que es una entidad persistente
 @Table(name = "compania") // Nombre de la tabla en la base de datos
+@Cacheable // Se guarda en el caché de segundo nivel
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Compania.REGION_CACHE)
 public class Compania {
 
+    /**
+     * Región del caché de segundo nivel para las compañías.
+     */
+    public static final String REGION_CACHE = "compania";
+
     /**
      * Identificador único de la compañía.
      * Se genera automáticamente mediante estrategia de identidad.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "compania_id")
+    @TableGenerator(name = "compania_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "compania", allocationSize = 50)
     @Schema(description = "Identificador único de la compañía", example = "1")
     private Integer id;
 
@@ -45,4 +56,20 @@ public class Compania {
     @Schema(description = "Ubicación asignada a la compañía")
     private Ubicacion ubicacion;
 
+    /**
+     * Versión para el bloqueo optimista.
+     * Hibernate la incrementa en cada actualización y rechaza la escritura si otra
+     * transacción la cambió antes.
+     */
+    @Version
+    @Column(nullable = false)
+    @Schema(description = "Versión de la compañía, para detectar modificaciones concurrentes", example = "0")
+    private Integer version;
+
+    /**
+     * Crea una compañía sin versión; Hibernate la asigna al guardarla.
+     */
+    public Compania(Integer id, String nombre, Ubicacion ubicacion) {
+        this(id, nombre, ubicacion, null);
+    }
 }
\ No newline at end of file
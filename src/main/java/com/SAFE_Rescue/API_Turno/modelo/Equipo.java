@@ -5,7 +5,6 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import io.swagger.v3.oas.annotations.media.Schema;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -13,17 +12,38 @@ import java.util.Set;
  * Contiene información sobre la composición y estado del equipo.
  */
 @Entity
-@Table(name = "equipo") // Nombre de la tabla en la base de datos
+@NamedEntityGraph(
+        name = Equipo.GRAFO_RESUMEN,
+        attributeNodes = {
+                @NamedAttributeNode("turno"),
+                @NamedAttributeNode(value = "compania", subgraph = "compania"),
+                @NamedAttributeNode("tipoEquipo")
+        },
+        subgraphs = @NamedSubgraph(name = "compania", attributeNodes = @NamedAttributeNode("ubicacion"))
+)
+@Table(name = "equipo", indexes = { // Tabla e índices de las búsquedas por compañía, turno y tipo
+        @Index(name = "idx_equipo_compania", columnList = "compania_id"),
+        @Index(name = "idx_equipo_turno", columnList = "turno_id"),
+        @Index(name = "idx_equipo_tipo_equipo", columnList = "tipo_equipo_id")
+})
 @NoArgsConstructor // Genera constructor sin argumentos
 @AllArgsConstructor // Genera constructor con todos los argumentos
 @Data // Genera getters, setters, toString, equals y hashCode
 public class Equipo {
 
+    /**
+     * Grafo de carga con las referencias del equipo (turno, compañía con su ubicación y tipo),
+     * sin las listas de vehículos, personal y recursos.
+     */
+    public static final String GRAFO_RESUMEN = "Equipo.resumen";
+
     /**
      * Identificador único del equipo.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremental
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "equipo_id")
+    @TableGenerator(name = "equipo_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "equipo", allocationSize = 50)
     @Schema(description = "Identificador único del equipo", example = "1")
     private Integer id;
 
@@ -56,43 +76,52 @@ public class Equipo {
     private String lider;
 
     /**
-     * Lista de vehículos.
-     * Relación muchos-a-muchos con la entidad Vehiculo.
+     * Conjunto de vehículos, ordenado por ID.
+     * Relación muchos-a-muchos con la entidad Vehiculo. Al ser un conjunto, agregar o quitar
+     * un vehículo escribe solo la fila correspondiente de la tabla intermedia.
      */
     @ManyToMany
+    @OrderBy("id")
     @JoinTable(
             name = "equipo_vehiculos",
             joinColumns = @JoinColumn(name = "equipo_id"),
-            inverseJoinColumns = @JoinColumn(name = "vehiculos_id")
+            inverseJoinColumns = @JoinColumn(name = "vehiculos_id"),
+            indexes = @Index(name = "idx_equipo_vehiculos_vehiculo", columnList = "vehiculos_id, equipo_id")
     )
     @Schema(description = "Lista de vehículos asignados al equipo")
-    private List<Vehiculo> vehiculos;
+    private Set<Vehiculo> vehiculos;
 
     /**
-     * Lista de personal.
-     * Relación muchos-a-muchos con la entidad Bombero.
+     * Conjunto de personal, ordenado por ID.
+     * Relación muchos-a-muchos con la entidad Bombero. Al ser un conjunto, agregar o quitar
+     * un bombero escribe solo la fila correspondiente de la tabla intermedia.
      */
     @ManyToMany
+    @OrderBy("id")
     @JoinTable(
             name = "equipo_personal",
             joinColumns = @JoinColumn(name = "equipo_id"),
-            inverseJoinColumns = @JoinColumn(name = "personal_id")
+            inverseJoinColumns = @JoinColumn(name = "personal_id"),
+            indexes = @Index(name = "idx_equipo_personal_personal", columnList = "personal_id, equipo_id")
     )
     @Schema(description = "Lista de bomberos asignados al equipo")
-    private List<Bombero> personal;
+    private Set<Bombero> personal;
 
     /**
-     * Lista de recursos.
-     * Relación muchos-a-muchos con la entidad Recurso.
+     * Conjunto de recursos, ordenado por ID.
+     * Relación muchos-a-muchos con la entidad Recurso. Al ser un conjunto, agregar o quitar
+     * un recurso escribe solo la fila correspondiente de la tabla intermedia.
      */
     @ManyToMany
+    @OrderBy("id")
     @JoinTable(
             name = "equipo_Recursos",
             joinColumns = @JoinColumn(name = "equipo_id"),
-            inverseJoinColumns = @JoinColumn(name = "rucursos_id")
+            inverseJoinColumns = @JoinColumn(name = "rucursos_id"),
+            indexes = @Index(name = "idx_equipo_recursos_recurso", columnList = "rucursos_id, equipo_id")
     )
     @Schema(description = "Lista de recursos asignados al equipo")
-    private List<Recurso> recursos;
+    private Set<Recurso> recursos;
 
     /**
      * Turno asignado al equipo.
@@ -120,4 +149,23 @@ public class Equipo {
     @JoinColumn(name = "tipo_equipo_id", referencedColumnName = "id")
     @Schema(description = "Tipo de equipo asignado")
     private TipoEquipo tipoEquipo;
+
+    /**
+     * Versión para el bloqueo optimista.
+     * Hibernate la incrementa en cada actualización, incluidos los cambios de vehículos,
+     * personal y recursos, y rechaza la escritura si otra transacción la cambió antes.
+     */
+    @Version
+    @Column(nullable = false)
+    @Schema(description = "Versión del equipo, para detectar modificaciones concurrentes", example = "0")
+    private Integer version;
+
+    /**
+     * Crea un equipo sin versión; Hibernate la asigna al guardarlo.
+     */
+    public Equipo(Integer id, String nombre, Integer cantidadMiembros, boolean estado, String lider,
+                  Set<Vehiculo> vehiculos, Set<Bombero> personal, Set<Recurso> recursos,
+                  Turno turno, Compania compania, TipoEquipo tipoEquipo) {
+        this(id, nombre, cantidadMiembros, estado, lider, vehiculos, personal, recursos, turno, compania, tipoEquipo, null);
+    }
 }
\ No newline at end of file
@@ -21,7 +21,9 @@ public class Recurso {
      * Identificador único del recurso en el sistema.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recurso_id")
+    @TableGenerator(name = "recurso_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "recurso", allocationSize = 50)
     @Schema(description = "Identificador único del recurso", example = "1")
     private Integer id;
 
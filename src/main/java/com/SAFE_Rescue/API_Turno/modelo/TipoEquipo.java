@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -17,19 +19,29 @@ import io.swagger.v3.oas.annotations.media.Schema;
  */
 @Entity
 @Table(name = "tipo_equipo")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TipoEquipo.REGION_CACHE)
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 public class TipoEquipo {
 
     /**
-     * Identificador único autoincremental del tipo de equipo.
+     * Región del caché de segundo nivel para los tipos de equipo.
+     */
+    public static final String REGION_CACHE = "tipo_equipo";
+
+    /**
+     * Identificador único del tipo de equipo.
      * <p>
-     * Se genera automáticamente mediante la estrategia IDENTITY de la base de datos.
+     * Se genera desde la tabla {@code id_generador}, reservando bloques de 50 valores,
+     * lo que permite a Hibernate agrupar las inserciones en lotes JDBC.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "tipo_equipo_id")
+    @TableGenerator(name = "tipo_equipo_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "tipo_equipo", allocationSize = 50)
     @Schema(description = "Identificador único del tipo de equipo", example = "1")
     private Integer id;
 
@@ -15,20 +15,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
  * </p>
  */
 @Entity
-@Table(name = "turno")
+@Table(name = "turno", indexes = {
+        @Index(name = "idx_turno_inicio_id", columnList = "fecha_hora_inicio, id"),
+        @Index(name = "idx_turno_ventana", columnList = "fecha_hora_inicio, fecha_hora_fin")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 public class Turno {
 
     /**
-     * Identificador único autoincremental del turno.
+     * Identificador único del turno.
      * <p>
-     * Se genera automáticamente mediante la estrategia IDENTITY de la base de datos.
+     * Se genera desde la tabla {@code id_generador}, reservando bloques de 50 valores,
+     * lo que permite a Hibernate agrupar las inserciones en lotes JDBC. Cada bloque se reserva
+     * en una conexión aparte, por lo que el pool necesita al menos dos (ver PoolConexionesConfig).
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "turno_id")
+    @TableGenerator(name = "turno_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "turno", allocationSize = 50)
     @Schema(description = "Identificador único del turno", example = "1")
     private Integer id;
 
@@ -88,4 +95,20 @@ public class Turno {
     @Schema(description = "Duración del turno en horas", required = true, example = "8", minimum = "1", maximum = "99")
     private Integer duracion;
 
+    /**
+     * Versión para el bloqueo optimista.
+     * Hibernate la incrementa en cada actualización y rechaza la escritura si otra
+     * transacción la cambió antes.
+     */
+    @Version
+    @Column(nullable = false)
+    @Schema(description = "Versión del turno, para detectar modificaciones concurrentes", example = "0")
+    private Integer version;
+
+    /**
+     * Crea un turno sin versión; Hibernate la asigna al guardarlo.
+     */
+    public Turno(Integer id, String nombre, LocalDateTime fechaHoraInicio, LocalDateTime fechaHoraFin, Integer duracion) {
+        this(id, nombre, fechaHoraInicio, fechaHoraFin, duracion, null);
+    }
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 /**
@@ -12,16 +14,25 @@ import io.swagger.v3.oas.annotations.media.Schema;
  */
 @Entity
 @Table(name = "ubicacion")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Ubicacion.REGION_CACHE)
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 public class Ubicacion {
 
+    /**
+     * Región del caché de segundo nivel para las ubicaciones.
+     */
+    public static final String REGION_CACHE = "ubicacion";
+
     /**
      * Identificador único de la ubicación en el sistema.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ubicacion_id")
+    @TableGenerator(name = "ubicacion_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "ubicacion", allocationSize = 50)
     @Schema(description = "Identificador único de la ubicación", example = "1")
     private Integer id;
 
@@ -21,7 +21,9 @@ public class Vehiculo {
      * ID único del vehículo en la base de datos.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "vehiculo_id")
+    @TableGenerator(name = "vehiculo_id", table = "id_generador", pkColumnName = "entidad",
+            valueColumnName = "siguiente_id", pkColumnValue = "vehiculo", allocationSize = 50)
     @Schema(description = "ID único del vehículo", example = "1")
     private Integer id;
 
@@ -2,9 +2,16 @@ package com.SAFE_Rescue.API_Turno.repository;
 
 import com.SAFE_Rescue.API_Turno.modelo.Bombero;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repositorio para la entidad {@link Bombero} que proporciona operaciones CRUD básicas
  * y acceso a datos utilizando Spring Data JPA.
@@ -12,7 +19,15 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface BomberoRepository extends JpaRepository<Bombero, Integer>{
 
-
+    /**
+     * Bloquea para escritura las filas de los bomberos indicados, en orden de ID, hasta que termine
+     * la transacción actual. Serializa las asignaciones que los incluyen (ver ConflictoTurnoService).
+     * @param ids IDs de los bomberos
+     * @return IDs bloqueados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b.id from Bombero b where b.id in :ids order by b.id")
+    List<Integer> bloquear(@Param("ids") Collection<Integer> ids);
 }
 
 
@@ -1,7 +1,12 @@
 package com.SAFE_Rescue.API_Turno.repository;
 
+import com.SAFE_Rescue.API_Turno.dto.CompaniaConUbicacion;
 import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,4 +16,22 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface CompaniaRepository extends JpaRepository<Compania, Integer> {
 
+    /**
+     * Obtiene una porción paginada de registros sin ejecutar la consulta de conteo.
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Porción de registros sin totales
+     */
+    Slice<Compania> findAllBy(Pageable pageable);
+
+    /**
+     * Obtiene una página de compañías con su ubicación aplanada, sin cargar entidades.
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de compañías con su dirección
+     */
+    @Query(value = "select new com.SAFE_Rescue.API_Turno.dto.CompaniaConUbicacion("
+            + "c.id, c.nombre, u.id, u.calle, u.numeracion, u.comuna, u.region)"
+            + " from Compania c left join c.ubicacion u",
+            countQuery = "select count(c) from Compania c")
+    Page<CompaniaConUbicacion> buscarConUbicacion(Pageable pageable);
+
 }
@@ -1,18 +1,240 @@
 package com.SAFE_Rescue.API_Turno.repository;
 
+import com.SAFE_Rescue.API_Turno.dto.EquipoResumen;
 import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad {@link Equipo} que proporciona operaciones CRUD básicas
  * y acceso a datos utilizando Spring Data JPA.
+ * <p>
+ * Los listados cargan las referencias del equipo con el grafo {@link Equipo#GRAFO_RESUMEN}.
+ * Las listas se inicializan aparte, una consulta por lista, para evitar el producto
+ * cartesiano de unir las tres en la misma consulta.
+ * </p>
  */
 @Repository
 public interface EquipoRepository extends JpaRepository<Equipo, Integer> {
 
+    /**
+     * Filtros opcionales sobre el alias {@code e}. Un filtro nulo no restringe el resultado.
+     */
+    String FILTROS = " where (:estado is null or e.estado = :estado)"
+            + " and (:companiaId is null or e.compania.id = :companiaId)"
+            + " and (:tipoEquipoId is null or e.tipoEquipo.id = :tipoEquipoId)";
 
-}
+    /**
+     * Consulta de equipos con filtros opcionales.
+     */
+    String CONSULTA_FILTRADA = "select e from Equipo e" + FILTROS;
+
+    /**
+     * Busca equipos paginados aplicando los filtros indicados e informando los totales.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de equipos con totales
+     */
+    @EntityGraph(Equipo.GRAFO_RESUMEN)
+    @Query(CONSULTA_FILTRADA)
+    Page<Equipo> buscar(@Param("estado") Boolean estado,
+                        @Param("companiaId") Integer companiaId,
+                        @Param("tipoEquipoId") Integer tipoEquipoId,
+                        Pageable pageable);
+
+    /**
+     * Busca equipos paginados aplicando los filtros indicados, sin ejecutar la consulta de conteo.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Porción de equipos sin totales
+     */
+    @EntityGraph(Equipo.GRAFO_RESUMEN)
+    @Query(CONSULTA_FILTRADA)
+    Slice<Equipo> buscarSinTotales(@Param("estado") Boolean estado,
+                                   @Param("companiaId") Integer companiaId,
+                                   @Param("tipoEquipoId") Integer tipoEquipoId,
+                                   Pageable pageable);
+
+    /**
+     * Busca resúmenes de equipos paginados aplicando los filtros indicados.
+     * Las cantidades de cada lista se calculan en la base de datos y no se cargan entidades.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de resúmenes con totales
+     */
+    @Query(value = "select new com.SAFE_Rescue.API_Turno.dto.EquipoResumen("
+            + "e.id, e.nombre, e.cantidadMiembros, e.estado, e.lider,"
+            + " e.turno.id, e.compania.id, e.tipoEquipo.id,"
+            + " size(e.vehiculos), size(e.personal), size(e.recursos))"
+            + " from Equipo e" + FILTROS,
+            countQuery = "select count(e) from Equipo e" + FILTROS)
+    Page<EquipoResumen> buscarResumen(@Param("estado") Boolean estado,
+                                      @Param("companiaId") Integer companiaId,
+                                      @Param("tipoEquipoId") Integer tipoEquipoId,
+                                      Pageable pageable);
+
+    /**
+     * Obtiene los equipos con ID mayor al indicado, en orden de ID, para el recorrido por cursor.
+     * @param id ID del último equipo entregado (0 para comenzar desde el inicio)
+     * @param limite Cantidad máxima de equipos a retornar
+     * @return Equipos ordenados por ID
+     */
+    @EntityGraph(Equipo.GRAFO_RESUMEN)
+    @Query("select e from Equipo e where e.id > :id order by e.id")
+    List<Equipo> siguientesPorId(@Param("id") Integer id, Limit limite);
+
+    /**
+     * Inicializa la lista de vehículos de los equipos indicados con una sola consulta.
+     * Los equipos ya presentes en el contexto de persistencia quedan con la lista cargada.
+     * @param ids IDs de los equipos
+     * @return Equipos con sus vehículos
+     */
+    @Query("select e from Equipo e left join fetch e.vehiculos where e.id in :ids")
+    List<Equipo> cargarVehiculos(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Inicializa la lista de personal de los equipos indicados con una sola consulta.
+     * @param ids IDs de los equipos
+     * @return Equipos con su personal
+     */
+    @Query("select e from Equipo e left join fetch e.personal where e.id in :ids")
+    List<Equipo> cargarPersonal(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Inicializa la lista de recursos de los equipos indicados con una sola consulta.
+     * @param ids IDs de los equipos
+     * @return Equipos con sus recursos
+     */
+    @Query("select e from Equipo e left join fetch e.recursos where e.id in :ids")
+    List<Equipo> cargarRecursos(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Recorre todos los equipos en orden de ID como un flujo de solo avance, con sus referencias.
+     * <p>
+     * Las filas se obtienen de la base de datos a medida que se consumen. Debe usarse dentro
+     * de una transacción y cerrarse al terminar.
+     * </p>
+     * @return Flujo de equipos ordenados por ID
+     */
+    @EntityGraph(Equipo.GRAFO_RESUMEN)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Equipo e order by e.id")
+    Stream<Equipo> streamTodos();
+
+    /**
+     * Obtiene los pares (ID de equipo, ID de turno) de todos los equipos, sin cargar entidades.
+     * El ID de turno es nulo si el equipo no tiene turno.
+     * @return Pares de IDs ordenados por ID de equipo
+     */
+    @Query("select e.id, t.id from Equipo e left join e.turno t order by e.id")
+    List<Object[]> idsTurno();
 
+    /**
+     * Obtiene los pares (ID de equipo, ID de vehículo) de los equipos indicados, sin cargar entidades.
+     * @param ids IDs de los equipos
+     * @return Pares de IDs
+     */
+    @Query("select e.id, v.id from Equipo e join e.vehiculos v where e.id in :ids order by e.id, v.id")
+    List<Object[]> idsVehiculos(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene los pares (ID de equipo, ID de bombero) de los equipos indicados, sin cargar entidades.
+     * @param ids IDs de los equipos
+     * @return Pares de IDs
+     */
+    @Query("select e.id, b.id from Equipo e join e.personal b where e.id in :ids order by e.id, b.id")
+    List<Object[]> idsPersonal(@Param("ids") Collection<Integer> ids);
+
+    // REVISIÓN DE CONFLICTOS EN LA TRANSACCIÓN QUE ESCRIBE
+    // Son lecturas con bloqueo, que en MySQL leen la última versión confirmada de las filas
+    // y no la instantánea de la transacción.
+
+    /**
+     * Obtiene los IDs de los bomberos de los equipos de un turno.
+     * @param turnoId ID del turno
+     * @return IDs de los bomberos; se repiten si están en más de un equipo del turno
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select b.id from Equipo e join e.personal b where e.turno.id = :turnoId")
+    List<Integer> idsPersonalDeTurno(@Param("turnoId") Integer turnoId);
+
+    /**
+     * Obtiene los IDs de los vehículos de los equipos de un turno.
+     * @param turnoId ID del turno
+     * @return IDs de los vehículos; se repiten si están en más de un equipo del turno
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select v.id from Equipo e join e.vehiculos v where e.turno.id = :turnoId")
+    List<Integer> idsVehiculosDeTurno(@Param("turnoId") Integer turnoId);
+
+    /**
+     * Busca las asignaciones de los bomberos indicados en equipos cuyo turno se superpone con el intervalo.
+     * @param ids IDs de los bomberos
+     * @param inicio Inicio del intervalo
+     * @param fin Fin del intervalo (excluido)
+     * @param equipoId Equipo que no se revisa (nulo para revisarlos todos)
+     * @param turnoId Turno cuyos equipos no se revisan (nulo para revisarlos todos)
+     * @return Quíntuplas (ID de bombero, ID de equipo, ID de turno, inicio, fin)
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select b.id, e.id, t.id, t.fechaHoraInicio, t.fechaHoraFin from Equipo e join e.personal b join e.turno t "
+            + "where b.id in :ids and t.fechaHoraInicio < :fin and :inicio < t.fechaHoraFin "
+            + "and (:equipoId is null or e.id <> :equipoId) and (:turnoId is null or t.id <> :turnoId) "
+            + "order by b.id, e.id")
+    List<Object[]> personalSuperpuesto(@Param("ids") Collection<Integer> ids,
+                                       @Param("inicio") LocalDateTime inicio, @Param("fin") LocalDateTime fin,
+                                       @Param("equipoId") Integer equipoId, @Param("turnoId") Integer turnoId);
+
+    /**
+     * Busca las asignaciones de los vehículos indicados en equipos cuyo turno se superpone con el intervalo.
+     * @param ids IDs de los vehículos
+     * @param inicio Inicio del intervalo
+     * @param fin Fin del intervalo (excluido)
+     * @param equipoId Equipo que no se revisa (nulo para revisarlos todos)
+     * @param turnoId Turno cuyos equipos no se revisan (nulo para revisarlos todos)
+     * @return Quíntuplas (ID de vehículo, ID de equipo, ID de turno, inicio, fin)
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select v.id, e.id, t.id, t.fechaHoraInicio, t.fechaHoraFin from Equipo e join e.vehiculos v join e.turno t "
+            + "where v.id in :ids and t.fechaHoraInicio < :fin and :inicio < t.fechaHoraFin "
+            + "and (:equipoId is null or e.id <> :equipoId) and (:turnoId is null or t.id <> :turnoId) "
+            + "order by v.id, e.id")
+    List<Object[]> vehiculosSuperpuestos(@Param("ids") Collection<Integer> ids,
+                                         @Param("inicio") LocalDateTime inicio, @Param("fin") LocalDateTime fin,
+                                         @Param("equipoId") Integer equipoId, @Param("turnoId") Integer turnoId);
+
+    /**
+     * Obtiene los pares (ID de equipo, ID de recurso) de los equipos indicados, sin cargar entidades.
+     * @param ids IDs de los equipos
+     * @return Pares de IDs
+     */
+    @Query("select e.id, r.id from Equipo e join e.recursos r where e.id in :ids order by e.id, r.id")
+    List<Object[]> idsRecursos(@Param("ids") Collection<Integer> ids);
+
+}
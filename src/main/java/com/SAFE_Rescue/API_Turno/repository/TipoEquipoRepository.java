@@ -1,6 +1,8 @@
 package com.SAFE_Rescue.API_Turno.repository;
 
 import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,4 +16,11 @@ import java.util.Optional;
 @Repository
 public interface TipoEquipoRepository extends JpaRepository<TipoEquipo, Integer> {
 
+    /**
+     * Obtiene una porción paginada de registros sin ejecutar la consulta de conteo.
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Porción de registros sin totales
+     */
+    Slice<TipoEquipo> findAllBy(Pageable pageable);
+
 }
@@ -1,11 +1,23 @@
 package com.SAFE_Rescue.API_Turno.repository;
 
 import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad {@link Turno} que proporciona operaciones CRUD básicas
@@ -14,4 +26,145 @@ import java.util.List;
 @Repository
 public interface TurnoRepository extends JpaRepository<Turno, Integer> {
 
-}
\ No newline at end of file
+    /**
+     * Consulta de turnos cuyo inicio cae dentro de una ventana opcional [desde, hasta).
+     */
+    String CONSULTA_FILTRADA = "select t from Turno t"
+            + " where (:desde is null or t.fechaHoraInicio >= :desde)"
+            + " and (:hasta is null or t.fechaHoraInicio < :hasta)";
+
+    /**
+     * Busca turnos paginados que inician dentro de la ventana indicada, informando los totales.
+     * @param desde Inicio de la ventana, inclusivo (opcional)
+     * @param hasta Fin de la ventana, exclusivo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de turnos con totales
+     */
+    @Query(CONSULTA_FILTRADA)
+    Page<Turno> buscar(@Param("desde") LocalDateTime desde,
+                       @Param("hasta") LocalDateTime hasta,
+                       Pageable pageable);
+
+    /**
+     * Busca turnos paginados que inician dentro de la ventana indicada, sin ejecutar la consulta de conteo.
+     * @param desde Inicio de la ventana, inclusivo (opcional)
+     * @param hasta Fin de la ventana, exclusivo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Porción de turnos sin totales
+     */
+    @Query(CONSULTA_FILTRADA)
+    Slice<Turno> buscarSinTotales(@Param("desde") LocalDateTime desde,
+                                  @Param("hasta") LocalDateTime hasta,
+                                  Pageable pageable);
+
+    /**
+     * Condición de los turnos que se solapan con la ventana [desde, hasta).
+     * <p>
+     * El límite {@code inicioMinimo} no cambia el resultado (ningún turno dura más que la
+     * duración máxima), pero acota la búsqueda en el índice (fecha_hora_inicio, fecha_hora_fin)
+     * a un rango; sin él, {@code fecha_hora_inicio < :hasta} recorrería todos los turnos anteriores.
+     * </p>
+     */
+    String SOLAPA_VENTANA = " where t.fechaHoraInicio >= :inicioMinimo and t.fechaHoraInicio < :hasta"
+            + " and t.fechaHoraFin > :desde";
+
+    /**
+     * Obtiene los turnos que se solapan con la ventana indicada, sin cargar entidades.
+     * @param inicioMinimo Inicio de la ventana menos la duración máxima de un turno
+     * @param desde Inicio de la ventana, inclusivo
+     * @param hasta Fin de la ventana, exclusivo
+     * @return Filas (ID, nombre, inicio, fin, duración) ordenadas por fecha de inicio e ID
+     */
+    @Query("select t.id, t.nombre, t.fechaHoraInicio, t.fechaHoraFin, t.duracion from Turno t"
+            + SOLAPA_VENTANA + " order by t.fechaHoraInicio, t.id")
+    List<Object[]> solapadosConVentana(@Param("inicioMinimo") LocalDateTime inicioMinimo,
+                                       @Param("desde") LocalDateTime desde,
+                                       @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Obtiene los turnos que se solapan con la ventana indicada junto con sus equipos, en una
+     * sola consulta y sin cargar entidades. Un turno sin equipos aparece una vez, con las
+     * columnas del equipo nulas.
+     * @param inicioMinimo Inicio de la ventana menos la duración máxima de un turno
+     * @param desde Inicio de la ventana, inclusivo
+     * @param hasta Fin de la ventana, exclusivo
+     * @return Filas (ID, nombre, inicio, fin, duración del turno; ID, nombre, estado, líder,
+     *         ID de compañía e ID de tipo del equipo) ordenadas por fecha de inicio, ID de turno e ID de equipo
+     */
+    @Query("select t.id, t.nombre, t.fechaHoraInicio, t.fechaHoraFin, t.duracion,"
+            + " e.id, e.nombre, e.estado, e.lider, e.compania.id, e.tipoEquipo.id"
+            + " from Turno t left join Equipo e on e.turno = t"
+            + SOLAPA_VENTANA + " order by t.fechaHoraInicio, t.id, e.id")
+    List<Object[]> solapadosConVentanaConEquipos(@Param("inicioMinimo") LocalDateTime inicioMinimo,
+                                                 @Param("desde") LocalDateTime desde,
+                                                 @Param("hasta") LocalDateTime hasta);
+
+    /**
+     * Obtiene los primeros turnos en orden de recorrido por cursor (fecha de inicio e ID).
+     * @param limite Cantidad máxima de turnos a retornar
+     * @return Turnos ordenados por fecha de inicio e ID
+     */
+    @Query("select t from Turno t order by t.fechaHoraInicio, t.id")
+    List<Turno> primerosPorInicio(Limit limite);
+
+    /**
+     * Obtiene los turnos posteriores a la posición (fechaHoraInicio, id) indicada.
+     * <p>
+     * La condición se resuelve con una búsqueda sobre el índice (fecha_hora_inicio, id),
+     * por lo que el costo de cada página no depende de cuántas filas se hayan recorrido antes.
+     * </p>
+     * @param inicio Fecha de inicio del último turno entregado
+     * @param id ID del último turno entregado
+     * @param limite Cantidad máxima de turnos a retornar
+     * @return Turnos ordenados por fecha de inicio e ID
+     */
+    @Query("select t from Turno t"
+            + " where t.fechaHoraInicio > :inicio or (t.fechaHoraInicio = :inicio and t.id > :id)"
+            + " order by t.fechaHoraInicio, t.id")
+    List<Turno> siguientesPorInicio(@Param("inicio") LocalDateTime inicio,
+                                    @Param("id") Integer id,
+                                    Limit limite);
+
+    /**
+     * Recorre todos los turnos en orden de ID como un flujo de solo avance.
+     * <p>
+     * Las filas se obtienen de la base de datos a medida que se consumen. Debe usarse dentro
+     * de una transacción y cerrarse al terminar.
+     * </p>
+     * @return Flujo de turnos ordenados por ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Turno t order by t.id")
+    Stream<Turno> streamTodos();
+
+    /**
+     * Obtiene el ID y el intervalo (inicio, fin) de todos los turnos, sin cargar entidades.
+     * @return Tríos (ID, fecha de inicio, fecha de fin)
+     */
+    @Query("select t.id, t.fechaHoraInicio, t.fechaHoraFin from Turno t")
+    List<Object[]> intervalos();
+
+    /**
+     * Lee el intervalo confirmado de un turno con un bloqueo compartido: otras asignaciones al
+     * mismo turno pueden leerlo, pero un cambio de sus fechas espera a que termine la transacción actual.
+     * @param id ID del turno
+     * @return Par (fecha de inicio, fecha de fin), o vacío si el turno no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select t.fechaHoraInicio, t.fechaHoraFin from Turno t where t.id = :id")
+    List<Object[]> intervaloBloqueado(@Param("id") Integer id);
+
+    /**
+     * Bloquea para escritura la fila de un turno hasta que termine la transacción actual,
+     * antes de revisar los equipos afectados por un cambio de sus fechas.
+     * @param id ID del turno
+     * @return ID bloqueado, o vacío si el turno no existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id from Turno t where t.id = :id")
+    List<Integer> bloquear(@Param("id") Integer id);
+
+}
@@ -1,13 +1,30 @@
 package com.SAFE_Rescue.API_Turno.repository;
 
 import com.SAFE_Rescue.API_Turno.modelo.Vehiculo;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repositorio para la entidad {@link Vehiculo} que proporciona operaciones CRUD básicas
  * y acceso a datos utilizando Spring Data JPA.
  */
 @Repository
 public interface VehiculoRepository extends JpaRepository<Vehiculo, Integer> {
+
+    /**
+     * Bloquea para escritura las filas de los vehículos indicados, en orden de ID, hasta que termine
+     * la transacción actual. Serializa las asignaciones que los incluyen (ver ConflictoTurnoService).
+     * @param ids IDs de los vehículos
+     * @return IDs bloqueados
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v.id from Vehiculo v where v.id in :ids order by v.id")
+    List<Integer> bloquear(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,353 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.AvisoCambio;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEntidad;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Canal de cambios confirmados de turnos, equipos y compañías, enviado por Server-Sent Events.
+ * <p>
+ * Cada evento {@link CambioEntidad} confirmado se convierte en un {@link AvisoCambio} con las
+ * versiones que trae (las de después de la escritura), se numera y se entrega a todos los
+ * suscriptores. Los IDs de evento incluyen el instante de arranque, de modo que un cliente
+ * que reconecta con {@code Last-Event-ID} recibe los eventos que se perdió mientras sigan en
+ * el historial ({@code stream.historial}); si ya no están, o el ID es de otra ejecución,
+ * recibe un evento {@value #EVENTO_REINICIO} y debe volver a consultar el estado completo.
+ * </p>
+ * <p>
+ * Cada suscriptor tiene una cola acotada ({@code stream.tamanio-buffer}) que se vacía en un
+ * hilo aparte, así que la transacción que publica nunca espera a la red. Un suscriptor cuya
+ * cola se llena se desaloja: su conexión se cierra y, al reconectar, retoma desde su último
+ * evento. Un latido periódico ({@code stream.latido}) mantiene abiertas las conexiones
+ * inactivas y detecta las que se cortaron. Como el índice de conflictos, el canal vive en
+ * memoria y solo ve las escrituras de esta instancia.
+ * </p>
+ * <p>
+ * Los envíos y los cierres se hacen en un pool fijo de {@code stream.hilos-envio} hilos,
+ * virtuales si {@code spring.threads.virtual.enabled=true} (perfil Maven jdk21). Un cliente
+ * que deja de leer ocupa un hilo mientras su envío está bloqueado, así que a lo sumo esa
+ * cantidad de clientes detenidos retrasa a los demás; el resto de las tareas espera en la
+ * cola del pool. Al detener el canal se interrumpen los envíos en curso.
+ * </p>
+ */
+@Service
+public class CanalCambios {
+
+    /**
+     * Nombre de los eventos con cambios.
+     */
+    public static final String EVENTO_CAMBIO = "cambio";
+
+    /**
+     * Nombre del evento que pide al cliente recargar todo, porque no se pueden recuperar
+     * los cambios posteriores a su último evento.
+     */
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    /**
+     * Cantidad de suscriptores conectados.
+     */
+    public static final String METRICA_SUSCRIPTORES = "stream.suscriptores";
+
+    /**
+     * Cantidad de suscriptores desalojados por no leer a tiempo.
+     */
+    public static final String METRICA_DESALOJOS = "stream.desalojos";
+
+    private static final String DATOS_REINICIO =
+            "{\"motivo\":\"No se pueden recuperar los cambios anteriores; recargue el estado completo.\"}";
+
+    private static final Map<Class<?>, String> TIPOS = Map.of(
+            Turno.class, "turno", Equipo.class, "equipo", Compania.class, "compania");
+
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private MeterRegistry registro;
+
+    @Value("${stream.tamanio-buffer:256}")
+    private int tamanioBuffer;
+
+    @Value("${stream.historial:1000}")
+    private int tamanioHistorial;
+
+    @Value("${stream.latido:15s}")
+    private Duration latido;
+
+    @Value("${stream.duracion-maxima:30m}")
+    private Duration duracionMaxima;
+
+    @Value("${stream.hilos-envio:8}")
+    private int hilosEnvio;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
+    private final String arranque = Long.toString(System.currentTimeMillis(), 36);
+    private final Lock candado = new ReentrantLock();
+    private final ArrayDeque<Evento> historial = new ArrayDeque<>();
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+    private long secuencia;
+
+    private ExecutorService envios;
+    private ScheduledExecutorService latidos;
+    private Counter desalojos;
+
+    @PostConstruct
+    public void iniciar() {
+        ThreadFactory fabricaEnvios = hilosVirtuales
+                ? new VirtualThreadTaskExecutor("stream-envio-").getVirtualThreadFactory()
+                : new CustomizableThreadFactory("stream-envio-");
+        envios = Executors.newFixedThreadPool(hilosEnvio, fabricaEnvios);
+        latidos = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("stream-latido-"));
+        latidos.scheduleAtFixedRate(this::latir, latido.toMillis(), latido.toMillis(), TimeUnit.MILLISECONDS);
+        Gauge.builder(METRICA_SUSCRIPTORES, suscriptores, Set::size)
+                .description("Suscriptores conectados al canal de cambios")
+                .register(registro);
+        desalojos = Counter.builder(METRICA_DESALOJOS)
+                .description("Suscriptores desalojados porque su cola de eventos se llenó")
+                .register(registro);
+    }
+
+    @PreDestroy
+    public void detener() {
+        latidos.shutdownNow();
+        // Interrumpe los envíos bloqueados antes de cerrar, porque el cierre espera a que terminen.
+        envios.shutdownNow();
+        suscriptores.forEach(this::cerrar);
+    }
+
+    // SUSCRIPCIÓN
+
+    /**
+     * Registra un suscriptor nuevo.
+     * @param ultimoEventoId ID del último evento recibido ({@code Last-Event-ID}), o nulo si es la primera conexión
+     * @return Emisor de la conexión, que se cierra al cumplir {@code stream.duracion-maxima}
+     */
+    public SseEmitter suscribir(String ultimoEventoId) {
+        return suscribir(new SseEmitter(duracionMaxima.toMillis()), ultimoEventoId);
+    }
+
+    SseEmitter suscribir(SseEmitter emisor, String ultimoEventoId) {
+        Suscriptor suscriptor = new Suscriptor(emisor, tamanioBuffer);
+        emisor.onCompletion(() -> cerrar(suscriptor));
+        emisor.onTimeout(() -> cerrar(suscriptor));
+        emisor.onError(e -> cerrar(suscriptor));
+        candado.lock();
+        try {
+            List<Evento> perdidos = perdidosDesde(ultimoEventoId);
+            if (perdidos == null || perdidos.size() > tamanioBuffer) {
+                suscriptor.pendientes.offer(new Evento(secuencia, idEvento(secuencia), EVENTO_REINICIO, DATOS_REINICIO));
+            } else {
+                suscriptor.pendientes.addAll(perdidos);
+            }
+            suscriptores.add(suscriptor);
+        } finally {
+            candado.unlock();
+        }
+        programar(suscriptor);
+        return emisor;
+    }
+
+    /**
+     * Eventos posteriores al indicado, o nulo si no se pueden recuperar todos.
+     */
+    private List<Evento> perdidosDesde(String ultimoEventoId) {
+        if (ultimoEventoId == null || ultimoEventoId.isBlank()) {
+            return List.of();
+        }
+        long ultimo;
+        try {
+            int separador = ultimoEventoId.lastIndexOf('-');
+            if (!ultimoEventoId.substring(0, Math.max(separador, 0)).equals(arranque)) {
+                return null;
+            }
+            ultimo = Long.parseLong(ultimoEventoId.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long primero = historial.isEmpty() ? secuencia + 1 : historial.peekFirst().secuencia();
+        if (ultimo > secuencia || ultimo < primero - 1) {
+            return null;
+        }
+        List<Evento> perdidos = new ArrayList<>();
+        for (Evento evento : historial) {
+            if (evento.secuencia() > ultimo) {
+                perdidos.add(evento);
+            }
+        }
+        return perdidos;
+    }
+
+    // PUBLICACIÓN
+
+    /**
+     * Publica los cambios de turnos, equipos y compañías de una transacción confirmada.
+     * Las versiones son las que trae el evento, tomadas por el servicio después de escribir;
+     * no se consulta la base de datos, porque la transacción que escribió aún conserva su
+     * conexión.
+     * @param cambio Evento publicado por el servicio que hizo la escritura
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioEntidad cambio) {
+        String tipo = TIPOS.get(cambio.tipo());
+        if (tipo == null) {
+            return;
+        }
+        Map<Integer, Integer> versiones = cambio.operacion() == Operacion.ELIMINADO
+                ? Map.of() : versiones(cambio.estados());
+        List<AvisoCambio.Entidad> entidades = cambio.ids().stream()
+                .map(id -> new AvisoCambio.Entidad(id, versiones.get(id)))
+                .toList();
+        try {
+            publicar(objectMapper.writeValueAsString(new AvisoCambio(tipo, cambio.operacion(), entidades)));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<Integer, Integer> versiones(List<? extends EstadoEntidad> estados) {
+        Map<Integer, Integer> versiones = new HashMap<>();
+        for (EstadoEntidad estado : estados) {
+            versiones.put(estado.id(), estado.version());
+        }
+        return versiones;
+    }
+
+    private void publicar(String datos) {
+        candado.lock();
+        try {
+            secuencia++;
+            Evento evento = new Evento(secuencia, idEvento(secuencia), EVENTO_CAMBIO, datos);
+            historial.addLast(evento);
+            if (historial.size() > tamanioHistorial) {
+                historial.removeFirst();
+            }
+            for (Suscriptor suscriptor : suscriptores) {
+                entregar(suscriptor, evento);
+            }
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private String idEvento(long numero) {
+        return arranque + "-" + numero;
+    }
+
+    // ENVÍO A LOS SUSCRIPTORES
+
+    private void latir() {
+        for (Suscriptor suscriptor : suscriptores) {
+            entregar(suscriptor, Evento.LATIDO);
+        }
+    }
+
+    private void entregar(Suscriptor suscriptor, Evento evento) {
+        if (suscriptor.pendientes.offer(evento)) {
+            programar(suscriptor);
+        } else if (suscriptor.desalojado.compareAndSet(false, true)) {
+            desalojos.increment();
+            // El cierre espera a que termine el envío en curso, por eso no se hace en este hilo.
+            envios.execute(() -> cerrar(suscriptor));
+        }
+    }
+
+    private void programar(Suscriptor suscriptor) {
+        if (suscriptor.enviando.compareAndSet(false, true)) {
+            envios.execute(() -> enviar(suscriptor));
+        }
+    }
+
+    /**
+     * Vacía la cola de un suscriptor. Solo un hilo a la vez envía a cada suscriptor.
+     */
+    private void enviar(Suscriptor suscriptor) {
+        do {
+            Evento evento;
+            while ((evento = suscriptor.pendientes.poll()) != null) {
+                if (suscriptor.cerrado.get()) {
+                    return;
+                }
+                try {
+                    suscriptor.emisor.send(evento == Evento.LATIDO
+                            ? SseEmitter.event().comment("latido")
+                            : SseEmitter.event().id(evento.id()).name(evento.nombre())
+                                    .data(evento.datos(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    cerrar(suscriptor);
+                    return;
+                }
+            }
+            suscriptor.enviando.set(false);
+        } while (!suscriptor.pendientes.isEmpty() && suscriptor.enviando.compareAndSet(false, true));
+    }
+
+    private void cerrar(Suscriptor suscriptor) {
+        if (!suscriptor.cerrado.compareAndSet(false, true)) {
+            return;
+        }
+        suscriptores.remove(suscriptor);
+        suscriptor.pendientes.clear();
+        try {
+            suscriptor.emisor.complete();
+        } catch (IllegalStateException e) {
+            // La conexión ya estaba terminada
+        }
+    }
+
+    private record Evento(long secuencia, String id, String nombre, String datos) {
+        static final Evento LATIDO = new Evento(-1, null, null, null);
+    }
+
+    private static final class Suscriptor {
+        private final SseEmitter emisor;
+        private final BlockingQueue<Evento> pendientes;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+        private final AtomicBoolean desalojado = new AtomicBoolean();
+        private final AtomicBoolean cerrado = new AtomicBoolean();
+
+        private Suscriptor(SseEmitter emisor, int tamanioBuffer) {
+            this.emisor = emisor;
+            this.pendientes = new ArrayBlockingQueue<>(tamanioBuffer);
+        }
+    }
+}
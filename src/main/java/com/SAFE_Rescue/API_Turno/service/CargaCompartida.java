@@ -0,0 +1,25 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una búsqueda de servicio cuyas llamadas simultáneas con los mismos argumentos
+ * comparten una sola carga desde la base de datos.
+ * <p>
+ * Mientras una llamada está cargando, las que llegan con los mismos argumentos esperan su
+ * resultado (o su excepción) en vez de consultar de nuevo. Todas reciben la misma instancia,
+ * que debe tratarse como de solo lectura. Las llamadas hechas dentro de una transacción
+ * cargan por su cuenta, porque necesitan entidades administradas por su propio contexto.
+ * </p>
+ *
+ * @see com.SAFE_Rescue.API_Turno.config.CargasCompartidas
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CargaCompartida {
+}
@@ -1,11 +1,21 @@
 package com.SAFE_Rescue.API_Turno.service;
 
+import com.SAFE_Rescue.API_Turno.dto.CompaniaConUbicacion;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoCompania;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
 import com.SAFE_Rescue.API_Turno.modelo.Compania;
 import com.SAFE_Rescue.API_Turno.modelo.Ubicacion;
 import com.SAFE_Rescue.API_Turno.repository.CompaniaRepository;
 import com.SAFE_Rescue.API_Turno.repository.UbicacionRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -26,6 +36,8 @@ public class CompaniaService {
     @Autowired private CompaniaRepository companiaRepository;
     @Autowired private UbicacionRepository ubicacionRepository;
 
+    @Autowired private ApplicationEventPublisher publicadorEventos;
+
     // MÉTODOS CRUD PRINCIPALES
 
     /**
@@ -36,6 +48,29 @@ public class CompaniaService {
         return companiaRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de compañías.
+     * @param pageable Página, tamaño y orden solicitados
+     * @param incluirTotales Si es verdadero se ejecuta la consulta de conteo y se retorna una {@link Page}
+     * @return Porción de compañías
+     */
+    public Slice<Compania> findAll(Pageable pageable, boolean incluirTotales) {
+        if (incluirTotales) {
+            return companiaRepository.findAll(pageable);
+        }
+        return companiaRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Obtiene una página de compañías con su ubicación aplanada.
+     * Los datos se proyectan desde la consulta, sin cargar entidades administradas.
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de compañías con su dirección
+     */
+    public Page<CompaniaConUbicacion> findAllConUbicacion(Pageable pageable) {
+        return companiaRepository.buscarConUbicacion(pageable);
+    }
+
     /**
      * Busca una compañía por su ID.
      * @param id Identificador único de la compañía
@@ -59,7 +94,9 @@ public class CompaniaService {
 
             validarCompania(compania);
 
-            return companiaRepository.save(compania);
+            Compania guardada = companiaRepository.save(compania);
+            publicadorEventos.publishEvent(CambioEntidad.de(Compania.class, EstadoCompania.de(guardada), Operacion.CREADO));
+            return guardada;
         } catch (EntityNotFoundException e) {
             throw new EntityNotFoundException("Error al guardar el Compania: " + e.getMessage());
         } catch (Exception ex) {
@@ -69,15 +106,20 @@ public class CompaniaService {
 
     /**
      * Actualiza una compañía existente con validación de datos.
+     * Si los datos traen versión, debe coincidir con la actual.
      * @param compania Datos actualizados de la compañía
      * @param id ID de la compañía a actualizar
      * @return Compañía actualizada
      * @throws NoSuchElementException Si no se encuentra la compañía con el ID especificado
      * @throws IllegalArgumentException Si los datos no pasan las validaciones
+     * @throws OptimisticLockingFailureException Si la compañía cambió desde la versión indicada o durante la actualización
      */
     public Compania update(Compania compania, Integer id) {
         Compania antiguaCompania = companiaRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Compañía no encontrada con ID: " + id));
+        if (compania.getVersion() != null && !compania.getVersion().equals(antiguaCompania.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Compania.class, id);
+        }
 
         validarCompania(compania);
 
@@ -89,7 +131,11 @@ public class CompaniaService {
             antiguaCompania.setUbicacion(compania.getUbicacion());
         }
 
-        return companiaRepository.save(antiguaCompania);
+        // Se sincroniza para que el evento lleve la versión nueva
+        Compania actualizada = companiaRepository.save(antiguaCompania);
+        companiaRepository.flush();
+        publicadorEventos.publishEvent(CambioEntidad.de(Compania.class, EstadoCompania.de(actualizada), Operacion.ACTUALIZADO));
+        return actualizada;
     }
 
     /**
@@ -102,6 +148,7 @@ public class CompaniaService {
             throw new NoSuchElementException("Compañía no encontrada con ID: " + id);
         }
         companiaRepository.deleteById(id);
+        publicadorEventos.publishEvent(CambioEntidad.de(Compania.class, id, Operacion.ELIMINADO));
     }
 
 
@@ -195,12 +242,15 @@ public class CompaniaService {
      * @throws NoSuchElementException Si no se encuentra la compañía o la ubicación
      * @throws IllegalArgumentException Si la ubicación no pasa las validaciones
      */
+    @Reintentable
     public void asignarUbicacion(Integer companiaId, Integer ubicacionId) {
         Compania compania = findByID(companiaId);
         Ubicacion ubicacion = obtenerUbicacion(ubicacionId);
         validarUbicacion(ubicacion);
         compania.setUbicacion(ubicacion);
-        companiaRepository.save(compania);
+        Compania actualizada = companiaRepository.save(compania);
+        companiaRepository.flush();
+        publicadorEventos.publishEvent(CambioEntidad.de(Compania.class, EstadoCompania.de(actualizada), Operacion.ACTUALIZADO));
     }
 
     /**
@@ -0,0 +1,348 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno.Recurso;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.EstadoTurno;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Turno.repository.EquipoRepository;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.repository.VehiculoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de detección de conflictos de turnos.
+ * <p>
+ * Un conflicto ocurre cuando un bombero o un vehículo queda asignado a dos equipos cuyos
+ * turnos se superponen en el tiempo. Las revisiones se resuelven en memoria con un
+ * {@link IndiceAsignaciones}, sin consultar la base de datos. El índice se carga completo
+ * al iniciar la aplicación y luego se actualiza con el estado que traen los eventos
+ * {@link CambioEntidad} que publican los servicios, solo después de que la transacción que
+ * los originó se confirma.
+ * </p>
+ * <p>
+ * El índice es solo una revisión previa: refleja los datos confirmados, por lo que dos
+ * asignaciones concurrentes que aún no se confirman no se ven entre sí, y tampoco ve las
+ * escrituras de otras instancias de la aplicación. Las validaciones de escritura repiten la
+ * revisión en la base de datos, dentro de la transacción que escribe y con bloqueos:
+ * </p>
+ * <ul>
+ *   <li>Una asignación lee el turno del equipo con bloqueo compartido y bloquea para escritura
+ *   las filas de sus bomberos y vehículos. Dos asignaciones del mismo bombero o vehículo se
+ *   ejecutan una después de la otra, y la segunda ve la asignación de la primera.</li>
+ *   <li>Un cambio de fechas bloquea para escritura el turno y luego los bomberos y vehículos
+ *   de sus equipos, de modo que tampoco se cruza con una asignación a ese turno.</li>
+ * </ul>
+ * <p>
+ * Los bloqueos se toman en el mismo orden (turno, bomberos y vehículos por ID); si aun así
+ * dos transacciones se bloquean mutuamente, la base de datos cancela una de ellas.
+ * </p>
+ */
+@Service
+public class ConflictoTurnoService {
+
+    /**
+     * Cantidad de equipos cuyas listas se consultan juntas durante la carga inicial.
+     */
+    private static final int TAMANIO_CARGA = 1000;
+
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+    @Autowired private VehiculoRepository vehiculoRepository;
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private IndiceAsignaciones indice = new IndiceAsignaciones();
+    // Última versión aplicada de cada turno y equipo recibido por eventos desde la última carga
+    private Map<Integer, Integer> versionesTurnos = new HashMap<>();
+    private Map<Integer, Integer> versionesEquipos = new HashMap<>();
+
+    // CARGA Y SINCRONIZACIÓN DEL ÍNDICE
+
+    /**
+     * Reconstruye el índice con todos los turnos y equipos de la base de datos.
+     * Se ejecuta al iniciar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void cargar() {
+        IndiceAsignaciones nuevo = new IndiceAsignaciones();
+        for (Object[] fila : turnoRepository.intervalos()) {
+            nuevo.ponerTurno((Integer) fila[0], (LocalDateTime) fila[1], (LocalDateTime) fila[2]);
+        }
+        List<Object[]> equipos = equipoRepository.idsTurno();
+        for (int i = 0; i < equipos.size(); i += TAMANIO_CARGA) {
+            ponerEquipos(nuevo, equipos.subList(i, Math.min(i + TAMANIO_CARGA, equipos.size())));
+        }
+
+        candado.writeLock().lock();
+        try {
+            indice = nuevo;
+            versionesTurnos = new HashMap<>();
+            versionesEquipos = new HashMap<>();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza el índice con las entidades escritas en una transacción confirmada.
+     * <p>
+     * Usa el estado que trae el evento, tomado dentro de la transacción que escribió, sin
+     * consultar la base de datos: esa transacción todavía conserva su conexión. Como los
+     * eventos de transacciones concurrentes pueden llegar en otro orden que el de sus
+     * confirmaciones, se descarta el estado de una versión anterior a la ya registrada.
+     * </p>
+     * @param cambio Evento publicado por el servicio que hizo la escritura
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioEntidad cambio) {
+        boolean esTurno = cambio.tipo() == Turno.class;
+        if (!esTurno && cambio.tipo() != Equipo.class) {
+            return;
+        }
+        candado.writeLock().lock();
+        try {
+            Map<Integer, Integer> versiones = esTurno ? versionesTurnos : versionesEquipos;
+            if (cambio.operacion() == Operacion.ELIMINADO) {
+                for (Integer id : cambio.ids()) {
+                    // Los IDs no se reutilizan: ningún estado posterior de la entidad eliminada es válido
+                    versiones.put(id, Integer.MAX_VALUE);
+                    if (esTurno) {
+                        indice.quitarTurno(id);
+                    } else {
+                        indice.quitarEquipo(id);
+                    }
+                }
+                return;
+            }
+            for (EstadoEntidad estado : cambio.estados()) {
+                if (!esMasReciente(versiones, estado)) {
+                    continue;
+                }
+                if (estado instanceof EstadoTurno turno) {
+                    indice.ponerTurno(turno.id(), turno.inicio(), turno.fin());
+                } else if (estado instanceof EstadoEquipo equipo) {
+                    indice.ponerEquipo(equipo.id(), equipo.turnoId(), equipo.personal(), equipo.vehiculos());
+                }
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private static boolean esMasReciente(Map<Integer, Integer> versiones, EstadoEntidad estado) {
+        Integer registrada = versiones.get(estado.id());
+        if (registrada != null && (estado.version() == null || estado.version() <= registrada)) {
+            return false;
+        }
+        if (estado.version() != null) {
+            versiones.put(estado.id(), estado.version());
+        }
+        return true;
+    }
+
+    /**
+     * Registra en el índice los equipos indicados, consultando sus bomberos y vehículos
+     * con una consulta por lista.
+     * @param equipos Pares (ID de equipo, ID de turno)
+     */
+    private void ponerEquipos(IndiceAsignaciones destino, List<Object[]> equipos) {
+        List<Integer> ids = equipos.stream().map(fila -> (Integer) fila[0]).toList();
+        Map<Integer, Set<Integer>> personal = agrupar(equipoRepository.idsPersonal(ids));
+        Map<Integer, Set<Integer>> vehiculos = agrupar(equipoRepository.idsVehiculos(ids));
+        for (Object[] fila : equipos) {
+            Integer id = (Integer) fila[0];
+            destino.ponerEquipo(id, (Integer) fila[1],
+                    personal.getOrDefault(id, Set.of()), vehiculos.getOrDefault(id, Set.of()));
+        }
+    }
+
+    private static Map<Integer, Set<Integer>> agrupar(List<Object[]> pares) {
+        Map<Integer, Set<Integer>> porEquipo = new HashMap<>();
+        for (Object[] par : pares) {
+            porEquipo.computeIfAbsent((Integer) par[0], id -> new HashSet<>()).add((Integer) par[1]);
+        }
+        return porEquipo;
+    }
+
+    // CONSULTAS
+
+    /**
+     * Busca los conflictos de asignar los bomberos y vehículos indicados a un equipo en un turno existente.
+     * @param equipoId ID del equipo, que no se compara consigo mismo (nulo si es un equipo nuevo)
+     * @param turnoId ID del turno
+     * @param bomberos IDs de los bomberos
+     * @param vehiculos IDs de los vehículos
+     * @return Conflictos encontrados, vacío si no hay
+     * @throws NoSuchElementException Si el turno no existe o no tiene fechas
+     */
+    public List<ConflictoTurno> buscarConflictos(Integer equipoId, Integer turnoId,
+                                                 Collection<Integer> bomberos, Collection<Integer> vehiculos) {
+        candado.readLock().lock();
+        try {
+            IndiceAsignaciones.Intervalo intervalo = indice.turno(turnoId);
+            if (intervalo == null) {
+                throw new NoSuchElementException("Turno con ID " + turnoId + " no encontrado");
+            }
+            return indice.conflictos(equipoId, intervalo.inicio(), intervalo.fin(), vacioSiNulo(bomberos), vacioSiNulo(vehiculos));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los conflictos de asignar los bomberos y vehículos indicados a un equipo en el turno indicado.
+     * Si el turno ya está en el índice se usa su intervalo, sin leer las fechas del objeto
+     * (que puede ser una referencia perezosa sin inicializar). Si no, se usan las fechas del
+     * turno recibido, que puede no estar confirmado todavía.
+     * @param equipoId ID del equipo, que no se compara consigo mismo (nulo si es un equipo nuevo)
+     * @param turno Turno del equipo (si es nulo o no tiene fechas no hay conflictos)
+     * @param bomberos IDs de los bomberos
+     * @param vehiculos IDs de los vehículos
+     * @return Conflictos encontrados, vacío si no hay
+     */
+    public List<ConflictoTurno> buscarConflictos(Integer equipoId, Turno turno,
+                                                 Collection<Integer> bomberos, Collection<Integer> vehiculos) {
+        if (turno == null) {
+            return List.of();
+        }
+        IndiceAsignaciones.Intervalo intervalo = null;
+        if (turno.getId() != null) {
+            candado.readLock().lock();
+            try {
+                intervalo = indice.turno(turno.getId());
+            } finally {
+                candado.readLock().unlock();
+            }
+        }
+        if (intervalo == null) {
+            if (turno.getFechaHoraInicio() == null || turno.getFechaHoraFin() == null) {
+                return List.of();
+            }
+            intervalo = new IndiceAsignaciones.Intervalo(turno.getFechaHoraInicio(), turno.getFechaHoraFin());
+        }
+        candado.readLock().lock();
+        try {
+            return indice.conflictos(equipoId, intervalo.inicio(), intervalo.fin(),
+                    vacioSiNulo(bomberos), vacioSiNulo(vehiculos));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verifica que la asignación de un equipo no tenga conflictos.
+     * Después de la revisión en memoria, repite la revisión en la base de datos con los
+     * bomberos y vehículos bloqueados hasta que termine la transacción.
+     * @param equipoId ID del equipo (nulo si es un equipo nuevo)
+     * @param turno Turno del equipo
+     * @param bomberos IDs de los bomberos
+     * @param vehiculos IDs de los vehículos
+     * @throws IllegalStateException Si algún bombero o vehículo ya está en un turno superpuesto
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void validarAsignacion(Integer equipoId, Turno turno,
+                                  Collection<Integer> bomberos, Collection<Integer> vehiculos) {
+        lanzarSiHay(buscarConflictos(equipoId, turno, bomberos, vehiculos));
+        if (turno == null || turno.getId() == null) {
+            return;
+        }
+        List<Object[]> intervalo = turnoRepository.intervaloBloqueado(turno.getId());
+        if (intervalo.isEmpty() || intervalo.get(0)[0] == null || intervalo.get(0)[1] == null) {
+            return;
+        }
+        lanzarSiHay(conflictosBloqueados(equipoId, null, (LocalDateTime) intervalo.get(0)[0],
+                (LocalDateTime) intervalo.get(0)[1], vacioSiNulo(bomberos), vacioSiNulo(vehiculos)));
+    }
+
+    /**
+     * Verifica que cambiar las fechas de un turno no genere conflictos en los equipos asignados a él.
+     * Después de la revisión en memoria, bloquea el turno y los bomberos y vehículos de sus
+     * equipos, y repite la revisión en la base de datos.
+     * @param turnoId ID del turno
+     * @param inicio Nueva fecha de inicio
+     * @param fin Nueva fecha de fin
+     * @throws IllegalStateException Si algún bombero o vehículo quedaría en dos turnos superpuestos
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void validarCambioTurno(Integer turnoId, LocalDateTime inicio, LocalDateTime fin) {
+        List<ConflictoTurno> conflictos;
+        candado.readLock().lock();
+        try {
+            conflictos = indice.conflictosDeTurno(turnoId, inicio, fin);
+        } finally {
+            candado.readLock().unlock();
+        }
+        lanzarSiHay(conflictos);
+
+        turnoRepository.bloquear(turnoId);
+        lanzarSiHay(conflictosBloqueados(null, turnoId, inicio, fin,
+                equipoRepository.idsPersonalDeTurno(turnoId), equipoRepository.idsVehiculosDeTurno(turnoId)));
+    }
+
+    /**
+     * Bloquea los bomberos y vehículos indicados y busca en la base de datos sus asignaciones
+     * en turnos que se superponen con el intervalo.
+     */
+    private List<ConflictoTurno> conflictosBloqueados(Integer equipoId, Integer turnoId, LocalDateTime inicio,
+                                                      LocalDateTime fin, Collection<Integer> bomberos,
+                                                      Collection<Integer> vehiculos) {
+        List<ConflictoTurno> conflictos = new ArrayList<>();
+        if (!bomberos.isEmpty()) {
+            Set<Integer> ids = new TreeSet<>(bomberos);
+            bomberoRepository.bloquear(ids);
+            agregar(conflictos, Recurso.BOMBERO, equipoRepository.personalSuperpuesto(ids, inicio, fin, equipoId, turnoId));
+        }
+        if (!vehiculos.isEmpty()) {
+            Set<Integer> ids = new TreeSet<>(vehiculos);
+            vehiculoRepository.bloquear(ids);
+            agregar(conflictos, Recurso.VEHICULO, equipoRepository.vehiculosSuperpuestos(ids, inicio, fin, equipoId, turnoId));
+        }
+        return conflictos;
+    }
+
+    private static void agregar(List<ConflictoTurno> conflictos, Recurso recurso, List<Object[]> filas) {
+        for (Object[] fila : filas) {
+            conflictos.add(new ConflictoTurno(recurso, (Integer) fila[0], (Integer) fila[1], (Integer) fila[2],
+                    (LocalDateTime) fila[3], (LocalDateTime) fila[4]));
+        }
+    }
+
+    private static void lanzarSiHay(List<ConflictoTurno> conflictos) {
+        if (!conflictos.isEmpty()) {
+            throw new IllegalStateException("Conflicto de turnos: " + conflictos.stream()
+                    .map(ConflictoTurno::descripcion)
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static Collection<Integer> vacioSiNulo(Collection<Integer> ids) {
+        return ids == null ? List.of() : ids;
+    }
+}
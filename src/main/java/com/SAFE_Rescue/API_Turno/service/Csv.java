@@ -0,0 +1,86 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades mínimas para leer y escribir líneas CSV (RFC 4180).
+ * <p>
+ * Cada registro ocupa una sola línea: se admiten campos entre comillas con comas y
+ * comillas escapadas ({@code ""}), pero no saltos de línea dentro de un campo.
+ * </p>
+ */
+final class Csv {
+
+    private Csv() {
+    }
+
+    /**
+     * Separa una línea CSV en sus campos.
+     * @param linea Línea a separar
+     * @return Campos de la línea, sin comillas
+     * @throws IllegalArgumentException Si la línea tiene comillas sin cerrar
+     */
+    static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar en la línea CSV");
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    /**
+     * Escapa un valor para escribirlo como campo CSV.
+     * @param valor Valor a escribir (nulo se escribe como campo vacío)
+     * @return Campo listo para escribir
+     */
+    static String campo(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            return '"' + texto.replace("\"", "\"\"") + '"';
+        }
+        return texto;
+    }
+
+    /**
+     * Une valores en una línea CSV, escapando cada uno.
+     * @param valores Valores de la línea
+     * @return Línea CSV sin salto de línea final
+     */
+    static String linea(Object... valores) {
+        StringBuilder linea = new StringBuilder();
+        for (int i = 0; i < valores.length; i++) {
+            if (i > 0) {
+                linea.append(',');
+            }
+            linea.append(campo(valores[i]));
+        }
+        return linea.toString();
+    }
+}
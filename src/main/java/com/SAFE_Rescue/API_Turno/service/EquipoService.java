@@ -1,16 +1,40 @@
 package com.SAFE_Rescue.API_Turno.service;
 
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.EquipoResumen;
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.VistaEquipo;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
 import com.SAFE_Rescue.API_Turno.modelo.*;
 import com.SAFE_Rescue.API_Turno.repository.*;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Servicio para la gestión integral de equipos de emergencia.
@@ -34,6 +58,9 @@ public class EquipoService {
     @Autowired private TurnoService turnoService;
     @Autowired private CompaniaService companiaService;
     @Autowired private TipoEquipoService tipoEquipoService;
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+
+    @Autowired private ApplicationEventPublisher publicadorEventos;
 
 
     // MÉTODOS CRUD PRINCIPALES
@@ -46,34 +73,125 @@ public class EquipoService {
         return equipoRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de equipos aplicando filtros opcionales.
+     * <p>
+     * Las referencias del equipo se cargan en la misma consulta de la página. En la vista
+     * completa las listas se cargan con una consulta adicional por lista, de modo que la
+     * cantidad de consultas no depende del tamaño de la página.
+     * </p>
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @param incluirTotales Si es verdadero se ejecuta la consulta de conteo y se retorna una {@link Page}
+     * @param vista Nivel de detalle de los equipos retornados
+     * @return Porción de equipos que cumplen los filtros
+     */
+    public Slice<Equipo> buscar(Boolean estado, Integer companiaId, Integer tipoEquipoId,
+                                Pageable pageable, boolean incluirTotales, VistaEquipo vista) {
+        Slice<Equipo> equipos;
+        if (incluirTotales) {
+            equipos = equipoRepository.buscar(estado, companiaId, tipoEquipoId, pageable);
+        } else {
+            equipos = equipoRepository.buscarSinTotales(estado, companiaId, tipoEquipoId, pageable);
+        }
+        if (vista == VistaEquipo.COMPLETO) {
+            cargarColecciones(equipos.getContent());
+        }
+        return equipos;
+    }
+
+    /**
+     * Obtiene una página de resúmenes de equipos aplicando filtros opcionales.
+     * Los resúmenes se proyectan desde la consulta, sin cargar entidades administradas.
+     * @param estado Estado del equipo (opcional)
+     * @param companiaId ID de la compañía (opcional)
+     * @param tipoEquipoId ID del tipo de equipo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @return Página de resúmenes de equipos
+     */
+    public Page<EquipoResumen> buscarResumen(Boolean estado, Integer companiaId, Integer tipoEquipoId, Pageable pageable) {
+        return equipoRepository.buscarResumen(estado, companiaId, tipoEquipoId, pageable);
+    }
+
+    /**
+     * Recorre los equipos ordenados por ID usando un token de continuación.
+     * <p>
+     * Cada página se obtiene buscando a partir del ID del último equipo entregado,
+     * sin desplazamiento, por lo que su costo no crece con la profundidad del recorrido.
+     * </p>
+     * @param token Token de continuación recibido en la página anterior (nulo para comenzar)
+     * @param tamanio Cantidad de equipos por página
+     * @param vista Nivel de detalle de los equipos retornados
+     * @return Página de equipos con el token para continuar, si quedan equipos
+     * @throws IllegalArgumentException Si el token o el tamaño no son válidos
+     */
+    public PaginaCursor<Equipo> recorrer(String token, int tamanio, VistaEquipo vista) {
+        TokenCursor.validarTamanio(tamanio);
+        Integer ultimoId = (token == null || token.isBlank()) ? 0 : TokenCursor.aEquipo(token);
+        List<Equipo> equipos = equipoRepository.siguientesPorId(ultimoId, Limit.of(tamanio + 1));
+
+        String siguiente = null;
+        if (equipos.size() > tamanio) {
+            equipos = equipos.subList(0, tamanio);
+            siguiente = TokenCursor.deEquipo(equipos.get(tamanio - 1).getId());
+        }
+        if (vista == VistaEquipo.COMPLETO) {
+            cargarColecciones(equipos);
+        }
+        return new PaginaCursor<>(equipos, tamanio, siguiente);
+    }
+
     /**
      * Busca un equipo por su ID único.
+     * Las búsquedas simultáneas del mismo equipo comparten una sola carga.
      * @param id Identificador del equipo
      * @return Equipo encontrado
      * @throws NoSuchElementException Si no se encuentra el equipo
      */
+    @CargaCompartida
     public Equipo findByID(Integer id) {
-        return equipoRepository.findById(id)
+        Equipo equipo = equipoRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("No se encontró equipo con ID: " + id));
+        cargarColecciones(List.of(equipo));
+        return equipo;
     }
 
     /**
      * Guarda un nuevo equipo en el sistema.
-     * Realiza validaciones y guarda relaciones con otros componentes.
+     * El turno, la compañía y el tipo de equipo deben existir y se indican por su ID.
      * @param equipo Datos del equipo a guardar
      * @return Equipo guardado con ID generado
      * @throws RuntimeException Si ocurre algún error durante el proceso
+     * @see #save(Equipo, boolean)
      */
     public Equipo save(Equipo equipo) {
-        try {
-            // Validación y persistencia de relaciones principales
-            Turno turnoGuardado = turnoService.save(equipo.getTurno());
-            Compania companiaGuardada = companiaService.save(equipo.getCompania());
-            TipoEquipo tipoEquipoGuardado = tipoEquipoService.save(equipo.getTipoEquipo());
+        return save(equipo, false);
+    }
 
-            equipo.setTurno(turnoGuardado);
-            equipo.setCompania(companiaGuardada);
-            equipo.setTipoEquipo(tipoEquipoGuardado);
+    /**
+     * Guarda un nuevo equipo en el sistema.
+     * <p>
+     * El turno, la compañía y el tipo de equipo que traen ID se asocian como referencias,
+     * sin consultarlos ni volver a guardarlos. Los que no traen ID solo se crean, con sus
+     * validaciones, si se solicita con {@code crearRelaciones}.
+     * Se rechaza si algún bombero o vehículo ya está en otro equipo con un turno superpuesto.
+     * </p>
+     * @param equipo Datos del equipo a guardar
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
+     * @return Equipo guardado con ID generado
+     * @throws RuntimeException Si ocurre algún error durante el proceso
+     */
+    public Equipo save(Equipo equipo, boolean crearRelaciones) {
+        try {
+            // Asociación de relaciones principales
+            equipo.setTurno(resolverRelacion(equipo.getTurno(), Turno::getId, turnoRepository,
+                    turnoService::save, crearRelaciones, "Turno"));
+            equipo.setCompania(resolverRelacion(equipo.getCompania(), Compania::getId, companiaRepository,
+                    companiaService::save, crearRelaciones, "Compañía"));
+            equipo.setTipoEquipo(resolverRelacion(equipo.getTipoEquipo(), TipoEquipo::getId, tipoEquipoRepository,
+                    tipoEquipoService::save, crearRelaciones, "Tipo de equipo"));
 
             // Asignación de recursos asociados
             asignarVehiculosAlEquipo(equipo);
@@ -81,8 +199,11 @@ public class EquipoService {
             asignarRecursosAlEquipo(equipo);
 
             validarEquipo(equipo);
+            validarConflictos(equipo);
 
-            return equipoRepository.save(equipo);
+            Equipo guardado = equipoRepository.save(equipo);
+            publicadorEventos.publishEvent(CambioEntidad.de(Equipo.class, EstadoEquipo.de(guardado), Operacion.CREADO));
+            return guardado;
         } catch (Exception e) {
             throw new RuntimeException("Error al guardar el equipo: " + e.getMessage(), e);
         }
@@ -90,43 +211,78 @@ public class EquipoService {
 
     /**
      * Actualiza los datos de un equipo existente.
+     * Las relaciones nuevas deben existir y se indican por su ID.
      * @param equipo Datos actualizados del equipo
      * @param id Identificador del equipo a actualizar
      * @return Equipo actualizado
      * @throws IllegalArgumentException Si el equipo proporcionado es nulo
      * @throws NoSuchElementException Si no se encuentra el equipo a actualizar
-     * @throws RuntimeException Si ocurre algún error durante la actualización
+     * @throws OptimisticLockingFailureException Si el equipo cambió desde la versión indicada o durante la actualización
+     * @throws RuntimeException Si ocurre algún error durante la actualización, incluido un conflicto de turnos
+     * @see #update(Equipo, Integer, boolean)
      */
     public Equipo update(Equipo equipo, Integer id) {
+        return update(equipo, id, false);
+    }
+
+    /**
+     * Actualiza los datos de un equipo existente.
+     * Las relaciones que traen ID se asocian como referencias; las que no traen ID solo
+     * se crean si se solicita con {@code crearRelaciones}. Los conjuntos de vehículos,
+     * personal y recursos se modifican en su lugar, por lo que solo se escriben las filas
+     * de las tablas intermedias que cambian.
+     * Si los datos traen versión, debe coincidir con la actual: el cliente editó una copia
+     * que otro ya modificó y la actualización no se reintenta.
+     * @param equipo Datos actualizados del equipo
+     * @param id Identificador del equipo a actualizar
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
+     * @return Equipo actualizado
+     * @throws IllegalArgumentException Si el equipo proporcionado es nulo
+     * @throws NoSuchElementException Si no se encuentra el equipo a actualizar
+     * @throws OptimisticLockingFailureException Si el equipo cambió desde la versión indicada o durante la actualización
+     * @throws RuntimeException Si ocurre algún error durante la actualización, incluido un conflicto de turnos
+     */
+    public Equipo update(Equipo equipo, Integer id, boolean crearRelaciones) {
         if (equipo == null) {
             throw new IllegalArgumentException("El equipo no puede ser nulo");
         }
 
         Equipo equipoExistente = equipoRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Equipo no encontrado con ID: " + id));
+        if (equipo.getVersion() != null && !equipo.getVersion().equals(equipoExistente.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Equipo.class, id);
+        }
 
         try {
-            actualizarRelaciones(equipo, equipoExistente);
+            actualizarRelaciones(equipo, equipoExistente, crearRelaciones);
 
             // Actualizar recursos asociados
             if (equipo.getVehiculos() != null) {
                 asignarVehiculosAlEquipo(equipo);
-                equipoExistente.setVehiculos(equipo.getVehiculos());
+                equipoExistente.setVehiculos(sincronizar(equipoExistente.getVehiculos(), equipo.getVehiculos()));
             }
 
             if (equipo.getPersonal() != null) {
                 asignarBomberosAlEquipo(equipo);
-                equipoExistente.setPersonal(equipo.getPersonal());
+                equipoExistente.setPersonal(sincronizar(equipoExistente.getPersonal(), equipo.getPersonal()));
             }
 
             if (equipo.getRecursos() != null) {
                 asignarRecursosAlEquipo(equipo);
-                equipoExistente.setRecursos(equipo.getRecursos());
+                equipoExistente.setRecursos(sincronizar(equipoExistente.getRecursos(), equipo.getRecursos()));
             }
 
             validarEquipo(equipoExistente);
-            return equipoRepository.save(equipoExistente);
-        }catch (IllegalArgumentException e) {
+            validarConflictos(equipoExistente);
+
+            // Se sincroniza para que el evento lleve la versión nueva
+            Equipo actualizado = equipoRepository.save(equipoExistente);
+            equipoRepository.flush();
+            publicadorEventos.publishEvent(CambioEntidad.de(Equipo.class, EstadoEquipo.de(actualizado), Operacion.ACTUALIZADO));
+            return actualizado;
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Error al actualizar equipo: " + e.getMessage());
         } catch (NoSuchElementException  f) {
             throw new NoSuchElementException("Error al actualizar equipo: " + f.getMessage());
@@ -145,22 +301,40 @@ public class EquipoService {
             throw new NoSuchElementException("No se encontró equipo con ID: " + id);
         }
         equipoRepository.deleteById(id);
+        publicadorEventos.publishEvent(CambioEntidad.de(Equipo.class, id, Operacion.ELIMINADO));
+    }
+
+    /**
+     * Busca los conflictos de turnos que tendría asignar bomberos y vehículos a un equipo en un turno.
+     * La revisión se resuelve en memoria, sin consultar la base de datos.
+     * @param equipoId ID del equipo, que no se compara consigo mismo (opcional)
+     * @param turnoId ID del turno
+     * @param bomberosIds IDs de los bomberos (opcional)
+     * @param vehiculosIds IDs de los vehículos (opcional)
+     * @return Conflictos encontrados, vacío si no hay
+     * @throws NoSuchElementException Si el turno no existe
+     */
+    public List<ConflictoTurno> buscarConflictos(Integer equipoId, Integer turnoId,
+                                                 List<Integer> bomberosIds, List<Integer> vehiculosIds) {
+        return conflictoTurnoService.buscarConflictos(equipoId, turnoId, bomberosIds, vehiculosIds);
     }
 
     // MÉTODOS DE ASIGNACIÓN DE RELACIONES
+    // Se reintentan si otra transacción modificó el equipo, porque no dependen de su estado anterior.
 
     /**
      * Asigna una compañía a un equipo.
      * @param equipoId ID del equipo
      * @param companiaId ID de la compañía
      */
+    @Reintentable
     public void asignarCompania(Integer equipoId, Integer companiaId) {
         Equipo equipo = equipoRepository.findById(equipoId)
             .orElseThrow(() -> new RuntimeException("Equipo no encontrado"));
         Compania compania = companiaRepository.findById(companiaId)
             .orElseThrow(() -> new RuntimeException("Compania no encontrada"));
         equipo.setCompania(compania);
-        equipoRepository.save(equipo);
+        guardarModificado(equipo);
 
     }
 
@@ -169,35 +343,42 @@ public class EquipoService {
      * @param equipoId ID del equipo
      * @param tipoEquipoId ID del tipo de equipo
      */
+    @Reintentable
     public void asignarTipoEquipo(Integer equipoId, Integer tipoEquipoId) {
         Equipo equipo = equipoRepository.findById(equipoId)
                 .orElseThrow(() -> new RuntimeException("Equipo no encontrado"));
-        TipoEquipo tipoEquipo  = tipoEquipoRepository.findById(equipoId)
+        TipoEquipo tipoEquipo  = tipoEquipoRepository.findById(tipoEquipoId)
                 .orElseThrow(() -> new RuntimeException("Tipo Equipo no encontrado"));
         equipo.setTipoEquipo(tipoEquipo);
-        equipoRepository.save(equipo);
+        guardarModificado(equipo);
     }
 
     /**
      * Asigna un turno a un equipo.
      * @param equipoId ID del equipo
      * @param turnoId ID del turno
+     * @throws IllegalStateException Si algún miembro del equipo ya está en un turno superpuesto
      */
+    @Reintentable
     public void asignarTurno(Integer equipoId, Integer turnoId) {
         Equipo equipo = equipoRepository.findById(equipoId)
                 .orElseThrow(() -> new RuntimeException("Equipo no encontrado"));
-        Turno turno = turnoRepository.findById(equipoId)
+        Turno turno = turnoRepository.findById(turnoId)
                 .orElseThrow(() -> new RuntimeException("Turno no encontrado"));
         equipo.setTurno(turno);
-        equipoRepository.save(equipo);
+        validarConflictos(equipo);
+        guardarModificado(equipo);
     }
 
     /**
-     * Asigna una lista de bomberos a un equipo.
+     * Asigna una lista de bomberos a un equipo, reemplazando su personal actual.
+     * Solo se escriben las filas de la tabla intermedia de los bomberos que entran o salen.
      * @param equipoId ID del equipo
      * @param bomberosIds Lista de IDs de bomberos
      * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws IllegalStateException Si algún bombero ya está en un turno superpuesto
      */
+    @Reintentable
     public void asignarListaBomberos(Integer equipoId, List<Integer> bomberosIds) {
         if (bomberosIds == null || bomberosIds.isEmpty()) {
             throw new IllegalArgumentException("La lista de bomberos no puede estar vacía");
@@ -206,9 +387,119 @@ public class EquipoService {
         Equipo equipo = equipoRepository.findById(equipoId)
                 .orElseThrow(() -> new RuntimeException("No se encontró equipo con ID: " + equipoId));
 
-        equipo.setPersonal(obtenerPersonal(bomberosIds));
+        equipo.setPersonal(sincronizar(equipo.getPersonal(), new LinkedHashSet<>(obtenerPersonal(bomberosIds))));
+        validarConflictos(equipo);
+        guardarModificado(equipo);
+    }
+
+    // MÉTODOS DE MODIFICACIÓN PARCIAL DE CONJUNTOS
+
+    /**
+     * Agrega bomberos al personal de un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param bomberosIds IDs de los bomberos a agregar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo o algún bombero
+     * @throws IllegalStateException Si algún bombero ya está en un turno superpuesto
+     */
+    @Reintentable
+    public void agregarBomberos(Integer equipoId, List<Integer> bomberosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, bomberosIds, "bomberos");
+        equipo.getPersonal().addAll(obtenerPersonal(bomberosIds));
+        validarConflictos(equipo);
+        guardarModificado(equipo);
+    }
+
+    /**
+     * Quita bomberos del personal de un equipo. Los IDs que no están en el equipo se ignoran.
+     * @param equipoId ID del equipo
+     * @param bomberosIds IDs de los bomberos a quitar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo
+     */
+    @Reintentable
+    public void quitarBomberos(Integer equipoId, List<Integer> bomberosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, bomberosIds, "bomberos");
+        quitarPorId(equipo.getPersonal(), bomberosIds, Bombero::getId);
+        guardarModificado(equipo);
+    }
+
+    /**
+     * Agrega vehículos a un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param vehiculosIds IDs de los vehículos a agregar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo o algún vehículo
+     * @throws IllegalStateException Si algún vehículo ya está en un turno superpuesto
+     */
+    @Reintentable
+    public void agregarVehiculos(Integer equipoId, List<Integer> vehiculosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, vehiculosIds, "vehículos");
+        equipo.getVehiculos().addAll(obtenerVehiculos(vehiculosIds));
+        validarConflictos(equipo);
+        guardarModificado(equipo);
+    }
+
+    /**
+     * Quita vehículos de un equipo. Los IDs que no están en el equipo se ignoran.
+     * @param equipoId ID del equipo
+     * @param vehiculosIds IDs de los vehículos a quitar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo
+     */
+    @Reintentable
+    public void quitarVehiculos(Integer equipoId, List<Integer> vehiculosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, vehiculosIds, "vehículos");
+        quitarPorId(equipo.getVehiculos(), vehiculosIds, Vehiculo::getId);
+        guardarModificado(equipo);
+    }
+
+    /**
+     * Agrega recursos a un equipo, conservando los que ya tiene.
+     * @param equipoId ID del equipo
+     * @param recursosIds IDs de los recursos a agregar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo o algún recurso
+     */
+    @Reintentable
+    public void agregarRecursos(Integer equipoId, List<Integer> recursosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, recursosIds, "recursos");
+        equipo.getRecursos().addAll(obtenerRecursos(recursosIds));
+        guardarModificado(equipo);
+    }
+
+    /**
+     * Quita recursos de un equipo. Los IDs que no están en el equipo se ignoran.
+     * @param equipoId ID del equipo
+     * @param recursosIds IDs de los recursos a quitar
+     * @throws IllegalArgumentException Si la lista es nula o vacía
+     * @throws NoSuchElementException Si no se encuentra el equipo
+     */
+    @Reintentable
+    public void quitarRecursos(Integer equipoId, List<Integer> recursosIds) {
+        Equipo equipo = buscarParaModificar(equipoId, recursosIds, "recursos");
+        quitarPorId(equipo.getRecursos(), recursosIds, Recurso::getId);
+        guardarModificado(equipo);
+    }
+
+    private Equipo buscarParaModificar(Integer equipoId, List<Integer> ids, String descripcion) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("La lista de " + descripcion + " no puede estar vacía");
+        }
+        return equipoRepository.findById(equipoId)
+                .orElseThrow(() -> new NoSuchElementException("No se encontró equipo con ID: " + equipoId));
+    }
+
+    /**
+     * Guarda un equipo modificado y publica su estado. Se sincroniza antes para que el
+     * evento lleve la versión nueva.
+     */
+    private void guardarModificado(Equipo equipo) {
         equipoRepository.save(equipo);
+        equipoRepository.flush();
+        publicadorEventos.publishEvent(CambioEntidad.de(Equipo.class, EstadoEquipo.de(equipo), Operacion.ACTUALIZADO));
     }
+
     /**
      * Asigna bomberos a un equipo obteniéndolos de la base de datos
      * @param equipo Equipo al que se asignarán los bomberos
@@ -216,7 +507,7 @@ public class EquipoService {
     private void asignarBomberosAlEquipo(Equipo equipo) {
         if (equipo.getPersonal() != null && !equipo.getPersonal().isEmpty()) {
             List<Integer> bomberosIds = extraerIdsDeBomberos(equipo.getPersonal());
-            equipo.setPersonal(obtenerPersonal(bomberosIds));
+            equipo.setPersonal(new LinkedHashSet<>(obtenerPersonal(bomberosIds)));
         }
     }
 
@@ -227,7 +518,7 @@ public class EquipoService {
     private void asignarRecursosAlEquipo(Equipo equipo) {
         if (equipo.getRecursos() != null && !equipo.getRecursos().isEmpty()) {
             List<Integer> recursosIds = extraerIdsRecursos(equipo.getRecursos());
-            equipo.setRecursos(obtenerRecursos(recursosIds));
+            equipo.setRecursos(new LinkedHashSet<>(obtenerRecursos(recursosIds)));
         }
     }
 
@@ -240,7 +531,7 @@ public class EquipoService {
     private void asignarVehiculosAlEquipo(Equipo equipo) {
         if (equipo != null && equipo.getVehiculos() != null && !equipo.getVehiculos().isEmpty()) {
             List<Integer> vehiculosIds = extraerIdsVehiculos(equipo.getVehiculos());
-            equipo.setVehiculos(obtenerVehiculos(vehiculosIds));
+            equipo.setVehiculos(new LinkedHashSet<>(obtenerVehiculos(vehiculosIds)));
         }
     }
 
@@ -297,6 +588,18 @@ public class EquipoService {
 
     }
 
+    /**
+     * Verifica que ningún bombero ni vehículo del equipo esté asignado a otro equipo
+     * cuyo turno se superponga con el turno del equipo. Los bomberos y vehículos quedan
+     * bloqueados hasta que termine la transacción (ver ConflictoTurnoService).
+     * @param equipo Equipo con su turno, personal y vehículos ya resueltos
+     * @throws IllegalStateException Si existe algún conflicto de turnos
+     */
+    private void validarConflictos(Equipo equipo) {
+        conflictoTurnoService.validarAsignacion(equipo.getId(), equipo.getTurno(),
+                extraerIdsDeBomberos(equipo.getPersonal()), extraerIdsVehiculos(equipo.getVehiculos()));
+    }
+
     /**
      * Actualiza las relaciones de un equipo existente con los valores de un equipo fuente.
      * <p>
@@ -306,96 +609,177 @@ public class EquipoService {
      *   <li>Compañía</li>
      *   <li>Tipo de equipo</li>
      * </ul>
-     * Cada relación se persiste mediante su respectivo servicio antes de asignarse.
+     * Cada relación se resuelve con {@link #resolverRelacion}.
      *
      * @param fuente Equipo con los nuevos valores de las relaciones
      * @param destino Equipo existente que será actualizado
-     * @throws IllegalStateException Si ocurre un error al persistir alguna relación
-     * @throws NullPointerException Si alguno de los parámetros es nulo
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
+     * @throws IllegalArgumentException Si alguna relación no trae ID y no se solicitó crearla
      */
-    private void actualizarRelaciones(Equipo fuente, Equipo destino) {
+    private void actualizarRelaciones(Equipo fuente, Equipo destino, boolean crearRelaciones) {
         if (fuente.getTurno() != null) {
-            destino.setTurno(turnoService.save(fuente.getTurno()));
+            destino.setTurno(resolverRelacion(fuente.getTurno(), Turno::getId, turnoRepository,
+                    turnoService::save, crearRelaciones, "Turno"));
         }
         if (fuente.getCompania() != null) {
-            destino.setCompania(companiaService.save(fuente.getCompania()));
+            destino.setCompania(resolverRelacion(fuente.getCompania(), Compania::getId, companiaRepository,
+                    companiaService::save, crearRelaciones, "Compañía"));
         }
         if (fuente.getTipoEquipo() != null) {
-            destino.setTipoEquipo(tipoEquipoService.save(fuente.getTipoEquipo()));
+            destino.setTipoEquipo(resolverRelacion(fuente.getTipoEquipo(), TipoEquipo::getId, tipoEquipoRepository,
+                    tipoEquipoService::save, crearRelaciones, "Tipo de equipo"));
         }
     }
 
+    /**
+     * Obtiene la entidad que se asociará a un equipo a partir de la relación recibida.
+     * <p>
+     * Si la relación trae ID se retorna una referencia del repositorio, sin consultar la base
+     * de datos ni volver a validar o guardar la entidad; si el ID no existe, el error se produce
+     * al escribir el equipo por la clave foránea. Si no trae ID solo se crea cuando se solicita.
+     * </p>
+     * @param relacion Relación recibida (puede ser nula)
+     * @param obtenerId Función que extrae el ID de la relación
+     * @param repositorio Repositorio de la entidad
+     * @param crear Operación que valida y guarda una entidad nueva
+     * @param crearRelaciones Si es verdadero se crean las relaciones que no traen ID
+     * @param descripcion Nombre de la entidad para los mensajes de error
+     * @return Referencia a la entidad existente, entidad creada o nulo si la relación es nula
+     * @throws IllegalArgumentException Si la relación no trae ID y no se solicitó crearla
+     */
+    private <T> T resolverRelacion(T relacion, Function<T, Integer> obtenerId, JpaRepository<T, Integer> repositorio,
+                                   UnaryOperator<T> crear, boolean crearRelaciones, String descripcion) {
+        if (relacion == null) {
+            return null;
+        }
+        Integer id = obtenerId.apply(relacion);
+        if (id != null) {
+            return repositorio.getReferenceById(id);
+        }
+        if (!crearRelaciones) {
+            throw new IllegalArgumentException(descripcion
+                    + " sin ID: indique un ID existente o solicite su creación con crearRelaciones=true");
+        }
+        return crear.apply(relacion);
+    }
+
 
     // MÉTODOS PARA CONSULTA
 
     /**
      * Obtiene información de bomberos desde la base de datos.
      * @param bomberosIds Lista de IDs de bomberos
-     * @return Lista con información de bomberos
-     * @throws RuntimeException Si hay error en la comunicación
+     * @return Lista con información de bomberos, en el orden solicitado y sin duplicados
+     * @throws NoSuchElementException Si uno o más bomberos no se encuentran
      */
     private List<Bombero> obtenerPersonal(List<Integer> bomberosIds) {
-        if (bomberosIds == null || bomberosIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        try {
-            List<Bombero> bomberos = new ArrayList<>();
-            for (Integer id : bomberosIds) {
-                Bombero bombero = bomberoRepository.findById(id)
-                        .orElseThrow(() -> new RuntimeException("Bombero no encontrado con ID: " + id));
-                bomberos.add(bombero);
-            }
-            return bomberos;
-        } catch (Exception e) {
-            throw new RuntimeException("Error al obtener lista de bomberos: " + e.getMessage(), e);
-        }
+        return obtenerPorIds(bomberosIds, bomberoRepository, Bombero::getId, "Bomberos");
     }
 
     /**
      * Obtiene información de vehículos desde la base de datos.
      *
      * @param vehiculosIds Lista de IDs de vehículos.
-     * @return Lista con información de vehículos.
-     * @throws NoSuchElementException Si algún vehículo no se encuentra.
-     * @throws RuntimeException Si hay un error en la comunicación.
+     * @return Lista con información de vehículos, en el orden solicitado y sin duplicados.
+     * @throws NoSuchElementException Si uno o más vehículos no se encuentran.
      */
     private List<Vehiculo> obtenerVehiculos(List<Integer> vehiculosIds) {
-        if (vehiculosIds == null || vehiculosIds.isEmpty()) {
-            return Collections.emptyList();
-        }
-
-        List<Vehiculo> vehiculos = new ArrayList<>();
-        for (Integer id : vehiculosIds) {
-            Vehiculo vehiculo = vehiculoRepository.findById(id)
-                    .orElseThrow(() -> new NoSuchElementException("Vehículo no encontrado con ID: " + id));
-            vehiculos.add(vehiculo);
-        }
-        return vehiculos;
+        return obtenerPorIds(vehiculosIds, vehiculoRepository, Vehiculo::getId, "Vehículos");
     }
 
     /**
      * Obtiene información de recursos desde base de datos
      * @param recursosIds Lista de IDs de recursos
-     * @return Lista con información de recursos
-     * @throws RuntimeException Si hay error en la comunicación
+     * @return Lista con información de recursos, en el orden solicitado y sin duplicados
+     * @throws NoSuchElementException Si uno o más recursos no se encuentran
      */
     private List<Recurso> obtenerRecursos(List<Integer> recursosIds) {
-        if (recursosIds == null || recursosIds.isEmpty()) {
+        return obtenerPorIds(recursosIds, recursoRepository, Recurso::getId, "Recursos");
+    }
+
+    /**
+     * Inicializa las listas de vehículos, personal y recursos de los equipos indicados,
+     * con una consulta por lista sin importar cuántos equipos sean.
+     * @param equipos Equipos administrados por el contexto de persistencia actual
+     */
+    private void cargarColecciones(List<Equipo> equipos) {
+        if (equipos.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = equipos.stream().map(Equipo::getId).toList();
+        equipoRepository.cargarVehiculos(ids);
+        equipoRepository.cargarPersonal(ids);
+        equipoRepository.cargarRecursos(ids);
+    }
+
+    /**
+     * Resuelve una lista de IDs con una única consulta al repositorio.
+     * <p>
+     * Los IDs duplicados se consideran una sola vez y el resultado conserva el orden
+     * de la primera aparición de cada ID. Si faltan entidades, se informan todos los
+     * IDs no encontrados en un único error.
+     * </p>
+     *
+     * @param ids Lista de IDs solicitados
+     * @param repositorio Repositorio de la entidad
+     * @param obtenerId Función que extrae el ID de la entidad
+     * @param descripcion Nombre de la entidad para los mensajes de error
+     * @return Lista de entidades en el orden solicitado
+     * @throws IllegalArgumentException Si la lista contiene IDs nulos
+     * @throws NoSuchElementException Si uno o más IDs no existen
+     */
+    private <T> List<T> obtenerPorIds(List<Integer> ids, JpaRepository<T, Integer> repositorio,
+                                      Function<T, Integer> obtenerId, String descripcion) {
+        if (ids == null || ids.isEmpty()) {
             return Collections.emptyList();
         }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("La lista de " + descripcion.toLowerCase() + " contiene IDs nulos");
+        }
 
-        try {
-            List<Recurso> recursos = new ArrayList<>();
-            for (int i =0;recursosIds.size()>i;i++) {
-                Recurso recurso = recursoRepository.findById(recursosIds.get(i))
-                        .orElseThrow(() -> new RuntimeException("Recurso no encontrado"));
-                recursos.add(recurso);
+        Set<Integer> idsUnicos = new LinkedHashSet<>(ids);
+        Map<Integer, T> encontrados = new HashMap<>();
+        for (T entidad : repositorio.findAllById(idsUnicos)) {
+            encontrados.put(obtenerId.apply(entidad), entidad);
+        }
+
+        List<Integer> faltantes = new ArrayList<>();
+        List<T> resultado = new ArrayList<>(idsUnicos.size());
+        for (Integer id : idsUnicos) {
+            T entidad = encontrados.get(id);
+            if (entidad == null) {
+                faltantes.add(id);
+            } else {
+                resultado.add(entidad);
             }
-            return recursos;
-        } catch (Exception e) {
-            throw new RuntimeException("Error al obtener lista de Recursos: " + e.getMessage(), e);
         }
+
+        if (!faltantes.isEmpty()) {
+            throw new NoSuchElementException(descripcion + " no encontrados con IDs: " + faltantes);
+        }
+        return resultado;
+    }
+
+    /**
+     * Deja en el conjunto actual exactamente los elementos del conjunto nuevo, modificándolo
+     * en su lugar. Si el conjunto pertenece a una entidad administrada, Hibernate solo borra
+     * e inserta las filas de la tabla intermedia que cambian, en vez de reemplazarlas todas.
+     * @param actuales Conjunto actual de la entidad (puede ser nulo si la entidad es nueva)
+     * @param nuevos Elementos que debe contener el conjunto
+     * @return Conjunto actualizado
+     */
+    private static <T> Set<T> sincronizar(Set<T> actuales, Set<T> nuevos) {
+        if (actuales == null) {
+            return new LinkedHashSet<>(nuevos);
+        }
+        actuales.retainAll(nuevos);
+        actuales.addAll(nuevos);
+        return actuales;
+    }
+
+    private static <T> void quitarPorId(Set<T> elementos, List<Integer> ids, Function<T, Integer> obtenerId) {
+        Set<Integer> quitados = new HashSet<>(ids);
+        elementos.removeIf(elemento -> quitados.contains(obtenerId.apply(elemento)));
     }
 
     /**
@@ -404,7 +788,7 @@ public class EquipoService {
      * @return Lista con información de bomberos
      * @throws RuntimeException Si hay error en la comunicación
      */
-    private List<Integer> extraerIdsDeBomberos(List<Bombero> bomberos) {
+    private List<Integer> extraerIdsDeBomberos(Collection<Bombero> bomberos) {
         if (bomberos == null || bomberos.isEmpty()) {
             return Collections.emptyList();
         }
@@ -423,7 +807,7 @@ public class EquipoService {
      * @return Lista con los IDs de los vehículos.
      * @throws RuntimeException Si hay un error en el proceso de extracción.
      */
-    private List<Integer> extraerIdsVehiculos(List<Vehiculo> vehiculos) {
+    private List<Integer> extraerIdsVehiculos(Collection<Vehiculo> vehiculos) {
         if (vehiculos == null || vehiculos.isEmpty()) {
             return Collections.emptyList();
         }
@@ -443,7 +827,7 @@ public class EquipoService {
      * @return Lista con información de recursos
      * @throws RuntimeException Si hay error en la comunicación
      */
-    private List<Integer> extraerIdsRecursos(List<Recurso> recursos) {
+    private List<Integer> extraerIdsRecursos(Collection<Recurso> recursos) {
         if (recursos == null || recursos.isEmpty()) {
             return Collections.emptyList();
         }
@@ -0,0 +1,209 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.EquipoRepository;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Servicio para la exportación masiva de turnos y equipos en formato CSV o NDJSON.
+ * <p>
+ * Las filas se leen con un flujo de solo avance y se escriben directamente en la salida,
+ * en bloques. Al terminar cada bloque se vacía el contexto de persistencia, de modo que el
+ * uso de memoria no depende de la cantidad de filas. Los métodos usan una transacción de
+ * solo lectura para que Hibernate no guarde copias de las entidades para el dirty checking.
+ * </p>
+ * <p>
+ * El formato de salida es el mismo que acepta la importación masiva.
+ * </p>
+ */
+@Service
+public class ExportacionService {
+
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${exportacion.tamanio-bloque:500}")
+    private int tamanioBloque;
+
+    /**
+     * Escribe todos los turnos, ordenados por ID, en la salida indicada.
+     * <p>
+     * Columnas CSV: {@code id,nombre,fechaHoraInicio,fechaHoraFin,duracion}.
+     * En NDJSON cada línea es un turno con el mismo formato de la API.
+     * </p>
+     * @param salida Flujo de salida (no se cierra)
+     * @param formato Formato de salida
+     * @return Cantidad de turnos escritos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    @Transactional(readOnly = true)
+    public long exportarTurnos(OutputStream salida, FormatoArchivo formato) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == FormatoArchivo.CSV) {
+            escribirLinea(escritor, "id,nombre,fechaHoraInicio,fechaHoraFin,duracion");
+        }
+        long cantidad = 0;
+        try (Stream<Turno> turnos = turnoRepository.streamTodos()) {
+            Iterator<Turno> iterador = turnos.iterator();
+            while (iterador.hasNext()) {
+                Turno turno = iterador.next();
+                if (formato == FormatoArchivo.CSV) {
+                    escribirLinea(escritor, Csv.linea(turno.getId(), turno.getNombre(),
+                            turno.getFechaHoraInicio(), turno.getFechaHoraFin(), turno.getDuracion()));
+                } else {
+                    escribirLinea(escritor, objectMapper.writeValueAsString(turno));
+                }
+                if (++cantidad % tamanioBloque == 0) {
+                    terminarBloque(escritor);
+                }
+            }
+        }
+        escritor.flush();
+        return cantidad;
+    }
+
+    /**
+     * Escribe todos los equipos, ordenados por ID, en la salida indicada.
+     * <p>
+     * Columnas CSV: {@code id,nombre,cantidadMiembros,estado,lider,turnoId,companiaId,tipoEquipoId,vehiculos,personal,recursos},
+     * donde las tres últimas son listas de IDs separados por "|". En NDJSON cada línea es un
+     * equipo con sus referencias indicadas solo por ID. Los IDs de las listas se consultan una
+     * vez por bloque, sin cargar las entidades asociadas.
+     * </p>
+     * @param salida Flujo de salida (no se cierra)
+     * @param formato Formato de salida
+     * @return Cantidad de equipos escritos
+     * @throws IOException Si ocurre un error al escribir
+     */
+    @Transactional(readOnly = true)
+    public long exportarEquipos(OutputStream salida, FormatoArchivo formato) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        if (formato == FormatoArchivo.CSV) {
+            escribirLinea(escritor, "id,nombre,cantidadMiembros,estado,lider,turnoId,companiaId,tipoEquipoId,vehiculos,personal,recursos");
+        }
+        long cantidad = 0;
+        List<Equipo> bloque = new ArrayList<>(tamanioBloque);
+        try (Stream<Equipo> equipos = equipoRepository.streamTodos()) {
+            Iterator<Equipo> iterador = equipos.iterator();
+            while (iterador.hasNext()) {
+                bloque.add(iterador.next());
+                if (bloque.size() == tamanioBloque) {
+                    cantidad += escribirEquipos(escritor, bloque, formato);
+                    bloque.clear();
+                    terminarBloque(escritor);
+                }
+            }
+        }
+        cantidad += escribirEquipos(escritor, bloque, formato);
+        escritor.flush();
+        return cantidad;
+    }
+
+    private int escribirEquipos(Writer escritor, List<Equipo> equipos, FormatoArchivo formato) throws IOException {
+        if (equipos.isEmpty()) {
+            return 0;
+        }
+        List<Integer> ids = equipos.stream().map(Equipo::getId).toList();
+        Map<Integer, List<Integer>> vehiculos = agrupar(equipoRepository.idsVehiculos(ids));
+        Map<Integer, List<Integer>> personal = agrupar(equipoRepository.idsPersonal(ids));
+        Map<Integer, List<Integer>> recursos = agrupar(equipoRepository.idsRecursos(ids));
+
+        for (Equipo equipo : equipos) {
+            List<Integer> vehiculosIds = vehiculos.getOrDefault(equipo.getId(), List.of());
+            List<Integer> personalIds = personal.getOrDefault(equipo.getId(), List.of());
+            List<Integer> recursosIds = recursos.getOrDefault(equipo.getId(), List.of());
+            if (formato == FormatoArchivo.CSV) {
+                escribirLinea(escritor, Csv.linea(equipo.getId(), equipo.getNombre(), equipo.getCantidadMiembros(),
+                        equipo.isEstado(), equipo.getLider(),
+                        equipo.getTurno() == null ? null : equipo.getTurno().getId(),
+                        equipo.getCompania() == null ? null : equipo.getCompania().getId(),
+                        equipo.getTipoEquipo() == null ? null : equipo.getTipoEquipo().getId(),
+                        unirIds(vehiculosIds), unirIds(personalIds), unirIds(recursosIds)));
+            } else {
+                ObjectNode nodo = objectMapper.createObjectNode();
+                nodo.put("id", equipo.getId());
+                nodo.put("nombre", equipo.getNombre());
+                nodo.put("cantidadMiembros", equipo.getCantidadMiembros());
+                nodo.put("estado", equipo.isEstado());
+                nodo.put("lider", equipo.getLider());
+                referencia(nodo, "turno", equipo.getTurno() == null ? null : equipo.getTurno().getId());
+                referencia(nodo, "compania", equipo.getCompania() == null ? null : equipo.getCompania().getId());
+                referencia(nodo, "tipoEquipo", equipo.getTipoEquipo() == null ? null : equipo.getTipoEquipo().getId());
+                referencias(nodo, "vehiculos", vehiculosIds);
+                referencias(nodo, "personal", personalIds);
+                referencias(nodo, "recursos", recursosIds);
+                escribirLinea(escritor, objectMapper.writeValueAsString(nodo));
+            }
+        }
+        return equipos.size();
+    }
+
+    /**
+     * Envía lo escrito hasta ahora y descarta las entidades leídas del contexto de persistencia.
+     */
+    private void terminarBloque(Writer escritor) throws IOException {
+        escritor.flush();
+        entityManager.clear();
+    }
+
+    private static void escribirLinea(Writer escritor, String linea) throws IOException {
+        escritor.write(linea);
+        escritor.write('\n');
+    }
+
+    private static Map<Integer, List<Integer>> agrupar(List<Object[]> pares) {
+        Map<Integer, List<Integer>> porEquipo = new HashMap<>();
+        for (Object[] par : pares) {
+            porEquipo.computeIfAbsent((Integer) par[0], id -> new ArrayList<>()).add((Integer) par[1]);
+        }
+        return porEquipo;
+    }
+
+    private static String unirIds(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining("|"));
+    }
+
+    private static void referencia(ObjectNode nodo, String campo, Integer id) {
+        if (id == null) {
+            nodo.putNull(campo);
+        } else {
+            nodo.putObject(campo).put("id", id);
+        }
+    }
+
+    private static void referencias(ObjectNode nodo, String campo, List<Integer> ids) {
+        ArrayNode lista = nodo.putArray(campo);
+        for (Integer id : ids) {
+            lista.addObject().put("id", id);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.dto.ReporteImportacion;
+import com.SAFE_Rescue.API_Turno.dto.ReporteImportacion.ErrorFila;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.EstadoTurno;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para la importación masiva de turnos y equipos desde archivos CSV o NDJSON.
+ * <p>
+ * El archivo se lee línea por línea sin cargarlo completo en memoria. Las filas válidas
+ * se guardan en lotes, cada uno en su propia transacción, de modo que el contexto de
+ * persistencia se descarta al terminar cada lote y el uso de memoria no depende del
+ * tamaño del archivo. Una fila con error no detiene la importación: se informa en el
+ * reporte y se continúa con la siguiente.
+ * </p>
+ */
+@Service
+public class ImportacionService {
+
+    /**
+     * Tamaño máximo de lote permitido.
+     */
+    public static final int TAMANIO_LOTE_MAXIMO = 5000;
+
+    /**
+     * Separador de IDs dentro de una columna de lista en CSV (por ejemplo, "3|7|12").
+     */
+    private static final String SEPARADOR_IDS = "\\|";
+
+    @Autowired private TurnoService turnoService;
+    @Autowired private EquipoService equipoService;
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private TipoEquipoRepository tipoEquipoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+    @Autowired private VehiculoRepository vehiculoRepository;
+    @Autowired private RecursoRepository recursoRepository;
+
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private ApplicationEventPublisher publicadorEventos;
+
+    @Value("${importacion.tamanio-lote:500}")
+    private int tamanioLotePorDefecto;
+
+    /**
+     * Fila leída del archivo junto con su número de línea.
+     */
+    private record Fila<T>(long numero, T valor) {
+    }
+
+    /**
+     * Importa turnos desde un archivo.
+     * <p>
+     * Columnas CSV: {@code nombre,fechaHoraInicio,fechaHoraFin} (fechas ISO, por ejemplo
+     * 2025-07-01T08:00:00). En NDJSON cada línea tiene el mismo formato que el cuerpo de
+     * {@code POST /turnos}. La duración se calcula a partir de las fechas.
+     * </p>
+     * @param entrada Contenido del archivo
+     * @param formato Formato del archivo
+     * @param tamanioLote Filas por transacción (nulo para usar el valor configurado)
+     * @return Reporte de la importación
+     * @throws IllegalArgumentException Si el tamaño de lote o el encabezado CSV no son válidos
+     * @throws UncheckedIOException Si ocurre un error al leer el archivo
+     */
+    public ReporteImportacion importarTurnos(InputStream entrada, FormatoArchivo formato, Integer tamanioLote) {
+        return importar(entrada, formato, tamanioLote, Turno.class,
+                List.of("nombre", "fechaHoraInicio", "fechaHoraFin"), this::turnoDesdeCsv, this::guardarTurnos);
+    }
+
+    /**
+     * Importa equipos desde un archivo.
+     * <p>
+     * Columnas CSV: {@code nombre,cantidadMiembros,estado,lider,turnoId,companiaId,tipoEquipoId,vehiculos,personal,recursos},
+     * donde las tres últimas son listas de IDs separados por "|". En NDJSON cada línea tiene
+     * el mismo formato que el cuerpo de {@code POST /equipos}, con las referencias indicadas por ID.
+     * Todas las referencias deben existir; no se crean turnos, compañías ni tipos nuevos.
+     * </p>
+     * @param entrada Contenido del archivo
+     * @param formato Formato del archivo
+     * @param tamanioLote Filas por transacción (nulo para usar el valor configurado)
+     * @return Reporte de la importación
+     * @throws IllegalArgumentException Si el tamaño de lote o el encabezado CSV no son válidos
+     * @throws UncheckedIOException Si ocurre un error al leer el archivo
+     */
+    public ReporteImportacion importarEquipos(InputStream entrada, FormatoArchivo formato, Integer tamanioLote) {
+        return importar(entrada, formato, tamanioLote, Equipo.class,
+                List.of("nombre", "cantidadMiembros", "estado", "lider", "turnoId", "companiaId", "tipoEquipoId"),
+                this::equipoDesdeCsv, this::guardarEquipos);
+    }
+
+    // LECTURA Y PROCESAMIENTO POR LOTES
+
+    /**
+     * Lee el archivo línea por línea y guarda las filas válidas en lotes.
+     * @param columnasRequeridas Columnas que debe incluir el encabezado CSV
+     * @param desdeCsv Conversión de una fila CSV (columna a valor) a entidad
+     * @param guardarLote Guarda un lote dentro de una transacción y retorna los errores por fila
+     */
+    private <T> ReporteImportacion importar(InputStream entrada, FormatoArchivo formato, Integer tamanioLote,
+                                            Class<T> tipo, List<String> columnasRequeridas,
+                                            Function<Map<String, String>, T> desdeCsv,
+                                            Function<List<Fila<T>>, List<ErrorFila>> guardarLote) {
+        int tamanio = tamanioLote != null ? tamanioLote : tamanioLotePorDefecto;
+        if (tamanio < 1 || tamanio > TAMANIO_LOTE_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de lote debe estar entre 1 y " + TAMANIO_LOTE_MAXIMO);
+        }
+
+        ReporteImportacion reporte = new ReporteImportacion();
+        List<Fila<T>> lote = new ArrayList<>(tamanio);
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            List<String> encabezado = null;
+            if (formato == FormatoArchivo.CSV) {
+                encabezado = leerEncabezado(lector.readLine(), columnasRequeridas);
+            }
+            long numero = formato == FormatoArchivo.CSV ? 1 : 0;
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                numero++;
+                if (linea.isBlank()) {
+                    continue;
+                }
+                reporte.setFilasProcesadas(reporte.getFilasProcesadas() + 1);
+                try {
+                    T valor = formato == FormatoArchivo.CSV
+                            ? desdeCsv.apply(aMapa(encabezado, Csv.separar(linea)))
+                            : objectMapper.readValue(linea, tipo);
+                    lote.add(new Fila<>(numero, valor));
+                } catch (Exception e) {
+                    reporte.registrarError(numero, "Fila no válida: " + e.getMessage());
+                }
+                if (lote.size() == tamanio) {
+                    guardar(lote, guardarLote, reporte);
+                    lote.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer el archivo: " + e.getMessage(), e);
+        }
+        if (!lote.isEmpty()) {
+            guardar(lote, guardarLote, reporte);
+        }
+        return reporte;
+    }
+
+    /**
+     * Guarda un lote en una transacción propia y actualiza el reporte.
+     * Si la transacción falla al confirmar, todas las filas del lote se informan con error.
+     */
+    private <T> void guardar(List<Fila<T>> lote, Function<List<Fila<T>>, List<ErrorFila>> guardarLote,
+                             ReporteImportacion reporte) {
+        List<ErrorFila> errores;
+        try {
+            errores = transactionTemplate.execute(estado -> guardarLote.apply(lote));
+        } catch (RuntimeException e) {
+            for (Fila<T> fila : lote) {
+                reporte.registrarError(fila.numero(), "Lote no guardado: " + e.getMessage());
+            }
+            return;
+        }
+        for (ErrorFila error : errores) {
+            reporte.registrarError(error.fila(), error.mensaje());
+        }
+        reporte.setFilasImportadas(reporte.getFilasImportadas() + lote.size() - errores.size());
+    }
+
+    private static List<String> leerEncabezado(String linea, List<String> columnasRequeridas) {
+        if (linea == null) {
+            throw new IllegalArgumentException("El archivo CSV no tiene encabezado");
+        }
+        List<String> encabezado = Csv.separar(linea).stream().map(String::trim).toList();
+        List<String> faltantes = columnasRequeridas.stream().filter(c -> !encabezado.contains(c)).toList();
+        if (!faltantes.isEmpty()) {
+            throw new IllegalArgumentException("Faltan columnas en el encabezado CSV: " + faltantes);
+        }
+        return encabezado;
+    }
+
+    private static Map<String, String> aMapa(List<String> encabezado, List<String> campos) {
+        if (campos.size() != encabezado.size()) {
+            throw new IllegalArgumentException("Se esperaban " + encabezado.size() + " columnas y se encontraron " + campos.size());
+        }
+        Map<String, String> fila = new HashMap<>();
+        for (int i = 0; i < encabezado.size(); i++) {
+            String valor = campos.get(i).trim();
+            fila.put(encabezado.get(i), valor.isEmpty() ? null : valor);
+        }
+        return fila;
+    }
+
+    // TURNOS
+
+    private Turno turnoDesdeCsv(Map<String, String> fila) {
+        Turno turno = new Turno();
+        turno.setNombre(fila.get("nombre"));
+        turno.setFechaHoraInicio(fila.get("fechaHoraInicio") == null ? null : LocalDateTime.parse(fila.get("fechaHoraInicio")));
+        turno.setFechaHoraFin(fila.get("fechaHoraFin") == null ? null : LocalDateTime.parse(fila.get("fechaHoraFin")));
+        return turno;
+    }
+
+    private List<ErrorFila> guardarTurnos(List<Fila<Turno>> lote) {
+        List<ErrorFila> errores = new ArrayList<>();
+        List<Turno> validos = new ArrayList<>(lote.size());
+        for (Fila<Turno> fila : lote) {
+            Turno turno = fila.valor();
+            try {
+                turno.setId(null);
+                turnoService.validarTurno(turno);
+                validos.add(turno);
+            } catch (RuntimeException e) {
+                errores.add(new ErrorFila(fila.numero(), e.getMessage()));
+            }
+        }
+        turnoRepository.saveAll(validos);
+        publicarCreados(Turno.class, validos.stream().map(EstadoTurno::de).toList());
+        return errores;
+    }
+
+    // EQUIPOS
+
+    private Equipo equipoDesdeCsv(Map<String, String> fila) {
+        Equipo equipo = new Equipo();
+        equipo.setNombre(fila.get("nombre"));
+        equipo.setCantidadMiembros(fila.get("cantidadMiembros") == null ? null : Integer.valueOf(fila.get("cantidadMiembros")));
+        equipo.setEstado(Boolean.parseBoolean(fila.get("estado")));
+        equipo.setLider(fila.get("lider"));
+        if (fila.get("turnoId") != null) {
+            equipo.setTurno(new Turno(Integer.valueOf(fila.get("turnoId")), null, null, null, null));
+        }
+        if (fila.get("companiaId") != null) {
+            equipo.setCompania(new Compania(Integer.valueOf(fila.get("companiaId")), null, null));
+        }
+        if (fila.get("tipoEquipoId") != null) {
+            equipo.setTipoEquipo(new TipoEquipo(Integer.valueOf(fila.get("tipoEquipoId")), null));
+        }
+        equipo.setVehiculos(ids(fila.get("vehiculos")).stream()
+                .map(id -> new Vehiculo(id, null, null, null, null, null)).collect(Collectors.toCollection(LinkedHashSet::new)));
+        equipo.setPersonal(ids(fila.get("personal")).stream()
+                .map(id -> new Bombero(id, null, null, null, null)).collect(Collectors.toCollection(LinkedHashSet::new)));
+        equipo.setRecursos(ids(fila.get("recursos")).stream()
+                .map(id -> new Recurso(id, null, null, null)).collect(Collectors.toCollection(LinkedHashSet::new)));
+        return equipo;
+    }
+
+    private static List<Integer> ids(String valor) {
+        if (valor == null) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (String id : valor.split(SEPARADOR_IDS)) {
+            if (!id.isBlank()) {
+                ids.add(Integer.valueOf(id.trim()));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Guarda un lote de equipos resolviendo todas sus referencias con una consulta
+     * por tipo de entidad para el lote completo.
+     * <p>
+     * Los conflictos de turnos se revisan contra los equipos ya confirmados y contra las filas
+     * anteriores del mismo lote, que se guardan juntas al final para insertarlas en lotes JDBC
+     * y por eso aún no están en la base de datos cuando se revisa cada fila.
+     * </p>
+     */
+    private List<ErrorFila> guardarEquipos(List<Fila<Equipo>> lote) {
+        List<Equipo> equipos = lote.stream().map(Fila::valor).toList();
+        Map<Integer, Turno> turnos = cargar(turnoRepository, Turno::getId,
+                equipos.stream().map(e -> e.getTurno() == null ? null : e.getTurno().getId()).toList());
+        Map<Integer, Compania> companias = cargar(companiaRepository, Compania::getId,
+                equipos.stream().map(e -> e.getCompania() == null ? null : e.getCompania().getId()).toList());
+        Map<Integer, TipoEquipo> tipos = cargar(tipoEquipoRepository, TipoEquipo::getId,
+                equipos.stream().map(e -> e.getTipoEquipo() == null ? null : e.getTipoEquipo().getId()).toList());
+        Map<Integer, Vehiculo> vehiculos = cargar(vehiculoRepository, Vehiculo::getId,
+                equipos.stream().flatMap(e -> listaIds(e.getVehiculos(), Vehiculo::getId).stream()).toList());
+        Map<Integer, Bombero> bomberos = cargar(bomberoRepository, Bombero::getId,
+                equipos.stream().flatMap(e -> listaIds(e.getPersonal(), Bombero::getId).stream()).toList());
+        Map<Integer, Recurso> recursos = cargar(recursoRepository, Recurso::getId,
+                equipos.stream().flatMap(e -> listaIds(e.getRecursos(), Recurso::getId).stream()).toList());
+
+        List<ErrorFila> errores = new ArrayList<>();
+        List<Equipo> validos = new ArrayList<>(lote.size());
+        // Asignaciones de las filas ya aceptadas del lote; cada equipo se identifica por su número de fila
+        IndiceAsignaciones asignacionesLote = new IndiceAsignaciones();
+        for (Fila<Equipo> fila : lote) {
+            Equipo equipo = fila.valor();
+            try {
+                equipo.setId(null);
+                equipo.setTurno(referencia(equipo.getTurno(), Turno::getId, turnos, "Turno"));
+                equipo.setCompania(referencia(equipo.getCompania(), Compania::getId, companias, "Compañía"));
+                equipo.setTipoEquipo(referencia(equipo.getTipoEquipo(), TipoEquipo::getId, tipos, "Tipo de equipo"));
+                equipo.setVehiculos(referencias(equipo.getVehiculos(), Vehiculo::getId, vehiculos, "Vehículos"));
+                equipo.setPersonal(referencias(equipo.getPersonal(), Bombero::getId, bomberos, "Bomberos"));
+                equipo.setRecursos(referencias(equipo.getRecursos(), Recurso::getId, recursos, "Recursos"));
+                equipoService.validarEquipo(equipo);
+                List<Integer> idsPersonal = listaIds(equipo.getPersonal(), Bombero::getId);
+                List<Integer> idsVehiculos = listaIds(equipo.getVehiculos(), Vehiculo::getId);
+                validarContraLote(asignacionesLote, equipo.getTurno(), idsPersonal, idsVehiculos);
+                conflictoTurnoService.validarAsignacion(null, equipo.getTurno(), idsPersonal, idsVehiculos);
+                if (equipo.getTurno() != null) {
+                    Turno turno = equipo.getTurno();
+                    asignacionesLote.ponerTurno(turno.getId(), turno.getFechaHoraInicio(), turno.getFechaHoraFin());
+                    asignacionesLote.ponerEquipo(Math.toIntExact(fila.numero()), turno.getId(), idsPersonal, idsVehiculos);
+                }
+                validos.add(equipo);
+            } catch (RuntimeException e) {
+                errores.add(new ErrorFila(fila.numero(), e.getMessage()));
+            }
+        }
+        equipoRepository.saveAll(validos);
+        publicarCreados(Equipo.class, validos.stream().map(EstadoEquipo::de).toList());
+        return errores;
+    }
+
+    /**
+     * Verifica que un equipo no tenga bomberos ni vehículos en común con una fila anterior del
+     * lote cuyo turno se superpone con el suyo.
+     * @throws IllegalStateException Si hay conflictos con el lote
+     */
+    private static void validarContraLote(IndiceAsignaciones asignacionesLote, Turno turno,
+                                          List<Integer> bomberos, List<Integer> vehiculos) {
+        if (turno == null || turno.getFechaHoraInicio() == null || turno.getFechaHoraFin() == null) {
+            return;
+        }
+        List<ConflictoTurno> conflictos = asignacionesLote.conflictos(null, turno.getFechaHoraInicio(),
+                turno.getFechaHoraFin(), bomberos, vehiculos);
+        if (!conflictos.isEmpty()) {
+            throw new IllegalStateException("Conflicto de turnos con el mismo archivo: " + conflictos.stream()
+                    .map(c -> (c.recurso() == ConflictoTurno.Recurso.BOMBERO ? "el bombero " : "el vehículo ")
+                            + c.recursoId() + " ya está en la fila " + c.equipoId() + " (turno " + c.turnoId() + ")")
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Informa las entidades creadas por un lote; los oyentes lo reciben cuando el lote se confirma.
+     */
+    private void publicarCreados(Class<?> tipo, List<? extends EstadoEntidad> estados) {
+        if (!estados.isEmpty()) {
+            publicadorEventos.publishEvent(CambioEntidad.de(tipo, estados, Operacion.CREADO));
+        }
+    }
+
+    private static <T> List<Integer> listaIds(Collection<T> entidades, Function<T, Integer> obtenerId) {
+        if (entidades == null) {
+            return List.of();
+        }
+        return entidades.stream().map(obtenerId).toList();
+    }
+
+    private static <T> Map<Integer, T> cargar(JpaRepository<T, Integer> repositorio, Function<T, Integer> obtenerId,
+                                              Collection<Integer> ids) {
+        Set<Integer> distintos = new HashSet<>(ids);
+        distintos.remove(null);
+        Map<Integer, T> porId = new HashMap<>();
+        if (!distintos.isEmpty()) {
+            for (T entidad : repositorio.findAllById(distintos)) {
+                porId.put(obtenerId.apply(entidad), entidad);
+            }
+        }
+        return porId;
+    }
+
+    private static <T> T referencia(T valor, Function<T, Integer> obtenerId, Map<Integer, T> existentes, String descripcion) {
+        if (valor == null) {
+            return null;
+        }
+        Integer id = obtenerId.apply(valor);
+        T existente = id == null ? null : existentes.get(id);
+        if (existente == null) {
+            throw new IllegalArgumentException(descripcion + " no encontrado con ID: " + id);
+        }
+        return existente;
+    }
+
+    private static <T> Set<T> referencias(Collection<T> valores, Function<T, Integer> obtenerId, Map<Integer, T> existentes,
+                                          String descripcion) {
+        Set<T> resueltas = new LinkedHashSet<>();
+        List<Integer> faltantes = new ArrayList<>();
+        Set<Integer> vistos = new HashSet<>();
+        for (Integer id : listaIds(valores, obtenerId)) {
+            T existente = id == null ? null : existentes.get(id);
+            if (existente == null) {
+                faltantes.add(id);
+            } else if (vistos.add(id)) {
+                resueltas.add(existente);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new IllegalArgumentException(descripcion + " no encontrados con IDs: " + faltantes);
+        }
+        return resueltas;
+    }
+}
@@ -0,0 +1,170 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno.Recurso;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice en memoria de los intervalos de los turnos y de las asignaciones de bomberos y
+ * vehículos a equipos.
+ * <p>
+ * Cada turno se guarda con su intervalo [inicio, fin) y cada bombero o vehículo con los
+ * equipos a los que pertenece. Revisar una asignación solo recorre los equipos de los
+ * recursos revisados y compara sus intervalos, por lo que el costo depende de cuántos
+ * equipos tiene cada recurso y no de la cantidad total de turnos.
+ * </p>
+ * <p>
+ * No es seguro para uso concurrente; {@link ConflictoTurnoService} sincroniza el acceso.
+ * </p>
+ */
+final class IndiceAsignaciones {
+
+    /**
+     * Intervalo semiabierto [inicio, fin) de un turno. Dos turnos consecutivos, donde uno
+     * termina justo cuando empieza el otro, no se superponen.
+     */
+    record Intervalo(LocalDateTime inicio, LocalDateTime fin) {
+
+        boolean seSuperpone(LocalDateTime otroInicio, LocalDateTime otroFin) {
+            return inicio.isBefore(otroFin) && otroInicio.isBefore(fin);
+        }
+    }
+
+    private record Asignacion(Integer turnoId, Set<Integer> bomberos, Set<Integer> vehiculos) {
+    }
+
+    private final Map<Integer, Intervalo> turnos = new HashMap<>();
+    private final Map<Integer, Asignacion> equipos = new HashMap<>();
+    private final Map<Integer, Set<Integer>> equiposPorTurno = new HashMap<>();
+    private final Map<Integer, Set<Integer>> equiposPorBombero = new HashMap<>();
+    private final Map<Integer, Set<Integer>> equiposPorVehiculo = new HashMap<>();
+
+    /**
+     * Registra o reemplaza el intervalo de un turno. Los turnos sin fechas no se registran.
+     */
+    void ponerTurno(Integer id, LocalDateTime inicio, LocalDateTime fin) {
+        if (inicio == null || fin == null) {
+            turnos.remove(id);
+            return;
+        }
+        turnos.put(id, new Intervalo(inicio, fin));
+    }
+
+    void quitarTurno(Integer id) {
+        turnos.remove(id);
+    }
+
+    Intervalo turno(Integer id) {
+        return turnos.get(id);
+    }
+
+    /**
+     * Registra o reemplaza la asignación de un equipo.
+     */
+    void ponerEquipo(Integer id, Integer turnoId, Collection<Integer> bomberos, Collection<Integer> vehiculos) {
+        quitarEquipo(id);
+        Asignacion asignacion = new Asignacion(turnoId, new HashSet<>(bomberos), new HashSet<>(vehiculos));
+        equipos.put(id, asignacion);
+        if (turnoId != null) {
+            equiposPorTurno.computeIfAbsent(turnoId, k -> new HashSet<>()).add(id);
+        }
+        for (Integer bombero : asignacion.bomberos()) {
+            equiposPorBombero.computeIfAbsent(bombero, k -> new HashSet<>()).add(id);
+        }
+        for (Integer vehiculo : asignacion.vehiculos()) {
+            equiposPorVehiculo.computeIfAbsent(vehiculo, k -> new HashSet<>()).add(id);
+        }
+    }
+
+    void quitarEquipo(Integer id) {
+        Asignacion anterior = equipos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        if (anterior.turnoId() != null) {
+            quitar(equiposPorTurno, anterior.turnoId(), id);
+        }
+        for (Integer bombero : anterior.bomberos()) {
+            quitar(equiposPorBombero, bombero, id);
+        }
+        for (Integer vehiculo : anterior.vehiculos()) {
+            quitar(equiposPorVehiculo, vehiculo, id);
+        }
+    }
+
+    int cantidadTurnos() {
+        return turnos.size();
+    }
+
+    int cantidadEquipos() {
+        return equipos.size();
+    }
+
+    /**
+     * Busca las asignaciones existentes que se superponen con la asignación indicada.
+     * @param equipoId Equipo revisado, que no se compara consigo mismo (nulo si es nuevo)
+     * @param inicio Inicio del turno del equipo
+     * @param fin Fin del turno del equipo
+     * @param bomberos IDs de los bomberos del equipo
+     * @param vehiculos IDs de los vehículos del equipo
+     * @return Conflictos encontrados, vacío si no hay
+     */
+    List<ConflictoTurno> conflictos(Integer equipoId, LocalDateTime inicio, LocalDateTime fin,
+                                    Collection<Integer> bomberos, Collection<Integer> vehiculos) {
+        List<ConflictoTurno> conflictos = new ArrayList<>();
+        buscar(conflictos, Recurso.BOMBERO, equiposPorBombero, bomberos, equipoId, inicio, fin);
+        buscar(conflictos, Recurso.VEHICULO, equiposPorVehiculo, vehiculos, equipoId, inicio, fin);
+        return conflictos;
+    }
+
+    /**
+     * Busca los conflictos que aparecerían si el turno indicado pasara a tener un nuevo intervalo.
+     * @param turnoId ID del turno
+     * @param inicio Nuevo inicio del turno
+     * @param fin Nuevo fin del turno
+     * @return Conflictos de los equipos asignados al turno, vacío si no hay
+     */
+    List<ConflictoTurno> conflictosDeTurno(Integer turnoId, LocalDateTime inicio, LocalDateTime fin) {
+        List<ConflictoTurno> conflictos = new ArrayList<>();
+        for (Integer equipoId : equiposPorTurno.getOrDefault(turnoId, Set.of())) {
+            Asignacion asignacion = equipos.get(equipoId);
+            conflictos.addAll(conflictos(equipoId, inicio, fin, asignacion.bomberos(), asignacion.vehiculos()));
+        }
+        return conflictos;
+    }
+
+    private void buscar(List<ConflictoTurno> conflictos, Recurso recurso, Map<Integer, Set<Integer>> equiposPorRecurso,
+                        Collection<Integer> recursos, Integer equipoId, LocalDateTime inicio, LocalDateTime fin) {
+        for (Integer recursoId : new HashSet<>(recursos)) {
+            for (Integer otroEquipo : equiposPorRecurso.getOrDefault(recursoId, Set.of())) {
+                if (otroEquipo.equals(equipoId)) {
+                    continue;
+                }
+                Integer turnoId = equipos.get(otroEquipo).turnoId();
+                Intervalo intervalo = turnoId == null ? null : turnos.get(turnoId);
+                if (intervalo != null && intervalo.seSuperpone(inicio, fin)) {
+                    conflictos.add(new ConflictoTurno(recurso, recursoId, otroEquipo, turnoId,
+                            intervalo.inicio(), intervalo.fin()));
+                }
+            }
+        }
+    }
+
+    private static void quitar(Map<Integer, Set<Integer>> indice, Integer clave, Integer equipoId) {
+        Set<Integer> equiposDeClave = indice.get(clave);
+        if (equiposDeClave != null) {
+            equiposDeClave.remove(equipoId);
+            if (equiposDeClave.isEmpty()) {
+                indice.remove(clave);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contador de cambios confirmados por tabla, usado para responder GET condicionales
+ * ({@code If-None-Match} / {@code If-Modified-Since}) sin consultar la base de datos.
+ * <p>
+ * Se actualiza con los eventos {@link CambioEntidad} una vez confirmada la transacción, por lo
+ * que los controladores deben tomar la versión <em>antes</em> de leer los datos: así una
+ * respuesta nunca lleva una versión más nueva que su contenido. Como el índice de conflictos,
+ * vive en memoria y supone que todas las escrituras pasan por los servicios de esta instancia;
+ * el instante de arranque forma parte del ETag para que un reinicio no valide copias anteriores.
+ * </p>
+ */
+@Service
+public class RegistroCambios {
+
+    private final Clock reloj;
+    private final long arranque;
+    private final ConcurrentMap<Class<?>, Tabla> tablas = new ConcurrentHashMap<>();
+
+    public RegistroCambios() {
+        this(Clock.systemUTC());
+    }
+
+    RegistroCambios(Clock reloj) {
+        this.reloj = reloj;
+        this.arranque = reloj.millis();
+    }
+
+    /**
+     * Versión actual del conjunto de tablas del que depende una respuesta.
+     * @param tipos Entidades cuyas tablas se leen para armar la respuesta
+     * @return ETag débil y fecha de última modificación, o -1 si la última
+     *         modificación ocurrió en el segundo actual
+     */
+    public Version version(Class<?>... tipos) {
+        long cambios = 0;
+        long ultimoCambio = arranque;
+        for (Class<?> tipo : tipos) {
+            Tabla tabla = tablas.get(tipo);
+            if (tabla != null) {
+                cambios += tabla.cambios.get();
+                ultimoCambio = Math.max(ultimoCambio, tabla.ultimoCambio.get());
+            }
+        }
+        String etag = "W/\"" + Long.toString(arranque, 36) + "-" + cambios + "\"";
+        // If-Modified-Since tiene resolución de segundos: si hubo un cambio en el segundo
+        // actual, otro posterior en el mismo segundo no se distinguiría, así que se omite.
+        boolean segundoCerrado = reloj.millis() / 1000 > ultimoCambio / 1000;
+        return new Version(etag, segundoCerrado ? ultimoCambio : -1);
+    }
+
+    /**
+     * Registra los cambios confirmados de una tabla.
+     * @param cambio Evento publicado por el servicio que hizo la escritura
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alCambiar(CambioEntidad cambio) {
+        Tabla tabla = tablas.computeIfAbsent(cambio.tipo(), tipo -> new Tabla());
+        tabla.ultimoCambio.accumulateAndGet(reloj.millis(), Math::max);
+        tabla.cambios.incrementAndGet();
+    }
+
+    /**
+     * Versión de una respuesta.
+     * @param etag ETag débil, distinto para cada combinación de cambios de sus tablas
+     * @param ultimaModificacion Fecha de la última modificación en milisegundos, o -1 si no se informa
+     */
+    public record Version(String etag, long ultimaModificacion) {
+    }
+
+    private static final class Tabla {
+        private final AtomicLong cambios = new AtomicLong();
+        private final AtomicLong ultimoCambio = new AtomicLong();
+    }
+}
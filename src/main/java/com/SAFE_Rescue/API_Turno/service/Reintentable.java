@@ -0,0 +1,30 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método de servicio que se vuelve a ejecutar, en una transacción nueva, cuando
+ * falla por una modificación concurrente de la misma entidad (bloqueo optimista).
+ * <p>
+ * Solo debe usarse en operaciones cuyo resultado no depende del estado leído, como asignar
+ * una referencia o agregar y quitar elementos de un conjunto: repetirlas sobre el estado
+ * actual equivale a haberlas ejecutado después de la otra transacción. Las que reemplazan
+ * el estado completo enviado por el cliente deben informar el conflicto.
+ * </p>
+ *
+ * @see com.SAFE_Rescue.API_Turno.config.ReintentosConcurrencia
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Reintentable {
+
+    /**
+     * Cantidad máxima de ejecuciones, incluida la primera.
+     */
+    int intentos() default 10;
+}
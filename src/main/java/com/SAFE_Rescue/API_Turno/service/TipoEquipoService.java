@@ -1,9 +1,15 @@
 package com.SAFE_Rescue.API_Turno.service;
 
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
 import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
 import com.SAFE_Rescue.API_Turno.repository.TipoEquipoRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -19,6 +25,9 @@ public class TipoEquipoService {
     @Autowired
     private TipoEquipoRepository tipoEquipoRepository;
 
+    @Autowired
+    private ApplicationEventPublisher publicadorEventos;
+
     // MÉTODOS CRUD PRINCIPALES
     /**
      * Obtiene todos los tipos de equipo registrados.
@@ -28,6 +37,19 @@ public class TipoEquipoService {
         return tipoEquipoRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de tipos de equipo.
+     * @param pageable Página, tamaño y orden solicitados
+     * @param incluirTotales Si es verdadero se ejecuta la consulta de conteo y se retorna una {@link Page}
+     * @return Porción de tipos de equipo
+     */
+    public Slice<TipoEquipo> findAll(Pageable pageable, boolean incluirTotales) {
+        if (incluirTotales) {
+            return tipoEquipoRepository.findAll(pageable);
+        }
+        return tipoEquipoRepository.findAllBy(pageable);
+    }
+
     /**
      * Busca un tipo de equipo por su ID.
      * @param id Identificador único del tipo de equipo
@@ -48,7 +70,9 @@ public class TipoEquipoService {
     public TipoEquipo save(TipoEquipo tipoEquipo) {
         try{
             validarTipoEquipo(tipoEquipo);
-            return tipoEquipoRepository.save(tipoEquipo);
+            TipoEquipo guardado = tipoEquipoRepository.save(tipoEquipo);
+            publicadorEventos.publishEvent(CambioEntidad.de(TipoEquipo.class, guardado.getId(), Operacion.CREADO));
+            return guardado;
 
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Error al guardar el TipoEquipo: " + e.getMessage());
@@ -74,7 +98,9 @@ public class TipoEquipoService {
         validarTipoEquipo(tipoEquipo);
         tipoExistente.setNombre(tipoEquipo.getNombre());
 
-        return tipoEquipoRepository.save(tipoExistente);
+        TipoEquipo actualizado = tipoEquipoRepository.save(tipoExistente);
+        publicadorEventos.publishEvent(CambioEntidad.de(TipoEquipo.class, id, Operacion.ACTUALIZADO));
+        return actualizado;
     }
 
     /**
@@ -87,6 +113,7 @@ public class TipoEquipoService {
             throw new NoSuchElementException("Tipo de equipo no encontrado con ID: " + id);
         }
         tipoEquipoRepository.deleteById(id);
+        publicadorEventos.publishEvent(CambioEntidad.de(TipoEquipo.class, id, Operacion.ELIMINADO));
     }
 
     /**
@@ -0,0 +1,119 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codificación de los tokens de continuación y validaciones comunes de los recorridos por cursor.
+ * <p>
+ * El token es la posición del último elemento entregado, codificada en Base64 URL
+ * y precedida por un prefijo que identifica la entidad, de modo que un token de turnos
+ * no pueda usarse para recorrer equipos. Los clientes deben tratarlo como un valor opaco.
+ * </p>
+ */
+final class TokenCursor {
+
+    private static final String SEPARADOR = "|";
+    private static final String PREFIJO_TURNO = "t";
+    private static final String PREFIJO_EQUIPO = "e";
+
+    /**
+     * Tamaño máximo de página permitido en los recorridos por cursor.
+     */
+    static final int TAMANIO_MAXIMO = 1000;
+
+    private TokenCursor() {
+    }
+
+    /**
+     * Valida el tamaño de página solicitado para un recorrido por cursor.
+     * @param tamanio Tamaño solicitado
+     * @throws IllegalArgumentException Si el tamaño está fuera del rango permitido
+     */
+    static void validarTamanio(int tamanio) {
+        if (tamanio < 1 || tamanio > TAMANIO_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + TAMANIO_MAXIMO);
+        }
+    }
+
+    /**
+     * Posición de un turno dentro del recorrido ordenado por fecha de inicio e ID.
+     * @param inicio Fecha de inicio del turno
+     * @param id ID del turno
+     */
+    record PosicionTurno(LocalDateTime inicio, Integer id) {
+    }
+
+    /**
+     * Codifica la posición de un turno.
+     * @param inicio Fecha de inicio del último turno entregado
+     * @param id ID del último turno entregado
+     * @return Token opaco
+     */
+    static String deTurno(LocalDateTime inicio, Integer id) {
+        return codificar(PREFIJO_TURNO + SEPARADOR + inicio + SEPARADOR + id);
+    }
+
+    /**
+     * Decodifica un token de turnos.
+     * @param token Token recibido del cliente
+     * @return Posición del último turno entregado
+     * @throws IllegalArgumentException Si el token no es válido
+     */
+    static PosicionTurno aTurno(String token) {
+        String[] partes = decodificar(token, PREFIJO_TURNO, 3);
+        try {
+            return new PosicionTurno(LocalDateTime.parse(partes[1]), Integer.valueOf(partes[2]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw tokenNoValido();
+        }
+    }
+
+    /**
+     * Codifica la posición de un equipo.
+     * @param id ID del último equipo entregado
+     * @return Token opaco
+     */
+    static String deEquipo(Integer id) {
+        return codificar(PREFIJO_EQUIPO + SEPARADOR + id);
+    }
+
+    /**
+     * Decodifica un token de equipos.
+     * @param token Token recibido del cliente
+     * @return ID del último equipo entregado
+     * @throws IllegalArgumentException Si el token no es válido
+     */
+    static Integer aEquipo(String token) {
+        String[] partes = decodificar(token, PREFIJO_EQUIPO, 2);
+        try {
+            return Integer.valueOf(partes[1]);
+        } catch (NumberFormatException e) {
+            throw tokenNoValido();
+        }
+    }
+
+    private static String codificar(String valor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificar(String token, String prefijo, int cantidadPartes) {
+        String valor;
+        try {
+            valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw tokenNoValido();
+        }
+        String[] partes = valor.split("\\" + SEPARADOR, -1);
+        if (partes.length != cantidadPartes || !prefijo.equals(partes[0])) {
+            throw tokenNoValido();
+        }
+        return partes;
+    }
+
+    private static IllegalArgumentException tokenNoValido() {
+        return new IllegalArgumentException("Token de continuación no válido");
+    }
+}
@@ -1,13 +1,29 @@
 package com.SAFE_Rescue.API_Turno.service;
 
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.TurnoVentana;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoTurno;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
 import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
 import com.SAFE_Rescue.API_Turno.modelo.Turno;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -19,9 +35,23 @@ import java.util.NoSuchElementException;
 @Transactional
 public class TurnoService {
 
+    /**
+     * Duración máxima de un turno, en horas completas (la columna duración admite dos dígitos).
+     */
+    public static final int DURACION_MAXIMA_HORAS = 99;
+
     @Autowired
     private TurnoRepository turnoRepository;
 
+    @Autowired
+    private ConflictoTurnoService conflictoTurnoService;
+
+    @Autowired
+    private ApplicationEventPublisher publicadorEventos;
+
+    @Value("${turnos.ventana-maxima:P7D}")
+    private Duration ventanaMaxima;
+
     // MÉTODOS CRUD PRINCIPALES
 
     /**
@@ -32,12 +62,119 @@ public class TurnoService {
         return turnoRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de turnos cuyo inicio cae dentro de una ventana opcional.
+     * @param desde Inicio de la ventana, inclusivo (opcional)
+     * @param hasta Fin de la ventana, exclusivo (opcional)
+     * @param pageable Página, tamaño y orden solicitados
+     * @param incluirTotales Si es verdadero se ejecuta la consulta de conteo y se retorna una {@link Page}
+     * @return Porción de turnos que cumplen el filtro
+     * @throws IllegalArgumentException Si la fecha desde es posterior a la fecha hasta
+     */
+    public Slice<Turno> buscar(LocalDateTime desde, LocalDateTime hasta, Pageable pageable, boolean incluirTotales) {
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new IllegalArgumentException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        if (incluirTotales) {
+            return turnoRepository.buscar(desde, hasta, pageable);
+        }
+        return turnoRepository.buscarSinTotales(desde, hasta, pageable);
+    }
+
+    /**
+     * Obtiene los turnos activos en algún momento de la ventana [desde, hasta), es decir,
+     * los que inician antes de {@code hasta} y terminan después de {@code desde}.
+     * <p>
+     * Se resuelve con una sola consulta sobre el índice (fecha_hora_inicio, fecha_hora_fin),
+     * también cuando se incluyen los equipos, y no carga entidades.
+     * </p>
+     * @param desde Inicio de la ventana, inclusivo
+     * @param hasta Fin de la ventana, exclusivo
+     * @param incluirEquipos Si es verdadero cada turno incluye sus equipos
+     * @return Turnos ordenados por fecha de inicio e ID
+     * @throws IllegalArgumentException Si falta una fecha, si desde no es anterior a hasta
+     *         o si la ventana supera la duración máxima configurada
+     */
+    public List<TurnoVentana> buscarEnVentana(LocalDateTime desde, LocalDateTime hasta, boolean incluirEquipos) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Las fechas desde y hasta son requeridas");
+        }
+        if (!desde.isBefore(hasta)) {
+            throw new IllegalArgumentException("La fecha desde debe ser anterior a la fecha hasta");
+        }
+        if (Duration.between(desde, hasta).compareTo(ventanaMaxima) > 0) {
+            throw new IllegalArgumentException("La ventana no puede superar " + ventanaMaxima.toHours() + " horas");
+        }
+        LocalDateTime inicioMinimo = desde.minusHours(DURACION_MAXIMA_HORAS + 1);
+
+        List<TurnoVentana> turnos = new ArrayList<>();
+        if (!incluirEquipos) {
+            for (Object[] fila : turnoRepository.solapadosConVentana(inicioMinimo, desde, hasta)) {
+                turnos.add(turnoVentana(fila, null));
+            }
+            return turnos;
+        }
+
+        // Las filas llegan ordenadas por turno, por lo que los equipos de cada uno son consecutivos
+        List<TurnoVentana.Equipo> equipos = null;
+        for (Object[] fila : turnoRepository.solapadosConVentanaConEquipos(inicioMinimo, desde, hasta)) {
+            if (turnos.isEmpty() || !turnos.get(turnos.size() - 1).id().equals(fila[0])) {
+                equipos = new ArrayList<>();
+                turnos.add(turnoVentana(fila, equipos));
+            }
+            if (fila[5] != null) {
+                equipos.add(new TurnoVentana.Equipo((Integer) fila[5], (String) fila[6], (Boolean) fila[7],
+                        (String) fila[8], (Integer) fila[9], (Integer) fila[10]));
+            }
+        }
+        return turnos;
+    }
+
+    private static TurnoVentana turnoVentana(Object[] fila, List<TurnoVentana.Equipo> equipos) {
+        return new TurnoVentana((Integer) fila[0], (String) fila[1], (LocalDateTime) fila[2],
+                (LocalDateTime) fila[3], (Integer) fila[4], equipos);
+    }
+
+    /**
+     * Recorre los turnos ordenados por fecha de inicio e ID usando un token de continuación.
+     * <p>
+     * Cada página se obtiene buscando a partir de la posición del último turno entregado,
+     * sin desplazamiento, por lo que su costo no crece con la profundidad del recorrido.
+     * Se lee un turno adicional solo para saber si existe una página siguiente.
+     * </p>
+     * @param token Token de continuación recibido en la página anterior (nulo para comenzar)
+     * @param tamanio Cantidad de turnos por página
+     * @return Página de turnos con el token para continuar, si quedan turnos
+     * @throws IllegalArgumentException Si el token o el tamaño no son válidos
+     */
+    public PaginaCursor<Turno> recorrer(String token, int tamanio) {
+        TokenCursor.validarTamanio(tamanio);
+        Limit limite = Limit.of(tamanio + 1);
+        List<Turno> turnos;
+        if (token == null || token.isBlank()) {
+            turnos = turnoRepository.primerosPorInicio(limite);
+        } else {
+            TokenCursor.PosicionTurno posicion = TokenCursor.aTurno(token);
+            turnos = turnoRepository.siguientesPorInicio(posicion.inicio(), posicion.id(), limite);
+        }
+
+        String siguiente = null;
+        if (turnos.size() > tamanio) {
+            turnos = turnos.subList(0, tamanio);
+            Turno ultimo = turnos.get(tamanio - 1);
+            siguiente = TokenCursor.deTurno(ultimo.getFechaHoraInicio(), ultimo.getId());
+        }
+        return new PaginaCursor<>(turnos, tamanio, siguiente);
+    }
+
     /**
      * Busca un turno por su ID.
+     * Las búsquedas simultáneas del mismo turno comparten una sola carga.
      * @param id ID del turno a buscar
      * @return El turno encontrado
      * @throws NoSuchElementException Si no se encuentra el turno
      */
+    @CargaCompartida
     public Turno findByID(Integer id) {
         return turnoRepository.findById(id)
                 .orElseThrow(() -> new NoSuchElementException("Turno con ID " + id + " no encontrado"));
@@ -52,7 +189,9 @@ public class TurnoService {
     public Turno save(Turno turno) {
         try {
             validarTurno(turno);
-            return turnoRepository.save(turno);
+            Turno guardado = turnoRepository.save(turno);
+            publicadorEventos.publishEvent(CambioEntidad.de(Turno.class, EstadoTurno.de(guardado), Operacion.CREADO));
+            return guardado;
         } catch (EntityNotFoundException e) {
             throw new RuntimeException("Error al guardar el Turno: " + e.getMessage());
         } catch (Exception ex) {
@@ -62,15 +201,21 @@ public class TurnoService {
 
     /**
      * Actualiza un turno existente.
+     * Si los datos traen versión, debe coincidir con la actual.
      * @param turno Turno con los nuevos datos
      * @param id ID del turno a actualizar
      * @return Turno actualizado
-     * @throws RuntimeException Si hay errores de validación o al actualizar
+     * @throws OptimisticLockingFailureException Si el turno cambió desde la versión indicada o durante la actualización
+     * @throws RuntimeException Si hay errores de validación o al actualizar, o si las nuevas fechas
+     *         dejan a un bombero o vehículo en dos turnos superpuestos
      */
     public Turno update(Turno turno, Integer id) {
         try {
             Turno antiguoTurno = turnoRepository.findById(id)
                     .orElseThrow(() -> new NoSuchElementException("Turno no encontrado"));
+            if (turno.getVersion() != null && !turno.getVersion().equals(antiguoTurno.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Turno.class, id);
+            }
 
             // Actualización de campos con validación
             if (turno.getNombre() != null) {
@@ -98,12 +243,21 @@ public class TurnoService {
             // Validar consistencia de fechas después de la actualización
             validarFechas(antiguoTurno.getFechaHoraInicio(), antiguoTurno.getFechaHoraFin());
 
+            // Los equipos del turno no pueden quedar superpuestos con otros turnos de sus miembros
+            conflictoTurnoService.validarCambioTurno(id, antiguoTurno.getFechaHoraInicio(), antiguoTurno.getFechaHoraFin());
+
             // Calcular duracion de turno
             antiguoTurno.setDuracion(calcularDuracion(antiguoTurno));
 
-            return turnoRepository.save(antiguoTurno);
+            // Se sincroniza para que el evento lleve la versión nueva
+            Turno actualizado = turnoRepository.save(antiguoTurno);
+            turnoRepository.flush();
+            publicadorEventos.publishEvent(CambioEntidad.de(Turno.class, EstadoTurno.de(actualizado), Operacion.ACTUALIZADO));
+            return actualizado;
 
-        }catch (IllegalArgumentException e) {
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Error al actualizar el turno: " + e.getMessage());
         } catch (NoSuchElementException  f) {
             throw new NoSuchElementException("Error al actualizar el turno: " + f.getMessage());
@@ -123,6 +277,7 @@ public class TurnoService {
                 throw new NoSuchElementException("Turno no encontrado");
             }
             turnoRepository.deleteById(id);
+            publicadorEventos.publishEvent(CambioEntidad.de(Turno.class, id, Operacion.ELIMINADO));
         } catch (NoSuchElementException e) {
             throw new NoSuchElementException("Error al eliminar Turno: " + e.getMessage());
         }catch (Exception f) {
@@ -176,7 +331,7 @@ public class TurnoService {
         if (turno.getFechaHoraInicio().isAfter(turno.getFechaHoraFin())) {
             throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha de fin");
         }
-        return (int) java.time.Duration.between(turno.getFechaHoraInicio(), turno.getFechaHoraFin()).toHours();
+        return (int) Duration.between(turno.getFechaHoraInicio(), turno.getFechaHoraFin()).toHours();
     }
 
     /**
@@ -192,5 +347,8 @@ public class TurnoService {
         if (fechaHoraInicio.isAfter(fechaHoraFin)) {
             throw new IllegalArgumentException("La fecha de inicio debe ser anterior a la fecha de fin");
         }
+        if (Duration.between(fechaHoraInicio, fechaHoraFin).toHours() > DURACION_MAXIMA_HORAS) {
+            throw new IllegalArgumentException("La duración del turno no puede superar las " + DURACION_MAXIMA_HORAS + " horas");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+-- Esquema base: las ocho tablas de entidades y las tres tablas intermedias de Equipo, tal
+-- como las creaba Hibernate con ddl-auto=update antes de usar migraciones: IDs
+-- AUTO_INCREMENT (GenerationType.IDENTITY) y tablas intermedias sin clave primaria (las
+-- colecciones eran listas).
+-- En una base de datos ya creada por Hibernate esta versión no se ejecuta
+-- (spring.flyway.baseline-on-migrate) y se aplican solo las versiones siguientes, por lo
+-- que este archivo no debe cambiar: los ajustes van en versiones nuevas.
+
+CREATE TABLE ubicacion (
+    id         INTEGER     NOT NULL AUTO_INCREMENT,
+    calle      VARCHAR(50) NOT NULL,
+    numeracion INTEGER     NOT NULL,
+    comuna     VARCHAR(50) NOT NULL,
+    region     VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE compania (
+    id           INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre       VARCHAR(50) NOT NULL,
+    ubicacion_id INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT UKmvrmkuvm8dtrnucb8posh4197 UNIQUE (nombre)
+) ENGINE = InnoDB;
+
+CREATE TABLE tipo_equipo (
+    id          INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre_tipo VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE turno (
+    id                INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre_turno      VARCHAR(50) NOT NULL,
+    fecha_hora_inicio DATETIME(6) NOT NULL,
+    fecha_hora_fin    DATETIME(6) NOT NULL,
+    duracion          INTEGER     NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bombero (
+    id        INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre    VARCHAR(50) NOT NULL,
+    a_paterno VARCHAR(50) NOT NULL,
+    a_materno VARCHAR(50) NOT NULL,
+    telefono  INTEGER     NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT UK679q604gg6ctkpirg5cie7rt1 UNIQUE (telefono)
+) ENGINE = InnoDB;
+
+CREATE TABLE vehiculo (
+    id        INTEGER     NOT NULL AUTO_INCREMENT,
+    marca     VARCHAR(50) NOT NULL,
+    modelo    VARCHAR(50) NOT NULL,
+    patente   VARCHAR(6)  NOT NULL,
+    conductor VARCHAR(50),
+    estado    VARCHAR(50) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE recurso (
+    id           INTEGER      NOT NULL AUTO_INCREMENT,
+    nombre       VARCHAR(100) NOT NULL,
+    tipo_recurso VARCHAR(50)  NOT NULL,
+    cantidad     INTEGER      NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE equipo (
+    id                INTEGER     NOT NULL AUTO_INCREMENT,
+    nombre_equipo     VARCHAR(50) NOT NULL,
+    cantidad_miembros INTEGER,
+    estado            BIT         NOT NULL,
+    nombre_lider      VARCHAR(50),
+    turno_id          INTEGER,
+    compania_id       INTEGER,
+    tipo_equipo_id    INTEGER,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE equipo_personal (
+    equipo_id   INTEGER NOT NULL,
+    personal_id INTEGER NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE equipo_vehiculos (
+    equipo_id    INTEGER NOT NULL,
+    vehiculos_id INTEGER NOT NULL
+) ENGINE = InnoDB;
+
+CREATE TABLE equipo_recursos (
+    equipo_id   INTEGER NOT NULL,
+    rucursos_id INTEGER NOT NULL
+) ENGINE = InnoDB;
+
+ALTER TABLE compania ADD CONSTRAINT FK4o9l8gt79t02uvcrlucaj4j5j FOREIGN KEY (ubicacion_id) REFERENCES ubicacion (id);
+ALTER TABLE equipo ADD CONSTRAINT FK1kstl10equ0lsr3rgw2vuw391 FOREIGN KEY (turno_id) REFERENCES turno (id);
+ALTER TABLE equipo ADD CONSTRAINT FKdfw0xd2usk1aampmadb7mdgra FOREIGN KEY (compania_id) REFERENCES compania (id);
+ALTER TABLE equipo ADD CONSTRAINT FKtdseewpyhkudv1ft4hgrbbwtv FOREIGN KEY (tipo_equipo_id) REFERENCES tipo_equipo (id);
+ALTER TABLE equipo_personal ADD CONSTRAINT FKbgv09sdadl3gipjwwfq2y6f4b FOREIGN KEY (equipo_id) REFERENCES equipo (id);
+ALTER TABLE equipo_personal ADD CONSTRAINT FKo4ue6887f7lb7150s3wmbrxow FOREIGN KEY (personal_id) REFERENCES bombero (id);
+ALTER TABLE equipo_vehiculos ADD CONSTRAINT FKqbu5c2es895wfqlxuvplnpolw FOREIGN KEY (equipo_id) REFERENCES equipo (id);
+ALTER TABLE equipo_vehiculos ADD CONSTRAINT FKo1yw7rws7mihpbpa3ctjogam6 FOREIGN KEY (vehiculos_id) REFERENCES vehiculo (id);
+ALTER TABLE equipo_recursos ADD CONSTRAINT FK8t9h2921ob99bxtonr9xqs84q FOREIGN KEY (equipo_id) REFERENCES equipo (id);
+ALTER TABLE equipo_recursos ADD CONSTRAINT FKkn72ouonlanqgkfd2l8n380sw FOREIGN KEY (rucursos_id) REFERENCES recurso (id);
+
@@ -0,0 +1,24 @@
+-- Generador de IDs por tabla (GenerationType.TABLE) en lugar de AUTO_INCREMENT: permite
+-- reservar bloques de IDs e insertar por lotes. La fila de cada entidad se crea en la
+-- versión 3, que la deja después del mayor ID existente.
+
+CREATE TABLE id_generador (
+    entidad      VARCHAR(255) NOT NULL,
+    siguiente_id BIGINT,
+    PRIMARY KEY (entidad)
+) ENGINE = InnoDB;
+
+-- Los IDs pasan a asignarse siempre desde la aplicación. MySQL no permite cambiar una
+-- columna referenciada por claves foráneas mientras se comprueban.
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE ubicacion MODIFY id INTEGER NOT NULL;
+ALTER TABLE compania MODIFY id INTEGER NOT NULL;
+ALTER TABLE tipo_equipo MODIFY id INTEGER NOT NULL;
+ALTER TABLE turno MODIFY id INTEGER NOT NULL;
+ALTER TABLE bombero MODIFY id INTEGER NOT NULL;
+ALTER TABLE vehiculo MODIFY id INTEGER NOT NULL;
+ALTER TABLE recurso MODIFY id INTEGER NOT NULL;
+ALTER TABLE equipo MODIFY id INTEGER NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,39 @@
+-- Índices de las consultas más frecuentes. Deben coincidir con los declarados en las entidades.
+
+-- Claves primarias de las tablas intermedias, ahora que Equipo las mapea como conjuntos.
+-- Antes eran listas y admitían filas repetidas, que se eliminan primero.
+CREATE TABLE equipo_personal_unico AS SELECT DISTINCT equipo_id, personal_id FROM equipo_personal;
+DELETE FROM equipo_personal;
+INSERT INTO equipo_personal (equipo_id, personal_id) SELECT equipo_id, personal_id FROM equipo_personal_unico;
+DROP TABLE equipo_personal_unico;
+ALTER TABLE equipo_personal ADD PRIMARY KEY (equipo_id, personal_id);
+
+CREATE TABLE equipo_vehiculos_unico AS SELECT DISTINCT equipo_id, vehiculos_id FROM equipo_vehiculos;
+DELETE FROM equipo_vehiculos;
+INSERT INTO equipo_vehiculos (equipo_id, vehiculos_id) SELECT equipo_id, vehiculos_id FROM equipo_vehiculos_unico;
+DROP TABLE equipo_vehiculos_unico;
+ALTER TABLE equipo_vehiculos ADD PRIMARY KEY (equipo_id, vehiculos_id);
+
+CREATE TABLE equipo_recursos_unico AS SELECT DISTINCT equipo_id, rucursos_id FROM equipo_recursos;
+DELETE FROM equipo_recursos;
+INSERT INTO equipo_recursos (equipo_id, rucursos_id) SELECT equipo_id, rucursos_id FROM equipo_recursos_unico;
+DROP TABLE equipo_recursos_unico;
+ALTER TABLE equipo_recursos ADD PRIMARY KEY (equipo_id, rucursos_id);
+
+-- Recorrido por cursor de los turnos en orden de inicio (keyset sobre inicio e ID).
+CREATE INDEX idx_turno_inicio_id ON turno (fecha_hora_inicio, id);
+
+-- Turnos que se solapan con una ventana de tiempo (inicio < fin de la ventana y fin > inicio de la ventana).
+CREATE INDEX idx_turno_ventana ON turno (fecha_hora_inicio, fecha_hora_fin);
+
+-- Equipos por compañía, por turno y por tipo. En MySQL reemplazan a los índices que InnoDB
+-- crea implícitamente para las claves foráneas, que se eliminan solos al existir estos.
+CREATE INDEX idx_equipo_compania ON equipo (compania_id);
+CREATE INDEX idx_equipo_turno ON equipo (turno_id);
+CREATE INDEX idx_equipo_tipo_equipo ON equipo (tipo_equipo_id);
+
+-- Sentido inverso de las tablas intermedias (por ejemplo, en qué equipos está un bombero).
+-- La clave primaria (equipo_id, ...) solo sirve para recorrerlas desde el equipo.
+CREATE INDEX idx_equipo_personal_personal ON equipo_personal (personal_id, equipo_id);
+CREATE INDEX idx_equipo_vehiculos_vehiculo ON equipo_vehiculos (vehiculos_id, equipo_id);
+CREATE INDEX idx_equipo_recursos_recurso ON equipo_recursos (rucursos_id, equipo_id);
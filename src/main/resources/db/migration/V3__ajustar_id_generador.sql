@@ -0,0 +1,38 @@
+-- Ajusta el generador de IDs de cada tabla para que continúe después del mayor ID existente.
+-- Las filas creadas antes del cambio a GenerationType.TABLE conservan sus IDs.
+-- Con el optimizador pooled-lo, siguiente_id es el primer valor del próximo bloque.
+-- Antes se ejecutaba en cada inicio; basta con hacerlo una vez sobre las bases de datos
+-- existentes, porque desde entonces todos los IDs salen del generador. Nunca retrocede un
+-- valor ya reservado.
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'bombero', COALESCE(MAX(id), 0) + 1 FROM bombero
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'compania', COALESCE(MAX(id), 0) + 1 FROM compania
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'equipo', COALESCE(MAX(id), 0) + 1 FROM equipo
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'recurso', COALESCE(MAX(id), 0) + 1 FROM recurso
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'tipo_equipo', COALESCE(MAX(id), 0) + 1 FROM tipo_equipo
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'turno', COALESCE(MAX(id), 0) + 1 FROM turno
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'ubicacion', COALESCE(MAX(id), 0) + 1 FROM ubicacion
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
+
+INSERT INTO id_generador (entidad, siguiente_id)
+SELECT 'vehiculo', COALESCE(MAX(id), 0) + 1 FROM vehiculo
+ON DUPLICATE KEY UPDATE siguiente_id = GREATEST(siguiente_id, VALUES(siguiente_id));
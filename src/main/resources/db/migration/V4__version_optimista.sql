@@ -0,0 +1,7 @@
+-- Columna de versión para el bloqueo optimista de equipos, turnos y compañías.
+-- Hibernate la incrementa en cada actualización y rechaza la escritura si cambió desde
+-- la lectura. Las filas existentes parten en 0.
+
+ALTER TABLE equipo ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE turno ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE compania ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,396 @@
+package com.SAFE_Rescue.API_Turno.perf;
+
+import com.SAFE_Rescue.API_Turno.ApiTurnoApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Generador de carga para la API de turnos.
+ * <p>
+ * Reproduce una mezcla de peticiones a {@code /api-turnos/v1/*}: 70% lecturas, 15% creaciones
+ * de turnos y equipos y 15% asignaciones ({@code asignar-*}). Primero hace un calentamiento
+ * cuyos resultados se descartan y luego mide durante el tiempo indicado. Al terminar informa
+ * por endpoint las peticiones por segundo y las latencias p50, p95, p99 y máxima, en consola
+ * y en un archivo JSON.
+ * </p>
+ * <p>
+ * Si no se indica {@code perf.url}, levanta la aplicación en el mismo proceso con el perfil
+ * {@code perf} (H2 en memoria con datos generados por {@code GeneradorDatos}) en un puerto
+ * libre, de modo que no necesita red ni servicios externos. Los IDs existentes se obtienen
+ * de las exportaciones CSV.
+ * </p>
+ * Propiedades del sistema:
+ * <ul>
+ *     <li>{@code perf.url}: URL base de una aplicación ya levantada (opcional)</li>
+ *     <li>{@code perf.duracion}: segundos de medición (30 por defecto)</li>
+ *     <li>{@code perf.calentamiento}: segundos de calentamiento (5 por defecto)</li>
+ *     <li>{@code perf.hilos}: clientes concurrentes (16 por defecto)</li>
+ *     <li>{@code perf.semilla}: semilla de la mezcla de peticiones (42 por defecto)</li>
+ *     <li>{@code perf.resultados}: archivo JSON de resultados (opcional)</li>
+ *     <li>{@code perf.latencia-sql}: milisegundos de espera agregados a cada sentencia SQL de la
+ *     aplicación levantada en el proceso, para simular una base de datos remota (0 por defecto)</li>
+ *     <li>{@code perf.argumentos}: propiedades adicionales de la aplicación levantada en el proceso,
+ *     como pares {@code propiedad=valor} separados por espacios (opcional)</li>
+ * </ul>
+ */
+public class GeneradorCarga {
+
+    private static final String BASE = "/api-turnos/v1";
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    /**
+     * Inicio de los turnos creados durante la prueba, posterior a los turnos generados.
+     */
+    private static final LocalDateTime INICIO_NUEVOS = LocalDateTime.of(2040, 1, 1, 8, 0);
+
+    private final String url;
+    private final HttpClient cliente;
+    private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final List<Peticion> mezcla;
+    private final AtomicLong turnosCreados = new AtomicLong();
+
+    private List<Integer> turnos;
+    private List<Integer> equipos;
+    private List<Integer> companias;
+    private List<Integer> tiposEquipo;
+    private List<Integer> bomberos;
+
+    /**
+     * Petición de la mezcla: nombre del endpoint (sin IDs, para agrupar los resultados),
+     * peso relativo y forma de construirla.
+     */
+    private record Peticion(String endpoint, int peso, Constructor constructor) {
+    }
+
+    private interface Constructor {
+        HttpRequest.Builder crear(SplittableRandom aleatorio);
+    }
+
+    public GeneradorCarga(String url) {
+        this.url = url;
+        this.cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.mezcla = List.of(
+                // Lecturas (70%)
+                new Peticion("GET /equipos", 15, r -> get("/equipos?page=" + r.nextInt(paginas(equipos)) + "&size=20&totales=false")),
+                new Peticion("GET /equipos/{id}", 20, r -> get("/equipos/" + elegir(r, equipos))),
+                new Peticion("GET /equipos/resumen", 8, r -> get("/equipos/resumen?page=" + r.nextInt(paginas(equipos)) + "&size=20")),
+                new Peticion("GET /turnos", 7, r -> get("/turnos?page=" + r.nextInt(paginas(turnos)) + "&size=20&totales=false")),
+                new Peticion("GET /turnos/{id}", 10, r -> get("/turnos/" + elegir(r, turnos))),
+                new Peticion("GET /companias/{id}", 5, r -> get("/companias/" + elegir(r, companias))),
+                new Peticion("GET /equipos/conflictos", 5, r -> get("/equipos/conflictos?turnoId=" + elegir(r, turnos)
+                        + "&bomberos=" + unir(bomberos(r, 3)))),
+                // Creaciones (15%)
+                new Peticion("POST /turnos", 7, r -> post("/turnos", nuevoTurno())),
+                new Peticion("POST /equipos", 8, r -> post("/equipos", nuevoEquipo(r))),
+                // Asignaciones (15%)
+                new Peticion("POST /equipos/{id}/asignar-turno", 5, r -> post("/equipos/" + elegir(r, equipos)
+                        + "/asignar-turno/" + elegir(r, turnos), null)),
+                new Peticion("POST /equipos/{id}/asignar-personal", 5, r -> post("/equipos/" + elegir(r, equipos)
+                        + "/asignar-personal/" + unir(bomberos(r, 3)), null)),
+                new Peticion("POST /equipos/{id}/asignar-compania", 5, r -> post("/equipos/" + elegir(r, equipos)
+                        + "/asignar-compania/" + elegir(r, companias), null)));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int duracion = Integer.getInteger("perf.duracion", 30);
+        int calentamiento = Integer.getInteger("perf.calentamiento", 5);
+        int hilos = Integer.getInteger("perf.hilos", 16);
+        long semilla = Long.getLong("perf.semilla", 42L);
+        String resultados = System.getProperty("perf.resultados", "");
+        String url = System.getProperty("perf.url", "");
+        long latenciaSql = Long.getLong("perf.latencia-sql", 0L);
+        String argumentos = System.getProperty("perf.argumentos", "");
+
+        ConfigurableApplicationContext contexto = null;
+        Map<String, Object> entorno = new LinkedHashMap<>();
+        if (url.isBlank()) {
+            System.out.println("Levantando la aplicación con el perfil 'perf'...");
+            List<String> propiedades = new ArrayList<>(List.of("--spring.profiles.active=perf", "--server.port=0"));
+            for (String argumento : argumentos.trim().split("\\s+")) {
+                if (!argumento.isEmpty()) {
+                    propiedades.add("--" + argumento);
+                }
+            }
+            if (latenciaSql > 0) {
+                propiedades.add("--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + LatenciaSql.class.getName());
+            }
+            contexto = new SpringApplicationBuilder(ApiTurnoApplication.class).run(propiedades.toArray(String[]::new));
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            boolean hilosVirtuales = contexto.getEnvironment()
+                    .getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+            System.out.printf("Java %s, hilos virtuales: %s, latencia SQL: %d ms%n",
+                    Runtime.version().feature(), hilosVirtuales ? "sí" : "no", latenciaSql);
+            entorno.put("java", Runtime.version().feature());
+            entorno.put("hilosVirtuales", hilosVirtuales);
+            entorno.put("latenciaSql", latenciaSql);
+        }
+        try {
+            GeneradorCarga generador = new GeneradorCarga(url);
+            generador.cargarIds();
+            System.out.printf("Calentamiento: %d s con %d hilos%n", calentamiento, hilos);
+            generador.ejecutar(hilos, calentamiento, semilla);
+            System.out.printf("Medición: %d s con %d hilos%n", duracion, hilos);
+            Map<String, Registro> registros = generador.ejecutar(hilos, duracion, semilla + hilos);
+            generador.informar(registros, duracion, hilos, semilla, entorno, resultados);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+        }
+    }
+
+    // IDS EXISTENTES
+
+    /**
+     * Obtiene los IDs de turnos, equipos, compañías, tipos de equipo y bomberos existentes
+     * a partir de las exportaciones CSV.
+     */
+    void cargarIds() throws IOException, InterruptedException {
+        turnos = new ArrayList<>(columna(leerCsv("/exportaciones/turnos?formato=csv"), "id"));
+        List<Map<String, String>> filas = leerCsv("/exportaciones/equipos?formato=csv");
+        equipos = new ArrayList<>(columna(filas, "id"));
+        companias = new ArrayList<>(columna(filas, "companiaId"));
+        tiposEquipo = new ArrayList<>(columna(filas, "tipoEquipoId"));
+        Set<Integer> personal = new LinkedHashSet<>();
+        for (Map<String, String> fila : filas) {
+            for (String id : fila.getOrDefault("personal", "").split("\\|")) {
+                if (!id.isBlank()) {
+                    personal.add(Integer.valueOf(id.trim()));
+                }
+            }
+        }
+        bomberos = new ArrayList<>(personal);
+        if (turnos.isEmpty() || equipos.isEmpty() || companias.isEmpty() || tiposEquipo.isEmpty() || bomberos.isEmpty()) {
+            throw new IllegalStateException("La aplicación no tiene datos suficientes para la prueba de carga");
+        }
+        System.out.printf("Datos: %d turnos, %d equipos, %d compañías, %d bomberos%n",
+                turnos.size(), equipos.size(), companias.size(), bomberos.size());
+    }
+
+    private List<Map<String, String>> leerCsv(String ruta) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = cliente.send(get(ruta).build(), HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("GET " + ruta + " respondió " + respuesta.statusCode());
+        }
+        String[] lineas = respuesta.body().split("\r?\n");
+        String[] encabezado = lineas[0].split(",", -1);
+        List<Map<String, String>> filas = new ArrayList<>();
+        for (int i = 1; i < lineas.length; i++) {
+            if (lineas[i].isBlank()) {
+                continue;
+            }
+            String[] valores = lineas[i].split(",", -1);
+            Map<String, String> fila = new LinkedHashMap<>();
+            for (int j = 0; j < encabezado.length && j < valores.length; j++) {
+                fila.put(encabezado[j], valores[j].replace("\"", ""));
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    private static Set<Integer> columna(List<Map<String, String>> filas, String nombre) {
+        return filas.stream()
+                .map(fila -> fila.get(nombre))
+                .filter(valor -> valor != null && !valor.isBlank())
+                .map(Integer::valueOf)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // EJECUCIÓN
+
+    /**
+     * Ejecuta la mezcla de peticiones con la cantidad de hilos indicada durante el tiempo indicado.
+     * Cada hilo usa su propio generador aleatorio, derivado de la semilla, y sus propios registros.
+     * @return Registros combinados de todos los hilos, por endpoint
+     */
+    Map<String, Registro> ejecutar(int hilos, int segundos, long semilla) throws Exception {
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        int pesoTotal = mezcla.stream().mapToInt(Peticion::peso).sum();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Map<String, Registro>>> tareas = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                SplittableRandom aleatorio = new SplittableRandom(semilla + i);
+                tareas.add(ejecutor.submit(() -> {
+                    Map<String, Registro> propios = new TreeMap<>();
+                    while (System.nanoTime() < fin) {
+                        Peticion peticion = sortear(aleatorio, pesoTotal);
+                        HttpRequest solicitud = peticion.constructor().crear(aleatorio).build();
+                        long inicio = System.nanoTime();
+                        int estado;
+                        try {
+                            estado = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            estado = 0;
+                        }
+                        propios.computeIfAbsent(peticion.endpoint(), e -> new Registro())
+                                .registrar(System.nanoTime() - inicio, estado);
+                    }
+                    return propios;
+                }));
+            }
+            Map<String, Registro> registros = new TreeMap<>();
+            for (Future<Map<String, Registro>> tarea : tareas) {
+                tarea.get().forEach((endpoint, registro) ->
+                        registros.computeIfAbsent(endpoint, e -> new Registro()).sumar(registro));
+            }
+            return registros;
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private Peticion sortear(SplittableRandom aleatorio, int pesoTotal) {
+        int valor = aleatorio.nextInt(pesoTotal);
+        for (Peticion peticion : mezcla) {
+            valor -= peticion.peso();
+            if (valor < 0) {
+                return peticion;
+            }
+        }
+        return mezcla.get(mezcla.size() - 1);
+    }
+
+    // INFORME
+
+    /**
+     * Imprime una tabla con los resultados por endpoint y el total, y los escribe en JSON
+     * si se indicó un archivo, junto con la configuración de la aplicación levantada en el proceso.
+     */
+    void informar(Map<String, Registro> registros, int segundos, int hilos, long semilla,
+                  Map<String, Object> entorno, String archivo) throws IOException {
+        Registro total = new Registro();
+        registros.values().forEach(total::sumar);
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        registros.forEach((endpoint, registro) -> endpoints.put(endpoint, registro.resumen(segundos)));
+        Map<String, Object> resumenTotal = total.resumen(segundos);
+
+        System.out.printf("%n%-38s %9s %7s %7s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Peticiones", "4xx", "Errores", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Máx ms");
+        endpoints.forEach((endpoint, resumen) -> imprimir(endpoint, (Map<?, ?>) resumen));
+        imprimir("TOTAL", resumenTotal);
+
+        if (!archivo.isBlank()) {
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("url", url);
+            resultado.put("duracionSegundos", segundos);
+            resultado.put("hilos", hilos);
+            resultado.put("semilla", semilla);
+            resultado.putAll(entorno);
+            resultado.put("total", resumenTotal);
+            resultado.put("endpoints", endpoints);
+            Path destino = Path.of(archivo);
+            if (destino.getParent() != null) {
+                Files.createDirectories(destino.getParent());
+            }
+            mapper.writeValue(destino.toFile(), resultado);
+            System.out.println("\nResultados escritos en " + destino.toAbsolutePath());
+        }
+    }
+
+    private static void imprimir(String endpoint, Map<?, ?> resumen) {
+        System.out.printf(Locale.ROOT, "%-38s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint,
+                resumen.get("peticiones"), resumen.get("rechazadas"), resumen.get("errores"), resumen.get("porSegundo"),
+                resumen.get("p50"), resumen.get("p95"), resumen.get("p99"), resumen.get("max"));
+    }
+
+    // CONSTRUCCIÓN DE PETICIONES
+
+    private HttpRequest.Builder get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(url + BASE + ruta)).timeout(TIEMPO_MAXIMO).GET();
+    }
+
+    private HttpRequest.Builder post(String ruta, Object cuerpo) {
+        HttpRequest.Builder solicitud = HttpRequest.newBuilder(URI.create(url + BASE + ruta)).timeout(TIEMPO_MAXIMO);
+        if (cuerpo == null) {
+            return solicitud.POST(HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return solicitud.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(cuerpo)));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Turno de 12 horas en un bloque que ningún otro turno usa.
+     */
+    private Map<String, Object> nuevoTurno() {
+        long numero = turnosCreados.getAndIncrement();
+        LocalDateTime inicio = INICIO_NUEVOS.plusHours(12 * numero);
+        Map<String, Object> turno = new LinkedHashMap<>();
+        turno.put("nombre", "Carga " + numero);
+        turno.put("fechaHoraInicio", inicio.toString());
+        turno.put("fechaHoraFin", inicio.plusHours(12).toString());
+        turno.put("duracion", 12);
+        return turno;
+    }
+
+    /**
+     * Equipo con turno, compañía y tipo existentes indicados por ID y tres bomberos.
+     */
+    private Map<String, Object> nuevoEquipo(SplittableRandom aleatorio) {
+        Map<String, Object> equipo = new LinkedHashMap<>();
+        equipo.put("nombre", "Carga " + aleatorio.nextInt(1_000_000));
+        equipo.put("cantidadMiembros", 3);
+        equipo.put("estado", true);
+        equipo.put("lider", "Líder");
+        equipo.put("turno", Map.of("id", elegir(aleatorio, turnos)));
+        equipo.put("compania", Map.of("id", elegir(aleatorio, companias)));
+        equipo.put("tipoEquipo", Map.of("id", elegir(aleatorio, tiposEquipo)));
+        equipo.put("personal", bomberos(aleatorio, 3).stream().map(id -> Map.of("id", id)).toList());
+        equipo.put("vehiculos", List.of());
+        equipo.put("recursos", List.of());
+        return equipo;
+    }
+
+    private List<Integer> bomberos(SplittableRandom aleatorio, int cantidad) {
+        Set<Integer> elegidos = new LinkedHashSet<>();
+        while (elegidos.size() < Math.min(cantidad, bomberos.size())) {
+            elegidos.add(elegir(aleatorio, bomberos));
+        }
+        return new ArrayList<>(elegidos);
+    }
+
+    private static Integer elegir(SplittableRandom aleatorio, List<Integer> ids) {
+        return ids.get(aleatorio.nextInt(ids.size()));
+    }
+
+    private static int paginas(List<Integer> ids) {
+        return Math.max(1, ids.size() / 20);
+    }
+
+    private static String unir(List<Integer> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
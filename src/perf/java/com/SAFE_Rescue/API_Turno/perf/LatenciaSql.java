@@ -0,0 +1,27 @@
+package com.SAFE_Rescue.API_Turno.perf;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Agrega una espera fija antes de cada sentencia SQL, para que la base de datos en memoria
+ * se comporte como una remota y las peticiones pasen la mayor parte del tiempo bloqueadas.
+ * <p>
+ * Lo registra {@link GeneradorCarga} cuando {@code perf.latencia-sql} es mayor que cero.
+ * </p>
+ */
+public class LatenciaSql implements StatementInspector {
+
+    private final long milisegundos = Long.getLong("perf.latencia-sql", 0L);
+
+    @Override
+    public String inspect(String sql) {
+        if (milisegundos > 0) {
+            try {
+                Thread.sleep(milisegundos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
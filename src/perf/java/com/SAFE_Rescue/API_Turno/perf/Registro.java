@@ -0,0 +1,90 @@
+package com.SAFE_Rescue.API_Turno.perf;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencias y resultados de las peticiones a un endpoint.
+ * <p>
+ * Cada hilo del generador tiene sus propios registros, de modo que registrar una petición
+ * no necesita sincronización; al terminar se combinan con {@link #sumar(Registro)}.
+ * </p>
+ */
+class Registro {
+
+    private long[] latencias = new long[1024];
+    private int cantidad;
+    private int rechazadas;
+    private int errores;
+
+    /**
+     * Registra una petición terminada.
+     * @param nanos Latencia en nanosegundos
+     * @param estado Código HTTP de la respuesta (0 si la petición falló sin respuesta)
+     */
+    void registrar(long nanos, int estado) {
+        if (cantidad == latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad * 2);
+        }
+        latencias[cantidad++] = nanos;
+        if (estado == 0 || estado >= 500) {
+            errores++;
+        } else if (estado >= 400) {
+            rechazadas++;
+        }
+    }
+
+    void sumar(Registro otro) {
+        if (cantidad + otro.cantidad > latencias.length) {
+            latencias = Arrays.copyOf(latencias, cantidad + otro.cantidad);
+        }
+        System.arraycopy(otro.latencias, 0, latencias, cantidad, otro.cantidad);
+        cantidad += otro.cantidad;
+        rechazadas += otro.rechazadas;
+        errores += otro.errores;
+    }
+
+    int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Resume el registro: cantidad, respuestas 4xx, errores (5xx o sin respuesta),
+     * peticiones por segundo y percentiles de latencia en milisegundos.
+     * @param segundos Duración de la medición
+     */
+    Map<String, Object> resumen(double segundos) {
+        long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+        Arrays.sort(ordenadas);
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("peticiones", cantidad);
+        resumen.put("rechazadas", rechazadas);
+        resumen.put("errores", errores);
+        resumen.put("porSegundo", redondear(cantidad / segundos));
+        resumen.put("p50", milisegundos(percentil(ordenadas, 50)));
+        resumen.put("p95", milisegundos(percentil(ordenadas, 95)));
+        resumen.put("p99", milisegundos(percentil(ordenadas, 99)));
+        resumen.put("max", milisegundos(ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1]));
+        return resumen;
+    }
+
+    /**
+     * Percentil por rango más cercano sobre latencias ordenadas.
+     */
+    static long percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(percentil / 100.0 * ordenadas.length);
+        return ordenadas[Math.max(0, rango - 1)];
+    }
+
+    private static double milisegundos(long nanos) {
+        return redondear(nanos / 1_000_000.0);
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 100) / 100.0;
+    }
+}
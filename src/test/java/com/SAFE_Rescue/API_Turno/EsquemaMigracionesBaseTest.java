@@ -0,0 +1,131 @@
+package com.SAFE_Rescue.API_Turno;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.Bombero;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.BomberoRepository;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las migraciones de Flyway sobre una base de datos creada antes por Hibernate.
+ * <p>
+ * Antes de migrar se crea el esquema base (la versión 1, con IDs AUTO_INCREMENT y sin
+ * generador de IDs) fuera de Flyway y se insertan filas con IDs asignados por la base de
+ * datos, como en una instalación existente. Flyway la toma como versión 1
+ * ({@code baseline-on-migrate}) y aplica el resto; luego el contexto se inicia con
+ * {@code ddl-auto=validate}.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migraciones_base;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Import({CacheConfig.class, EsquemaMigracionesBaseTest.EsquemaBase.class})
+public class EsquemaMigracionesBaseTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Autowired private Flyway flyway;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+
+    /**
+     * Crea el esquema base con datos antes de que Flyway migre.
+     */
+    @TestConfiguration
+    static class EsquemaBase {
+
+        @Bean
+        FlywayMigrationStrategy migrarDesdeEsquemaBase() {
+            return flyway -> {
+                new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__esquema_inicial.sql"))
+                        .execute(flyway.getConfiguration().getDataSource());
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                for (int i = 0; i < 3; i++) {
+                    jdbc.update("insert into turno (nombre_turno, fecha_hora_inicio, fecha_hora_fin, duracion) values (?, ?, ?, ?)",
+                            "Turno " + i, BASE.plusHours(12L * i), BASE.plusHours(12L * (i + 1)), 12);
+                }
+                jdbc.update("insert into bombero (id, nombre, a_paterno, a_materno, telefono) values (40, 'Ana', 'Soto', 'Rojas', 912345678)");
+                jdbc.update("insert into equipo (nombre_equipo, estado, turno_id) values ('Equipo A', true, 3)");
+                jdbc.update("insert into equipo_personal (equipo_id, personal_id) values (1, 40), (1, 40)");
+                flyway.migrate();
+            };
+        }
+    }
+
+    /**
+     * Verifica que la base existente se tomó como versión 1 y recibió las demás migraciones.
+     */
+    @Test
+    public void migracionesAplicadasTest() {
+        // Act
+        MigrationInfo[] aplicadas = flyway.info().applied();
+
+        // Assert
+        assertEquals(List.of("1", "2", "2.1", "3", "4"),
+                Arrays.stream(aplicadas).map(m -> m.getVersion().getVersion()).toList());
+        assertTrue(aplicadas[0].getType().isBaseline());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    /**
+     * Verifica que el generador de IDs continúa después del mayor ID existente de cada tabla.
+     */
+    @Test
+    public void generadorTest_ContinuaDespuesDelMayorId() {
+        // Act
+        Turno turno = turnoRepository.save(new Turno(null, "Noche", BASE.plusHours(36), BASE.plusHours(48), 12));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Luis", "Pérez", "Muñoz", 923456789));
+
+        // Assert: los turnos existentes llegan al ID 3 y el bombero existente tiene el ID 40
+        assertTrue(turno.getId() > 3, turno.getId().toString());
+        assertTrue(bombero.getId() > 40, bombero.getId().toString());
+    }
+
+    /**
+     * Verifica que las columnas de ID ya no son AUTO_INCREMENT y que las filas existentes
+     * se conservan, sin las repetidas de las tablas intermedias.
+     */
+    @Test
+    public void esquemaTest_SinAutoIncrementoNiFilasRepetidas() {
+        // Act
+        Integer turnos = jdbcTemplate.queryForObject("select count(*) from turno", Integer.class);
+        Integer asignaciones = jdbcTemplate.queryForObject("select count(*) from equipo_personal", Integer.class);
+
+        // Assert
+        assertEquals(3, turnos);
+        assertEquals(1, asignaciones);
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "insert into turno (nombre_turno, fecha_hora_inicio, fecha_hora_fin, duracion) values ('Sin ID', ?, ?, 12)",
+                BASE, BASE.plusHours(12)));
+    }
+}
@@ -0,0 +1,71 @@
+package com.SAFE_Rescue.API_Turno;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las migraciones de Flyway contra una base de datos H2 vacía en modo MySQL.
+ * <p>
+ * El contexto se inicia con {@code ddl-auto=validate}, igual que en producción, por lo que
+ * solo arranca si el esquema de las migraciones coincide con el mapeo de las entidades.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migraciones;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@Import(CacheConfig.class)
+public class EsquemaMigracionesTest {
+
+    @Autowired private Flyway flyway;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica que se aplicaron todas las migraciones, en orden y sin pendientes.
+     */
+    @Test
+    public void migracionesAplicadasTest() {
+        // Act
+        MigrationInfo[] aplicadas = flyway.info().applied();
+
+        // Assert
+        assertEquals(List.of("1", "2", "2.1", "3", "4"),
+                Arrays.stream(aplicadas).map(m -> m.getVersion().getVersion()).toList());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    /**
+     * Verifica que existen los índices de las consultas frecuentes y las filas del generador de IDs.
+     */
+    @Test
+    public void indicesYGeneradorTest() {
+        // Act
+        List<String> indices = jdbcTemplate.queryForList(
+                "select index_name from information_schema.indexes where table_schema = 'public'", String.class);
+        Integer generadores = jdbcTemplate.queryForObject("select count(*) from id_generador", Integer.class);
+
+        // Assert
+        assertTrue(indices.containsAll(List.of("idx_turno_inicio_id", "idx_turno_ventana", "idx_equipo_compania",
+                "idx_equipo_turno", "idx_equipo_tipo_equipo", "idx_equipo_personal_personal",
+                "idx_equipo_vehiculos_vehiculo", "idx_equipo_recursos_recurso")), indices.toString());
+        assertEquals(8, generadores);
+    }
+}
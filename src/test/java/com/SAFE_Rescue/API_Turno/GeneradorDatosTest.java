@@ -0,0 +1,156 @@
+package com.SAFE_Rescue.API_Turno;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.EquipoRepository;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.service.ConflictoTurnoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de GeneradorDatos contra H2 en modo MySQL.
+ * <p>
+ * Se usan lotes pequeños para que cada tabla se inserte en varios lotes paralelos, y se
+ * ejecutan sin la transacción de prueba porque cada lote se confirma en su propio hilo.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"generador.tamanio-lote=4", "generador.hilos=4"})
+@Import({GeneradorDatos.class, ConflictoTurnoService.class, CacheConfig.class})
+public class GeneradorDatosTest {
+
+    /**
+     * Dos equipos por turno y 10 bomberos por compañía: alcanza para que los equipos de un
+     * mismo turno no compartan personal.
+     */
+    private static final GeneradorDatos.Escala ESCALA = new GeneradorDatos.Escala(3, 2, 30, 6, 5, 6, 12, 3);
+
+    @Autowired private GeneradorDatos generadorDatos;
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private EquipoRepository equipoRepository;
+
+    @AfterEach
+    public void tearDown() {
+        for (String tabla : List.of("equipo_personal", "equipo_vehiculos", "equipo_recursos", "equipo", "turno",
+                "compania", "ubicacion", "tipo_equipo", "bombero", "vehiculo", "recurso")) {
+            jdbcTemplate.update("delete from " + tabla);
+        }
+        conflictoTurnoService.cargar();
+    }
+
+    /**
+     * Verifica que se genera la cantidad indicada de cada entidad y de sus relaciones.
+     */
+    @Test
+    public void generarTest() {
+        // Act
+        generadorDatos.generar(ESCALA, 7);
+
+        // Assert
+        assertEquals(3, contar("ubicacion"));
+        assertEquals(3, contar("compania"));
+        assertEquals(2, contar("tipo_equipo"));
+        assertEquals(30, contar("bombero"));
+        assertEquals(6, contar("vehiculo"));
+        assertEquals(5, contar("recurso"));
+        assertEquals(6, contar("turno"));
+        assertEquals(12, contar("equipo"));
+        assertEquals(12 * 3, contar("equipo_personal"));
+        assertEquals(12, contar("equipo_vehiculos"));
+        assertTrue(contar("equipo_recursos") >= 12);
+    }
+
+    /**
+     * Verifica que los IDs reservados no chocan con los que Hibernate asigna después.
+     */
+    @Test
+    public void generarTest_IdsReservados() {
+        // Arrange
+        generadorDatos.generar(ESCALA, 7);
+        Integer mayor = jdbcTemplate.queryForObject("select max(id) from turno", Integer.class);
+
+        // Act
+        LocalDateTime inicio = LocalDateTime.of(2030, 1, 1, 8, 0);
+        Turno guardado = turnoRepository.save(new Turno(null, "Nuevo", inicio, inicio.plusHours(8), 8));
+
+        // Assert
+        assertTrue(guardado.getId() > mayor);
+        assertEquals(7, contar("turno"));
+    }
+
+    /**
+     * Verifica que ningún bombero ni vehículo queda asignado a dos equipos con turnos superpuestos.
+     */
+    @Test
+    public void generarTest_SinConflictos() {
+        // Arrange
+        generadorDatos.generar(ESCALA, 7);
+        conflictoTurnoService.cargar();
+        Map<Integer, Set<Integer>> personal = agrupar(equipoRepository.idsPersonal(ids()));
+        Map<Integer, Set<Integer>> vehiculos = agrupar(equipoRepository.idsVehiculos(ids()));
+
+        // Act & Assert
+        for (Object[] fila : equipoRepository.idsTurno()) {
+            Integer equipoId = (Integer) fila[0];
+            assertEquals(List.of(), conflictoTurnoService.buscarConflictos(equipoId, (Integer) fila[1],
+                    personal.get(equipoId), vehiculos.get(equipoId)), "Equipo " + equipoId);
+        }
+    }
+
+    /**
+     * Verifica que dos generaciones con la misma semilla producen los mismos valores.
+     */
+    @Test
+    public void generarTest_Determinista() {
+        // Act
+        generadorDatos.generar(ESCALA, 7);
+        generadorDatos.generar(ESCALA, 7);
+
+        // Assert
+        List<String> bomberos = jdbcTemplate.queryForList(
+                "select concat(nombre, ' ', a_paterno, ' ', a_materno) from bombero order by id", String.class);
+        assertEquals(bomberos.subList(0, 30), bomberos.subList(30, 60));
+        List<String> patentes = jdbcTemplate.queryForList("select patente from vehiculo order by id", String.class);
+        assertEquals(patentes.subList(0, 6), patentes.subList(6, 12));
+    }
+
+    private int contar(String tabla) {
+        return jdbcTemplate.queryForObject("select count(*) from " + tabla, Integer.class);
+    }
+
+    private List<Integer> ids() {
+        return jdbcTemplate.queryForList("select id from equipo", Integer.class);
+    }
+
+    private static Map<Integer, Set<Integer>> agrupar(List<Object[]> pares) {
+        Map<Integer, Set<Integer>> porEquipo = new HashMap<>();
+        for (Object[] par : pares) {
+            porEquipo.computeIfAbsent((Integer) par[0], id -> new HashSet<>()).add((Integer) par[1]);
+        }
+        return porEquipo;
+    }
+}
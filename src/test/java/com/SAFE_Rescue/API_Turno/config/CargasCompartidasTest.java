@@ -0,0 +1,197 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.service.CargaCompartida;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las cargas compartidas entre búsquedas simultáneas.
+ * <p>
+ * Usan una búsqueda que se detiene hasta que la prueba la libera, para que las demás
+ * llamadas lleguen mientras la primera sigue cargando.
+ * </p>
+ */
+@SpringJUnitConfig(CargasCompartidasTest.Configuracion.class)
+@TestPropertySource(properties = "cargas-compartidas.espera=1s")
+public class CargasCompartidasTest {
+
+    private static final int LLAMADAS = 8;
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @Import(CargasCompartidas.class)
+    static class Configuracion {
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        Control control() {
+            return new Control();
+        }
+
+        @Bean
+        BusquedaLenta busquedaLenta(Control control) {
+            return new BusquedaLenta(control);
+        }
+    }
+
+    /**
+     * Estado de la búsqueda, fuera del proxy: cargas hechas y cerrojos de inicio y liberación.
+     */
+    static class Control {
+        final AtomicInteger cargas = new AtomicInteger();
+        volatile CountDownLatch iniciada;
+        volatile CountDownLatch liberada;
+
+        void reiniciar() {
+            cargas.set(0);
+            iniciada = new CountDownLatch(1);
+            liberada = new CountDownLatch(1);
+        }
+    }
+
+    /**
+     * Búsqueda de turnos que cuenta sus cargas y espera a ser liberada.
+     */
+    static class BusquedaLenta {
+        private final Control control;
+
+        BusquedaLenta(Control control) {
+            this.control = control;
+        }
+
+        @CargaCompartida
+        public Turno findByID(Integer id) throws InterruptedException {
+            control.cargas.incrementAndGet();
+            control.iniciada.countDown();
+            control.liberada.await();
+            if (id < 0) {
+                throw new NoSuchElementException("Turno con ID " + id + " no encontrado");
+            }
+            return new Turno(id, "Mañana", null, null, 8);
+        }
+    }
+
+    @Autowired private BusquedaLenta busqueda;
+    @Autowired private Control control;
+    @Autowired private MeterRegistry registro;
+
+    private final ExecutorService hilos = Executors.newFixedThreadPool(LLAMADAS);
+
+    @AfterEach
+    public void tearDown() {
+        hilos.shutdownNow();
+        registro.clear();
+    }
+
+    /**
+     * Verifica que las búsquedas simultáneas del mismo ID comparten una sola carga y el
+     * mismo resultado, y que se cuentan como compartidas.
+     */
+    @Test
+    public void compartirTest() throws Exception {
+        // Arrange
+        control.reiniciar();
+
+        // Act
+        List<Future<Turno>> resultados = lanzar(7, LLAMADAS, 200);
+
+        // Assert
+        Turno primero = resultados.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<Turno> resultado : resultados) {
+            assertSame(primero, resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, control.cargas.get());
+        assertEquals(1, contador("propia"));
+        assertEquals(LLAMADAS - 1, contador("compartida"));
+    }
+
+    /**
+     * Verifica que la excepción de la carga en curso llega a todas las llamadas que la esperaban.
+     */
+    @Test
+    public void excepcionCompartidaTest() throws Exception {
+        // Arrange
+        control.reiniciar();
+
+        // Act
+        List<Future<Turno>> resultados = lanzar(-1, LLAMADAS, 200);
+
+        // Assert
+        for (Future<Turno> resultado : resultados) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(NoSuchElementException.class, error.getCause());
+        }
+        assertEquals(1, control.cargas.get());
+    }
+
+    /**
+     * Verifica que, si la carga en curso supera la espera máxima, la llamada que esperaba
+     * carga por su cuenta.
+     */
+    @Test
+    public void esperaAgotadaTest() throws Exception {
+        // Arrange
+        control.reiniciar();
+
+        // Act
+        List<Future<Turno>> resultados = lanzar(7, 2, 1500);
+
+        // Assert
+        assertEquals(7, resultados.get(1).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2, control.cargas.get());
+        assertEquals(1, contador("espera_agotada"));
+    }
+
+    /**
+     * Inicia una búsqueda, espera a que esté cargando, lanza el resto y libera la carga
+     * después del tiempo indicado.
+     */
+    private List<Future<Turno>> lanzar(int id, int llamadas, long liberarTrasMs) throws InterruptedException {
+        List<Future<Turno>> resultados = new ArrayList<>();
+        resultados.add(hilos.submit(() -> busqueda.findByID(id)));
+        assertTrue(control.iniciada.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < llamadas; i++) {
+            resultados.add(hilos.submit(() -> busqueda.findByID(id)));
+        }
+        Thread.sleep(liberarTrasMs);
+        control.liberada.countDown();
+        return resultados;
+    }
+
+    private double contador(String resultado) {
+        return registro.counter(CargasCompartidas.METRICA, "entidad", "Turno", "resultado", resultado).count();
+    }
+}
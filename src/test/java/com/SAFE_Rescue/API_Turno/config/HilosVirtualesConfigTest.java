@@ -0,0 +1,61 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del límite de peticiones simultáneas que se usa con hilos virtuales.
+ */
+public class HilosVirtualesConfigTest {
+
+    /**
+     * Verifica que, sin permisos libres, una petición recibe 503 con {@code Retry-After}
+     * y que el permiso se devuelve al terminar la petición en curso.
+     */
+    @Test
+    public void rechazarSinPermisosTest() throws Exception {
+        // Arrange
+        HilosVirtualesConfig.LimitePeticiones limite =
+                new HilosVirtualesConfig.LimitePeticiones(1, Duration.ofMillis(10));
+        MockHttpServletResponse rechazada = new MockHttpServletResponse();
+
+        // Act: la segunda petición llega mientras la primera ocupa el único permiso
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        limite.doFilter(new MockHttpServletRequest("GET", "/api-turnos/v1/turnos"), primera,
+                (peticion, respuesta) -> limite.doFilter(
+                        new MockHttpServletRequest("GET", "/api-turnos/v1/equipos"), rechazada, (p, r) -> { }));
+        MockHttpServletResponse siguiente = new MockHttpServletResponse();
+        limite.doFilter(new MockHttpServletRequest("GET", "/api-turnos/v1/turnos"), siguiente, (p, r) -> { });
+
+        // Assert
+        assertEquals(200, primera.getStatus());
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("1", rechazada.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, siguiente.getStatus());
+    }
+
+    /**
+     * Verifica que las peticiones de Actuator no consumen permisos.
+     */
+    @Test
+    public void actuatorSinLimiteTest() throws Exception {
+        // Arrange
+        HilosVirtualesConfig.LimitePeticiones limite =
+                new HilosVirtualesConfig.LimitePeticiones(1, Duration.ofMillis(10));
+        MockHttpServletResponse salud = new MockHttpServletResponse();
+
+        // Act
+        limite.doFilter(new MockHttpServletRequest("GET", "/api-turnos/v1/turnos"), new MockHttpServletResponse(),
+                (peticion, respuesta) -> limite.doFilter(
+                        new MockHttpServletRequest("GET", "/actuator/health"), salud, (p, r) -> { }));
+
+        // Assert
+        assertEquals(200, salud.getStatus());
+    }
+}
@@ -0,0 +1,76 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.service.ConflictoTurnoService;
+import com.SAFE_Rescue.API_Turno.service.TurnoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la medición de las llamadas a servicios.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({MetricasServicios.class, TurnoService.class, ConflictoTurnoService.class, CacheConfig.class,
+        MetricasServiciosTest.Registro.class})
+public class MetricasServiciosTest {
+
+    @TestConfiguration
+    static class Registro {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired private TurnoService turnoService;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private MeterRegistry registro;
+
+    /**
+     * Verifica que cada llamada se cuenta con el servicio, el método y el resultado,
+     * sin etiquetas que dependan de los argumentos.
+     */
+    @Test
+    public void medirTest() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        Turno turno = turnoRepository.save(new Turno(null, "Mañana", inicio, inicio.plusHours(8), 8));
+
+        // Act
+        turnoService.findByID(turno.getId());
+        turnoService.findByID(turno.getId());
+        assertThrows(NoSuchElementException.class, () -> turnoService.findByID(-1));
+
+        // Assert
+        Timer exitos = registro.get(MetricasServicios.METRICA)
+                .tags("servicio", "TurnoService", "metodo", "findByID", "resultado", "exito", "excepcion", "ninguna")
+                .timer();
+        Timer errores = registro.get(MetricasServicios.METRICA)
+                .tags("servicio", "TurnoService", "metodo", "findByID", "resultado", "error")
+                .timer();
+        assertEquals(2, exitos.count());
+        assertEquals(1, errores.count());
+        assertEquals("NoSuchElementException", errores.getId().getTag("excepcion"));
+        assertEquals(2, registro.find(MetricasServicios.METRICA).tag("metodo", "findByID").timers().size());
+    }
+}
@@ -0,0 +1,32 @@
+package com.SAFE_Rescue.API_Turno.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del tamaño mínimo del pool de conexiones que exige el generador de IDs.
+ */
+public class PoolConexionesConfigTest {
+
+    /**
+     * Verifica que un pool de una sola conexión se rechaza al iniciar y que uno de dos se acepta.
+     */
+    @Test
+    public void tamanioMinimoTest() {
+        // Arrange
+        BeanPostProcessor validacion = PoolConexionesConfig.tamanioMinimoPool();
+        HikariDataSource unaConexion = new HikariDataSource();
+        unaConexion.setMaximumPoolSize(1);
+        HikariDataSource dosConexiones = new HikariDataSource();
+        dosConexiones.setMaximumPoolSize(2);
+
+        // Act & Assert
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> validacion.postProcessBeforeInitialization(unaConexion, "dataSource"));
+        assertTrue(error.getMessage().contains("maximum-pool-size"));
+        assertSame(dosConexiones, validacion.postProcessBeforeInitialization(dosConexiones, "dataSource"));
+    }
+}
@@ -1,14 +1,21 @@
 package com.SAFE_Rescue.API_Turno.controller;
 
+import com.SAFE_Rescue.API_Turno.dto.CompaniaConUbicacion;
 import com.SAFE_Rescue.API_Turno.modelo.Compania;
 import com.SAFE_Rescue.API_Turno.modelo.Ubicacion;
 import com.SAFE_Rescue.API_Turno.service.CompaniaService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,7 +24,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * de los endpoints relacionados con las compañías de bomberos.
  */
 @WebMvcTest(CompaniaController.class)
+@Import(RegistroCambios.class)
 public class CompaniaControllerTest {
 
     @Autowired
@@ -65,14 +73,33 @@ public class CompaniaControllerTest {
     @Test
     public void listarCompaniasTest() throws Exception {
         // Arrange
-        when(companiaService.findAll()).thenReturn(List.of(compania));
+        when(companiaService.findAll(any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(compania), PageRequest.of(0, 20), 1));
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/companias"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(compania.getId()))
-                .andExpect(jsonPath("$[0].nombre").value(compania.getNombre()))
-                .andExpect(jsonPath("$[0].ubicacion").value(compania.getUbicacion()));
+                .andExpect(jsonPath("$.contenido[0].id").value(compania.getId()))
+                .andExpect(jsonPath("$.contenido[0].nombre").value(compania.getNombre()))
+                .andExpect(jsonPath("$.contenido[0].ubicacion").value(compania.getUbicacion()));
+    }
+
+    /**
+     * Prueba que verifica el listado de compañías con la ubicación aplanada.
+     * Asegura que se devuelve un estado 200 OK con los datos de la dirección en el mismo nivel.
+     */
+    @Test
+    public void listarConUbicacionTest() throws Exception {
+        // Arrange
+        CompaniaConUbicacion proyeccion = new CompaniaConUbicacion(1, "Primera Compañía", 4, "Av. Siempre Viva", 742, "Santiago", "Metropolitana");
+        when(companiaService.findAllConUbicacion(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(proyeccion), PageRequest.of(0, 20), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/companias/con-ubicacion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(1))
+                .andExpect(jsonPath("$.contenido[0].comuna").value("Santiago"))
+                .andExpect(jsonPath("$.contenido[0].ubicacion").doesNotExist())
+                .andExpect(jsonPath("$.totalElementos").value(1));
     }
 
     /**
@@ -150,7 +177,7 @@ public class CompaniaControllerTest {
     @Test
     public void listarTest_CompaniasNoExistentes() throws Exception {
         // Arrange
-        when(companiaService.findAll()).thenReturn(Collections.emptyList());
+        when(companiaService.findAll(any(Pageable.class), eq(true))).thenReturn(Page.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/companias"))
@@ -1,17 +1,33 @@
 package com.SAFE_Rescue.API_Turno.controller;
 
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.EquipoResumen;
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.VistaEquipo;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
 import com.SAFE_Rescue.API_Turno.modelo.*;
 import com.SAFE_Rescue.API_Turno.repository.BomberoRepository;
 import com.SAFE_Rescue.API_Turno.repository.RecursoRepository;
 import com.SAFE_Rescue.API_Turno.repository.VehiculoRepository;
 import com.SAFE_Rescue.API_Turno.service.EquipoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -19,7 +35,8 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +47,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * de los endpoints relacionados con equipos de emergencia.
  */
 @WebMvcTest(EquipoController.class)
+@Import(RegistroCambios.class)
 public class EquipoControllerTest {
 
     @Autowired
@@ -50,13 +68,16 @@ public class EquipoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RegistroCambios registroCambios;
+
     private Faker faker;
     private Random random;
     private Equipo equipo;
     private Integer id;
-    private List<Vehiculo> vehiculosAsignados;
-    private List<Bombero> personal;
-    private List<Recurso> recursosAsignados;
+    private Set<Vehiculo> vehiculosAsignados;
+    private Set<Bombero> personal;
+    private Set<Recurso> recursosAsignados;
 
     /**
      * Configura el entorno de pruebas antes de cada prueba.
@@ -67,9 +88,9 @@ public class EquipoControllerTest {
         id = 1;
         faker = new Faker();
         random = new Random();
-        recursosAsignados = new ArrayList<>();
-        personal = new ArrayList<>();
-        vehiculosAsignados = new ArrayList<>();
+        recursosAsignados = new LinkedHashSet<>();
+        personal = new LinkedHashSet<>();
+        vehiculosAsignados = new LinkedHashSet<>();
 
         // Mockear los vehículos
         when(vehiculoRepository.findById(anyInt())).thenAnswer(invocation -> {
@@ -125,23 +146,129 @@ public class EquipoControllerTest {
     @Test
     public void listarTest() throws Exception {
         // Arrange
-        when(equipoService.findAll()).thenReturn(List.of(equipo));
+        when(equipoService.buscar(isNull(), isNull(), isNull(), any(Pageable.class), eq(true), eq(VistaEquipo.COMPLETO))).thenReturn(new PageImpl<>(List.of(equipo), PageRequest.of(0, 20), 1));
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/equipos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(equipo.getId()))
-                .andExpect(jsonPath("$[0].nombre").value(equipo.getNombre()))
-                .andExpect(jsonPath("$[0].cantidadMiembros").value(equipo.getCantidadMiembros()))
-                .andExpect(jsonPath("$[0].lider").value(equipo.getLider()))
-                .andExpect(jsonPath("$[0].estado").value(equipo.isEstado()))
-                .andExpect(jsonPath("$[0].vehiculos[0].id").value(equipo.getVehiculos().get(0).getId()))
-                .andExpect(jsonPath("$[0].vehiculos[0].marca").value(equipo.getVehiculos().get(0).getMarca()))
-                .andExpect(jsonPath("$[0].personal[0].id").value(equipo.getPersonal().get(0).getId()))
-                .andExpect(jsonPath("$[0].recursos[0].id").value(equipo.getRecursos().get(0).getId()))
-                .andExpect(jsonPath("$[0].turno.nombre").value(equipo.getTurno().getNombre()))
-                .andExpect(jsonPath("$[0].compania.nombre").value(equipo.getCompania().getNombre()))
-                .andExpect(jsonPath("$[0].tipoEquipo.nombre").value(equipo.getTipoEquipo().getNombre()));
+                .andExpect(jsonPath("$.contenido[0].id").value(equipo.getId()))
+                .andExpect(jsonPath("$.contenido[0].nombre").value(equipo.getNombre()))
+                .andExpect(jsonPath("$.contenido[0].cantidadMiembros").value(equipo.getCantidadMiembros()))
+                .andExpect(jsonPath("$.contenido[0].lider").value(equipo.getLider()))
+                .andExpect(jsonPath("$.contenido[0].estado").value(equipo.isEstado()))
+                .andExpect(jsonPath("$.contenido[0].vehiculos[0].id").value(equipo.getVehiculos().iterator().next().getId()))
+                .andExpect(jsonPath("$.contenido[0].vehiculos[0].marca").value(equipo.getVehiculos().iterator().next().getMarca()))
+                .andExpect(jsonPath("$.contenido[0].personal[0].id").value(equipo.getPersonal().iterator().next().getId()))
+                .andExpect(jsonPath("$.contenido[0].recursos[0].id").value(equipo.getRecursos().iterator().next().getId()))
+                .andExpect(jsonPath("$.contenido[0].turno.nombre").value(equipo.getTurno().getNombre()))
+                .andExpect(jsonPath("$.contenido[0].compania.nombre").value(equipo.getCompania().getNombre()))
+                .andExpect(jsonPath("$.contenido[0].tipoEquipo.nombre").value(equipo.getTipoEquipo().getNombre()));
+    }
+
+    /**
+     * Prueba que verifica que los filtros y la paginación se envían al servicio.
+     * Asegura que el tamaño de página se limita al máximo permitido y que se omiten los totales.
+     */
+    @Test
+    public void listarTest_FiltrosYTamanioMaximo() throws Exception {
+        // Arrange
+        when(equipoService.buscar(eq(true), eq(2), eq(3), any(Pageable.class), eq(false), eq(VistaEquipo.COMPLETO)))
+                .thenReturn(new SliceImpl<>(List.of(equipo), PageRequest.of(1, 100), true));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos")
+                        .param("estado", "true")
+                        .param("companiaId", "2")
+                        .param("tipoEquipoId", "3")
+                        .param("page", "1")
+                        .param("size", "5000")
+                        .param("sort", "nombre,desc")
+                        .param("totales", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(equipo.getId()))
+                .andExpect(jsonPath("$.haySiguiente").value(true))
+                .andExpect(jsonPath("$.totalElementos").doesNotExist());
+
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(equipoService).buscar(eq(true), eq(2), eq(3), captor.capture(), eq(false), eq(VistaEquipo.COMPLETO));
+        assertEquals(100, captor.getValue().getPageSize());
+        assertEquals(1, captor.getValue().getPageNumber());
+        assertEquals(Sort.Direction.DESC, captor.getValue().getSort().getOrderFor("nombre").getDirection());
+    }
+
+    /**
+     * Prueba que verifica el rechazo de una vista desconocida.
+     * Asegura que se devuelve un estado 400 BAD REQUEST sin consultar el servicio.
+     */
+    @Test
+    public void listarTest_VistaNoValida() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos").param("vista", "detallada"))
+                .andExpect(status().isBadRequest());
+
+        verify(equipoService, never()).buscar(any(), any(), any(), any(Pageable.class), anyBoolean(), any());
+    }
+
+    /**
+     * Prueba que verifica el listado de resúmenes de equipos.
+     * Asegura que se devuelven los IDs de las referencias y las cantidades de cada lista.
+     */
+    @Test
+    public void listarResumenTest() throws Exception {
+        // Arrange
+        EquipoResumen resumen = new EquipoResumen(1, "Equipo A", 5, true, "Juan Pérez", 3, 2, 1, 2, 5, 8);
+        when(equipoService.buscarResumen(isNull(), eq(2), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(resumen), PageRequest.of(0, 20), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos/resumen").param("companiaId", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].companiaId").value(2))
+                .andExpect(jsonPath("$.contenido[0].cantidadPersonal").value(5))
+                .andExpect(jsonPath("$.contenido[0].personal").doesNotExist());
+    }
+
+    /**
+     * Prueba que verifica el recorrido por cursor.
+     * Asegura que la última página se entrega sin token siguiente y que una página vacía produce 204.
+     */
+    @Test
+    public void recorrerTest() throws Exception {
+        // Arrange
+        when(equipoService.recorrer("abc", 100, VistaEquipo.RESUMEN)).thenReturn(new PaginaCursor<>(List.of(equipo), 100, null));
+        when(equipoService.recorrer("fin", 100, VistaEquipo.COMPLETO)).thenReturn(new PaginaCursor<>(List.of(), 100, null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos/cursor").param("token", "abc").param("tamanio", "100").param("vista", "resumen"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(equipo.getId()))
+                .andExpect(jsonPath("$.siguiente").doesNotExist());
+
+        mockMvc.perform(get("/api-turnos/v1/equipos/cursor").param("token", "fin").param("tamanio", "100"))
+                .andExpect(status().isNoContent());
+    }
+
+    /**
+     * Prueba que verifica la revisión de conflictos de turnos.
+     * Asegura que se devuelven los conflictos y un estado 404 si el turno no existe.
+     */
+    @Test
+    public void buscarConflictosTest() throws Exception {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        ConflictoTurno conflicto = new ConflictoTurno(ConflictoTurno.Recurso.BOMBERO, 5, 3, 7, inicio, inicio.plusHours(12));
+        when(equipoService.buscarConflictos(null, 7, List.of(5, 6), null)).thenReturn(List.of(conflicto));
+        when(equipoService.buscarConflictos(null, 99, null, null)).thenThrow(new NoSuchElementException("Turno con ID 99 no encontrado"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos/conflictos").param("turnoId", "7").param("bomberos", "5,6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recurso").value("BOMBERO"))
+                .andExpect(jsonPath("$[0].recursoId").value(5))
+                .andExpect(jsonPath("$[0].equipoId").value(3));
+
+        mockMvc.perform(get("/api-turnos/v1/equipos/conflictos").param("turnoId", "99"))
+                .andExpect(status().isNotFound());
     }
 
     /**
@@ -161,14 +288,40 @@ public class EquipoControllerTest {
                 .andExpect(jsonPath("$.cantidadMiembros").value(equipo.getCantidadMiembros()))
                 .andExpect(jsonPath("$.lider").value(equipo.getLider()))
                 .andExpect(jsonPath("$.estado").value(equipo.isEstado()))
-                .andExpect(jsonPath("$.vehiculos[0].id").value(equipo.getVehiculos().get(0).getId()))
-                .andExpect(jsonPath("$.personal[0].id").value(equipo.getPersonal().get(0).getId()))
-                .andExpect(jsonPath("$.recursos[0].id").value(equipo.getRecursos().get(0).getId()))
+                .andExpect(jsonPath("$.vehiculos[0].id").value(equipo.getVehiculos().iterator().next().getId()))
+                .andExpect(jsonPath("$.personal[0].id").value(equipo.getPersonal().iterator().next().getId()))
+                .andExpect(jsonPath("$.recursos[0].id").value(equipo.getRecursos().iterator().next().getId()))
                 .andExpect(jsonPath("$.turno.nombre").value(equipo.getTurno().getNombre()))
                 .andExpect(jsonPath("$.compania.nombre").value(equipo.getCompania().getNombre()))
                 .andExpect(jsonPath("$.tipoEquipo.nombre").value(equipo.getTipoEquipo().getNombre()));
     }
 
+    /**
+     * Prueba que verifica el GET condicional de un equipo: con el ETag vigente se responde
+     * 304 sin llamar al servicio, y un cambio en una tabla referenciada entrega el equipo de nuevo.
+     */
+    @Test
+    public void buscarEquipoTest_Condicional() throws Exception {
+        // Arrange
+        when(equipoService.findByID(id)).thenReturn(equipo);
+        String etag = mockMvc.perform(get("/api-turnos/v1/equipos/{id}", id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/equipos/{id}", id).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        verify(equipoService, times(1)).findByID(id);
+
+        registroCambios.alCambiar(CambioEntidad.de(Turno.class, equipo.getTurno().getId(), Operacion.ACTUALIZADO));
+        mockMvc.perform(get("/api-turnos/v1/equipos/{id}", id).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(equipo.getId()));
+        verify(equipoService, times(2)).findByID(id);
+    }
+
     /**
      * Prueba que verifica la creación de un nuevo equipo.
      * Asegura que se devuelve un estado 201 CREATED al agregar un equipo exitosamente.
@@ -176,7 +329,7 @@ public class EquipoControllerTest {
     @Test
     public void agregarEquipoTest() throws Exception {
         // Arrange
-        when(equipoService.save(any(Equipo.class))).thenReturn(equipo);
+        when(equipoService.save(any(Equipo.class), eq(false))).thenReturn(equipo);
 
         // Act & Assert
         mockMvc.perform(post("/api-turnos/v1/equipos")
@@ -186,6 +339,23 @@ public class EquipoControllerTest {
                 .andExpect(content().string("Equipo creado con éxito."));
     }
 
+    /**
+     * Prueba que verifica que la creación de relaciones se solicita con un parámetro explícito.
+     */
+    @Test
+    public void agregarEquipoCreandoRelacionesTest() throws Exception {
+        // Arrange
+        when(equipoService.save(any(Equipo.class), eq(true))).thenReturn(equipo);
+
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/equipos")
+                        .param("crearRelaciones", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(equipo)))
+                .andExpect(status().isCreated());
+        verify(equipoService).save(any(Equipo.class), eq(true));
+    }
+
     /**
      * Prueba que verifica la actualización de un equipo existente.
      * Asegura que se devuelve un estado 200 OK al actualizar correctamente.
@@ -193,7 +363,7 @@ public class EquipoControllerTest {
     @Test
     public void actualizarEquipoTest() throws Exception {
         // Arrange
-        when(equipoService.update(any(Equipo.class), eq(id))).thenReturn(equipo);
+        when(equipoService.update(any(Equipo.class), eq(id), eq(false))).thenReturn(equipo);
 
         // Act & Assert
         mockMvc.perform(put("/api-turnos/v1/equipos/{id}", id)
@@ -203,6 +373,29 @@ public class EquipoControllerTest {
                 .andExpect(content().string("Actualizado con éxito"));
     }
 
+    /**
+     * Prueba que verifica que se pueden agregar y quitar bomberos de a uno, y que un
+     * conflicto de turnos al agregar responde 400.
+     */
+    @Test
+    public void modificarPersonalTest() throws Exception {
+        // Arrange
+        doThrow(new IllegalStateException("Conflicto de turnos")).when(equipoService).agregarBomberos(id, List.of(9));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/equipos/{id}/personal/{bomberos}", id, "3,4"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Bomberos agregados al equipo"));
+        mockMvc.perform(delete("/api-turnos/v1/equipos/{id}/personal/{bomberos}", id, "3"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api-turnos/v1/equipos/{id}/personal/{bomberos}", id, "9"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Conflicto de turnos"));
+
+        verify(equipoService).agregarBomberos(id, List.of(3, 4));
+        verify(equipoService).quitarBomberos(id, List.of(3));
+    }
+
     /**
      * Prueba que verifica la eliminación de un equipo existente.
      * Asegura que se devuelve un estado 200 OK al eliminar correctamente.
@@ -227,7 +420,7 @@ public class EquipoControllerTest {
     @Test
     public void listarTest_EquiposNoExistentes() throws Exception {
         // Arrange
-        when(equipoService.findAll()).thenReturn(Collections.emptyList());
+        when(equipoService.buscar(isNull(), isNull(), isNull(), any(Pageable.class), eq(true), eq(VistaEquipo.COMPLETO))).thenReturn(Page.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/equipos"))
@@ -256,7 +449,7 @@ public class EquipoControllerTest {
     @Test
     public void agregarEquipoTest_Error() throws Exception {
         // Arrange
-        when(equipoService.save(any(Equipo.class))).thenThrow(new RuntimeException("Error al crear el equipo"));
+        when(equipoService.save(any(Equipo.class), eq(false))).thenThrow(new RuntimeException("Error al crear el equipo"));
 
         // Act & Assert
         mockMvc.perform(post("/api-turnos/v1/equipos")
@@ -273,7 +466,7 @@ public class EquipoControllerTest {
     @Test
     public void actualizarEquipoTest_EquipoNoExistente() throws Exception {
         // Arrange
-        when(equipoService.update(any(Equipo.class), eq(id))).thenThrow(new NoSuchElementException("Equipo no encontrado"));
+        when(equipoService.update(any(Equipo.class), eq(id), eq(false))).thenThrow(new NoSuchElementException("Equipo no encontrado"));
 
         // Act & Assert
         mockMvc.perform(put("/api-turnos/v1/equipos/{id}", id)
@@ -283,6 +476,43 @@ public class EquipoControllerTest {
                 .andExpect(content().string("Equipo no encontrado"));
     }
 
+    /**
+     * Prueba que verifica el conflicto al actualizar un equipo que cambió desde la versión enviada.
+     * Asegura que se devuelve un estado 409 CONFLICT con el equipo actual.
+     */
+    @Test
+    public void actualizarEquipoTest_VersionAnterior() throws Exception {
+        // Arrange
+        equipo.setVersion(3);
+        when(equipoService.update(any(Equipo.class), eq(id), eq(false)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Equipo.class, id));
+        when(equipoService.findByID(id)).thenReturn(equipo);
+
+        // Act & Assert
+        mockMvc.perform(put("/api-turnos/v1/equipos/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(equipo)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.id").value(id))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    /**
+     * Prueba que verifica el conflicto cuando una asignación no se completa tras los reintentos.
+     * Asegura que se devuelve un estado 409 CONFLICT con el equipo actual.
+     */
+    @Test
+    public void asignarCompaniaTest_Conflicto() throws Exception {
+        // Arrange
+        doThrow(new ObjectOptimisticLockingFailureException(Equipo.class, id)).when(equipoService).asignarCompania(id, 2);
+        when(equipoService.findByID(id)).thenReturn(equipo);
+
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/equipos/{equipoId}/asignar-compania/{companiaId}", id, 2))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.id").value(id));
+    }
+
     /**
      * Prueba que verifica el comportamiento al intentar eliminar un equipo que no existe.
      * Asegura que se devuelve un estado 404 NOT FOUND.
@@ -0,0 +1,75 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.service.ExportacionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Clase de prueba para el controlador ExportacionController.
+ * Verifica el tipo de contenido, el nombre del archivo y la escritura progresiva de la respuesta.
+ */
+@WebMvcTest(ExportacionController.class)
+public class ExportacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportacionService exportacionService;
+
+    /**
+     * Prueba que verifica la exportación de turnos en CSV.
+     * Asegura que se devuelve un estado 200 OK con el contenido escrito por el servicio.
+     */
+    @Test
+    public void exportarTurnosTest_Csv() throws Exception {
+        // Arrange
+        when(exportacionService.exportarTurnos(any(OutputStream.class), eq(FormatoArchivo.CSV))).thenAnswer(invocacion -> {
+            OutputStream salida = invocacion.getArgument(0);
+            salida.write("id,nombre\n1,Mañana\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api-turnos/v1/exportaciones/turnos").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"turnos.csv\""))
+                .andExpect(content().string("id,nombre\n1,Mañana\n"));
+    }
+
+    /**
+     * Prueba que verifica el rechazo de un formato desconocido.
+     * Asegura que se devuelve un estado 400 BAD REQUEST sin invocar el servicio.
+     */
+    @Test
+    public void exportarEquiposTest_FormatoNoValido() throws Exception {
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api-turnos/v1/exportaciones/equipos").param("formato", "xlsx"))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportacionService);
+    }
+}
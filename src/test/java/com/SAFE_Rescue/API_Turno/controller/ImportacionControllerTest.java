@@ -0,0 +1,89 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.dto.ReporteImportacion;
+import com.SAFE_Rescue.API_Turno.service.ImportacionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Clase de prueba para el controlador ImportacionController.
+ * Verifica la selección del formato según el tipo de contenido y el manejo de errores.
+ */
+@WebMvcTest(ImportacionController.class)
+public class ImportacionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ImportacionService importacionService;
+
+    /**
+     * Prueba que verifica la importación de turnos en CSV.
+     * Asegura que se devuelve un estado 200 OK con el reporte generado por el servicio.
+     */
+    @Test
+    public void importarTurnosTest_Csv() throws Exception {
+        // Arrange
+        ReporteImportacion reporte = new ReporteImportacion();
+        reporte.setFilasProcesadas(2);
+        reporte.setFilasImportadas(1);
+        reporte.registrarError(3, "El nombre del turno es requerido");
+        when(importacionService.importarTurnos(any(InputStream.class), eq(FormatoArchivo.CSV), eq(200))).thenReturn(reporte);
+
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/importaciones/turnos")
+                        .param("tamanioLote", "200")
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("nombre,fechaHoraInicio,fechaHoraFin\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.filasImportadas").value(1))
+                .andExpect(jsonPath("$.filasConError").value(1))
+                .andExpect(jsonPath("$.errores[0].fila").value(3));
+    }
+
+    /**
+     * Prueba que verifica el rechazo de parámetros no válidos en la importación de equipos.
+     * Asegura que se devuelve un estado 400 BAD REQUEST con el mensaje del servicio.
+     */
+    @Test
+    public void importarEquiposTest_TamanioLoteNoValido() throws Exception {
+        // Arrange
+        when(importacionService.importarEquipos(any(InputStream.class), eq(FormatoArchivo.NDJSON), eq(0)))
+                .thenThrow(new IllegalArgumentException("El tamaño de lote debe estar entre 1 y 5000"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/importaciones/equipos")
+                        .param("tamanioLote", "0")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Prueba que verifica el rechazo de un tipo de contenido no soportado.
+     * Asegura que se devuelve un estado 415 sin invocar el servicio.
+     */
+    @Test
+    public void importarTurnosTest_TipoNoSoportado() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api-turnos/v1/importaciones/turnos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(importacionService);
+    }
+}
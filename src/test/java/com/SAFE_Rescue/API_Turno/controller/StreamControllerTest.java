@@ -0,0 +1,50 @@
+package com.SAFE_Rescue.API_Turno.controller;
+
+import com.SAFE_Rescue.API_Turno.service.CanalCambios;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Clase de prueba para el controlador StreamController.
+ * Verifica la apertura de suscripciones al canal de cambios.
+ */
+@WebMvcTest(StreamController.class)
+public class StreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private CanalCambios canalCambios;
+
+    /**
+     * Prueba que verifica que la suscripción se abre como respuesta asíncrona de eventos
+     * y que el último ID recibido se entrega al canal para reanudar.
+     */
+    @Test
+    public void suscribirTest() throws Exception {
+        // Arrange
+        when(canalCambios.suscribir(any())).thenReturn(new SseEmitter());
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/stream").header("Last-Event-ID", "abc-7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/api-turnos/v1/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(canalCambios).suscribir("abc-7");
+        verify(canalCambios).suscribir(isNull());
+    }
+}
@@ -2,12 +2,18 @@ package com.SAFE_Rescue.API_Turno.controller;
 
 import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
 import com.SAFE_Rescue.API_Turno.service.TipoEquipoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -16,7 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * de los endpoints relacionados con los tipos de equipo.
  */
 @WebMvcTest(TipoEquipoController.class)
+@Import(RegistroCambios.class)
 public class TipoEquipoControllerTest {
 
     @Autowired
@@ -60,13 +67,13 @@ public class TipoEquipoControllerTest {
     @Test
     public void listarTiposEquipoTest() throws Exception {
         // Arrange
-        when(tipoEquipoService.findAll()).thenReturn(List.of(tipoEquipo));
+        when(tipoEquipoService.findAll(any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(tipoEquipo), PageRequest.of(0, 20), 1));
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/tipos-equipo"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(tipoEquipo.getId()))
-                .andExpect(jsonPath("$[0].nombre").value(tipoEquipo.getNombre()));
+                .andExpect(jsonPath("$.contenido[0].id").value(tipoEquipo.getId()))
+                .andExpect(jsonPath("$.contenido[0].nombre").value(tipoEquipo.getNombre()));
     }
 
     /**
@@ -143,7 +150,7 @@ public class TipoEquipoControllerTest {
     @Test
     public void listarTest_TiposEquipoNoExistentes() throws Exception {
         // Arrange
-        when(tipoEquipoService.findAll()).thenReturn(Collections.emptyList());
+        when(tipoEquipoService.findAll(any(Pageable.class), eq(true))).thenReturn(Page.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/tipos-equipo"))
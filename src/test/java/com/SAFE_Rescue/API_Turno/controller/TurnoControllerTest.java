@@ -1,13 +1,21 @@
 package com.SAFE_Rescue.API_Turno.controller;
 
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.TurnoVentana;
 import com.SAFE_Rescue.API_Turno.modelo.Turno;
 import com.SAFE_Rescue.API_Turno.service.TurnoService;
+import com.SAFE_Rescue.API_Turno.service.RegistroCambios;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -18,7 +26,7 @@ import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * de los endpoints relacionados con los turnos de emergencia.
  */
 @WebMvcTest(TurnoController.class)
+@Import(RegistroCambios.class)
 public class TurnoControllerTest {
 
     @Autowired
@@ -72,16 +81,123 @@ public class TurnoControllerTest {
     @Test
     public void listarTest() throws Exception {
         // Arrange
-        when(turnoService.findAll()).thenReturn(List.of(turno));
+        when(turnoService.buscar(isNull(), isNull(), any(Pageable.class), eq(true))).thenReturn(new PageImpl<>(List.of(turno), PageRequest.of(0, 20), 1));
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/turnos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(turno.getId()))
-                .andExpect(jsonPath("$[0].nombre").value(turno.getNombre()))
-                .andExpect(jsonPath("$[0].fechaHoraInicio").value(turno.getFechaHoraInicio().toString()))
-                .andExpect(jsonPath("$[0].fechaHoraFin").value(turno.getFechaHoraFin().toString()))
-                .andExpect(jsonPath("$[0].duracion").value(turno.getDuracion()));
+                .andExpect(jsonPath("$.contenido[0].id").value(turno.getId()))
+                .andExpect(jsonPath("$.contenido[0].nombre").value(turno.getNombre()))
+                .andExpect(jsonPath("$.contenido[0].fechaHoraInicio").value(turno.getFechaHoraInicio().toString()))
+                .andExpect(jsonPath("$.contenido[0].fechaHoraFin").value(turno.getFechaHoraFin().toString()))
+                .andExpect(jsonPath("$.contenido[0].duracion").value(turno.getDuracion()));
+    }
+
+    /**
+     * Prueba que verifica que la ventana de fechas se envía al servicio.
+     * Asegura que se devuelve un estado 200 OK con los totales de la página.
+     */
+    @Test
+    public void listarTest_VentanaDeFechas() throws Exception {
+        // Arrange
+        LocalDateTime desde = LocalDateTime.of(2025, 7, 1, 0, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 7, 2, 0, 0);
+        when(turnoService.buscar(eq(desde), eq(hasta), any(Pageable.class), eq(true)))
+                .thenReturn(new PageImpl<>(List.of(turno), PageRequest.of(0, 20), 1));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/turnos")
+                        .param("desde", "2025-07-01T00:00:00")
+                        .param("hasta", "2025-07-02T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(turno.getId()))
+                .andExpect(jsonPath("$.totalElementos").value(1))
+                .andExpect(jsonPath("$.totalPaginas").value(1));
+    }
+
+    /**
+     * Prueba que verifica el rechazo de un campo de ordenamiento desconocido.
+     * Asegura que se devuelve un estado 400 BAD REQUEST sin consultar el servicio.
+     */
+    @Test
+    public void listarTest_OrdenNoValido() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/turnos").param("sort", "password,asc"))
+                .andExpect(status().isBadRequest());
+
+        verify(turnoService, never()).buscar(any(), any(), any(Pageable.class), anyBoolean());
+    }
+
+    /**
+     * Prueba que verifica el recorrido por cursor.
+     * Asegura que se devuelve la página con el token siguiente y que un token no válido produce 400.
+     */
+    @Test
+    public void recorrerTest() throws Exception {
+        // Arrange
+        when(turnoService.recorrer(null, 500)).thenReturn(new PaginaCursor<>(List.of(turno), 500, "abc"));
+        when(turnoService.recorrer(eq("malo"), anyInt())).thenThrow(new IllegalArgumentException("Token de continuación no válido"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/turnos/cursor"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].id").value(turno.getId()))
+                .andExpect(jsonPath("$.siguiente").value("abc"));
+
+        mockMvc.perform(get("/api-turnos/v1/turnos/cursor").param("token", "malo"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Prueba que verifica la consulta de turnos activos en una ventana con sus equipos.
+     * Asegura que se devuelve un estado 200 OK con los equipos de cada turno.
+     */
+    @Test
+    public void buscarEnVentanaTest() throws Exception {
+        // Arrange
+        LocalDateTime desde = LocalDateTime.of(2025, 7, 2, 8, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 7, 2, 20, 0);
+        TurnoVentana activo = new TurnoVentana(4, "Día", desde, hasta, 12,
+                List.of(new TurnoVentana.Equipo(9, "Equipo A", true, "Juan Pérez", 2, 1)));
+        when(turnoService.buscarEnVentana(desde, hasta, true)).thenReturn(List.of(activo));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/turnos/ventana")
+                        .param("desde", "2025-07-02T08:00:00")
+                        .param("hasta", "2025-07-02T20:00:00")
+                        .param("equipos", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].equipos[0].id").value(9))
+                .andExpect(jsonPath("$[0].equipos[0].companiaId").value(2));
+    }
+
+    /**
+     * Prueba que verifica el rechazo de una ventana no válida y la omisión de los equipos no solicitados.
+     * Asegura que se devuelve 400 BAD REQUEST, o 200 OK sin el campo equipos.
+     */
+    @Test
+    public void buscarEnVentanaTest_SinEquiposYNoValida() throws Exception {
+        // Arrange
+        LocalDateTime desde = LocalDateTime.of(2025, 7, 2, 8, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 7, 2, 20, 0);
+        when(turnoService.buscarEnVentana(desde, hasta, false))
+                .thenReturn(List.of(new TurnoVentana(4, "Día", desde, hasta, 12, null)));
+        when(turnoService.buscarEnVentana(hasta, desde, false))
+                .thenThrow(new IllegalArgumentException("La fecha desde debe ser anterior a la fecha hasta"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api-turnos/v1/turnos/ventana")
+                        .param("desde", "2025-07-02T08:00:00")
+                        .param("hasta", "2025-07-02T20:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].equipos").doesNotExist());
+
+        mockMvc.perform(get("/api-turnos/v1/turnos/ventana")
+                        .param("desde", "2025-07-02T20:00:00")
+                        .param("hasta", "2025-07-02T08:00:00"))
+                .andExpect(status().isBadRequest());
     }
 
     /**
@@ -161,7 +277,7 @@ public class TurnoControllerTest {
     @Test
     public void listarTest_TurnosNoExistentes() throws Exception {
         // Arrange
-        when(turnoService.findAll()).thenReturn(Collections.emptyList());
+        when(turnoService.buscar(isNull(), isNull(), any(Pageable.class), eq(true))).thenReturn(Page.empty());
 
         // Act & Assert
         mockMvc.perform(get("/api-turnos/v1/turnos"))
@@ -0,0 +1,104 @@
+package com.SAFE_Rescue.API_Turno.diagnostico;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.service.ConflictoTurnoService;
+import com.SAFE_Rescue.API_Turno.service.TurnoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del modo de diagnóstico de acceso a datos.
+ * <p>
+ * Se ejecutan sin la transacción de prueba para que las consultas lleguen a la base de
+ * datos y las entidades se carguen de nuevo en cada llamada.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"diagnostico.habilitado=true", "diagnostico.umbral-consulta-lenta=0ms"})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({DiagnosticoConfig.class, TurnoService.class, ConflictoTurnoService.class, CacheConfig.class})
+public class DiagnosticoTest {
+
+    @Autowired private TurnoService turnoService;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private RegistroDiagnostico registro;
+    @Autowired private DiagnosticoEndpoint endpoint;
+
+    @AfterEach
+    public void tearDown() {
+        turnoRepository.deleteAll();
+        registro.reiniciar();
+    }
+
+    /**
+     * Verifica que se cuentan las sentencias y cargas de la petición, y que cada
+     * consulta lenta indica el método de servicio que la ejecutó.
+     */
+    @Test
+    public void contarPeticionTest() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        for (int i = 0; i < 3; i++) {
+            turnoRepository.save(new Turno(null, "Turno" + i, inicio.plusDays(i), inicio.plusDays(i).plusHours(8), 8));
+        }
+        registro.reiniciar();
+
+        // Act
+        Diagnostico.iniciar(null);
+        turnoService.findAll();
+        Diagnostico diagnostico = Diagnostico.terminar();
+
+        // Assert
+        assertTrue(diagnostico.sentencias >= 1);
+        assertEquals(3, diagnostico.cargas);
+        List<RegistroDiagnostico.ConsultaLenta> consultas = registro.consultasLentas();
+        assertFalse(consultas.isEmpty());
+        assertEquals("TurnoService.findAll", consultas.get(0).servicio());
+        assertTrue(consultas.get(0).sql().toLowerCase().contains("from turno"));
+    }
+
+    /**
+     * Verifica que el endpoint expone las consultas lentas y las estadísticas de Hibernate,
+     * y que al reiniciarlo quedan vacías.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void endpointTest() {
+        // Arrange
+        turnoService.findAll();
+
+        // Act
+        Map<String, Object> antes = endpoint.diagnostico();
+        endpoint.reiniciar();
+        Map<String, Object> despues = endpoint.diagnostico();
+
+        // Assert
+        assertFalse(((List<?>) antes.get("consultasLentas")).isEmpty());
+        Map<String, Object> hibernate = (Map<String, Object>) antes.get("hibernate");
+        assertEquals(true, hibernate.get("estadisticasHabilitadas"));
+        assertTrue((Long) hibernate.get("sentenciasPreparadas") > 0);
+        assertTrue(((List<?>) despues.get("consultasLentas")).isEmpty());
+        assertEquals(0L, ((Map<String, Object>) despues.get("hibernate")).get("sentenciasPreparadas"));
+    }
+}
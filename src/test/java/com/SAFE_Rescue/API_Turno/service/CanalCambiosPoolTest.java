@@ -0,0 +1,106 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.modelo.Ubicacion;
+import com.SAFE_Rescue.API_Turno.repository.CompaniaRepository;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.repository.UbicacionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del canal de cambios con un pool de dos conexiones.
+ * <p>
+ * La prueba ocupa una de las dos conexiones, de modo que cada escritura cuenta solo con la
+ * de su transacción. Si el canal volviera a leer las versiones en otra transacción al recibir
+ * el evento, no conseguiría conexión dentro de {@code connection-timeout}.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:canal_pool_reducido;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250",
+        "stream.latido=1h"
+})
+@Import({CanalCambios.class, ConflictoTurnoService.class, TurnoService.class, CompaniaService.class,
+        CacheConfig.class, CanalCambiosPoolTest.Configuracion.class})
+public class CanalCambiosPoolTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @TestConfiguration
+    static class Configuracion {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    @Autowired private CanalCambios canal;
+    @Autowired private TurnoService turnoService;
+    @Autowired private CompaniaService companiaService;
+    @Autowired private DataSource dataSource;
+
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private UbicacionRepository ubicacionRepository;
+
+    /**
+     * Verifica que las escrituras de turnos y compañías llegan al canal con la versión
+     * nueva usando solo la conexión de la transacción que escribe.
+     */
+    @Test
+    public void escriturasTest_UnaConexionLibre() throws Exception {
+        // Arrange
+        Turno turno = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Ubicacion ubicacion = ubicacionRepository.save(new Ubicacion(null, "Av. Central", 123, "Santiago", "Metropolitana"));
+        Compania compania = companiaRepository.save(new Compania(null, "Primera", ubicacion, null));
+        CanalCambiosTest.EmisorPrueba emisor = new CanalCambiosTest.EmisorPrueba();
+        canal.suscribir(emisor, null);
+
+        // Act
+        try (Connection ocupada = dataSource.getConnection()) {
+            turnoService.update(new Turno(null, null, BASE.plusHours(1), null, null), turno.getId());
+            companiaService.update(new Compania(null, "Primera Compañía", ubicacion, null), compania.getId());
+        }
+
+        // Assert: cada aviso trae la versión que quedó guardada
+        String cambioTurno = emisor.siguiente();
+        String cambioCompania = emisor.siguiente();
+        assertTrue(cambioTurno.contains("{\"tipo\":\"turno\",\"operacion\":\"ACTUALIZADO\",\"entidades\":[{\"id\":"
+                + turno.getId() + ",\"version\":" + turnoRepository.findById(turno.getId()).orElseThrow().getVersion() + "}]}"),
+                cambioTurno);
+        assertTrue(cambioCompania.contains("{\"tipo\":\"compania\",\"operacion\":\"ACTUALIZADO\",\"entidades\":[{\"id\":"
+                + compania.getId() + ",\"version\":" + companiaRepository.findById(compania.getId()).orElseThrow().getVersion() + "}]}"),
+                cambioCompania);
+    }
+}
@@ -0,0 +1,211 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del canal de cambios: contenido de los eventos, reanudación con el último ID,
+ * desalojo de los suscriptores que no leen a tiempo y detención del canal.
+ * <p>
+ * Los suscriptores usan un emisor que guarda el texto de cada evento en lugar de escribirlo
+ * en una respuesta HTTP, y que puede detenerse para simular un cliente lento.
+ * </p>
+ */
+@SpringJUnitConfig(CanalCambiosTest.Configuracion.class)
+@TestPropertySource(properties = {"stream.tamanio-buffer=4", "stream.historial=10", "stream.latido=1h"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class CanalCambiosTest {
+
+    @Configuration
+    @Import(CanalCambios.class)
+    static class Configuracion {
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+
+    /**
+     * Emisor que guarda el texto de los eventos enviados. Si tiene un cerrojo, cada envío
+     * espera a que se libere, avisando en {@code esperando}; si la espera se interrumpe, lo
+     * anota en {@code interrumpido}.
+     */
+    static class EmisorPrueba extends SseEmitter {
+        final BlockingQueue<String> enviados = new LinkedBlockingQueue<>();
+        final CountDownLatch esperando = new CountDownLatch(1);
+        final CountDownLatch interrumpido = new CountDownLatch(1);
+        volatile CountDownLatch detenido;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            if (detenido != null) {
+                esperando.countDown();
+                try {
+                    detenido.await();
+                } catch (InterruptedException e) {
+                    interrumpido.countDown();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder texto = new StringBuilder();
+            evento.build().forEach(parte -> texto.append(parte.getData()));
+            enviados.add(texto.toString());
+        }
+
+        String siguiente() throws InterruptedException {
+            String evento = enviados.poll(5, TimeUnit.SECONDS);
+            assertNotNull(evento, "No llegó el evento esperado");
+            return evento;
+        }
+    }
+
+    @Autowired private CanalCambios canal;
+    @Autowired private MeterRegistry registro;
+
+    /**
+     * Verifica que un cambio confirmado llega con tipo, operación, ID y la versión que trae
+     * el evento, y que los cambios de entidades que no se publican se ignoran.
+     */
+    @Test
+    public void publicarTest() throws Exception {
+        // Arrange
+        EmisorPrueba emisor = new EmisorPrueba();
+        canal.suscribir(emisor, null);
+
+        // Act
+        canal.alCambiar(CambioEntidad.de(TipoEquipo.class, 1, Operacion.ACTUALIZADO));
+        canal.alCambiar(CambioEntidad.de(Equipo.class, new EstadoEquipo(5, null, Set.of(), Set.of(), 3), Operacion.ACTUALIZADO));
+        canal.alCambiar(CambioEntidad.de(Turno.class, 8, Operacion.ELIMINADO));
+
+        // Assert
+        String actualizado = emisor.siguiente();
+        assertTrue(actualizado.contains("event:" + CanalCambios.EVENTO_CAMBIO));
+        assertTrue(actualizado.contains("{\"tipo\":\"equipo\",\"operacion\":\"ACTUALIZADO\",\"entidades\":[{\"id\":5,\"version\":3}]}"));
+        assertTrue(emisor.siguiente().contains("{\"tipo\":\"turno\",\"operacion\":\"ELIMINADO\",\"entidades\":[{\"id\":8}]}"));
+        assertNull(emisor.enviados.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Verifica que al reconectar con el último ID recibido llegan solo los eventos posteriores,
+     * y que con un ID que no se puede recuperar llega un evento de reinicio.
+     */
+    @Test
+    public void reanudarTest() throws Exception {
+        // Arrange
+        EmisorPrueba primero = new EmisorPrueba();
+        canal.suscribir(primero, null);
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            canal.alCambiar(CambioEntidad.de(Turno.class, i, Operacion.ELIMINADO));
+            ids.add(idEvento(primero.siguiente()));
+        }
+
+        // Act
+        EmisorPrueba reanudado = new EmisorPrueba();
+        canal.suscribir(reanudado, ids.get(0));
+        EmisorPrueba desconocido = new EmisorPrueba();
+        canal.suscribir(desconocido, "otraejecucion-2");
+
+        // Assert
+        assertEquals(ids.get(1), idEvento(reanudado.siguiente()));
+        assertEquals(ids.get(2), idEvento(reanudado.siguiente()));
+        String reinicio = desconocido.siguiente();
+        assertTrue(reinicio.contains("event:" + CanalCambios.EVENTO_REINICIO));
+        assertEquals(ids.get(2), idEvento(reinicio));
+    }
+
+    /**
+     * Verifica que un suscriptor que no lee se desaloja al llenarse su cola, sin detener
+     * la entrega a los demás.
+     */
+    @Test
+    public void desalojoTest() throws Exception {
+        // Arrange
+        EmisorPrueba lento = new EmisorPrueba();
+        lento.detenido = new CountDownLatch(1);
+        EmisorPrueba normal = new EmisorPrueba();
+        canal.suscribir(lento, null);
+        canal.suscribir(normal, null);
+
+        // Act & Assert: el lento queda enviando el primero, con los cuatro siguientes en cola
+        for (int i = 1; i <= 6; i++) {
+            canal.alCambiar(CambioEntidad.de(Turno.class, i, Operacion.ELIMINADO));
+            assertTrue(normal.siguiente().contains("\"id\":" + i + "}"));
+        }
+        assertEquals(1, registro.counter(CanalCambios.METRICA_DESALOJOS).count());
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registro.get(CanalCambios.METRICA_SUSCRIPTORES).gauge().value() > 1 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, registro.get(CanalCambios.METRICA_SUSCRIPTORES).gauge().value());
+
+        lento.detenido.countDown();
+        Thread.sleep(200);
+        assertEquals(1, lento.enviados.size());
+    }
+
+    /**
+     * Verifica que al detener el canal se interrumpe el envío bloqueado de un cliente que no
+     * lee y se cierran las conexiones.
+     */
+    @Test
+    public void detenerTest_InterrumpeEnviosBloqueados() throws Exception {
+        // Arrange: el envío del primer evento queda bloqueado en un hilo del pool
+        EmisorPrueba lento = new EmisorPrueba();
+        lento.detenido = new CountDownLatch(1);
+        canal.suscribir(lento, null);
+        canal.alCambiar(CambioEntidad.de(Turno.class, 1, Operacion.ELIMINADO));
+        assertTrue(lento.esperando.await(5, TimeUnit.SECONDS));
+
+        // Act
+        canal.detener();
+
+        // Assert
+        assertTrue(lento.interrumpido.await(5, TimeUnit.SECONDS), "El envío bloqueado no se interrumpió");
+        assertEquals(0, registro.get(CanalCambios.METRICA_SUSCRIPTORES).gauge().value());
+        assertTrue(lento.enviados.isEmpty());
+    }
+
+    private static String idEvento(String evento) {
+        return evento.lines().filter(linea -> linea.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+}
@@ -0,0 +1,119 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.Compania;
+import com.SAFE_Rescue.API_Turno.modelo.TipoEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.Ubicacion;
+import com.SAFE_Rescue.API_Turno.repository.CompaniaRepository;
+import com.SAFE_Rescue.API_Turno.repository.TipoEquipoRepository;
+import com.SAFE_Rescue.API_Turno.repository.UbicacionRepository;
+import com.SAFE_Rescue.API_Turno.support.ContadorSentencias;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración del caché de segundo nivel de los catálogos contra H2 en modo MySQL.
+ * <p>
+ * Se ejecutan sin la transacción de prueba: el caché solo se actualiza cuando las
+ * transacciones de los servicios se confirman.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CompaniaService.class, TipoEquipoService.class, CacheConfig.class})
+public class CatalogoCacheTest {
+
+    @Autowired private CompaniaService companiaService;
+    @Autowired private TipoEquipoService tipoEquipoService;
+
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private UbicacionRepository ubicacionRepository;
+    @Autowired private TipoEquipoRepository tipoEquipoRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    public void setUp() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        companiaRepository.deleteAll();
+        ubicacionRepository.deleteAll();
+        tipoEquipoRepository.deleteAll();
+    }
+
+    /**
+     * Verifica que las búsquedas por ID se resuelven desde el caché y que la actualización
+     * y la eliminación lo mantienen al día.
+     */
+    @Test
+    public void tipoEquipoTest_BusquedaActualizacionYEliminacion() {
+        // Arrange
+        TipoEquipo tipo = tipoEquipoService.save(new TipoEquipo(null, "Rescate"));
+        ContadorSentencias.reiniciar();
+
+        // Act & Assert: la inserción deja la entrada en el caché
+        assertEquals("Rescate", tipoEquipoService.findById(tipo.getId()).getNombre());
+        assertEquals("Rescate", tipoEquipoService.findById(tipo.getId()).getNombre());
+        assertEquals(0, ContadorSentencias.contar("from tipo_equipo"));
+
+        tipoEquipoService.update(new TipoEquipo(null, "Rescate vehicular"), tipo.getId());
+        ContadorSentencias.reiniciar();
+        assertEquals("Rescate vehicular", tipoEquipoService.findById(tipo.getId()).getNombre());
+        assertEquals(0, ContadorSentencias.contar("from tipo_equipo"));
+
+        tipoEquipoService.delete(tipo.getId());
+        assertThrows(NoSuchElementException.class, () -> tipoEquipoService.findById(tipo.getId()));
+
+        CacheRegionStatistics region = estadisticas.getDomainDataRegionStatistics(TipoEquipo.REGION_CACHE);
+        assertTrue(region.getHitCount() >= 3, "Aciertos: " + region.getHitCount());
+        assertTrue(region.getMissCount() >= 1, "Fallos: " + region.getMissCount());
+    }
+
+    /**
+     * Verifica que una compañía y su ubicación se obtienen desde el caché, y que un
+     * cambio de ubicación se refleja en la siguiente lectura.
+     */
+    @Test
+    public void companiaTest_UbicacionDesdeCache() {
+        // Arrange
+        Ubicacion centro = ubicacionRepository.save(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        Ubicacion norte = ubicacionRepository.save(new Ubicacion(null, "Los Aromos", 15, "Independencia", "Metropolitana"));
+        Compania compania = companiaService.save(new Compania(null, "Primera", centro));
+        ContadorSentencias.reiniciar();
+
+        // Act
+        Compania encontrada = companiaService.findByID(compania.getId());
+        companiaService.asignarUbicacion(compania.getId(), norte.getId());
+        ContadorSentencias.reiniciar();
+        Compania actualizada = companiaService.findByID(compania.getId());
+
+        // Assert
+        assertEquals("Av. Siempre Viva", encontrada.getUbicacion().getCalle());
+        assertEquals("Los Aromos", actualizada.getUbicacion().getCalle());
+        assertEquals(0, ContadorSentencias.total());
+        assertTrue(estadisticas.getDomainDataRegionStatistics(Ubicacion.REGION_CACHE).getHitCount() >= 1);
+    }
+}
@@ -199,6 +199,7 @@ public class CompaniaServiceTest {
         compania.setUbicacion(ubicacion);
         when(companiaRepository.findById(id)).thenReturn(Optional.of(compania));
         when(ubicacionRepository.findById(1)).thenReturn(Optional.of(ubicacion));
+        when(companiaRepository.save(compania)).thenReturn(compania);
 
         // Act
         assertDoesNotThrow(() -> companiaService.asignarUbicacion(id, 1));
@@ -0,0 +1,88 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la actualización del índice de conflictos con un pool de dos conexiones.
+ * <p>
+ * La prueba ocupa una de las dos conexiones, de modo que cada escritura cuenta solo con la
+ * de su transacción. Si el índice abriera otra transacción al recibir el evento, no conseguiría
+ * conexión dentro de {@code connection-timeout} y quedaría desactualizado.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool_reducido;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=250"
+})
+@Import({ConflictoTurnoService.class, EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class, CacheConfig.class})
+public class ConflictoTurnoPoolTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+    @Autowired private EquipoService equipoService;
+    @Autowired private TurnoService turnoService;
+    @Autowired private DataSource dataSource;
+
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+
+    /**
+     * Verifica que las escrituras de equipos y turnos se reflejan en el índice usando solo
+     * la conexión de la transacción que escribe.
+     */
+    @Test
+    public void escriturasTest_UnaConexionLibre() throws Exception {
+        // Arrange
+        Turno manana = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Turno noche = turnoRepository.save(new Turno(null, "Noche", BASE.plusHours(12), BASE.plusHours(24), 12));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        Equipo equipo = new Equipo();
+        equipo.setNombre("Equipo A");
+        equipo.setEstado(true);
+        equipo.setTurno(noche);
+        equipo.setPersonal(new HashSet<>());
+        equipo.setVehiculos(new HashSet<>());
+        equipo.setRecursos(new HashSet<>());
+        Integer equipoId = equipoRepository.save(equipo).getId();
+        conflictoTurnoService.cargar();
+
+        // Act
+        try (Connection ocupada = dataSource.getConnection()) {
+            equipoService.asignarListaBomberos(equipoId, List.of(bombero.getId()));
+            turnoService.update(new Turno(null, null, BASE.plusHours(6), null, null), noche.getId());
+        }
+
+        // Assert: el equipo tiene al bombero y su turno adelantado ya se superpone con la mañana
+        List<ConflictoTurno> conflictos = conflictoTurnoService.buscarConflictos(
+                null, manana.getId(), Set.of(bombero.getId()), null);
+        assertEquals(List.of(equipoId), conflictos.stream().map(ConflictoTurno::equipoId).toList());
+    }
+}
@@ -0,0 +1,203 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.EstadoEquipo;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de ConflictoTurnoService contra H2 en modo MySQL.
+ * <p>
+ * Se ejecutan sin la transacción de prueba para que cada llamada a los servicios se
+ * confirme y el índice reciba los eventos de cambio, igual que en la aplicación.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ConflictoTurnoService.class, EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class, CacheConfig.class})
+public class ConflictoTurnoServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+    @Autowired private EquipoService equipoService;
+    @Autowired private TurnoService turnoService;
+
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+    @Autowired private VehiculoRepository vehiculoRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        equipoRepository.deleteAll();
+        turnoRepository.deleteAll();
+        bomberoRepository.deleteAll();
+        vehiculoRepository.deleteAll();
+        conflictoTurnoService.cargar();
+    }
+
+    /**
+     * Verifica que las asignaciones con turnos superpuestos se rechazan, que las
+     * asignaciones en turnos consecutivos se aceptan y que el índice se actualiza
+     * cuando los servicios confirman sus escrituras.
+     */
+    @Test
+    public void asignacionesTest_IndiceSincronizado() {
+        // Arrange
+        Turno manana = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Turno tarde = turnoRepository.save(new Turno(null, "Tarde", BASE.plusHours(6), BASE.plusHours(18), 12));
+        Turno noche = turnoRepository.save(new Turno(null, "Noche", BASE.plusHours(12), BASE.plusHours(24), 12));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        Equipo equipoA = equipoRepository.save(equipo("Equipo A", manana, List.of(bombero)));
+        Equipo equipoB = equipoRepository.save(equipo("Equipo B", tarde, new ArrayList<>()));
+        conflictoTurnoService.cargar();
+
+        // Act & Assert: el bombero ya está en el turno de mañana, que se superpone con la tarde
+        IllegalStateException conflicto = assertThrows(IllegalStateException.class,
+                () -> equipoService.asignarListaBomberos(equipoB.getId(), List.of(bombero.getId())));
+        assertTrue(conflicto.getMessage().contains("El bombero " + bombero.getId()
+                + " ya está asignado al equipo " + equipoA.getId()));
+
+        // El turno de noche empieza cuando termina el de mañana
+        equipoService.asignarTurno(equipoB.getId(), noche.getId());
+        equipoService.asignarListaBomberos(equipoB.getId(), List.of(bombero.getId()));
+        List<ConflictoTurno> enLaTarde = conflictoTurnoService.buscarConflictos(null, tarde.getId(), List.of(bombero.getId()), null);
+        assertEquals(List.of(equipoA.getId(), equipoB.getId()),
+                enLaTarde.stream().map(ConflictoTurno::equipoId).sorted().toList());
+
+        // Adelantar la noche la superpone con la mañana
+        Turno adelantado = new Turno(null, null, BASE.plusHours(10), null, null);
+        RuntimeException cambio = assertThrows(RuntimeException.class, () -> turnoService.update(adelantado, noche.getId()));
+        assertTrue(cambio.getMessage().contains("Conflicto de turnos"));
+
+        equipoService.delete(equipoA.getId());
+        assertTrue(conflictoTurnoService.buscarConflictos(null, manana.getId(), List.of(bombero.getId()), null).isEmpty());
+    }
+
+    /**
+     * Verifica que dos asignaciones concurrentes del mismo bombero a turnos superpuestos no se
+     * confirman ambas: la segunda espera el bloqueo del bombero y, cuando la primera se confirma,
+     * la revisión en la base de datos encuentra el conflicto que el índice aún no veía.
+     */
+    @Test
+    public void asignacionesConcurrentesTest_BloqueoEnBaseDeDatos() throws Exception {
+        // Arrange
+        Turno manana = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Turno tarde = turnoRepository.save(new Turno(null, "Tarde", BASE.plusHours(6), BASE.plusHours(18), 12));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        Equipo equipoA = equipoRepository.save(equipo("Equipo A", manana, List.of()));
+        Equipo equipoB = equipoRepository.save(equipo("Equipo B", tarde, List.of()));
+        conflictoTurnoService.cargar();
+        CountDownLatch validada = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+
+        // Act: la primera asignación queda validada y sin confirmar mientras llega la segunda
+        try {
+            Future<?> primera = hilos.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+                equipoService.agregarBomberos(equipoA.getId(), List.of(bombero.getId()));
+                validada.countDown();
+                esperar(confirmar);
+            }));
+            assertTrue(validada.await(5, TimeUnit.SECONDS));
+            Future<?> segunda = hilos.submit(() -> equipoService.agregarBomberos(equipoB.getId(), List.of(bombero.getId())));
+            Thread.sleep(300);
+            boolean segundaEsperaba = !segunda.isDone();
+            confirmar.countDown();
+            primera.get(10, TimeUnit.SECONDS);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> segunda.get(10, TimeUnit.SECONDS));
+
+            // Assert
+            assertTrue(segundaEsperaba, "La segunda asignación no esperó el bloqueo del bombero");
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+            assertTrue(error.getCause().getMessage().contains("El bombero " + bombero.getId()
+                    + " ya está asignado al equipo " + equipoA.getId()));
+        } finally {
+            confirmar.countDown();
+            hilos.shutdownNow();
+        }
+        assertEquals(List.of(equipoA.getId()), equipoRepository.findAll().stream()
+                .filter(e -> !equipoRepository.idsPersonal(List.of(e.getId())).isEmpty())
+                .map(Equipo::getId).toList());
+    }
+
+    private static void esperar(CountDownLatch cerrojo) {
+        try {
+            assertTrue(cerrojo.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Verifica que un estado que llega después de otro más reciente se descarta y que una
+     * entidad eliminada no vuelve al índice.
+     */
+    @Test
+    public void alCambiarTest_EventosDesordenados() {
+        // Arrange
+        Turno manana = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        EstadoEquipo anterior = new EstadoEquipo(900, manana.getId(), Set.of(1), Set.of(), 1);
+        EstadoEquipo reciente = new EstadoEquipo(900, manana.getId(), Set.of(2), Set.of(), 2);
+        conflictoTurnoService.cargar();
+
+        // Act
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Equipo.class, reciente, Operacion.ACTUALIZADO));
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Equipo.class, anterior, Operacion.ACTUALIZADO));
+        List<ConflictoTurno> bombero1 = conflictoTurnoService.buscarConflictos(null, manana.getId(), List.of(1), null);
+        List<ConflictoTurno> bombero2 = conflictoTurnoService.buscarConflictos(null, manana.getId(), List.of(2), null);
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Equipo.class, 900, Operacion.ELIMINADO));
+        conflictoTurnoService.alCambiar(CambioEntidad.de(Equipo.class, reciente, Operacion.ACTUALIZADO));
+
+        // Assert
+        assertTrue(bombero1.isEmpty());
+        assertEquals(1, bombero2.size());
+        assertTrue(conflictoTurnoService.buscarConflictos(null, manana.getId(), List.of(2), null).isEmpty());
+    }
+
+    private static Equipo equipo(String nombre, Turno turno, List<Bombero> personal) {
+        Equipo equipo = new Equipo();
+        equipo.setNombre(nombre);
+        equipo.setCantidadMiembros(personal.size());
+        equipo.setEstado(true);
+        equipo.setLider("Líder");
+        equipo.setTurno(turno);
+        equipo.setPersonal(new HashSet<>(personal));
+        equipo.setVehiculos(new HashSet<>());
+        equipo.setRecursos(new HashSet<>());
+        return equipo;
+    }
+}
@@ -0,0 +1,207 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.config.ReintentosConcurrencia;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las escrituras concurrentes sobre un mismo equipo, con bloqueo optimista.
+ * <p>
+ * Se ejecutan sin la transacción de prueba: cada hilo confirma sus propias transacciones
+ * y los que chocan se reintentan con {@link ReintentosConcurrencia}.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class,
+        ConflictoTurnoService.class, CacheConfig.class, ReintentosConcurrencia.class, EquipoConcurrenciaTest.Registro.class})
+public class EquipoConcurrenciaTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+    private static final int HILOS = 4;
+    private static final int BOMBEROS_POR_HILO = 5;
+
+    @TestConfiguration
+    static class Registro {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired private EquipoService equipoService;
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private UbicacionRepository ubicacionRepository;
+    @Autowired private TipoEquipoRepository tipoEquipoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+
+    private Equipo equipo;
+    private List<Bombero> bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        Equipo nuevo = new Equipo();
+        nuevo.setNombre("Equipo A");
+        nuevo.setEstado(true);
+        nuevo.setPersonal(new HashSet<>());
+        nuevo.setVehiculos(new HashSet<>());
+        nuevo.setRecursos(new HashSet<>());
+        equipo = equipoRepository.save(nuevo);
+        bomberos = new ArrayList<>();
+        for (int i = 0; i < HILOS * BOMBEROS_POR_HILO; i++) {
+            bomberos.add(bomberoRepository.save(new Bombero(null, "Bombero" + i, "Paterno", "Materno", 900000000 + i)));
+        }
+        conflictoTurnoService.cargar();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        equipoRepository.deleteAll();
+        turnoRepository.deleteAll();
+        companiaRepository.deleteAll();
+        ubicacionRepository.deleteAll();
+        tipoEquipoRepository.deleteAll();
+        bomberoRepository.deleteAll();
+        conflictoTurnoService.cargar();
+    }
+
+    /**
+     * Verifica que, con varios hilos agregando bomberos al mismo equipo a la vez, no se
+     * pierde ningún bombero y la versión cuenta cada escritura confirmada.
+     */
+    @Test
+    public void agregarBomberosConcurrenteTest() throws Exception {
+        // Arrange
+        List<Callable<Void>> tareas = new ArrayList<>();
+        for (int h = 0; h < HILOS; h++) {
+            List<Bombero> propios = bomberos.subList(h * BOMBEROS_POR_HILO, (h + 1) * BOMBEROS_POR_HILO);
+            tareas.add(() -> {
+                for (Bombero bombero : propios) {
+                    equipoService.agregarBomberos(equipo.getId(), List.of(bombero.getId()));
+                }
+                return null;
+            });
+        }
+
+        // Act
+        ejecutarALaVez(tareas);
+
+        // Assert
+        Equipo actual = equipoService.findByID(equipo.getId());
+        assertEquals(bomberos.stream().map(Bombero::getId).collect(Collectors.toSet()),
+                actual.getPersonal().stream().map(Bombero::getId).collect(Collectors.toSet()));
+        assertEquals(equipo.getVersion() + HILOS * BOMBEROS_POR_HILO, actual.getVersion());
+    }
+
+    /**
+     * Verifica que asignaciones simultáneas de distintas referencias del mismo equipo se
+     * conservan todas, en vez de que la última sobrescriba a las demás.
+     */
+    @Test
+    public void asignacionesConcurrentesTest() throws Exception {
+        // Arrange
+        Turno turno = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Ubicacion ubicacion = ubicacionRepository.save(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        Compania compania = companiaRepository.save(new Compania(null, "Primera", ubicacion));
+        TipoEquipo tipoEquipo = tipoEquipoRepository.save(new TipoEquipo(null, "Rescate"));
+        conflictoTurnoService.cargar();
+        Integer id = equipo.getId();
+
+        // Act
+        ejecutarALaVez(List.of(
+                () -> { equipoService.asignarTurno(id, turno.getId()); return null; },
+                () -> { equipoService.asignarCompania(id, compania.getId()); return null; },
+                () -> { equipoService.asignarTipoEquipo(id, tipoEquipo.getId()); return null; },
+                () -> { equipoService.agregarBomberos(id, List.of(bomberos.get(0).getId())); return null; }));
+
+        // Assert
+        Equipo actual = equipoService.findByID(id);
+        assertEquals(turno.getId(), actual.getTurno().getId());
+        assertEquals(compania.getId(), actual.getCompania().getId());
+        assertEquals(tipoEquipo.getId(), actual.getTipoEquipo().getId());
+        assertEquals(Set.of(bomberos.get(0).getId()),
+                actual.getPersonal().stream().map(Bombero::getId).collect(Collectors.toSet()));
+        assertEquals(equipo.getVersion() + 4, actual.getVersion());
+    }
+
+    /**
+     * Verifica que una actualización basada en una versión anterior se rechaza sin
+     * reintentarse ni modificar el equipo.
+     */
+    @Test
+    public void updateTest_VersionAnterior() {
+        // Arrange
+        Integer versionLeida = equipo.getVersion();
+        equipoService.agregarBomberos(equipo.getId(), List.of(bomberos.get(0).getId()));
+        Equipo cambios = new Equipo();
+        cambios.setNombre("Equipo B");
+        cambios.setVersion(versionLeida);
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class, () -> equipoService.update(cambios, equipo.getId()));
+        assertEquals("Equipo A", equipoRepository.findById(equipo.getId()).orElseThrow().getNombre());
+    }
+
+    /**
+     * Lanza las tareas en hilos distintos, liberándolas al mismo tiempo, y propaga el primer error.
+     */
+    private static void ejecutarALaVez(List<Callable<Void>> tareas) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(tareas.size());
+        try {
+            CountDownLatch salida = new CountDownLatch(1);
+            List<Future<Void>> resultados = new ArrayList<>();
+            for (Callable<Void> tarea : tareas) {
+                resultados.add(hilos.submit(() -> {
+                    salida.await();
+                    return tarea.call();
+                }));
+            }
+            salida.countDown();
+            for (Future<Void> resultado : resultados) {
+                resultado.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
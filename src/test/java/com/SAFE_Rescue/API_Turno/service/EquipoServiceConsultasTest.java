@@ -0,0 +1,297 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.EquipoResumen;
+import com.SAFE_Rescue.API_Turno.dto.VistaEquipo;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.support.ContadorSentencias;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración que cuentan las sentencias SQL generadas por EquipoService.
+ * <p>
+ * Se ejecutan contra H2 en modo MySQL y verifican que la resolución de personal,
+ * vehículos y recursos se haga con una consulta por colección, sin importar
+ * cuántos IDs reciba el equipo.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class, ConflictoTurnoService.class, CacheConfig.class})
+public class EquipoServiceConsultasTest {
+
+    @Autowired
+    private EquipoService equipoService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Integer> bomberosIds;
+    private List<Integer> vehiculosIds;
+    private List<Integer> recursosIds;
+    private Turno turno;
+    private Compania compania;
+    private TipoEquipo tipoEquipo;
+    private Equipo equipo;
+
+    /**
+     * Carga un equipo con 40 bomberos, 6 vehículos y 30 recursos disponibles.
+     */
+    @BeforeEach
+    public void setUp() {
+        bomberosIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Bombero bombero = new Bombero(null, "Bombero " + i, "Paterno", "Materno", 900000000 + i);
+            bomberosIds.add(entityManager.persist(bombero).getId());
+        }
+
+        vehiculosIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Vehiculo vehiculo = new Vehiculo(null, "Marca", "Modelo", "AB12" + i, "Conductor", "Operativo");
+            vehiculosIds.add(entityManager.persist(vehiculo).getId());
+        }
+
+        recursosIds = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Recurso recurso = new Recurso(null, "Recurso " + i, "HERRAMIENTA", 10);
+            recursosIds.add(entityManager.persist(recurso).getId());
+        }
+
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        turno = entityManager.persist(new Turno(null, "Turno Mañana", inicio, inicio.plusHours(8), 8));
+        Ubicacion ubicacion = entityManager.persist(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        compania = entityManager.persist(new Compania(null, "Primera Compañía", ubicacion));
+        tipoEquipo = entityManager.persist(new TipoEquipo(null, "Rescate"));
+        equipo = entityManager.persist(new Equipo(null, "Equipo A", 5, true, "Juan Pérez",
+                new HashSet<>(), new HashSet<>(), new HashSet<>(), turno, compania, tipoEquipo));
+
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSentencias.reiniciar();
+    }
+
+    /**
+     * Verifica que guardar un equipo resuelve cada colección con una sola consulta.
+     */
+    @Test
+    public void saveTest_UnaConsultaPorColeccion() {
+        // Arrange
+        Equipo nuevo = new Equipo(null, "Equipo B", 40, true, "Ana Soto",
+                referencias(vehiculosIds, id -> new Vehiculo(id, null, null, null, null, null)),
+                referencias(bomberosIds, id -> new Bombero(id, null, null, null, null)),
+                referencias(recursosIds, id -> new Recurso(id, null, null, null)),
+                turno, compania, tipoEquipo);
+
+        // Act
+        equipoService.save(nuevo);
+        entityManager.flush();
+
+        // Assert: además, la revisión de conflictos bloquea los bomberos y vehículos
+        assertEquals(1, ContadorSentencias.contarSinBloqueo("from bombero "));
+        assertEquals(1, ContadorSentencias.contarSinBloqueo("from vehiculo "));
+        assertEquals(1, ContadorSentencias.contar("from recurso "));
+        assertEquals(bomberosIds.size(), nuevo.getPersonal().size());
+        assertEquals(vehiculosIds.size(), nuevo.getVehiculos().size());
+        assertEquals(recursosIds.size(), nuevo.getRecursos().size());
+    }
+
+    /**
+     * Verifica que la asignación conserva el orden solicitado y descarta duplicados
+     * usando una sola consulta.
+     */
+    @Test
+    public void asignarListaBomberos_OrdenYDuplicados() {
+        // Arrange
+        List<Integer> solicitados = List.of(bomberosIds.get(5), bomberosIds.get(2), bomberosIds.get(5), bomberosIds.get(0));
+
+        // Act
+        equipoService.asignarListaBomberos(equipo.getId(), solicitados);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(1, ContadorSentencias.contarSinBloqueo("from bombero "));
+        Equipo actualizado = entityManager.find(Equipo.class, equipo.getId());
+        List<Integer> asignados = new ArrayList<>();
+        for (Bombero bombero : actualizado.getPersonal()) {
+            asignados.add(bombero.getId());
+        }
+        assertEquals(List.of(bomberosIds.get(5), bomberosIds.get(2), bomberosIds.get(0)), asignados);
+    }
+
+    /**
+     * Verifica que el error informa todos los IDs faltantes de una vez.
+     */
+    @Test
+    public void asignarListaBomberos_IdsNoExistentes() {
+        // Act
+        NoSuchElementException error = assertThrows(NoSuchElementException.class,
+                () -> equipoService.asignarListaBomberos(equipo.getId(), List.of(bomberosIds.get(0), -1, -2)));
+
+        // Assert
+        assertTrue(error.getMessage().contains("[-1, -2]"));
+        assertEquals(1, ContadorSentencias.contar("from bombero "));
+    }
+
+    /**
+     * Verifica que los filtros del listado se aplican en la consulta y que,
+     * al desactivar los totales, no se ejecuta la consulta de conteo.
+     */
+    @Test
+    public void buscarTest_FiltrosSinTotales() {
+        // Arrange
+        entityManager.persist(new Equipo(null, "Equipo Inactivo", 3, false, "Pedro Rojas",
+                new HashSet<>(), new HashSet<>(), new HashSet<>(), turno, compania, tipoEquipo));
+        entityManager.flush();
+        ContadorSentencias.reiniciar();
+
+        // Act
+        Slice<Equipo> activos = equipoService.buscar(true, compania.getId(), tipoEquipo.getId(), PageRequest.of(0, 1), false, VistaEquipo.RESUMEN);
+        long conteosSinTotales = ContadorSentencias.contar("count(");
+        Slice<Equipo> todos = equipoService.buscar(null, compania.getId(), null, PageRequest.of(0, 1), true, VistaEquipo.RESUMEN);
+
+        // Assert
+        assertEquals(List.of("Equipo A"), activos.map(Equipo::getNombre).getContent());
+        assertFalse(activos instanceof Page);
+        assertEquals(0, conteosSinTotales);
+        assertEquals(2, ((Page<Equipo>) todos).getTotalElements());
+    }
+
+    /**
+     * Verifica que un listado completo de 500 equipos, incluida su serialización,
+     * se resuelve con una consulta para la página y una por cada lista.
+     */
+    @Test
+    public void buscarTest_VistaCompletaConsultasConstantes() throws Exception {
+        // Arrange
+        cargarEquipos(500);
+        ObjectMapper mapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+
+        // Act
+        Slice<Equipo> equipos = equipoService.buscar(null, null, null, PageRequest.of(0, 500), false, VistaEquipo.COMPLETO);
+        String json = mapper.writeValueAsString(equipos.getContent());
+
+        // Assert
+        assertEquals(500, equipos.getNumberOfElements());
+        assertEquals(4, ContadorSentencias.total());
+        assertEquals(1, ContadorSentencias.contar("join equipo_personal"));
+        assertEquals(1, ContadorSentencias.contar("join equipo_vehiculos"));
+        assertEquals(1, ContadorSentencias.contar("join equipo_recursos"));
+        assertTrue(json.contains("\"comuna\":\"Valparaíso\""));
+        for (Equipo equipo : equipos) {
+            assertEquals(2, equipo.getPersonal().size());
+            assertEquals(1, equipo.getVehiculos().size());
+            assertEquals(1, equipo.getRecursos().size());
+        }
+    }
+
+    /**
+     * Verifica que la vista resumen carga las referencias en la misma consulta de la página
+     * y deja sin inicializar las listas.
+     */
+    @Test
+    public void buscarTest_VistaResumenUnaConsulta() {
+        // Arrange
+        cargarEquipos(500);
+
+        // Act
+        Slice<Equipo> equipos = equipoService.buscar(null, null, null, PageRequest.of(0, 500), false, VistaEquipo.RESUMEN);
+        for (Equipo equipo : equipos) {
+            assertNotNull(equipo.getCompania().getUbicacion().getComuna());
+            assertNotNull(equipo.getTurno().getNombre());
+            assertNotNull(equipo.getTipoEquipo().getNombre());
+        }
+
+        // Assert
+        assertEquals(1, ContadorSentencias.total());
+        for (Equipo equipo : equipos) {
+            assertFalse(Hibernate.isInitialized(equipo.getPersonal()));
+        }
+    }
+
+    /**
+     * Verifica que los resúmenes se obtienen en una consulta, con las cantidades calculadas
+     * en la base de datos y sin dejar entidades en el contexto de persistencia.
+     */
+    @Test
+    public void buscarResumenTest_SinEntidadesAdministradas() {
+        // Arrange
+        cargarEquipos(50);
+
+        // Act
+        Page<EquipoResumen> resumenes = equipoService.buscarResumen(true, null, null,
+                PageRequest.of(0, 20, Sort.by("nombre")));
+
+        // Assert
+        assertEquals(50, resumenes.getTotalElements());
+        assertEquals(2, ContadorSentencias.total());
+        EquipoResumen primero = resumenes.getContent().get(0);
+        assertEquals("Equipo 0", primero.nombre());
+        assertEquals(2, primero.cantidadPersonal());
+        assertEquals(1, primero.cantidadVehiculos());
+        assertEquals(1, primero.cantidadRecursos());
+        assertNotNull(primero.companiaId());
+        SessionImplementor sesion = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+        assertEquals(0, sesion.getPersistenceContext().getNumberOfManagedEntities());
+    }
+
+    /**
+     * Persiste la cantidad indicada de equipos repartidos entre varias compañías, tipos y turnos,
+     * cada uno con dos bomberos, un vehículo y un recurso.
+     */
+    private void cargarEquipos(int cantidad) {
+        List<Compania> companias = new ArrayList<>();
+        List<TipoEquipo> tipos = new ArrayList<>();
+        List<Turno> turnos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Ubicacion ubicacion = entityManager.persist(new Ubicacion(null, "Calle " + i, i, "Valparaíso", "Valparaíso"));
+            companias.add(entityManager.persist(new Compania(null, "Compañía " + i, ubicacion)));
+            tipos.add(entityManager.persist(new TipoEquipo(null, "Tipo " + i)));
+            LocalDateTime inicio = LocalDateTime.of(2025, 8, 1, 8, 0).plusDays(i);
+            turnos.add(entityManager.persist(new Turno(null, "Turno " + i, inicio, inicio.plusHours(8), 8)));
+        }
+        Bombero bombero1 = entityManager.find(Bombero.class, bomberosIds.get(0));
+        Bombero bombero2 = entityManager.find(Bombero.class, bomberosIds.get(1));
+        Vehiculo vehiculo = entityManager.find(Vehiculo.class, vehiculosIds.get(0));
+        Recurso recurso = entityManager.find(Recurso.class, recursosIds.get(0));
+        for (int i = 0; i < cantidad; i++) {
+            entityManager.persist(new Equipo(null, "Equipo " + i, 3, true, "Líder " + i,
+                    new HashSet<>(List.of(vehiculo)), new HashSet<>(List.of(bombero1, bombero2)),
+                    new HashSet<>(List.of(recurso)), turnos.get(i % 5), companias.get(i % 5), tipos.get(i % 5)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().createQuery("delete from Equipo e where e.id = :id")
+                .setParameter("id", equipo.getId()).executeUpdate();
+        ContadorSentencias.reiniciar();
+    }
+
+    private static <T> Set<T> referencias(List<Integer> ids, java.util.function.Function<Integer, T> fabrica) {
+        Set<T> referencias = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            referencias.add(fabrica.apply(id));
+        }
+        return referencias;
+    }
+}
@@ -0,0 +1,195 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import com.SAFE_Rescue.API_Turno.support.ContadorSentencias;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de las escrituras de EquipoService contra H2 en modo MySQL.
+ * <p>
+ * Se ejecutan sin la transacción de prueba para que cada escritura se confirme y el
+ * índice de conflictos conozca los turnos, igual que en la aplicación.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class,
+        ConflictoTurnoService.class, CacheConfig.class})
+public class EquipoServiceEscrituraTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    @Autowired private EquipoService equipoService;
+    @Autowired private ConflictoTurnoService conflictoTurnoService;
+
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private UbicacionRepository ubicacionRepository;
+    @Autowired private TipoEquipoRepository tipoEquipoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+
+    private Turno turno;
+    private Compania compania;
+    private TipoEquipo tipoEquipo;
+    private List<Bombero> bomberos;
+
+    @BeforeEach
+    public void setUp() {
+        turno = turnoRepository.save(new Turno(null, "Mañana", BASE, BASE.plusHours(12), 12));
+        Ubicacion ubicacion = ubicacionRepository.save(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        compania = companiaRepository.save(new Compania(null, "Primera", ubicacion));
+        tipoEquipo = tipoEquipoRepository.save(new TipoEquipo(null, "Rescate"));
+        bomberos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bomberos.add(bomberoRepository.save(new Bombero(null, "Bombero" + i, "Paterno", "Materno", 900000000 + i)));
+        }
+        conflictoTurnoService.cargar();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        equipoRepository.deleteAll();
+        turnoRepository.deleteAll();
+        companiaRepository.deleteAll();
+        ubicacionRepository.deleteAll();
+        tipoEquipoRepository.deleteAll();
+        bomberoRepository.deleteAll();
+        conflictoTurnoService.cargar();
+    }
+
+    /**
+     * Verifica que guardar un equipo que referencia por ID un turno, una compañía y un
+     * tipo de equipo existentes no los consulta ni los vuelve a escribir.
+     */
+    @Test
+    public void saveTest_RelacionesPorReferencia() {
+        // Arrange
+        Equipo nuevo = equipo("Equipo A", new Turno(turno.getId(), null, null, null, null),
+                new Compania(compania.getId(), null, null), new TipoEquipo(tipoEquipo.getId(), null));
+        ContadorSentencias.reiniciar();
+
+        // Act
+        Equipo guardado = equipoService.save(nuevo);
+
+        // Assert
+        for (String tabla : List.of("turno", "compania", "ubicacion", "tipo_equipo")) {
+            assertEquals(0, ContadorSentencias.contarSinBloqueo("from " + tabla + " "), "Consultas a " + tabla);
+            assertEquals(0, ContadorSentencias.contar("insert into " + tabla + " "), "Inserciones en " + tabla);
+            assertEquals(0, ContadorSentencias.contar("update " + tabla + " "), "Actualizaciones de " + tabla);
+        }
+        assertEquals(1, ContadorSentencias.contar("insert into equipo "));
+        // La revisión de conflictos lee con bloqueo el intervalo del turno, sin cargar la entidad
+        assertEquals(1, ContadorSentencias.contar("from turno "));
+        Equipo leido = equipoRepository.findById(guardado.getId()).orElseThrow();
+        assertEquals(turno.getId(), leido.getTurno().getId());
+        assertEquals(compania.getId(), leido.getCompania().getId());
+        assertEquals(tipoEquipo.getId(), leido.getTipoEquipo().getId());
+    }
+
+    /**
+     * Verifica que una relación sin ID se rechaza salvo que se solicite su creación.
+     */
+    @Test
+    public void saveTest_CrearRelaciones() {
+        // Arrange
+        Turno turnoNuevo = new Turno(null, "Noche", BASE.plusDays(1), BASE.plusDays(1).plusHours(12), 12);
+
+        // Act & Assert
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> equipoService.save(equipo("Equipo A", turnoNuevo, null, null)));
+        assertTrue(error.getMessage().contains("Turno sin ID"));
+        assertEquals(1, turnoRepository.count());
+
+        Equipo guardado = equipoService.save(equipo("Equipo A", turnoNuevo, null, null), true);
+        assertEquals(2, turnoRepository.count());
+        assertNotNull(equipoRepository.findById(guardado.getId()).orElseThrow().getTurno().getId());
+    }
+
+    /**
+     * Verifica que agregar, quitar o reemplazar un solo bombero escribe una sola fila de la
+     * tabla intermedia, en vez de borrar y volver a insertar todo el personal.
+     */
+    @Test
+    public void personalTest_CambiosDiferenciales() {
+        // Arrange
+        Equipo equipo = equipoService.save(equipo("Equipo A", turno, null, null));
+        Bombero nuevo = bomberoRepository.save(new Bombero(null, "Nuevo", "Paterno", "Materno", 911111111));
+        Integer primero = bomberos.get(0).getId();
+
+        // Act & Assert: agregar un bombero
+        ContadorSentencias.reiniciar();
+        equipoService.agregarBomberos(equipo.getId(), List.of(nuevo.getId()));
+        assertEquals(1, ContadorSentencias.contar("insert into equipo_personal "));
+        assertEquals(0, ContadorSentencias.contar("delete from equipo_personal "));
+
+        // Quitar un bombero
+        ContadorSentencias.reiniciar();
+        equipoService.quitarBomberos(equipo.getId(), List.of(primero));
+        assertEquals(0, ContadorSentencias.contar("insert into equipo_personal "));
+        assertFilaUnica("delete from equipo_personal ");
+
+        // Reemplazar la lista completa cambiando un solo bombero
+        List<Integer> reemplazo = new ArrayList<>(personalDe(equipo.getId()));
+        reemplazo.remove(nuevo.getId());
+        reemplazo.add(primero);
+        ContadorSentencias.reiniciar();
+        equipoService.asignarListaBomberos(equipo.getId(), reemplazo);
+        assertEquals(1, ContadorSentencias.contar("insert into equipo_personal "));
+        assertFilaUnica("delete from equipo_personal ");
+
+        assertEquals(new HashSet<>(reemplazo), personalDe(equipo.getId()));
+    }
+
+    /**
+     * Verifica que la sentencia indicada se ejecutó una vez y sobre una sola fila de la tabla
+     * intermedia (filtrando por ambas columnas) y no sobre todo el equipo.
+     */
+    private static void assertFilaUnica(String fragmento) {
+        List<String> sentencias = ContadorSentencias.sentencias().stream().filter(sql -> sql.contains(fragmento)).toList();
+        assertEquals(1, sentencias.size(), "Sentencias: " + sentencias);
+        assertTrue(sentencias.get(0).contains("personal_id"), sentencias.get(0));
+    }
+
+    private HashSet<Integer> personalDe(Integer equipoId) {
+        return equipoRepository.idsPersonal(List.of(equipoId)).stream()
+                .map(fila -> (Integer) fila[1])
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private Equipo equipo(String nombre, Turno turno, Compania compania, TipoEquipo tipoEquipo) {
+        Equipo equipo = new Equipo();
+        equipo.setNombre(nombre);
+        equipo.setCantidadMiembros(bomberos.size());
+        equipo.setEstado(true);
+        equipo.setLider("Líder");
+        equipo.setTurno(turno);
+        equipo.setCompania(compania);
+        equipo.setTipoEquipo(tipoEquipo);
+        equipo.setPersonal(bomberos.stream().map(b -> new Bombero(b.getId(), null, null, null, 0)).collect(Collectors.toSet()));
+        equipo.setVehiculos(new HashSet<>());
+        equipo.setRecursos(new HashSet<>());
+        return equipo;
+    }
+}
@@ -54,9 +54,9 @@ public class EquipoServiceTest {
     private Random random;
     private Equipo equipo;
     private Integer id;
-    private List<Vehiculo> vehiculosAsignados;
-    private List<Bombero> personal;
-    private List<Recurso> recursosAsignados;
+    private Set<Vehiculo> vehiculosAsignados;
+    private Set<Bombero> personal;
+    private Set<Recurso> recursosAsignados;
     private String patente;
 
     /**
@@ -70,26 +70,35 @@ public class EquipoServiceTest {
         id = 1;
         faker = new Faker();
         random = new Random();
-        recursosAsignados = new ArrayList<>();
-        personal = new ArrayList<>();
-        vehiculosAsignados = new ArrayList<>();
+        recursosAsignados = new LinkedHashSet<>();
+        personal = new LinkedHashSet<>();
+        vehiculosAsignados = new LinkedHashSet<>();
 
         // Mockear los vehículos
-        when(vehiculoRepository.findById(anyInt())).thenAnswer(invocation -> {
-            Integer id = invocation.getArgument(0);
-            return Optional.of(new Vehiculo(id, "Marca " + id, "Modelo " + id, "Patente " + id, "Conductor " + id, faker.lorem().word()));
+        when(vehiculoRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Vehiculo> vehiculos = new ArrayList<>();
+            for (Integer id : invocation.<Iterable<Integer>>getArgument(0)) {
+                vehiculos.add(new Vehiculo(id, "Marca " + id, "Modelo " + id, "Patente " + id, "Conductor " + id, faker.lorem().word()));
+            }
+            return vehiculos;
         });
 
         // Mockear el personal (Bomberos)
-        when(bomberoRepository.findById(anyInt())).thenAnswer(invocation -> {
-            Integer id = invocation.getArgument(0);
-            return Optional.of(new Bombero(id, faker.name().firstName(), faker.name().lastName(), faker.name().lastName(), faker.number().numberBetween(100000000, 999999999)));
+        when(bomberoRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Bombero> bomberos = new ArrayList<>();
+            for (Integer id : invocation.<Iterable<Integer>>getArgument(0)) {
+                bomberos.add(new Bombero(id, faker.name().firstName(), faker.name().lastName(), faker.name().lastName(), faker.number().numberBetween(100000000, 999999999)));
+            }
+            return bomberos;
         });
 
         // Mockear los recursos
-        when(recursoRepository.findById(anyInt())).thenAnswer(invocation -> {
-            Integer id = invocation.getArgument(0);
-            return Optional.of(new Recurso(id, faker.lorem().word(), faker.lorem().word(), faker.number().numberBetween(0, 9999)));
+        when(recursoRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Recurso> recursos = new ArrayList<>();
+            for (Integer id : invocation.<Iterable<Integer>>getArgument(0)) {
+                recursos.add(new Recurso(id, faker.lorem().word(), faker.lorem().word(), faker.number().numberBetween(0, 9999)));
+            }
+            return recursos;
         });
 
         // Crear vehículos
@@ -182,15 +191,19 @@ public class EquipoServiceTest {
     /**
      * Prueba que verifica la creación y guardado de un nuevo equipo.
      * <p>
-     * Asegura que el equipo se guarda correctamente en el repositorio.
+     * Asegura que el equipo se guarda correctamente en el repositorio y que sus
+     * relaciones existentes se asocian por referencia, sin volver a guardarlas.
      * </p>
      */
     @Test
     public void saveTest() {
         // Arrange
-        when(turnoRepository.save(equipo.getTurno())).thenReturn(equipo.getTurno());
-        when(companiaRepository.save(equipo.getCompania())).thenReturn(equipo.getCompania());
-        when(tipoEquipoRepository.save(equipo.getTipoEquipo())).thenReturn(equipo.getTipoEquipo());
+        Turno turno = equipo.getTurno();
+        Compania compania = equipo.getCompania();
+        TipoEquipo tipoEquipo = equipo.getTipoEquipo();
+        when(turnoRepository.getReferenceById(turno.getId())).thenReturn(turno);
+        when(companiaRepository.getReferenceById(compania.getId())).thenReturn(compania);
+        when(tipoEquipoRepository.getReferenceById(tipoEquipo.getId())).thenReturn(tipoEquipo);
         when(equipoRepository.save(equipo)).thenReturn(equipo);
 
         // Act
@@ -205,11 +218,14 @@ public class EquipoServiceTest {
         assertEquals(equipo.getVehiculos(), guardado.getVehiculos());
         assertEquals(equipo.getPersonal(), guardado.getPersonal());
         assertEquals(equipo.getRecursos(), guardado.getRecursos());
-        assertEquals(equipo.getTurno(), guardado.getTurno());
-        assertEquals(equipo.getCompania(), guardado.getCompania());
-        assertEquals(equipo.getTipoEquipo(), guardado.getTipoEquipo());
+        assertEquals(turno, guardado.getTurno());
+        assertEquals(compania, guardado.getCompania());
+        assertEquals(tipoEquipo, guardado.getTipoEquipo());
 
         verify(equipoRepository, times(1)).save(equipo);
+        verify(turnoRepository, never()).save(turno);
+        verify(companiaRepository, never()).save(compania);
+        verify(tipoEquipoRepository, never()).save(tipoEquipo);
     }
 
 
@@ -246,21 +262,15 @@ public class EquipoServiceTest {
 
         // Verificar listas de vehículos
         assertEquals(equipo.getVehiculos().size(), actualizado.getVehiculos().size(), "La cantidad de vehículos no coincide");
-        for (int i = 0; i < equipo.getVehiculos().size(); i++) {
-            assertEquals(equipo.getVehiculos().get(i), actualizado.getVehiculos().get(i), "El vehículo en la posición " + i + " no coincide");
-        }
+        assertEquals(equipo.getVehiculos(), actualizado.getVehiculos(), "Los vehículos no coinciden");
 
         // Verificar listas de personal
         assertEquals(equipo.getPersonal().size(), actualizado.getPersonal().size(), "La cantidad de personal no coincide");
-        for (int i = 0; i < equipo.getPersonal().size(); i++) {
-            assertEquals(equipo.getPersonal().get(i), actualizado.getPersonal().get(i), "El personal en la posición " + i + " no coincide");
-        }
+        assertEquals(equipo.getPersonal(), actualizado.getPersonal(), "El personal no coincide");
 
         // Verificar listas de recursos
         assertEquals(equipo.getRecursos().size(), actualizado.getRecursos().size(), "La cantidad de recursos no coincide");
-        for (int i = 0; i < equipo.getRecursos().size(); i++) {
-            assertEquals(equipo.getRecursos().get(i), actualizado.getRecursos().get(i), "El recurso en la posición " + i + " no coincide");
-        }
+        assertEquals(equipo.getRecursos(), actualizado.getRecursos(), "Los recursos no coinciden");
 
         assertEquals(equipo.getTurno(), actualizado.getTurno(), "El turno no coincide");
         assertEquals(equipo.getCompania(), actualizado.getCompania(), "La compañía no coincide");
@@ -392,4 +402,4 @@ public class EquipoServiceTest {
         // Assert
         assertThrows(IllegalArgumentException.class, () -> equipoService.validarEquipo(equipo));
     }
-}
\ No newline at end of file
+}
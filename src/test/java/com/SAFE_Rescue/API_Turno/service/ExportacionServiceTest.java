@@ -0,0 +1,125 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.support.ContadorSentencias;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de ExportacionService contra H2 en modo MySQL.
+ * <p>
+ * Se usa un bloque de 100 filas para verificar que el contexto de persistencia se vacía
+ * durante la exportación y que las listas de los equipos se consultan una vez por bloque.
+ * </p>
+ */
+@DataJpaTest(properties = "exportacion.tamanio-bloque=100")
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ExportacionService.class, CacheConfig.class})
+public class ExportacionServiceTest {
+
+    @Autowired
+    private ExportacionService exportacionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Bombero bombero;
+
+    /**
+     * Carga 250 turnos y 250 equipos, cada equipo con un bombero asignado.
+     */
+    @BeforeEach
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.of(2025, 7, 1, 8, 0);
+        Ubicacion ubicacion = entityManager.persist(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        Compania compania = entityManager.persist(new Compania(null, "Primera", ubicacion));
+        TipoEquipo tipo = entityManager.persist(new TipoEquipo(null, "Rescate"));
+        bombero = entityManager.persist(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        for (int i = 0; i < 250; i++) {
+            LocalDateTime inicio = base.plusHours(i);
+            String nombre = i == 0 ? "Turno \"A\", noche" : "Turno " + i;
+            Turno turno = entityManager.persist(new Turno(null, nombre, inicio, inicio.plusHours(8), 8));
+            entityManager.persist(new Equipo(null, "Equipo " + i, 3, true, "Líder " + i,
+                    new HashSet<>(), new HashSet<>(List.of(bombero)), new HashSet<>(), turno, compania, tipo));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSentencias.reiniciar();
+    }
+
+    /**
+     * Verifica que la exportación CSV de turnos escribe el encabezado y todas las filas,
+     * escapando los campos con comas o comillas, y que el contexto de persistencia no
+     * acumula más de un bloque de entidades.
+     */
+    @Test
+    public void exportarTurnosTest_Csv() throws Exception {
+        // Arrange
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        long cantidad = exportacionService.exportarTurnos(salida, FormatoArchivo.CSV);
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(250, cantidad);
+        assertEquals(251, lineas.length);
+        assertEquals("id,nombre,fechaHoraInicio,fechaHoraFin,duracion", lineas[0]);
+        assertTrue(lineas[1].contains(",\"Turno \"\"A\"\", noche\",2025-07-01T08:00,"));
+        assertEquals(1, ContadorSentencias.total());
+        SessionImplementor sesion = entityManager.getEntityManager().unwrap(SessionImplementor.class);
+        assertTrue(sesion.getPersistenceContext().getNumberOfManagedEntities() <= 100);
+    }
+
+    /**
+     * Verifica que la exportación NDJSON de equipos usa una consulta para el flujo y tres
+     * por bloque para las listas, y que cada línea indica las referencias por ID.
+     */
+    @Test
+    public void exportarEquiposTest_NdjsonPorBloques() throws Exception {
+        // Arrange
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        // Act
+        long cantidad = exportacionService.exportarEquipos(salida, FormatoArchivo.NDJSON);
+
+        // Assert
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(250, cantidad);
+        assertEquals(250, lineas.length);
+        assertEquals(1 + 3 * 3, ContadorSentencias.total());
+        JsonNode primero = objectMapper.readTree(lineas[0]);
+        assertEquals("Equipo 0", primero.get("nombre").asText());
+        assertEquals(bombero.getId(), primero.get("personal").get(0).get("id").asInt());
+        assertTrue(primero.get("compania").has("id"));
+        assertFalse(primero.get("compania").has("nombre"));
+        assertEquals(0, primero.get("vehiculos").size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.FormatoArchivo;
+import com.SAFE_Rescue.API_Turno.dto.ReporteImportacion;
+import com.SAFE_Rescue.API_Turno.modelo.*;
+import com.SAFE_Rescue.API_Turno.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de ImportacionService contra H2 en modo MySQL.
+ * <p>
+ * Se ejecutan sin la transacción de prueba para que cada lote se confirme por separado,
+ * igual que en la aplicación; los datos se eliminan al terminar cada prueba.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ImportacionService.class, EquipoService.class, TurnoService.class, CompaniaService.class, TipoEquipoService.class, ConflictoTurnoService.class, CacheConfig.class})
+public class ImportacionServiceTest {
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired private TurnoRepository turnoRepository;
+    @Autowired private EquipoRepository equipoRepository;
+    @Autowired private CompaniaRepository companiaRepository;
+    @Autowired private UbicacionRepository ubicacionRepository;
+    @Autowired private TipoEquipoRepository tipoEquipoRepository;
+    @Autowired private BomberoRepository bomberoRepository;
+
+    @AfterEach
+    public void tearDown() {
+        equipoRepository.deleteAll();
+        turnoRepository.deleteAll();
+        companiaRepository.deleteAll();
+        ubicacionRepository.deleteAll();
+        tipoEquipoRepository.deleteAll();
+        bomberoRepository.deleteAll();
+    }
+
+    /**
+     * Verifica que las filas válidas se guardan por lotes, que la duración se calcula
+     * y que las filas con error se informan con su número de línea.
+     */
+    @Test
+    public void importarTurnosTest_CsvConErrores() {
+        // Arrange
+        String csv = """
+                nombre,fechaHoraInicio,fechaHoraFin
+                Mañana,2025-07-01T08:00:00,2025-07-01T16:00:00
+                "Tarde, refuerzo",2025-07-01T16:00:00,2025-07-02T00:00:00
+                ,2025-07-02T00:00:00,2025-07-02T08:00:00
+                Noche,no-es-fecha,2025-07-02T08:00:00
+
+                Invertido,2025-07-03T08:00:00,2025-07-03T00:00:00
+                Domingo,2025-07-06T08:00:00,2025-07-06T20:00:00
+                """;
+
+        // Act
+        ReporteImportacion reporte = importacionService.importarTurnos(flujo(csv), FormatoArchivo.CSV, 2);
+
+        // Assert
+        assertEquals(6, reporte.getFilasProcesadas());
+        assertEquals(3, reporte.getFilasImportadas());
+        assertEquals(3, reporte.getFilasConError());
+        assertEquals(List.of(4L, 5L, 7L), reporte.getErrores().stream().map(ReporteImportacion.ErrorFila::fila).sorted().toList());
+        List<Turno> guardados = turnoRepository.findAll();
+        assertEquals(3, guardados.size());
+        assertTrue(guardados.stream().anyMatch(t -> t.getNombre().equals("Tarde, refuerzo") && t.getDuracion() == 8));
+    }
+
+    /**
+     * Verifica que los equipos en NDJSON se guardan con sus referencias resueltas por ID
+     * y que una referencia inexistente se informa sin afectar al resto del lote.
+     */
+    @Test
+    public void importarEquiposTest_NdjsonReferencias() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        Turno turno = turnoRepository.save(new Turno(null, "Mañana", inicio, inicio.plusHours(8), 8));
+        Ubicacion ubicacion = ubicacionRepository.save(new Ubicacion(null, "Av. Siempre Viva", 742, "Santiago", "Metropolitana"));
+        Compania compania = companiaRepository.save(new Compania(null, "Primera", ubicacion));
+        TipoEquipo tipo = tipoEquipoRepository.save(new TipoEquipo(null, "Rescate"));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        String ndjson = String.format("""
+                {"nombre":"Equipo A","cantidadMiembros":3,"estado":true,"lider":"Ana","turno":{"id":%1$d},"compania":{"id":%2$d},"tipoEquipo":{"id":%3$d},"personal":[{"id":%4$d}]}
+                {"nombre":"Equipo B","lider":"Luis","turno":{"id":-1},"compania":{"id":%2$d},"tipoEquipo":{"id":%3$d}}
+                {"nombre":"Equipo C","lider":"Eva","compania":{"id":%2$d},"personal":[{"id":%4$d},{"id":-5}]}
+                {no es json
+                """, turno.getId(), compania.getId(), tipo.getId(), bombero.getId());
+
+        // Act
+        ReporteImportacion reporte = importacionService.importarEquipos(flujo(ndjson), FormatoArchivo.NDJSON, null);
+
+        // Assert
+        assertEquals(4, reporte.getFilasProcesadas());
+        assertEquals(1, reporte.getFilasImportadas());
+        assertEquals(List.of(2L, 3L, 4L), reporte.getErrores().stream().map(ReporteImportacion.ErrorFila::fila).sorted().toList());
+        assertTrue(mensaje(reporte, 2).contains("Turno no encontrado con ID: -1"));
+        assertTrue(mensaje(reporte, 3).contains("[-5]"));
+        assertEquals(1, equipoRepository.count());
+    }
+
+    /**
+     * Verifica que dos filas del mismo lote no pueden asignar un bombero a turnos superpuestos,
+     * aunque ninguna esté guardada cuando se revisa la otra, y que un turno consecutivo sí se acepta.
+     */
+    @Test
+    public void importarEquiposTest_ConflictoDentroDelLote() {
+        // Arrange
+        LocalDateTime inicio = LocalDateTime.of(2025, 7, 1, 8, 0);
+        Turno manana = turnoRepository.save(new Turno(null, "Mañana", inicio, inicio.plusHours(8), 8));
+        Turno mediodia = turnoRepository.save(new Turno(null, "Mediodía", inicio.plusHours(4), inicio.plusHours(12), 8));
+        Turno tarde = turnoRepository.save(new Turno(null, "Tarde", inicio.plusHours(8), inicio.plusHours(16), 8));
+        Bombero bombero = bomberoRepository.save(new Bombero(null, "Ana", "Soto", "Rojas", 912345678));
+        String ndjson = String.format("""
+                {"nombre":"Equipo A","lider":"Ana","turno":{"id":%1$d},"personal":[{"id":%4$d}]}
+                {"nombre":"Equipo B","lider":"Luis","turno":{"id":%2$d},"personal":[{"id":%4$d}]}
+                {"nombre":"Equipo C","lider":"Eva","turno":{"id":%3$d},"personal":[{"id":%4$d}]}
+                """, manana.getId(), mediodia.getId(), tarde.getId(), bombero.getId());
+
+        // Act
+        ReporteImportacion reporte = importacionService.importarEquipos(flujo(ndjson), FormatoArchivo.NDJSON, null);
+
+        // Assert
+        assertEquals(2, reporte.getFilasImportadas());
+        assertEquals(List.of(2L), reporte.getErrores().stream().map(ReporteImportacion.ErrorFila::fila).toList());
+        assertTrue(mensaje(reporte, 2).contains("el bombero " + bombero.getId() + " ya está en la fila 1"), mensaje(reporte, 2));
+        assertEquals(List.of("Equipo A", "Equipo C"),
+                equipoRepository.findAll().stream().map(Equipo::getNombre).sorted().toList());
+    }
+
+    /**
+     * Verifica que un encabezado CSV incompleto se rechaza antes de procesar filas.
+     */
+    @Test
+    public void importarEquiposTest_EncabezadoIncompleto() {
+        // Act & Assert
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> importacionService.importarEquipos(flujo("nombre,lider\nA,B\n"), FormatoArchivo.CSV, 10));
+        assertTrue(error.getMessage().contains("estado"));
+    }
+
+    private static String mensaje(ReporteImportacion reporte, long fila) {
+        return reporte.getErrores().stream().filter(e -> e.fila() == fila).findFirst().orElseThrow().mensaje();
+    }
+
+    private static InputStream flujo(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno;
+import com.SAFE_Rescue.API_Turno.dto.ConflictoTurno.Recurso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias del índice en memoria usado para detectar conflictos de turnos.
+ */
+public class IndiceAsignacionesTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 7, 1, 8, 0);
+
+    private IndiceAsignaciones indice;
+
+    @BeforeEach
+    public void setUp() {
+        indice = new IndiceAsignaciones();
+        indice.ponerTurno(1, BASE, BASE.plusHours(12));                  // 08:00 - 20:00
+        indice.ponerTurno(2, BASE.plusHours(12), BASE.plusHours(24));    // 20:00 - 08:00, consecutivo al 1
+        indice.ponerEquipo(10, 1, List.of(100, 101), List.of(500));
+    }
+
+    /**
+     * Verifica que se detectan bomberos y vehículos en turnos superpuestos y que
+     * los turnos consecutivos no se consideran superpuestos.
+     */
+    @Test
+    public void conflictosTest_Superposicion() {
+        // Act
+        List<ConflictoTurno> superpuestos = indice.conflictos(null, BASE.plusHours(6), BASE.plusHours(18),
+                List.of(101, 102), List.of(500));
+        List<ConflictoTurno> consecutivos = indice.conflictos(null, BASE.plusHours(12), BASE.plusHours(24),
+                List.of(100, 101), List.of(500));
+
+        // Assert
+        assertEquals(List.of(
+                new ConflictoTurno(Recurso.BOMBERO, 101, 10, 1, BASE, BASE.plusHours(12)),
+                new ConflictoTurno(Recurso.VEHICULO, 500, 10, 1, BASE, BASE.plusHours(12))), superpuestos);
+        assertTrue(consecutivos.isEmpty());
+    }
+
+    /**
+     * Verifica que un equipo no entra en conflicto consigo mismo y que reemplazar o
+     * quitar un equipo actualiza los recursos indexados.
+     */
+    @Test
+    public void conflictosTest_ReemplazarYQuitarEquipo() {
+        // Act & Assert
+        assertTrue(indice.conflictos(10, BASE, BASE.plusHours(12), List.of(100), List.of()).isEmpty());
+
+        indice.ponerEquipo(10, 1, List.of(101), List.of());
+        assertTrue(indice.conflictos(null, BASE, BASE.plusHours(12), List.of(100), List.of(500)).isEmpty());
+        assertEquals(1, indice.conflictos(null, BASE, BASE.plusHours(12), List.of(101), List.of()).size());
+
+        indice.quitarEquipo(10);
+        assertTrue(indice.conflictos(null, BASE, BASE.plusHours(12), List.of(101), List.of()).isEmpty());
+        assertEquals(0, indice.cantidadEquipos());
+    }
+
+    /**
+     * Verifica que mover un turno detecta los conflictos de los equipos asignados a él.
+     */
+    @Test
+    public void conflictosDeTurnoTest() {
+        // Arrange
+        indice.ponerEquipo(20, 2, List.of(100), List.of());
+
+        // Act
+        List<ConflictoTurno> sinCambio = indice.conflictosDeTurno(2, BASE.plusHours(12), BASE.plusHours(24));
+        List<ConflictoTurno> adelantado = indice.conflictosDeTurno(2, BASE.plusHours(10), BASE.plusHours(22));
+
+        // Assert
+        assertTrue(sinCambio.isEmpty());
+        assertEquals(List.of(new ConflictoTurno(Recurso.BOMBERO, 100, 10, 1, BASE, BASE.plusHours(12))), adelantado);
+    }
+
+    /**
+     * Verifica, con 10.000 turnos cada uno con su equipo, que las revisiones devuelven los
+     * mismos conflictos que una búsqueda exhaustiva. El tiempo de cada revisión con 100.000
+     * turnos se mide en ConflictosBenchmark (perfil Maven benchmarks).
+     */
+    @Test
+    public void conflictosTest_DiezMilTurnos() {
+        // Arrange: turnos de 12 horas cada 2 horas; 500 bomberos y 100 vehículos repartidos
+        IndiceAsignaciones grande = new IndiceAsignaciones();
+        Random random = new Random(42);
+        int cantidad = 10_000;
+        List<List<Integer>> bomberosPorEquipo = new ArrayList<>(cantidad);
+        List<Integer> vehiculoPorEquipo = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            LocalDateTime inicio = BASE.plusHours(2L * i);
+            List<Integer> bomberos = List.of(random.nextInt(500), random.nextInt(500),
+                    random.nextInt(500), random.nextInt(500));
+            int vehiculo = random.nextInt(100);
+            grande.ponerTurno(i, inicio, inicio.plusHours(12));
+            grande.ponerEquipo(i, i, bomberos, List.of(vehiculo));
+            bomberosPorEquipo.add(bomberos);
+            vehiculoPorEquipo.add(vehiculo);
+        }
+
+        // Act & Assert
+        assertEquals(cantidad, grande.cantidadTurnos());
+        long conflictos = 0;
+        for (int r = 0; r < 200; r++) {
+            LocalDateTime inicio = BASE.plusHours(random.nextInt(2 * cantidad));
+            LocalDateTime fin = inicio.plusHours(12);
+            int bombero = random.nextInt(500);
+            int vehiculo = random.nextInt(100);
+
+            Set<Integer> esperados = new HashSet<>();
+            for (int i = 0; i < cantidad; i++) {
+                LocalDateTime inicioEquipo = BASE.plusHours(2L * i);
+                boolean superpuesto = inicioEquipo.isBefore(fin) && inicio.isBefore(inicioEquipo.plusHours(12));
+                if (superpuesto && (bomberosPorEquipo.get(i).contains(bombero) || vehiculoPorEquipo.get(i) == vehiculo)) {
+                    esperados.add(i);
+                }
+            }
+            List<ConflictoTurno> encontrados = grande.conflictos(null, inicio, fin, List.of(bombero), List.of(vehiculo));
+
+            assertEquals(esperados, encontrados.stream().map(ConflictoTurno::equipoId).collect(Collectors.toSet()));
+            conflictos += encontrados.size();
+        }
+        assertTrue(conflictos > 0);
+    }
+}
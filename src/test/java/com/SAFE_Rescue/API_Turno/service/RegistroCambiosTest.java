@@ -0,0 +1,73 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.evento.CambioEntidad;
+import com.SAFE_Rescue.API_Turno.evento.Operacion;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas unitarias del contador de cambios usado para los GET condicionales.
+ */
+public class RegistroCambiosTest {
+
+    private static final long ARRANQUE = 1_000_000L;
+
+    private Clock reloj;
+    private RegistroCambios registro;
+
+    @BeforeEach
+    public void setUp() {
+        reloj = mock(Clock.class);
+        when(reloj.millis()).thenReturn(ARRANQUE);
+        registro = new RegistroCambios(reloj);
+    }
+
+    /**
+     * Verifica que el ETag cambia solo cuando cambia alguna de las tablas consultadas.
+     */
+    @Test
+    public void versionTest_SoloSusTablas() {
+        // Arrange
+        String turnos = registro.version(Turno.class).etag();
+        String ventana = registro.version(Turno.class, Equipo.class).etag();
+
+        // Act
+        registro.alCambiar(CambioEntidad.de(Equipo.class, 1, Operacion.ACTUALIZADO));
+
+        // Assert
+        assertEquals(turnos, registro.version(Turno.class).etag());
+        assertNotEquals(ventana, registro.version(Turno.class, Equipo.class).etag());
+        assertTrue(ventana.startsWith("W/\""));
+    }
+
+    /**
+     * Verifica que la fecha de modificación es la del último cambio y que no se informa
+     * mientras no termine el segundo en que ocurrió.
+     */
+    @Test
+    public void versionTest_UltimaModificacion() {
+        // Arrange
+        when(reloj.millis()).thenReturn(ARRANQUE + 5_500);
+        registro.alCambiar(CambioEntidad.de(Turno.class, 1, Operacion.CREADO));
+
+        // Act
+        when(reloj.millis()).thenReturn(ARRANQUE + 5_900);
+        long mismoSegundo = registro.version(Turno.class).ultimaModificacion();
+        when(reloj.millis()).thenReturn(ARRANQUE + 6_000);
+        long segundoSiguiente = registro.version(Turno.class).ultimaModificacion();
+        long otraTabla = registro.version(Equipo.class).ultimaModificacion();
+
+        // Assert
+        assertEquals(-1, mismoSegundo);
+        assertEquals(ARRANQUE + 5_500, segundoSiguiente);
+        assertEquals(ARRANQUE, otraTabla);
+    }
+}
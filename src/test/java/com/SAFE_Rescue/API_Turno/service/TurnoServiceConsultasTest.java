@@ -0,0 +1,189 @@
+package com.SAFE_Rescue.API_Turno.service;
+
+import com.SAFE_Rescue.API_Turno.config.CacheConfig;
+import com.SAFE_Rescue.API_Turno.dto.PaginaCursor;
+import com.SAFE_Rescue.API_Turno.dto.TurnoVentana;
+import com.SAFE_Rescue.API_Turno.modelo.Equipo;
+import com.SAFE_Rescue.API_Turno.modelo.Turno;
+import com.SAFE_Rescue.API_Turno.repository.TurnoRepository;
+import com.SAFE_Rescue.API_Turno.support.ContadorSentencias;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de integración de las consultas de TurnoService contra H2 en modo MySQL.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TurnoService.class, ConflictoTurnoService.class, CacheConfig.class})
+public class TurnoServiceConsultasTest {
+
+    @Autowired
+    private TurnoService turnoService;
+
+    @Autowired
+    private TurnoRepository turnoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private List<Turno> turnos;
+
+    /**
+     * Carga 25 turnos en orden aleatorio de inicio, con varios turnos compartiendo la misma fecha.
+     */
+    @BeforeEach
+    public void setUp() {
+        turnos = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2025, 7, 1, 8, 0);
+        for (int i = 0; i < 25; i++) {
+            LocalDateTime inicio = base.plusHours((i * 7) % 5);
+            turnos.add(entityManager.persist(new Turno(null, "Turno " + i, inicio, inicio.plusHours(8), 8)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        turnos.sort(Comparator.comparing(Turno::getFechaHoraInicio).thenComparing(Turno::getId));
+        ContadorSentencias.reiniciar();
+    }
+
+    /**
+     * Verifica que el recorrido por cursor entrega cada turno una sola vez, en orden de
+     * fecha de inicio e ID, y que ninguna página usa desplazamiento.
+     */
+    @Test
+    public void recorrerTest_RecorridoCompleto() {
+        // Act
+        List<Integer> recorridos = new ArrayList<>();
+        int paginas = 0;
+        String token = null;
+        do {
+            PaginaCursor<Turno> pagina = turnoService.recorrer(token, 4);
+            pagina.getContenido().forEach(turno -> recorridos.add(turno.getId()));
+            token = pagina.getSiguiente();
+            paginas++;
+        } while (token != null);
+
+        // Assert
+        assertEquals(turnos.stream().map(Turno::getId).toList(), recorridos);
+        assertEquals(7, paginas);
+        assertEquals(7, ContadorSentencias.total());
+        assertEquals(0, ContadorSentencias.contar("offset"));
+    }
+
+    /**
+     * Verifica que se rechazan tokens manipulados y tokens emitidos para otra entidad.
+     */
+    @Test
+    public void recorrerTest_TokenNoValido() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> turnoService.recorrer("no-es-un-token!", 10));
+        assertThrows(IllegalArgumentException.class, () -> turnoService.recorrer(TokenCursor.deEquipo(5), 10));
+        assertThrows(IllegalArgumentException.class, () -> turnoService.recorrer(null, 0));
+        assertEquals(0, ContadorSentencias.total());
+    }
+
+    /**
+     * Verifica que la ventana incluye los turnos que se solapan con ella, también uno de la
+     * duración máxima que comenzó días antes, y excluye los que solo la tocan en un extremo.
+     * Con y sin equipos, la respuesta se obtiene con una sola consulta.
+     */
+    @Test
+    public void buscarEnVentanaTest() {
+        // Arrange
+        LocalDateTime desde = LocalDateTime.of(2025, 8, 2, 8, 0);
+        LocalDateTime hasta = LocalDateTime.of(2025, 8, 2, 20, 0);
+        Turno terminaAlInicio = entityManager.persist(new Turno(null, "Noche anterior", desde.minusHours(12), desde, 12));
+        Turno largo = entityManager.persist(new Turno(null, "Largo", desde.minusHours(96), desde.plusHours(3), 99));
+        Turno madrugada = entityManager.persist(new Turno(null, "Madrugada", desde.minusHours(6), desde.plusHours(2), 8));
+        Turno tarde = entityManager.persist(new Turno(null, "Tarde", desde.plusHours(4), hasta, 8));
+        Turno comienzaAlFin = entityManager.persist(new Turno(null, "Noche", hasta, hasta.plusHours(8), 8));
+        Equipo equipoLargo = entityManager.persist(new Equipo(null, "Equipo L", 3, true, "Ana Soto",
+                Set.of(), Set.of(), Set.of(), largo, null, null));
+        Equipo equipoTarde1 = entityManager.persist(new Equipo(null, "Equipo T1", 4, true, "Juan Pérez",
+                Set.of(), Set.of(), Set.of(), tarde, null, null));
+        Equipo equipoTarde2 = entityManager.persist(new Equipo(null, "Equipo T2", 2, false, "Pedro Rojas",
+                Set.of(), Set.of(), Set.of(), tarde, null, null));
+        entityManager.persist(new Equipo(null, "Equipo N", 2, true, "Rosa Díaz",
+                Set.of(), Set.of(), Set.of(), comienzaAlFin, null, null));
+        entityManager.flush();
+        entityManager.clear();
+        ContadorSentencias.reiniciar();
+
+        // Act
+        List<TurnoVentana> conEquipos = turnoService.buscarEnVentana(desde, hasta, true);
+        int sentenciasConEquipos = ContadorSentencias.total();
+        ContadorSentencias.reiniciar();
+        List<TurnoVentana> sinEquipos = turnoService.buscarEnVentana(desde, hasta, false);
+
+        // Assert
+        List<Integer> esperados = List.of(largo.getId(), madrugada.getId(), tarde.getId());
+        assertEquals(esperados, conEquipos.stream().map(TurnoVentana::id).toList());
+        assertEquals(esperados, sinEquipos.stream().map(TurnoVentana::id).toList());
+        assertFalse(esperados.contains(terminaAlInicio.getId()));
+        assertEquals(List.of(equipoLargo.getId()), conEquipos.get(0).equipos().stream().map(TurnoVentana.Equipo::id).toList());
+        assertTrue(conEquipos.get(1).equipos().isEmpty());
+        assertEquals(List.of(equipoTarde1.getId(), equipoTarde2.getId()),
+                conEquipos.get(2).equipos().stream().map(TurnoVentana.Equipo::id).toList());
+        assertNull(sinEquipos.get(0).equipos());
+        assertEquals(1, sentenciasConEquipos);
+        assertEquals(1, ContadorSentencias.total());
+    }
+
+    /**
+     * Verifica que se rechazan las ventanas vacías o demasiado extensas, y los turnos
+     * más largos que la duración máxima en que se apoya la consulta por ventana.
+     */
+    @Test
+    public void buscarEnVentanaTest_Validaciones() {
+        // Arrange
+        LocalDateTime desde = LocalDateTime.of(2025, 8, 2, 8, 0);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> turnoService.buscarEnVentana(desde, desde, false));
+        assertThrows(IllegalArgumentException.class, () -> turnoService.buscarEnVentana(desde, desde.plusDays(8), false));
+        assertThrows(IllegalArgumentException.class, () -> turnoService.buscarEnVentana(null, desde, false));
+        assertThrows(RuntimeException.class, () -> turnoService.save(
+                new Turno(null, "Demasiado largo", desde, desde.plusHours(TurnoService.DURACION_MAXIMA_HORAS + 1), null)));
+    }
+
+    /**
+     * Inserta 120 turnos y verifica que Hibernate los agrupa en lotes JDBC en lugar de enviar
+     * una sentencia por fila: prepara una sola sentencia de inserción y la reutiliza en cada lote.
+     * El tiempo de inserción de 10.000 turnos, con y sin lotes, se mide en
+     * {@code PersistenciaBenchmark.insertarTurnos}.
+     */
+    @Test
+    public void insercionMasivaTest_LotesJdbc() {
+        // Arrange
+        List<Turno> nuevos = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 8, 0);
+        for (int i = 0; i < 120; i++) {
+            LocalDateTime inicio = base.plusHours(i);
+            nuevos.add(new Turno(null, "Turno masivo " + i, inicio, inicio.plusHours(8), 8));
+        }
+        ContadorSentencias.reiniciar();
+
+        // Act
+        turnoRepository.saveAll(nuevos);
+        entityManager.flush();
+
+        // Assert
+        assertEquals(1, ContadorSentencias.contar("insert into turno"));
+        assertEquals(145, turnoRepository.count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.SAFE_Rescue.API_Turno.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inspector de sentencias de Hibernate utilizado en las pruebas.
+ * <p>
+ * Registra cada sentencia SQL que Hibernate prepara para que las pruebas puedan
+ * verificar cuántas consultas genera una operación y evitar regresiones del tipo N+1.
+ * Se activa desde el perfil de pruebas 'h2'.
+ * </p>
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final List<String> SENTENCIAS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (SENTENCIAS) {
+            SENTENCIAS.add(sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+        }
+        return sql;
+    }
+
+    /**
+     * Descarta las sentencias registradas hasta el momento.
+     */
+    public static void reiniciar() {
+        synchronized (SENTENCIAS) {
+            SENTENCIAS.clear();
+        }
+    }
+
+    /**
+     * Obtiene una copia de las sentencias registradas desde el último reinicio.
+     * @return Lista de sentencias SQL normalizadas en minúsculas
+     */
+    public static List<String> sentencias() {
+        synchronized (SENTENCIAS) {
+            return new ArrayList<>(SENTENCIAS);
+        }
+    }
+
+    /**
+     * Cuenta las sentencias registradas que contienen el fragmento indicado.
+     * @param fragmento Texto a buscar (por ejemplo, "from bombero")
+     * @return Cantidad de sentencias que contienen el fragmento
+     */
+    public static long contar(String fragmento) {
+        String buscado = fragmento.toLowerCase(Locale.ROOT);
+        return sentencias().stream().filter(sql -> sql.contains(buscado)).count();
+    }
+
+    /**
+     * Cuenta las sentencias sin bloqueo ({@code for update} o {@code for share}) que contienen
+     * el fragmento indicado, para separar las consultas que cargan datos de las lecturas con
+     * bloqueo de la revisión de conflictos.
+     * @param fragmento Texto a buscar (por ejemplo, "from bombero")
+     * @return Cantidad de sentencias sin bloqueo que contienen el fragmento
+     */
+    public static long contarSinBloqueo(String fragmento) {
+        String buscado = fragmento.toLowerCase(Locale.ROOT);
+        return sentencias().stream()
+                .filter(sql -> sql.contains(buscado) && !sql.contains(" for update") && !sql.contains(" for share"))
+                .count();
+    }
+
+    /**
+     * Cuenta todas las sentencias registradas desde el último reinicio.
+     * @return Cantidad total de sentencias
+     */
+    public static int total() {
+        synchronized (SENTENCIAS) {
+            return SENTENCIAS.size();
+        }
+    }
+}